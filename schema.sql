@@ -34,6 +34,7 @@ CREATE TABLE assets (
     country_code VARCHAR(3) DEFAULT 'KR' COMMENT '국가 코드 (KR, US, JP)',
     quantity DECIMAL(18,8) NOT NULL DEFAULT 0 COMMENT '보유 수량',
     average_price DECIMAL(18,2) NOT NULL DEFAULT 0 COMMENT '평균 매수가',
+    version BIGINT NOT NULL DEFAULT 0 COMMENT '보유량 변경 버전 (낙관적 잠금)',
     currency VARCHAR(10) DEFAULT 'KRW' COMMENT '통화 (KRW, USD, BTC)',
     is_active BOOLEAN DEFAULT TRUE COMMENT '보유 여부 (매도 완료시 FALSE)',
     notes TEXT NULL COMMENT '메모',
@@ -65,7 +66,7 @@ CREATE TABLE transactions (
     fee DECIMAL(18,2) DEFAULT 0 COMMENT '거래 수수료',
     tax DECIMAL(18,2) DEFAULT 0 COMMENT '세금',
     net_amount DECIMAL(18,2) NOT NULL COMMENT '실제 거래금액 (총액 ± 수수료 ± 세금)',
-    transaction_date TIMESTAMP NOT NULL COMMENT '거래 일시',
+    transacted_at TIMESTAMP NOT NULL COMMENT '거래 일시',
     notes TEXT NULL COMMENT '거래 메모',
     external_id VARCHAR(100) NULL COMMENT '외부 시스템 거래 ID',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '기록 생성 시간',
@@ -79,10 +80,12 @@ CREATE TABLE transactions (
     INDEX idx_user_id (user_id),
     INDEX idx_asset_id (asset_id),
     INDEX idx_transaction_type (transaction_type),
-    INDEX idx_transaction_date (transaction_date),
-    INDEX idx_user_date (user_id, transaction_date),
-    INDEX idx_asset_date (asset_id, transaction_date),
-    INDEX idx_external_id (external_id)
+    INDEX idx_transacted_at (transacted_at),
+    INDEX idx_user_date (user_id, transacted_at),
+    INDEX idx_asset_date (asset_id, transacted_at),
+    INDEX idx_user_asset_date (user_id, asset_id, transacted_at) COMMENT '보유량 재계산 (자산별 시간순 스트리밍)',
+    INDEX idx_external_id (external_id),
+    UNIQUE KEY uk_user_external_id (user_id, external_id) COMMENT '외부 거래 중복 가져오기 방지'
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='거래 내역 테이블';
 
 -- 4. 가격 히스토리 테이블 (price_history)
@@ -164,6 +167,175 @@ CREATE TABLE portfolio_snapshots (
     INDEX idx_created_at (created_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='포트폴리오 일별 스냅샷 테이블';
 
+-- 7. 포트폴리오 집계 테이블 (portfolio_aggregates)
+CREATE TABLE portfolio_aggregates (
+    user_id BIGINT NOT NULL COMMENT '사용자 ID (FK)',
+    asset_type VARCHAR(20) NOT NULL COMMENT '자산 유형',
+    total_investment DECIMAL(20,2) NOT NULL DEFAULT 0 COMMENT '활성 자산 투자금액 합계',
+    active_asset_count INT NOT NULL DEFAULT 0 COMMENT '활성 자산 수',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '갱신 시간',
+    
+    -- 외래키
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    
+    PRIMARY KEY (user_id, asset_type)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='사용자/자산 유형별 투자 집계 테이블';
+
+-- 8. 거래 집계 테이블 (transaction_aggregates)
+CREATE TABLE transaction_aggregates (
+    user_id BIGINT PRIMARY KEY COMMENT '사용자 ID (FK)',
+    total_buy_amount DECIMAL(20,2) NOT NULL DEFAULT 0 COMMENT '총 매수 금액',
+    total_sell_amount DECIMAL(20,2) NOT NULL DEFAULT 0 COMMENT '총 매도 금액',
+    total_fee DECIMAL(20,2) NOT NULL DEFAULT 0 COMMENT '총 수수료',
+    transaction_count INT NOT NULL DEFAULT 0 COMMENT '거래 건수',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '갱신 시간',
+    
+    -- 외래키
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='사용자별 거래 집계 테이블';
+
+-- 9. 가격 캔들 테이블 (price_candles)
+CREATE TABLE price_candles (
+    symbol VARCHAR(50) NOT NULL COMMENT '종목 코드',
+    exchange VARCHAR(50) NOT NULL COMMENT '거래소',
+    resolution VARCHAR(10) NOT NULL COMMENT '봉 단위 (MINUTE_1, HOUR_1, DAY_1)',
+    bucket_start TIMESTAMP NOT NULL COMMENT '봉 시작 시점',
+    open_price DECIMAL(18,2) NOT NULL COMMENT '시가',
+    high_price DECIMAL(18,2) NOT NULL COMMENT '고가',
+    low_price DECIMAL(18,2) NOT NULL COMMENT '저가',
+    close_price DECIMAL(18,2) NOT NULL COMMENT '종가',
+    volume DECIMAL(24,8) DEFAULT 0 COMMENT '거래량',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '갱신 시간',
+    
+    PRIMARY KEY (symbol, exchange, resolution, bucket_start),
+    INDEX idx_resolution_bucket (resolution, bucket_start)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='가격 히스토리 OHLCV 롤업 테이블 (1분/1시간/1일)';
+
+-- 10. 월별 거래 통계 테이블 (monthly_transaction_stats)
+CREATE TABLE monthly_transaction_stats (
+    user_id BIGINT NOT NULL COMMENT '사용자 ID (FK)',
+    stat_month CHAR(7) NOT NULL COMMENT '통계 월 (YYYY-MM)',
+    transaction_count INT NOT NULL DEFAULT 0 COMMENT '거래 건수',
+    total_amount DECIMAL(20,2) NOT NULL DEFAULT 0 COMMENT '거래 총액',
+    buy_amount DECIMAL(20,2) NOT NULL DEFAULT 0 COMMENT '매수 금액',
+    sell_amount DECIMAL(20,2) NOT NULL DEFAULT 0 COMMENT '매도 금액',
+    total_fee DECIMAL(20,2) NOT NULL DEFAULT 0 COMMENT '수수료 합계',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '갱신 시간',
+    
+    PRIMARY KEY (user_id, stat_month),
+    
+    -- 외래키
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='사용자별 월별 거래 통계 롤업 테이블';
+
+-- 11. 거래소 계정 동기화 상태 테이블 (exchange_sync_state)
+CREATE TABLE exchange_sync_state (
+    user_id BIGINT NOT NULL COMMENT '사용자 ID (FK)',
+    exchange_type ENUM('UPBIT', 'BITHUMB', 'KIWOOM', 'KIS') NOT NULL COMMENT '거래소/증권사 타입',
+    last_external_id VARCHAR(100) NULL COMMENT '마지막으로 가져온 체결 ID',
+    last_transacted_at TIMESTAMP NULL COMMENT '마지막으로 가져온 체결 시간 (다음 동기화 시작점)',
+    last_synced_at TIMESTAMP NULL COMMENT '마지막 동기화 성공 시간',
+    last_error VARCHAR(255) NULL COMMENT '마지막 동기화 실패 사유',
+    failure_count INT NOT NULL DEFAULT 0 COMMENT '연속 실패 횟수 (한도에 닿으면 체결을 한 건씩 가져온다)',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '갱신 시간',
+    
+    PRIMARY KEY (user_id, exchange_type),
+    
+    -- 외래키
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='거래소별 체결 증분 동기화 커서';
+
+-- 12. 포트폴리오 위험 지표 테이블 (portfolio_risk)
+CREATE TABLE portfolio_risk (
+    user_id BIGINT NOT NULL COMMENT '사용자 ID (FK)',
+    report_date DATE NOT NULL COMMENT '기준일 (전날 종가까지의 수익률 사용)',
+    total_value DECIMAL(20,2) NOT NULL DEFAULT 0 COMMENT '종가 기준 평가금액',
+    annual_volatility DECIMAL(12,4) NOT NULL DEFAULT 0 COMMENT '연환산 변동성 (%)',
+    value_at_risk_95 DECIMAL(20,2) NOT NULL DEFAULT 0 COMMENT '1일 역사적 VaR 95% (금액)',
+    value_at_risk_99 DECIMAL(20,2) NOT NULL DEFAULT 0 COMMENT '1일 역사적 VaR 99% (금액)',
+    max_drawdown DECIMAL(12,4) NOT NULL DEFAULT 0 COMMENT '관측 기간 최대 낙폭 (%)',
+    asset_count INT NOT NULL DEFAULT 0 COMMENT '보유 자산 수',
+    observation_days INT NOT NULL DEFAULT 0 COMMENT '수익률 관측 일수',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '생성 시간',
+    
+    PRIMARY KEY (user_id, report_date),
+    
+    -- 외래키
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='사용자별 일별 포트폴리오 위험 지표';
+
+-- 13. 거래 이벤트 아웃박스 테이블 (transaction_events)
+CREATE TABLE transaction_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '이벤트 ID (사용자 내 적용 순서)',
+    user_id BIGINT NOT NULL COMMENT '사용자 ID',
+    transaction_id BIGINT NULL COMMENT '거래 ID (ID 생성기 도입 전 일괄 가져오기 행은 NULL)',
+    sign TINYINT NOT NULL COMMENT '1 이면 반영, -1 이면 취소 (수정은 취소 + 반영 두 행)',
+    transaction_type VARCHAR(20) NOT NULL COMMENT '거래 유형',
+    total_amount DECIMAL(18,2) NOT NULL DEFAULT 0 COMMENT '거래 총액',
+    fee DECIMAL(18,2) NOT NULL DEFAULT 0 COMMENT '거래 수수료',
+    transacted_at TIMESTAMP NOT NULL COMMENT '거래 일시',
+    created_at TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP(3) COMMENT '기록 시간',
+    
+    -- 인덱스
+    INDEX idx_user_event (user_id, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='거래 쓰기와 같은 트랜잭션에 추가되는 이벤트 로그 (추가 전용)';
+
+-- 14. 프로젝션 진행 위치 테이블 (projection_offsets)
+CREATE TABLE projection_offsets (
+    projection_name VARCHAR(50) PRIMARY KEY COMMENT '프로젝션 이름',
+    last_event_id BIGINT NOT NULL DEFAULT 0 COMMENT '여기까지 읽은 이벤트 ID',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '수정 시간'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='프로젝션별 이벤트 읽기 위치';
+
+-- 15. 프로젝션 사용자별 반영 위치 테이블 (projection_watermarks)
+CREATE TABLE projection_watermarks (
+    projection_name VARCHAR(50) NOT NULL COMMENT '프로젝션 이름',
+    user_id BIGINT NOT NULL COMMENT '사용자 ID',
+    last_event_id BIGINT NOT NULL DEFAULT 0 COMMENT '이 사용자에게 반영된 마지막 이벤트 ID',
+    
+    PRIMARY KEY (projection_name, user_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='재처리 시 이미 반영된 이벤트를 건너뛰기 위한 사용자별 위치';
+
+-- 16. 샤드 버킷 배치 테이블 (shard_buckets, 0번 샤드에만 사용)
+CREATE TABLE shard_buckets (
+    bucket INT PRIMARY KEY COMMENT '버킷 번호 (user_id MOD 1024)',
+    shard_id INT NOT NULL COMMENT '버킷이 있는 샤드 번호',
+    status VARCHAR(10) NOT NULL DEFAULT 'ACTIVE' COMMENT 'ACTIVE, 또는 다른 샤드로 옮기는 중이라 쓰기를 막은 MOVING',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '수정 시간'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='기본 배치(bucket MOD 샤드 수) 에서 옮긴 버킷만 기록';
+
+-- 17. 프로젝션 빈 번호 테이블 (projection_gaps)
+CREATE TABLE projection_gaps (
+    projection_name VARCHAR(50) NOT NULL COMMENT '프로젝션 이름',
+    event_id BIGINT NOT NULL COMMENT '읽기 위치가 넘어간 빈 이벤트 ID',
+    first_seen_at TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP(3) COMMENT '빈 번호를 처음 본 시간 (DB 시계)',
+    
+    PRIMARY KEY (projection_name, event_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='늦게 커밋될 수 있는 이벤트 ID (커밋되면 반영, 롤백이 확실하면 삭제)';
+
+-- 18. 거래소 동기화 격리 체결 테이블 (exchange_sync_dead_letters)
+CREATE TABLE exchange_sync_dead_letters (
+    user_id BIGINT NOT NULL COMMENT '사용자 ID (FK)',
+    exchange_type ENUM('UPBIT', 'BITHUMB', 'KIWOOM', 'KIS') NOT NULL COMMENT '거래소/증권사 타입',
+    external_id VARCHAR(100) NOT NULL COMMENT '거래소 체결 ID',
+    symbol VARCHAR(50) NULL COMMENT '종목 코드',
+    transacted_at TIMESTAMP NULL COMMENT '체결 시간',
+    reason VARCHAR(255) NOT NULL COMMENT '가져오지 못한 사유',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '격리 시간',
+    
+    PRIMARY KEY (user_id, exchange_type, external_id),
+    
+    -- 외래키
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='동기화 커서를 막지 않도록 건너뛴 체결 (확인 후 수동 처리)';
+
+-- 19. 샤드 버킷 쓰기 차단 테이블 (shard_bucket_fences, 모든 샤드에 사용)
+CREATE TABLE shard_bucket_fences (
+    bucket INT PRIMARY KEY COMMENT '버킷 번호 (user_id MOD 1024), -1 은 버킷을 정할 수 없는 쓰기',
+    status VARCHAR(10) NOT NULL DEFAULT 'ACTIVE' COMMENT 'ACTIVE, 옮기는 중인 MOVING, 다른 샤드로 옮겨 간 MOVED',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '수정 시간'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='사용자 테이블 쓰기 트랜잭션이 먼저 잠그는 행 (기동 시 채운다)';
+
 -- 초기 테스트 데이터
 INSERT INTO users (email, password, name, auth_provider, role) VALUES 
 ('admin@assetmanager.com', '$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy', '관리자', 'LOCAL', 'ADMIN'),
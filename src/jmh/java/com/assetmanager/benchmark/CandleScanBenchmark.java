@@ -0,0 +1,69 @@
+package com.assetmanager.benchmark;
+
+import com.assetmanager.domain.PriceHistory;
+import com.assetmanager.service.price.CandleColumns;
+import com.assetmanager.service.price.VolatilityScan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캔들 구간 변동성 계산: PriceHistory 목록 vs 열 지향 뷰
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CandleScanBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"100000", "1000000"})
+    private int candles;
+
+    private List<PriceHistory> rows;
+    private CandleColumns columns;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        rows = new ArrayList<>(candles);
+        for (int i = 0; i < candles; i++) {
+            BigDecimal open = BigDecimal.valueOf(90_000_000L + random.nextInt(10_000_000), 2);
+            rows.add(PriceHistory.builder()
+                .timestamp(START.plusMinutes(i))
+                .openPrice(open)
+                .highPrice(open.add(BigDecimal.valueOf(random.nextInt(100_000), 2)))
+                .lowPrice(open.subtract(BigDecimal.valueOf(random.nextInt(100_000), 2)))
+                .closePrice(open.add(BigDecimal.valueOf(random.nextInt(100_000) - 50_000, 2)))
+                .volume(BigDecimal.valueOf(random.nextInt(1_000_000), 4))
+                .build());
+        }
+        columns = CandleColumns.of(rows, START, START.plusMinutes(candles));
+    }
+
+    @Benchmark
+    public BigDecimal domainAverageVolatility() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (PriceHistory row : rows) {
+            sum = sum.add(row.getVolatilityIndicator());
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public VolatilityScan columnarScan() {
+        return columns.scan();
+    }
+}
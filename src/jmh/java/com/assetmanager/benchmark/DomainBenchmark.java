@@ -0,0 +1,104 @@
+package com.assetmanager.benchmark;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.AssetType;
+import com.assetmanager.domain.PortfolioSnapshot;
+import com.assetmanager.domain.PriceHistory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 도메인 계산 메서드 벤치마크
+ * 상태를 바꾸는 메서드(addPurchase/sell)는 매 호출마다 새 객체를 만들어 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DomainBenchmark {
+
+    private final BigDecimal quantity = new BigDecimal("1.25000000");
+    private final BigDecimal averagePrice = new BigDecimal("91234567.12345678");
+    private final BigDecimal buyQuantity = new BigDecimal("0.37500000");
+    private final BigDecimal buyPrice = new BigDecimal("95876543.21000000");
+    private final BigDecimal sellQuantity = new BigDecimal("0.50000000");
+    private final BigDecimal currentPrice = new BigDecimal("97654321.98765432");
+
+    private Asset asset;
+    private PortfolioSnapshot snapshot;
+    private PriceHistory candle;
+
+    @Setup
+    public void setUp() {
+        asset = newAsset();
+        snapshot = PortfolioSnapshot.builder()
+            .userId(1L)
+            .totalInvestment(new BigDecimal("152345678.12"))
+            .totalCurrentValue(new BigDecimal("171234567.89"))
+            .cryptoValue(new BigDecimal("120000000.00"))
+            .stockValue(new BigDecimal("51234567.89"))
+            .assetCount(12)
+            .build();
+        candle = PriceHistory.builder()
+            .symbol("BTC")
+            .exchange("UPBIT")
+            .openPrice(new BigDecimal("95000000"))
+            .highPrice(new BigDecimal("98500000"))
+            .lowPrice(new BigDecimal("93200000"))
+            .closePrice(new BigDecimal("97654321"))
+            .build();
+    }
+
+    @Benchmark
+    public Asset assetAddPurchase() {
+        Asset target = newAsset();
+        target.addPurchase(buyQuantity, buyPrice);
+        return target;
+    }
+
+    @Benchmark
+    public BigDecimal assetSell() {
+        return newAsset().sell(sellQuantity);
+    }
+
+    @Benchmark
+    public BigDecimal assetProfitRate() {
+        return asset.getProfitRate(currentPrice);
+    }
+
+    @Benchmark
+    public PortfolioSnapshot snapshotRecalculate() {
+        snapshot.recalculateProfitLoss();
+        snapshot.recalculateProfitRate();
+        return snapshot;
+    }
+
+    @Benchmark
+    public BigDecimal snapshotWeights() {
+        return snapshot.getDiversificationIndex();
+    }
+
+    @Benchmark
+    public BigDecimal priceVolatilityIndicator() {
+        return candle.getVolatilityIndicator();
+    }
+
+    private Asset newAsset() {
+        return Asset.builder()
+            .userId(1L)
+            .symbol("BTC")
+            .assetType(AssetType.CRYPTO)
+            .exchange("UPBIT")
+            .quantity(quantity)
+            .averagePrice(averagePrice)
+            .isActive(true)
+            .build();
+    }
+}
@@ -0,0 +1,209 @@
+package com.assetmanager.benchmark;
+
+import com.assetmanager.config.shard.IdAssigningInterceptor;
+import com.assetmanager.config.shard.ShardingProperties;
+import com.assetmanager.config.shard.SnowflakeIdGenerator;
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.AssetType;
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.domain.TransactionType;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.mapper.TransactionMapper;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.jdbc.ScriptRunner;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.LocalCacheScope;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AssetMapper / TransactionMapper 왕복 벤치마크 (MySQL 모드 H2 메모리 DB)
+ * 애플리케이션과 같은 mybatis-config.xml 을 쓰되, 1차 캐시가 결과를 돌려주지 않도록 STATEMENT 범위로 바꾼다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final int ASSETS = 50;
+    private static final int TRANSACTIONS = 20_000;
+    private static final int BATCH_SIZE = 100;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private PooledDataSource dataSource;
+    private SqlSession session;
+    private AssetMapper assetMapper;
+    private TransactionMapper transactionMapper;
+    private List<Long> assetIds;
+    private List<Long> transactionIds;
+    private long batchSequence;
+
+    @Setup
+    public void setUp() throws Exception {
+        dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:mapper-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Connection connection = dataSource.getConnection();
+             Reader schema = Resources.getResourceAsReader("benchmark-schema.sql")) {
+            ScriptRunner runner = new ScriptRunner(connection);
+            runner.setLogWriter(null);
+            runner.runScript(schema);
+        }
+
+        SqlSessionFactory factory;
+        try (InputStream config = Resources.getResourceAsStream("mybatis-config.xml")) {
+            factory = new SqlSessionFactoryBuilder().build(config);
+        }
+        Configuration configuration = factory.getConfiguration();
+        configuration.setEnvironment(new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+        configuration.setLocalCacheScope(LocalCacheScope.STATEMENT);
+        configuration.addInterceptor(new IdAssigningInterceptor(new SnowflakeIdGenerator(new ShardingProperties())));
+        configuration.addMapper(AssetMapper.class);
+        configuration.addMapper(TransactionMapper.class);
+
+        session = factory.openSession(true);
+        assetMapper = session.getMapper(AssetMapper.class);
+        transactionMapper = session.getMapper(TransactionMapper.class);
+        seed();
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.close();
+        dataSource.forceCloseAll();
+    }
+
+    // =================
+    // AssetMapper
+    // =================
+
+    @Benchmark
+    public List<Asset> assetFindHoldings() {
+        return assetMapper.findHoldingAssetsByUserId(USER_ID);
+    }
+
+    @Benchmark
+    public Optional<Asset> assetFindById() {
+        return assetMapper.findById(randomAssetId());
+    }
+
+    @Benchmark
+    public BigDecimal assetTotalInvestment() {
+        return assetMapper.getTotalInvestmentByUserId(USER_ID);
+    }
+
+    // =================
+    // TransactionMapper
+    // =================
+
+    @Benchmark
+    public Optional<Transaction> transactionFindById() {
+        return transactionMapper.findById(transactionIds.get(ThreadLocalRandom.current().nextInt(TRANSACTIONS)));
+    }
+
+    /**
+     * 이력 중간 지점에서 시작하는 키셋 페이지 (50건)
+     */
+    @Benchmark
+    public List<Transaction> transactionKeysetPage() {
+        int offset = ThreadLocalRandom.current().nextInt(TRANSACTIONS);
+        return transactionMapper.findByUserIdAfterCursor(USER_ID, START.plusMinutes(offset), (long) offset, 50);
+    }
+
+    @Benchmark
+    public BigDecimal transactionTotalBuyAmount() {
+        return transactionMapper.getTotalBuyAmountByUserId(USER_ID);
+    }
+
+    /**
+     * 100건 다중 행 INSERT (가져오기 경로)
+     */
+    @Benchmark
+    public int transactionInsertBatch() {
+        long sequence = ++batchSequence;
+        List<Transaction> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(transaction(2L, "bench-" + sequence + "-" + i, i));
+        }
+        return transactionMapper.insertBatch(batch);
+    }
+
+    private void seed() {
+        assetIds = new ArrayList<>();
+        for (int i = 0; i < ASSETS; i++) {
+            Asset asset = Asset.builder()
+                .userId(USER_ID)
+                .symbol("SYM" + i)
+                .name("Symbol " + i)
+                .assetType(i % 2 == 0 ? AssetType.CRYPTO : AssetType.STOCK)
+                .exchange("UPBIT")
+                .quantity(new BigDecimal("1.5"))
+                .averagePrice(BigDecimal.valueOf(10_000L + i))
+                .build();
+            assetMapper.insert(asset);
+            assetIds.add(asset.getId());
+        }
+
+        transactionIds = new ArrayList<>(TRANSACTIONS);
+        List<Transaction> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            batch.add(transaction(USER_ID, "seed-" + i, i));
+            if (batch.size() == BATCH_SIZE) {
+                insertSeedBatch(batch);
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertSeedBatch(batch);
+        }
+    }
+
+    private void insertSeedBatch(List<Transaction> batch) {
+        transactionMapper.insertBatch(batch);
+        batch.forEach(transaction -> transactionIds.add(transaction.getId()));
+        batch.clear();
+    }
+
+    private Transaction transaction(long userId, String externalId, int index) {
+        BigDecimal quantity = new BigDecimal("0.25");
+        BigDecimal price = BigDecimal.valueOf(10_000L + index % 1000);
+        return Transaction.builder()
+            .userId(userId)
+            .assetId(assetIds.get(index % ASSETS))
+            .transactionType(index % 3 == 0 ? TransactionType.SELL : TransactionType.BUY)
+            .quantity(quantity)
+            .price(price)
+            .totalAmount(quantity.multiply(price))
+            .fee(BigDecimal.ONE)
+            .tax(BigDecimal.ZERO)
+            .transactedAt(START.plusMinutes(index))
+            .externalId(externalId)
+            .build();
+    }
+
+    private long randomAssetId() {
+        return assetIds.get(ThreadLocalRandom.current().nextInt(assetIds.size()));
+    }
+}
@@ -0,0 +1,68 @@
+package com.assetmanager.benchmark;
+
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.domain.TransactionType;
+import com.assetmanager.dto.ReplayedPosition;
+import com.assetmanager.service.asset.PositionReplayEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 보유량 재계산(fold) 벤치마크
+ * DB 읽기를 뺀 순수 계산 비용으로, (asset_id, transacted_at) 순으로 정렬된 체결을 한 번 접는 시간을 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PositionReplayBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int transactions;
+
+    private static final int ASSETS = 200;
+
+    private List<Transaction> fills;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        int perAsset = transactions / ASSETS;
+        fills = new ArrayList<>(transactions);
+        for (long assetId = 1; assetId <= ASSETS; assetId++) {
+            for (int i = 0; i < perAsset; i++) {
+                // 매수 3 : 매도 1, 매도는 직전까지 쌓인 수량보다 작게
+                boolean sell = i % 4 == 3;
+                fills.add(Transaction.builder()
+                    .assetId(assetId)
+                    .transactionType(sell ? TransactionType.SELL : TransactionType.BUY)
+                    .quantity(new BigDecimal(sell ? "0.01000000" : "0.02000000"))
+                    .price(BigDecimal.valueOf(random.nextLong(30_000_000L, 100_000_000L), 2))
+                    .fee(new BigDecimal("50.00"))
+                    .transactedAt(start.plusMinutes(i))
+                    .build());
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<Long, ReplayedPosition> fold() {
+        return PositionReplayEngine.fold(fills.iterator());
+    }
+}
@@ -0,0 +1,78 @@
+package com.assetmanager.benchmark;
+
+import com.assetmanager.domain.ScaledDecimal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 보유 자산 재평가(평가금액 + 수익률) BigDecimal 경로 vs 고정소수점 경로 비교
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValuationBenchmark {
+
+    private static final int HOLDINGS = 1024;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private BigDecimal[] quantities;
+    private BigDecimal[] averagePrices;
+    private BigDecimal[] currentPrices;
+
+    private long[] scaledQuantities;
+    private long[] scaledAveragePrices;
+    private long[] scaledCurrentPrices;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        quantities = new BigDecimal[HOLDINGS];
+        averagePrices = new BigDecimal[HOLDINGS];
+        currentPrices = new BigDecimal[HOLDINGS];
+        scaledQuantities = new long[HOLDINGS];
+        scaledAveragePrices = new long[HOLDINGS];
+        scaledCurrentPrices = new long[HOLDINGS];
+
+        for (int i = 0; i < HOLDINGS; i++) {
+            quantities[i] = BigDecimal.valueOf(1 + random.nextInt(10_000_000), 4);
+            averagePrices[i] = BigDecimal.valueOf(1 + random.nextInt(1_000_000_000), 2);
+            currentPrices[i] = BigDecimal.valueOf(1 + random.nextInt(1_000_000_000), 2);
+            scaledQuantities[i] = ScaledDecimal.of(quantities[i]);
+            scaledAveragePrices[i] = ScaledDecimal.of(averagePrices[i]);
+            scaledCurrentPrices[i] = ScaledDecimal.of(currentPrices[i]);
+        }
+    }
+
+    @Benchmark
+    public void bigDecimalRevaluation(Blackhole blackhole) {
+        for (int i = 0; i < HOLDINGS; i++) {
+            BigDecimal value = quantities[i].multiply(currentPrices[i]);
+            BigDecimal rate = currentPrices[i].subtract(averagePrices[i])
+                    .divide(averagePrices[i], 8, RoundingMode.HALF_UP)
+                    .multiply(HUNDRED);
+            blackhole.consume(value);
+            blackhole.consume(rate);
+        }
+    }
+
+    @Benchmark
+    public void scaledRevaluation(Blackhole blackhole) {
+        for (int i = 0; i < HOLDINGS; i++) {
+            long value = ScaledDecimal.multiply(scaledQuantities[i], scaledCurrentPrices[i]);
+            long rate = ScaledDecimal.percentChange(scaledAveragePrices[i], scaledCurrentPrices[i]);
+            blackhole.consume(value);
+            blackhole.consume(rate);
+        }
+    }
+}
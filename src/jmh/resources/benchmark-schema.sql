@@ -0,0 +1,38 @@
+-- 매퍼 벤치마크용 스키마 (H2 MySQL 모드, schema.sql 의 assets/transactions 와 같은 컬럼/인덱스)
+CREATE TABLE assets (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    symbol VARCHAR(50) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    asset_type VARCHAR(20) NOT NULL,
+    exchange VARCHAR(50) NOT NULL,
+    quantity DECIMAL(18,8) NOT NULL DEFAULT 0,
+    average_price DECIMAL(18,2) NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    is_active BOOLEAN DEFAULT TRUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX idx_assets_user_id ON assets (user_id);
+CREATE UNIQUE INDEX uk_assets_user_symbol_exchange ON assets (user_id, symbol, exchange);
+
+CREATE TABLE transactions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    asset_id BIGINT NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL,
+    quantity DECIMAL(18,8) NOT NULL,
+    price DECIMAL(18,2) NOT NULL,
+    total_amount DECIMAL(18,2) NOT NULL,
+    fee DECIMAL(18,2) DEFAULT 0,
+    tax DECIMAL(18,2) DEFAULT 0,
+    net_amount DECIMAL(18,2) NOT NULL,
+    transacted_at TIMESTAMP NOT NULL,
+    notes TEXT NULL,
+    external_id VARCHAR(100) NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX idx_tx_user_date ON transactions (user_id, transacted_at);
+CREATE INDEX idx_tx_asset_date ON transactions (asset_id, transacted_at);
+CREATE UNIQUE INDEX uk_tx_user_external_id ON transactions (user_id, external_id);
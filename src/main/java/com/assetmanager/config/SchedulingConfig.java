@@ -0,0 +1,15 @@
+package com.assetmanager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 스케줄링 설정
+ * 집계 검증, 가격 갱신 등 주기 작업(@Scheduled)을 활성화한다.
+ * 스케줄러 스레드 수는 spring.task.scheduling.pool.size 로 @Scheduled 메서드 수보다 크게 잡아
+ * 오래 걸리는 야간 배치가 짧은 주기의 갱신/반영 작업을 막지 않게 한다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
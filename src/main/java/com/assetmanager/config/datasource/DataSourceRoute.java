@@ -0,0 +1,9 @@
+package com.assetmanager.config.datasource;
+
+/**
+ * 커넥션을 가져올 데이터소스
+ */
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
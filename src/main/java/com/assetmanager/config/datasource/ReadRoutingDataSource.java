@@ -0,0 +1,35 @@
+package com.assetmanager.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * 현재 스레드에 지정된 경로로 커넥션을 가져오는 데이터소스 (지정이 없으면 원본)
+ * 경로는 커넥션을 실제로 얻는 시점에 정해지므로 LazyConnectionDataSourceProxy 로 감싸서 쓴다.
+ */
+public class ReadRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<DataSourceRoute> ROUTE = new ThreadLocal<>();
+
+    /**
+     * 현재 스레드의 경로 지정 (null 이면 해제), 이전 값을 돌려준다
+     */
+    static DataSourceRoute route(DataSourceRoute route) {
+        DataSourceRoute previous = ROUTE.get();
+        if (route == null) {
+            ROUTE.remove();
+        } else {
+            ROUTE.set(route);
+        }
+        return previous;
+    }
+
+    static DataSourceRoute currentRoute() {
+        DataSourceRoute route = ROUTE.get();
+        return route == null ? DataSourceRoute.PRIMARY : route;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+}
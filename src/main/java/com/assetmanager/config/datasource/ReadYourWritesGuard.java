@@ -0,0 +1,95 @@
+package com.assetmanager.config.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.assetmanager.service.portfolio.HoldingsChangedEvent;
+import com.assetmanager.service.portfolio.TransactionsChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 본인 쓰기 직후의 조회를 원본으로 고정하는 가드
+ * 거래/보유 자산 변경이 커밋되면 그 사용자를 일정 시간 고정해, 복제본이 따라오기 전의 값을 보지 않게 한다.
+ * 고정 정보는 Redis 에 TTL 키로 두어 다음 요청이 다른 노드로 가도 보이게 하고,
+ * 쓰기를 받은 노드는 메모리에도 두어 Redis 를 거치지 않는다.
+ * Redis 를 읽지 못하면 고정 여부를 알 수 없으므로 원본에서 읽는다.
+ */
+@Slf4j
+public class ReadYourWritesGuard {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+    private static final String PIN_PREFIX = "db:pin:";
+
+    private final ConcurrentHashMap<Long, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final StringRedisTemplate redisTemplate;
+    private final Duration window;
+    private final Clock clock;
+
+    public ReadYourWritesGuard(ReplicaRoutingProperties properties, StringRedisTemplate redisTemplate) {
+        this(properties, redisTemplate, Clock.systemUTC());
+    }
+
+    ReadYourWritesGuard(ReplicaRoutingProperties properties, StringRedisTemplate redisTemplate, Clock clock) {
+        this.window = properties.getReadYourWritesWindow();
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        pin(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHoldingsChanged(HoldingsChangedEvent event) {
+        pin(event.userId());
+    }
+
+    /**
+     * 사용자의 조회를 지금부터 설정된 시간 동안 원본으로 고정
+     */
+    public void pin(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        long now = clock.millis();
+        pinnedUntil.put(userId, now + window.toMillis());
+        if (pinnedUntil.size() > PURGE_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> until <= now);
+        }
+        try {
+            redisTemplate.opsForValue().set(pinKey(userId), "1", window);
+        } catch (DataAccessException e) {
+            log.warn("read-your-writes pin failed: userId={}", userId, e);
+        }
+    }
+
+    public boolean isPinned(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(userId);
+        if (until != null) {
+            if (until > clock.millis()) {
+                return true;
+            }
+            pinnedUntil.remove(userId, until);
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(pinKey(userId)));
+        } catch (DataAccessException e) {
+            log.debug("read-your-writes pin lookup failed: userId={}, {}", userId, e.getMessage());
+            return true;
+        }
+    }
+
+    private static String pinKey(Long userId) {
+        return PIN_PREFIX + userId;
+    }
+}
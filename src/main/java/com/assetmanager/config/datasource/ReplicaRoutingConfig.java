@@ -0,0 +1,91 @@
+package com.assetmanager.config.datasource;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 원본/읽기 복제본 데이터소스 구성 (datasource.routing.enabled=true 일 때만)
+ * 원본 풀은 spring.datasource.* 를 그대로 쓰고, 복제본 풀은 datasource.routing.replica.* 로 만든다.
+ * 애플리케이션이 쓰는 DataSource 는 경로를 늦게 정하는 프록시 하나이며 MyBatis 와 트랜잭션 관리자가 이를 쓴다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    /**
+     * 샤딩과 함께 켜면 빈을 만들기 전에 기동을 멈춘다
+     * 두 구성 모두 @Primary DataSource 를 등록하므로 어느 쪽이 먼저 만들어지는지에 맡기지 않는다.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor shardingExclusionCheck(Environment environment) {
+        boolean sharding = Binder.get(environment).bind("datasource.sharding.enabled", Boolean.class).orElse(false);
+        return beanFactory -> {
+            if (sharding) {
+                throw new IllegalStateException("datasource.sharding and datasource.routing cannot both be enabled");
+            }
+        };
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.routing.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        return routingDataSource(primaryDataSource, replicaDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesGuard readYourWritesGuard(ReplicaRoutingProperties properties,
+                                                   StringRedisTemplate redisTemplate) {
+        return new ReadYourWritesGuard(properties, redisTemplate);
+    }
+
+    @Bean
+    public ReplicaRoutingInterceptor replicaRoutingInterceptor(ReadYourWritesGuard readYourWritesGuard,
+                                                               MeterRegistry meterRegistry) {
+        return new ReplicaRoutingInterceptor(readYourWritesGuard, meterRegistry);
+    }
+
+    /**
+     * 원본/복제본을 묶은 라우팅 데이터소스 (커넥션은 첫 SQL 실행 시점에 경로에 따라 가져온다)
+     */
+    static DataSource routingDataSource(DataSource primary, DataSource replica) {
+        ReadRoutingDataSource routing = new ReadRoutingDataSource();
+        routing.setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,131 @@
+package com.assetmanager.config.datasource;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.assetmanager.mapper.ReplicaRead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * {@link ReplicaRead} 매퍼 메서드를 읽기 복제본으로 보내는 플러그인
+ * 조회 실행 동안만 스레드의 경로를 지정하고, 커넥션은 LazyConnectionDataSourceProxy 가 그 안에서 가져온다.
+ * 진행 중인 트랜잭션이 있거나 사용자가 방금 쓰기를 했다면 원본에서 읽는다.
+ */
+@Intercepts({
+    @Signature(type = Executor.class, method = "query",
+            args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+            args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class,
+                    BoundSql.class}),
+    @Signature(type = Executor.class, method = "queryCursor",
+            args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class ReplicaRoutingInterceptor implements Interceptor {
+
+    /** PageHelper 가 만드는 카운트 쿼리의 statement id 접미사 */
+    private static final String COUNT_SUFFIX = "_COUNT";
+    private static final String USER_PARAM = "userId";
+
+    private final ReadYourWritesGuard guard;
+    private final ConcurrentHashMap<String, Boolean> replicaStatements = new ConcurrentHashMap<>();
+    private final Counter replicaReads;
+    private final Counter transactionalReads;
+    private final Counter pinnedReads;
+
+    public ReplicaRoutingInterceptor(ReadYourWritesGuard guard, MeterRegistry meterRegistry) {
+        this.guard = guard;
+        this.replicaReads = routeCounter(meterRegistry, "replica", "replica");
+        this.transactionalReads = routeCounter(meterRegistry, "primary", "transaction");
+        this.pinnedReads = routeCounter(meterRegistry, "primary", "read-your-writes");
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement statement = (MappedStatement) args[0];
+        if (!replicaStatements.computeIfAbsent(statement.getId(), ReplicaRoutingInterceptor::isReplicaRead)) {
+            return invocation.proceed();
+        }
+        DataSourceRoute previous = ReadRoutingDataSource.route(routeFor(args[1]));
+        try {
+            return invocation.proceed();
+        } finally {
+            ReadRoutingDataSource.route(previous);
+        }
+    }
+
+    private DataSourceRoute routeFor(Object parameter) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            transactionalReads.increment();
+            return DataSourceRoute.PRIMARY;
+        }
+        if (guard.isPinned(userIdOf(parameter))) {
+            pinnedReads.increment();
+            return DataSourceRoute.PRIMARY;
+        }
+        replicaReads.increment();
+        return DataSourceRoute.REPLICA;
+    }
+
+    /**
+     * 조회 대상 사용자 (userId 파라미터, 또는 단일 Long 인자)
+     */
+    static Long userIdOf(Object parameter) {
+        if (parameter instanceof Long userId) {
+            return userId;
+        }
+        if (parameter instanceof Map<?, ?> params && params.containsKey(USER_PARAM)
+                && params.get(USER_PARAM) instanceof Long userId) {
+            return userId;
+        }
+        return null;
+    }
+
+    /**
+     * statement id 의 매퍼 메서드에 {@link ReplicaRead} 가 붙어 있는지 (XML 전용 statement 는 원본)
+     */
+    static boolean isReplicaRead(String statementId) {
+        String id = statementId.endsWith(COUNT_SUFFIX)
+                ? statementId.substring(0, statementId.length() - COUNT_SUFFIX.length())
+                : statementId;
+        int separator = id.lastIndexOf('.');
+        if (separator < 0) {
+            return false;
+        }
+        try {
+            Class<?> mapper = Resources.classForName(id.substring(0, separator));
+            String name = id.substring(separator + 1);
+            for (Method method : mapper.getMethods()) {
+                if (method.getName().equals(name) && method.isAnnotationPresent(ReplicaRead.class)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("datasource.route.reads")
+            .description("Replica-eligible mapper reads by the data source that served them")
+            .tags("target", target, "reason", reason)
+            .register(meterRegistry);
+    }
+}
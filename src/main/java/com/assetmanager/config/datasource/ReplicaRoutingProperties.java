@@ -0,0 +1,24 @@
+package com.assetmanager.config.datasource;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 읽기 복제본 라우팅 설정 (datasource.routing.*)
+ * 복제본 커넥션 풀은 datasource.routing.replica.* (Hikari 속성) 로 설정한다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datasource.routing")
+public class ReplicaRoutingProperties {
+
+    /** 복제본 라우팅 사용 여부 (끄면 단일 풀) */
+    private boolean enabled = false;
+
+    /** 사용자가 쓰기를 한 뒤 이 시간 동안은 그 사용자의 조회를 원본에서 실행한다 (복제 지연 상한보다 길게, Redis 키 TTL) */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,172 @@
+package com.assetmanager.config.mybatis;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 매퍼 메서드별 쿼리 계측 플러그인
+ * Executor 호출을 감싸 매퍼 메서드별 소요 시간(히스토그램), 결과 행 수를 Micrometer 로 내보내고,
+ * 기준 시간을 넘긴 쿼리는 바인딩 값을 가린 표본으로 남긴다.
+ * 빈으로 등록하면 MyBatis 자동 설정이 SqlSessionFactory 플러그인으로 붙인다 (PageHelper 보다 바깥).
+ */
+@Slf4j
+@Component
+@Intercepts({
+    @Signature(type = Executor.class, method = "update",
+            args = {MappedStatement.class, Object.class}),
+    @Signature(type = Executor.class, method = "query",
+            args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+            args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class,
+                    BoundSql.class}),
+    @Signature(type = Executor.class, method = "queryCursor",
+            args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class MapperMetricsInterceptor implements Interceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final MapperMetricsProperties properties;
+    private final SlowQueryLog slowQueryLog;
+    private final ConcurrentHashMap<String, StatementMeters> meters = new ConcurrentHashMap<>();
+
+    public MapperMetricsInterceptor(MeterRegistry meterRegistry, MapperMetricsProperties properties,
+                                    SlowQueryLog slowQueryLog) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement statement = (MappedStatement) args[0];
+        long startedAt = System.nanoTime();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - startedAt;
+            Long rows = failed ? null : rowsOf(result);
+            StatementMeters statementMeters = meters.computeIfAbsent(statement.getId(),
+                    id -> new StatementMeters(meterRegistry, statement));
+            (failed ? statementMeters.failure : statementMeters.success).record(elapsed, TimeUnit.NANOSECONDS);
+            if (rows != null) {
+                statementMeters.rows.record(rows);
+            }
+            if (elapsed >= properties.getSlowThreshold().toNanos()) {
+                recordSlow(statement, args, elapsed, rows);
+            }
+        }
+    }
+
+    private void recordSlow(MappedStatement statement, Object[] args, long elapsedNanos, Long rows) {
+        try {
+            Object parameter = args[1];
+            BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : statement.getBoundSql(parameter);
+            SlowQuerySample sample = new SlowQuerySample(statement.getId(),
+                    boundSql.getSql().replaceAll("\\s+", " ").trim(),
+                    describeParameters(statement.getConfiguration(), boundSql, parameter),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows, Instant.now());
+            slowQueryLog.add(sample);
+            log.warn("slow query: statement={}, elapsedMs={}, rows={}, parameters={}",
+                    sample.statement(), sample.elapsedMillis(), rows, sample.parameters());
+        } catch (RuntimeException e) {
+            log.debug("slow query sample failed: statement={}", statement.getId(), e);
+        }
+    }
+
+    /**
+     * 바인딩 파라미터를 "이름:타입" 으로만 표시 (값은 기록하지 않는다)
+     * 값을 찾는 순서는 MyBatis DefaultParameterHandler 와 같다.
+     */
+    static List<String> describeParameters(Configuration configuration, BoundSql boundSql, Object parameter) {
+        List<String> described = new ArrayList<>();
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            String property = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameter == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                value = parameter;
+            } else {
+                value = configuration.newMetaObject(parameter).getValue(property);
+            }
+            described.add(property + ":" + (value == null ? "null" : value.getClass().getSimpleName()));
+        }
+        return described;
+    }
+
+    private static Long rowsOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return (long) collection.size();
+        }
+        if (result instanceof Integer updated) {
+            return updated.longValue();
+        }
+        return null;
+    }
+
+    /**
+     * 매퍼 메서드 하나의 계측기 (statement id 로 한 번만 만든다)
+     */
+    private static final class StatementMeters {
+
+        private final Timer success;
+        private final Timer failure;
+        private final DistributionSummary rows;
+
+        StatementMeters(MeterRegistry meterRegistry, MappedStatement statement) {
+            String id = statement.getId();
+            int separator = id.lastIndexOf('.');
+            String mapper = separator < 0 ? "none" : id.substring(id.lastIndexOf('.', separator - 1) + 1, separator);
+            String method = id.substring(separator + 1);
+            String command = statement.getSqlCommandType().name();
+
+            this.success = timer(meterRegistry, mapper, method, command, "success");
+            this.failure = timer(meterRegistry, mapper, method, command, "error");
+            this.rows = DistributionSummary.builder("mybatis.statement.rows")
+                .description("Rows returned or affected per mapper method call")
+                .tags("mapper", mapper, "method", method, "command", command)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        }
+
+        private static Timer timer(MeterRegistry meterRegistry, String mapper, String method, String command,
+                                   String outcome) {
+            return Timer.builder("mybatis.statement")
+                .description("Mapper method latency")
+                .tags("mapper", mapper, "method", method, "command", command, "outcome", outcome)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.99)
+                .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.assetmanager.config.mybatis;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 매퍼 쿼리 계측 설정 (mapper.metrics.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "mapper.metrics")
+public class MapperMetricsProperties {
+
+    /** 이 시간 이상 걸린 쿼리는 느린 쿼리로 기록한다 */
+    private Duration slowThreshold = Duration.ofMillis(200);
+
+    /** 보관할 느린 쿼리 표본 수 (오래된 것부터 버림) */
+    private int slowSamples = 100;
+}
@@ -0,0 +1,37 @@
+package com.assetmanager.config.mybatis;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 최근 느린 쿼리 표본 보관소 (GET /actuator/slowqueries, 최신순)
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryLog {
+
+    private final MapperMetricsProperties properties;
+    private final Deque<SlowQuerySample> samples = new ArrayDeque<>();
+
+    public SlowQueryLog(MapperMetricsProperties properties) {
+        this.properties = properties;
+    }
+
+    public synchronized void add(SlowQuerySample sample) {
+        samples.addFirst(sample);
+        while (samples.size() > Math.max(1, properties.getSlowSamples())) {
+            samples.removeLast();
+        }
+    }
+
+    @ReadOperation
+    public synchronized List<SlowQuerySample> samples() {
+        return new ArrayList<>(samples);
+    }
+}
@@ -0,0 +1,12 @@
+package com.assetmanager.config.mybatis;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 느린 쿼리 표본
+ * 바인딩 값은 남기지 않고 파라미터 이름과 타입만 기록한다 (예: userId:Long).
+ */
+public record SlowQuerySample(String statement, String sql, List<String> parameters, long elapsedMillis,
+                              Long rows, Instant executedAt) {
+}
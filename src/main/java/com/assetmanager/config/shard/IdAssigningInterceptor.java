@@ -0,0 +1,84 @@
+package com.assetmanager.config.shard;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.springframework.stereotype.Component;
+
+import com.assetmanager.mapper.AssignId;
+
+/**
+ * {@link AssignId} INSERT 의 파라미터에 id 를 채우는 플러그인 (샤딩 사용 여부와 무관하게 항상 적용)
+ * 행 주인의 userId 로 버킷을 정하므로, 샤드 라우팅이 나중에 id 만 보고도 같은 샤드를 찾는다.
+ */
+@Component
+@Intercepts({
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class IdAssigningInterceptor implements Interceptor {
+
+    private static final String ID = "id";
+    private static final String USER_ID = "userId";
+
+    private final SnowflakeIdGenerator idGenerator;
+    private final ConcurrentHashMap<String, Boolean> assigningStatements = new ConcurrentHashMap<>();
+
+    public IdAssigningInterceptor(SnowflakeIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement statement = (MappedStatement) args[0];
+        if (assigningStatements.computeIfAbsent(statement.getId(), IdAssigningInterceptor::isAssigning)) {
+            assign(statement.getConfiguration(), args[1]);
+        }
+        return invocation.proceed();
+    }
+
+    /**
+     * 단일 객체, 또는 파라미터 맵 안의 객체/컬렉션 원소마다 비어 있는 id 를 채운다
+     * (파라미터 맵은 같은 값을 param1 등 여러 이름으로 담지만, 이미 채운 id 는 건너뛴다)
+     */
+    void assign(Configuration configuration, Object parameter) {
+        if (parameter instanceof Map<?, ?> params) {
+            for (Object value : params.values()) {
+                if (value instanceof Collection<?> elements) {
+                    elements.forEach(element -> assignOne(configuration, element));
+                } else {
+                    assignOne(configuration, value);
+                }
+            }
+        } else {
+            assignOne(configuration, parameter);
+        }
+    }
+
+    private void assignOne(Configuration configuration, Object target) {
+        if (target == null || target instanceof Number || target instanceof CharSequence) {
+            return;
+        }
+        MetaObject meta = configuration.newMetaObject(target);
+        if (!meta.hasGetter(ID) || !meta.hasSetter(ID) || meta.getValue(ID) != null) {
+            return;
+        }
+        Object userId = meta.hasGetter(USER_ID) ? meta.getValue(USER_ID) : null;
+        meta.setValue(ID, idGenerator.nextId(userId instanceof Long id ? id : null));
+    }
+
+    static boolean isAssigning(String statementId) {
+        Method method = MapperStatements.methodOf(statementId);
+        return method != null && method.isAnnotationPresent(AssignId.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.assetmanager.config.shard;
+
+import java.lang.reflect.Method;
+
+import org.apache.ibatis.io.Resources;
+
+/**
+ * statement id ("매퍼 인터페이스.메서드") 에서 매퍼 메서드를 찾는 도우미
+ */
+final class MapperStatements {
+
+    /** PageHelper 가 만드는 카운트 쿼리의 statement id 접미사 */
+    private static final String COUNT_SUFFIX = "_COUNT";
+
+    private MapperStatements() {
+    }
+
+    /**
+     * statement id 의 매퍼 인터페이스 (XML 전용 statement 등 찾을 수 없으면 null)
+     */
+    static Class<?> mapperOf(String statementId) {
+        int separator = statementId.lastIndexOf('.');
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            return Resources.classForName(statementId.substring(0, separator));
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * statement id 의 매퍼 메서드 (오버로드는 쓰지 않으므로 이름으로 찾는다, 없으면 null)
+     */
+    static Method methodOf(String statementId) {
+        String id = statementId.endsWith(COUNT_SUFFIX)
+                ? statementId.substring(0, statementId.length() - COUNT_SUFFIX.length())
+                : statementId;
+        Class<?> mapper = mapperOf(id);
+        if (mapper == null) {
+            return null;
+        }
+        String name = id.substring(id.lastIndexOf('.') + 1);
+        for (Method method : mapper.getMethods()) {
+            if (method.getName().equals(name)) {
+                return method;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.assetmanager.config.shard;
+
+import java.util.Set;
+
+/**
+ * 버킷을 다른 샤드로 옮긴 뒤 발행하는 이벤트 (옮겨진 사용자의 파생 데이터를 새 샤드에서 다시 맞추는 용도)
+ */
+public record ShardBucketMovedEvent(int bucket, int sourceShard, int targetShard, Set<Long> userIds) {
+}
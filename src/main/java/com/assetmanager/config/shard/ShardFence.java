@@ -0,0 +1,154 @@
+package com.assetmanager.config.shard;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 샤드마다 두는 버킷 쓰기 차단표 (shard_bucket_fences)
+ * 사용자 테이블에 쓰는 SQL 은 같은 트랜잭션에서 먼저 자기 버킷 행을 공유 잠금으로 읽고 ACTIVE 인지 확인한다.
+ * 쓰기끼리는 공유 잠금이 서로 막지 않으므로 같은 버킷의 쓰기가 차단 행에서 줄 서지 않는다.
+ * 버킷을 정할 수 없는 쓰기(범위 지정, 고정 샤드) 는 샤드 전체를 뜻하는 -1 번 행을 잠근다.
+ * 버킷을 옮길 때 원래 샤드의 두 행을 MOVING 으로 바꾸는 UPDATE 는 그 행을 잠근 쓰기 트랜잭션이 모두 끝나야 커밋되고,
+ * 그 뒤의 쓰기는 배치표를 언제 다시 읽었는지와 관계없이 거부된다. 옮긴 뒤 원래 샤드의 버킷 행은 MOVED 로 남는다.
+ * 공유 잠금으로 충분한 이유: 차단 행을 바꾸는 쪽은 이 UPDATE 뿐이고 배타 잠금을 얻으려면 공유 잠금이 모두 풀려야 하며,
+ * UPDATE 가 기다리는 동안 새로 오는 공유 잠금도 그 뒤에 줄 선다. 쓰기는 차단 행을 고치지 않으므로 잠금을 올리지도 않는다.
+ */
+public class ShardFence {
+
+    /** 버킷을 정할 수 없는 쓰기가 잠그는 행 */
+    static final int ANY_BUCKET = -1;
+
+    static final String ACTIVE = "ACTIVE";
+    static final String MOVING = "MOVING";
+    static final String MOVED = "MOVED";
+
+    private static final String LOCK_SQL = "SELECT status FROM shard_bucket_fences WHERE bucket = ? FOR SHARE";
+
+    /** 공유 행 잠금이 없는 H2(테스트) 용 */
+    private static final String EXCLUSIVE_LOCK_SQL =
+            "SELECT status FROM shard_bucket_fences WHERE bucket = ? FOR UPDATE";
+
+    private final ShardRoutingDataSource shards;
+
+    /**
+     * 샤드마다 빠진 차단 행을 채운다 (지금 배치표상 그 샤드의 버킷은 ACTIVE, 나머지는 MOVED)
+     */
+    public ShardFence(ShardRoutingDataSource shards, ShardMap shardMap) {
+        this.shards = shards;
+        for (int shard = 0; shard < shards.shardCount(); shard++) {
+            seed(shards.shard(shard), shard, shardMap);
+        }
+    }
+
+    /**
+     * 쓰기 SQL 직전 같은 커넥션(같은 트랜잭션) 에서 호출, 잠금은 트랜잭션이 끝날 때까지 유지된다
+     *
+     * @param bucket 쓰기 대상 버킷 (정할 수 없으면 {@link #ANY_BUCKET})
+     */
+    static void check(Connection connection, int shard, int bucket) throws SQLException {
+        String status;
+        String sql = "H2".equals(connection.getMetaData().getDatabaseProductName()) ? EXCLUSIVE_LOCK_SQL : LOCK_SQL;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, bucket);
+            try (ResultSet rs = statement.executeQuery()) {
+                status = rs.next() ? rs.getString(1) : null;
+            }
+        }
+        if (status == null) {
+            throw new IllegalStateException("shard " + shard + " has no fence row for bucket " + bucket);
+        }
+        if (MOVING.equals(status)) {
+            throw new IllegalStateException(bucket == ANY_BUCKET
+                    ? "a bucket on shard " + shard + " is being moved to another shard"
+                    : "bucket " + bucket + " is being moved to another shard");
+        }
+        if (!ACTIVE.equals(status)) {
+            throw new IllegalStateException("bucket " + bucket + " is no longer on shard " + shard);
+        }
+    }
+
+    /**
+     * 원래 샤드의 쓰기를 막는다 (이미 시작한 쓰기 트랜잭션이 끝날 때까지 기다린다)
+     * 쓰기 트랜잭션과 같은 순서(-1 번 행 → 버킷 행) 로 잠근다.
+     */
+    void close(int shard, int bucket) {
+        inTransaction(shard, jdbc -> {
+            requireRow(jdbc.update("UPDATE shard_bucket_fences SET status = ? WHERE bucket = ?", MOVING, ANY_BUCKET),
+                    shard, ANY_BUCKET);
+            requireRow(jdbc.update("UPDATE shard_bucket_fences SET status = ? WHERE bucket = ?", MOVING, bucket),
+                    shard, bucket);
+        });
+    }
+
+    /**
+     * 대상 샤드에서 버킷 쓰기를 받기 시작한다
+     */
+    void open(int shard, int bucket) {
+        inTransaction(shard, jdbc -> requireRow(
+                jdbc.update("UPDATE shard_bucket_fences SET status = ? WHERE bucket = ?", ACTIVE, bucket),
+                shard, bucket));
+    }
+
+    /**
+     * 옮기기를 마친 원래 샤드: 버킷은 MOVED 로 남기고 버킷을 정할 수 없는 쓰기는 다시 받는다
+     */
+    void release(int shard, int bucket) {
+        inTransaction(shard, jdbc -> {
+            jdbc.update("UPDATE shard_bucket_fences SET status = ? WHERE bucket = ?", ACTIVE, ANY_BUCKET);
+            jdbc.update("UPDATE shard_bucket_fences SET status = ? WHERE bucket = ?", MOVED, bucket);
+        });
+    }
+
+    /**
+     * 옮기기를 그만둔 원래 샤드: 두 행 모두 다시 ACTIVE
+     */
+    void reopen(int shard, int bucket) {
+        inTransaction(shard, jdbc -> {
+            jdbc.update("UPDATE shard_bucket_fences SET status = ? WHERE bucket = ?", ACTIVE, ANY_BUCKET);
+            jdbc.update("UPDATE shard_bucket_fences SET status = ? WHERE bucket = ?", ACTIVE, bucket);
+        });
+    }
+
+    private void inTransaction(int shard, Consumer<JdbcTemplate> action) {
+        DataSource dataSource = shards.shard(shard);
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+            .executeWithoutResult(status -> action.accept(new JdbcTemplate(dataSource)));
+    }
+
+    private static void requireRow(int updated, int shard, int bucket) {
+        if (updated == 0) {
+            throw new IllegalStateException("shard " + shard + " has no fence row for bucket " + bucket);
+        }
+    }
+
+    private static void seed(DataSource dataSource, int shard, ShardMap shardMap) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Integer rows = jdbc.queryForObject("SELECT COUNT(*) FROM shard_bucket_fences", Integer.class);
+        if (rows != null && rows > SnowflakeIdGenerator.BUCKETS) {
+            return;
+        }
+        List<Object[]> missing = new ArrayList<>(SnowflakeIdGenerator.BUCKETS + 1);
+        missing.add(new Object[] {ANY_BUCKET, ACTIVE, ANY_BUCKET});
+        for (int bucket = 0; bucket < SnowflakeIdGenerator.BUCKETS; bucket++) {
+            missing.add(new Object[] {bucket, shardMap.shardOf(bucket) == shard ? ACTIVE : MOVED, bucket});
+        }
+        try {
+            jdbc.batchUpdate("INSERT INTO shard_bucket_fences (bucket, status) SELECT ?, ? FROM DUAL "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM shard_bucket_fences WHERE bucket = ?)", missing);
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 동시에 채웠다
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.assetmanager.config.shard;
+
+import java.util.Arrays;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 버킷 → 샤드 배치표
+ * 사용자는 user_id 로 정해지는 버킷(1024 개) 에 고정되고, 버킷이 샤드 사이를 옮겨 다닌다.
+ * 기본 배치는 bucket % 샤드 수이며, 옮긴 버킷은 0번 샤드의 shard_buckets 에 기록되어 모든 노드가 주기적으로 다시 읽는다.
+ */
+@Slf4j
+public class ShardMap {
+
+    public static final int GLOBAL_SHARD = 0;
+
+    static final String ACTIVE = "ACTIVE";
+    static final String MOVING = "MOVING";
+
+    private final JdbcTemplate directory;
+    private final int shardCount;
+    private volatile int[] placement;
+    private volatile boolean[] moving;
+
+    /**
+     * @param directory  shard_buckets 가 있는 0번 샤드 (라우팅을 거치지 않는 실제 데이터소스)
+     * @param shardCount 0번 포함 샤드 수
+     */
+    public ShardMap(DataSource directory, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be positive");
+        }
+        this.directory = new JdbcTemplate(directory);
+        this.shardCount = shardCount;
+        refresh();
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(int bucket) {
+        return placement[bucket];
+    }
+
+    public int shardOfUser(long userId) {
+        return shardOf(SnowflakeIdGenerator.bucketOf(userId));
+    }
+
+    /**
+     * 다른 샤드로 옮기는 중이라 쓰기를 받지 않는 버킷인지
+     */
+    public boolean isMoving(int bucket) {
+        return moving[bucket];
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.sharding.refresh-interval-ms:10000}")
+    public void refresh() {
+        int[] nextPlacement = new int[SnowflakeIdGenerator.BUCKETS];
+        boolean[] nextMoving = new boolean[SnowflakeIdGenerator.BUCKETS];
+        Arrays.setAll(nextPlacement, bucket -> bucket % shardCount);
+        directory.query("SELECT bucket, shard_id, status FROM shard_buckets", rs -> {
+            int bucket = rs.getInt("bucket");
+            int shard = rs.getInt("shard_id");
+            if (bucket < 0 || bucket >= nextPlacement.length || shard < 0 || shard >= shardCount) {
+                log.warn("ignoring invalid shard placement: bucket={}, shard={}", bucket, shard);
+                return;
+            }
+            nextPlacement[bucket] = shard;
+            nextMoving[bucket] = MOVING.equals(rs.getString("status"));
+        });
+        this.placement = nextPlacement;
+        this.moving = nextMoving;
+    }
+
+    /**
+     * 버킷의 쓰기를 막는다 (다른 노드는 다음 refresh 부터 따른다)
+     */
+    void markMoving(int bucket) {
+        int updated = directory.update("UPDATE shard_buckets SET status = ? WHERE bucket = ?", MOVING, bucket);
+        if (updated == 0) {
+            directory.update("INSERT INTO shard_buckets (bucket, shard_id, status) VALUES (?, ?, ?)",
+                    bucket, shardOf(bucket), MOVING);
+        }
+        refresh();
+    }
+
+    /**
+     * 버킷을 샤드에 배치하고 쓰기를 다시 연다
+     */
+    void assign(int bucket, int shard) {
+        directory.update("UPDATE shard_buckets SET shard_id = ?, status = ? WHERE bucket = ?", shard, ACTIVE, bucket);
+        refresh();
+    }
+}
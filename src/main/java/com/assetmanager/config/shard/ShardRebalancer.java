@@ -0,0 +1,234 @@
+package com.assetmanager.config.shard;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.sql.DataSource;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 버킷(그 버킷의 모든 사용자) 을 다른 샤드로 옮긴다
+ * 1) 배치표와 원래 샤드의 차단 행({@link ShardFence}) 으로 버킷 쓰기를 막는다 (읽기는 계속 원래 샤드)
+ *    차단 행을 바꾸는 UPDATE 는 이미 시작한 쓰기 트랜잭션이 끝나야 커밋되므로, 그 뒤 원래 샤드에 남는 쓰기는 없다.
+ * 2) 사용자 테이블의 행을 id 그대로 대상 샤드에 복사한다 (한 트랜잭션, 남아 있던 이전 시도의 행은 먼저 지운다)
+ *    샤드별 AUTO_INCREMENT id 를 쓰는 테이블은 대상 샤드의 id 와 겹치므로 id 없이 복사해 새 id 를 받는다.
+ * 3) 대상 샤드의 차단 행을 열고 배치표를 대상 샤드로 바꾼다 (원래 샤드의 차단 행은 MOVED 로 남는다)
+ * 4) 원래 샤드의 행과 아웃박스 이벤트/반영 위치를 지운다
+ * 아웃박스 이벤트는 샤드마다 번호가 따로라 옮기지 않으며, 이동 이벤트를 받은 쪽이 새 샤드에서 집계를 다시 맞춘다.
+ * id 만으로 조회하는 테이블에 생성기 도입 전 id(버킷 정보 없음) 가 남은 버킷은 옮기지 않는다.
+ * 그런 id 는 0번(또는 트랜잭션이 고정된) 샤드로만 찾으므로, 옮기고 나면 찾을 수 없게 된다.
+ */
+@Slf4j
+public class ShardRebalancer {
+
+    /** 버킷과 함께 옮기는 사용자 테이블 (참조되는 테이블 먼저, 지울 때는 역순) */
+    static final List<String> MOVED_TABLES = List.of(
+            "assets", "transactions", "api_keys", "portfolio_snapshots", "portfolio_aggregates",
+            "transaction_aggregates", "monthly_transaction_stats", "exchange_sync_state",
+            "exchange_sync_dead_letters", "portfolio_risk");
+
+    /** 옮기지 않고 원래 샤드에서 지우기만 하는 테이블 */
+    static final List<String> DROPPED_TABLES = List.of("transaction_events", "projection_watermarks");
+
+    /** id 만으로 조회/수정하는 테이블 (이전 AUTO_INCREMENT id 가 남아 있으면 옮기지 않는다) */
+    static final List<String> ID_LOOKUP_TABLES = List.of("assets", "transactions");
+
+    /** id 가 샤드별 AUTO_INCREMENT 이고 참조되지 않는 테이블 (id 없이 복사해 대상 샤드에서 새로 받는다) */
+    static final List<String> RENUMBERED_TABLES = List.of("api_keys");
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ShardRoutingDataSource shards;
+    private final ShardMap shardMap;
+    private final ShardFence fence;
+    private final List<String> movedTables;
+    private final List<String> droppedTables;
+    private final List<String> idLookupTables;
+    private final List<String> renumberedTables;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ShardRebalancer(ShardRoutingDataSource shards, ShardMap shardMap, ShardFence fence,
+                           ApplicationEventPublisher eventPublisher) {
+        this(shards, shardMap, fence, MOVED_TABLES, DROPPED_TABLES, ID_LOOKUP_TABLES, RENUMBERED_TABLES,
+                eventPublisher);
+    }
+
+    ShardRebalancer(ShardRoutingDataSource shards, ShardMap shardMap, ShardFence fence, List<String> movedTables,
+                    List<String> droppedTables, List<String> idLookupTables, List<String> renumberedTables,
+                    ApplicationEventPublisher eventPublisher) {
+        this.shards = shards;
+        this.shardMap = shardMap;
+        this.fence = fence;
+        this.movedTables = movedTables;
+        this.droppedTables = droppedTables;
+        this.idLookupTables = idLookupTables;
+        this.renumberedTables = renumberedTables;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * 사용자가 속한 버킷을 옮긴다 (같은 버킷의 다른 사용자도 함께 옮겨진다)
+     */
+    public long moveBucketOf(Long userId, int targetShard) {
+        return moveBucket(SnowflakeIdGenerator.bucketOf(userId), targetShard);
+    }
+
+    /**
+     * @return 복사한 행 수 (이미 대상 샤드에 있으면 0)
+     */
+    public synchronized long moveBucket(int bucket, int targetShard) {
+        if (bucket < 0 || bucket >= SnowflakeIdGenerator.BUCKETS) {
+            throw new IllegalArgumentException("invalid bucket: " + bucket);
+        }
+        if (targetShard < 0 || targetShard >= shardMap.shardCount()) {
+            throw new IllegalArgumentException("unknown shard: " + targetShard);
+        }
+        int sourceShard = shardMap.shardOf(bucket);
+        if (sourceShard == targetShard) {
+            return 0;
+        }
+        requireGeneratedIds(shards.shard(sourceShard), bucket);
+
+        long startedAt = System.currentTimeMillis();
+        shardMap.markMoving(bucket);
+        Set<Long> userIds = new TreeSet<>();
+        long copied;
+        try {
+            fence.close(sourceShard, bucket);
+        } catch (RuntimeException e) {
+            shardMap.assign(bucket, sourceShard);
+            throw e;
+        }
+        try {
+            copied = copy(bucket, shards.shard(sourceShard), shards.shard(targetShard), userIds);
+            fence.open(targetShard, bucket);
+        } catch (RuntimeException e) {
+            fence.reopen(sourceShard, bucket);
+            shardMap.assign(bucket, sourceShard);
+            throw e;
+        }
+        shardMap.assign(bucket, targetShard);
+        fence.release(sourceShard, bucket);
+
+        try {
+            new TransactionTemplate(new DataSourceTransactionManager(shards.shard(sourceShard)))
+                .executeWithoutResult(status -> {
+                    JdbcTemplate source = new JdbcTemplate(shards.shard(sourceShard));
+                    droppedTables.forEach(table -> deleteBucket(source, table, bucket));
+                    deleteBucket(source, bucket);
+                });
+        } catch (RuntimeException e) {
+            // 배치표는 이미 대상 샤드를 가리키므로 남은 행은 읽히지 않는다 (다시 옮겨 올 때 복사 전에 지워진다)
+            log.error("shard bucket cleanup failed: bucket={}, shard={}", bucket, sourceShard, e);
+        }
+
+        log.info("shard bucket moved: bucket={}, from={}, to={}, users={}, rows={}, elapsedMs={}",
+                bucket, sourceShard, targetShard, userIds.size(), copied, System.currentTimeMillis() - startedAt);
+        eventPublisher.publishEvent(new ShardBucketMovedEvent(bucket, sourceShard, targetShard,
+                Collections.unmodifiableSet(userIds)));
+        return copied;
+    }
+
+    /**
+     * 버킷 정보가 없는 이전 id 가 남아 있으면 실패 (id 만으로 찾는 조회가 옮긴 뒤에도 원래 샤드로 가기 때문)
+     */
+    private void requireGeneratedIds(DataSource sourceShard, int bucket) {
+        JdbcTemplate source = new JdbcTemplate(sourceShard);
+        for (String table : idLookupTables) {
+            Integer legacy = source.queryForObject("SELECT COUNT(*) FROM " + table
+                    + " WHERE MOD(user_id, ?) = ? AND id < ?", Integer.class,
+                    SnowflakeIdGenerator.BUCKETS, bucket, SnowflakeIdGenerator.MIN_GENERATED_ID);
+            if (legacy != null && legacy > 0) {
+                throw new IllegalStateException("bucket " + bucket + " still has " + legacy + " rows in " + table
+                        + " with ids that do not carry a bucket");
+            }
+        }
+    }
+
+    private long copy(int bucket, DataSource sourceShard, DataSource targetShard, Set<Long> userIds) {
+        JdbcTemplate source = new JdbcTemplate(sourceShard);
+        source.setFetchSize(BATCH_SIZE);
+        JdbcTemplate target = new JdbcTemplate(targetShard);
+        Long copied = new TransactionTemplate(new DataSourceTransactionManager(targetShard)).execute(status -> {
+            deleteBucket(target, bucket);
+            long rows = 0;
+            for (String table : movedTables) {
+                rows += copyTable(source, target, table, renumberedTables.contains(table), bucket, userIds);
+            }
+            return rows;
+        });
+        return copied == null ? 0 : copied;
+    }
+
+    /**
+     * 테이블의 버킷 행을 컬럼 그대로 배치 INSERT 로 복사 (renumbered 이면 id 컬럼은 빼고 복사)
+     */
+    private static long copyTable(JdbcTemplate source, JdbcTemplate target, String table, boolean renumbered,
+                                  int bucket, Set<Long> userIds) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        String[] insert = new String[1];
+        List<Integer> copied = new ArrayList<>();
+        long[] rows = new long[1];
+        source.query("SELECT * FROM " + table + " WHERE MOD(user_id, ?) = ?", rs -> {
+            if (insert[0] == null) {
+                ResultSetMetaData meta = rs.getMetaData();
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    if (!renumbered || !"id".equalsIgnoreCase(meta.getColumnName(i))) {
+                        copied.add(i);
+                    }
+                }
+                insert[0] = insertSql(table, meta, copied);
+            }
+            Object[] values = new Object[copied.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = rs.getObject(copied.get(i));
+            }
+            userIds.add(rs.getLong("user_id"));
+            batch.add(values);
+            rows[0]++;
+            if (batch.size() >= BATCH_SIZE) {
+                target.batchUpdate(insert[0], batch);
+                batch.clear();
+            }
+        }, SnowflakeIdGenerator.BUCKETS, bucket);
+        if (!batch.isEmpty()) {
+            target.batchUpdate(insert[0], batch);
+        }
+        return rows[0];
+    }
+
+    private static String insertSql(String table, ResultSetMetaData meta, List<Integer> copied) throws SQLException {
+        StringBuilder columns = new StringBuilder();
+        StringBuilder placeholders = new StringBuilder();
+        for (int column : copied) {
+            if (!columns.isEmpty()) {
+                columns.append(", ");
+                placeholders.append(", ");
+            }
+            columns.append(meta.getColumnName(column));
+            placeholders.append('?');
+        }
+        return "INSERT INTO " + table + " (" + columns + ") VALUES (" + placeholders + ")";
+    }
+
+    private void deleteBucket(JdbcTemplate jdbc, int bucket) {
+        for (int i = movedTables.size() - 1; i >= 0; i--) {
+            deleteBucket(jdbc, movedTables.get(i), bucket);
+        }
+    }
+
+    private static void deleteBucket(JdbcTemplate jdbc, String table, int bucket) {
+        jdbc.update("DELETE FROM " + table + " WHERE MOD(user_id, ?) = ?", SnowflakeIdGenerator.BUCKETS, bucket);
+    }
+}
@@ -0,0 +1,70 @@
+package com.assetmanager.config.shard;
+
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자가 정해지지 않는 SQL (프로젝션 읽기 위치, 전체 스캔 등) 을 실행할 샤드를 현재 스레드에 지정한다
+ * 샤딩을 끄면 샤드는 하나뿐이므로 호출하는 쪽은 켜짐 여부와 관계없이 같은 코드를 쓴다.
+ * 지정은 호출한 스레드에만 적용된다 (다른 스레드로 넘긴 작업에는 따라가지 않음).
+ */
+@Component
+public class ShardRouter {
+
+    private static final ThreadLocal<Integer> SCOPE = new ThreadLocal<>();
+
+    private final int shardCount;
+
+    @Autowired
+    public ShardRouter(ShardingProperties properties) {
+        this(properties.isEnabled() ? properties.getShards().size() + 1 : 1);
+    }
+
+    public ShardRouter(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be positive");
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public <T> T onShard(int shard, Supplier<T> action) {
+        if (shard < 0 || shard >= shardCount) {
+            throw new IllegalArgumentException("unknown shard: " + shard);
+        }
+        Integer previous = SCOPE.get();
+        SCOPE.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                SCOPE.remove();
+            } else {
+                SCOPE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 샤드마다 차례로 실행 (한 샤드의 예외는 그대로 던진다)
+     */
+    public void forEachShard(IntConsumer action) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            int current = shard;
+            onShard(current, () -> {
+                action.accept(current);
+                return null;
+            });
+        }
+    }
+
+    static Integer currentScope() {
+        return SCOPE.get();
+    }
+}
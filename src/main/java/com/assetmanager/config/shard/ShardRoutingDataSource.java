@@ -0,0 +1,64 @@
+package com.assetmanager.config.shard;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * 현재 스레드에 지정된 샤드로 커넥션을 가져오는 데이터소스 (지정이 없으면 0번 샤드)
+ * 샤드는 커넥션을 실제로 얻는 시점에 정해지므로 LazyConnectionDataSourceProxy 로 감싸서 쓴다.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final ThreadLocal<Integer> SHARD = new ThreadLocal<>();
+
+    /**
+     * 현재 스레드의 샤드 지정 (null 이면 해제), 이전 값을 돌려준다
+     */
+    static Integer route(Integer shard) {
+        Integer previous = SHARD.get();
+        if (shard == null) {
+            SHARD.remove();
+        } else {
+            SHARD.set(shard);
+        }
+        return previous;
+    }
+
+    static int currentShard() {
+        Integer shard = SHARD.get();
+        return shard == null ? ShardMap.GLOBAL_SHARD : shard;
+    }
+
+    public int shardCount() {
+        return getResolvedDataSources().size();
+    }
+
+    /**
+     * 샤드의 실제 데이터소스 (버킷 이동처럼 라우팅을 거치지 않고 여러 샤드를 함께 다룰 때)
+     */
+    public DataSource shard(int shard) {
+        DataSource dataSource = getResolvedDataSources().get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("unknown shard: " + shard);
+        }
+        return dataSource;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentShard();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.assetmanager.config.shard;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.assetmanager.mapper.UserSharded;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * SQL 마다 실행할 샤드를 골라 스레드에 지정하는 플러그인
+ * {@link UserSharded} 매퍼는 파라미터의 userId → 버킷 → 샤드, 없으면 id 에 든 버킷, 그래도 없으면
+ * ShardRouter 지정 범위 → 트랜잭션이 고정된 샤드 → 0번 순으로 정한다. 그 밖의 매퍼는 0번 샤드.
+ * 트랜잭션은 첫 SQL 의 샤드에 고정되며, 다른 샤드가 필요한 SQL 이 오면 실행하지 않고 예외를 던진다.
+ * {@link UserSharded} 매퍼의 쓰기는 실행 전에 샤드의 차단 행을 잠가, 옮기는 중이거나 옮겨 간 버킷이면 거부한다.
+ */
+@Intercepts({
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+    @Signature(type = Executor.class, method = "query",
+            args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+            args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class,
+                    BoundSql.class}),
+    @Signature(type = Executor.class, method = "queryCursor",
+            args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class ShardRoutingInterceptor implements Interceptor {
+
+    /** 트랜잭션 리소스로 묶어 두는 고정 샤드의 키 */
+    private static final Object TRANSACTION_SHARD = new Object();
+    private static final String USER_ID = "userId";
+    private static final String USER_IDS = "userIds";
+    private static final String ID = "id";
+
+    private final ShardMap shardMap;
+    private final ConcurrentHashMap<String, ShardKey> keys = new ConcurrentHashMap<>();
+    private final Counter keyedRoutes;
+    private final Counter scopedRoutes;
+    private final Counter unrouted;
+
+    public ShardRoutingInterceptor(ShardMap shardMap, MeterRegistry meterRegistry) {
+        this.shardMap = shardMap;
+        this.keyedRoutes = routeCounter(meterRegistry, "key");
+        this.scopedRoutes = routeCounter(meterRegistry, "scope");
+        this.unrouted = routeCounter(meterRegistry, "default");
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement statement = (MappedStatement) args[0];
+        ShardKey key = keys.computeIfAbsent(statement.getId(), ShardKey::of);
+        boolean write = statement.getSqlCommandType() != SqlCommandType.SELECT;
+        KeyedBucket keyed = key.sharded()
+                ? key.bucketOf(statement.getConfiguration(), args[1], shardMap)
+                : KeyedBucket.NONE;
+        int shard = shardFor(key, keyed.bucket(), write);
+        Integer previous = ShardRoutingDataSource.route(shard);
+        try {
+            if (write && key.sharded()) {
+                return proceedFenced(invocation, shard, keyed.fenceBucket());
+            }
+            return invocation.proceed();
+        } finally {
+            ShardRoutingDataSource.route(previous);
+        }
+    }
+
+    private int shardFor(ShardKey key, int bucket, boolean write) {
+        Integer pinned = (Integer) TransactionSynchronizationManager.getResource(TRANSACTION_SHARD);
+        int shard;
+        if (!key.sharded()) {
+            shard = ShardMap.GLOBAL_SHARD;
+        } else {
+            Integer scope = ShardRouter.currentScope();
+            if (bucket >= 0) {
+                if (write && shardMap.isMoving(bucket)) {
+                    throw new IllegalStateException("bucket " + bucket + " is being moved to another shard");
+                }
+                keyedRoutes.increment();
+                shard = shardMap.shardOf(bucket);
+            } else if (scope != null) {
+                scopedRoutes.increment();
+                shard = scope;
+            } else if (pinned != null) {
+                shard = pinned;
+            } else {
+                unrouted.increment();
+                shard = ShardMap.GLOBAL_SHARD;
+            }
+        }
+        pin(pinned, shard);
+        return shard;
+    }
+
+    /**
+     * 사용자 테이블 쓰기는 같은 트랜잭션에서 차단 행을 먼저 잠근다 ({@link ShardFence})
+     * 트랜잭션 밖의 단건 쓰기는 잠금과 쓰기를 한 트랜잭션으로 묶어 실행한다.
+     */
+    private static Object proceedFenced(Invocation invocation, int shard, int bucket) throws Throwable {
+        Connection connection = ((Executor) invocation.getTarget()).getTransaction().getConnection();
+        if (!connection.getAutoCommit()) {
+            ShardFence.check(connection, shard, bucket);
+            return invocation.proceed();
+        }
+        connection.setAutoCommit(false);
+        try {
+            ShardFence.check(connection, shard, bucket);
+            Object result = invocation.proceed();
+            connection.commit();
+            return result;
+        } catch (Throwable e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * 트랜잭션 안의 첫 SQL 이면 그 샤드에 고정하고, 이미 고정된 샤드와 다르면 실패
+     * (트랜잭션 커넥션은 첫 SQL 때 한 샤드에서 얻으므로, 이후 SQL 도 모두 그 커넥션에서 실행된다)
+     */
+    private static void pin(Integer pinned, int shard) {
+        if (pinned != null) {
+            if (pinned != shard) {
+                throw new IllegalStateException("cross-shard transaction: pinned to shard " + pinned
+                        + ", statement needs shard " + shard);
+            }
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(TRANSACTION_SHARD, shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_SHARD);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(TRANSACTION_SHARD, shard);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_SHARD);
+            }
+        });
+    }
+
+    private Counter routeCounter(MeterRegistry meterRegistry, String by) {
+        return Counter.builder("datasource.shard.routes")
+            .description("Sharded mapper statements by how their shard was chosen")
+            .tag("by", by)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 파라미터가 가리키는 버킷
+     *
+     * @param bucket 라우팅에 쓰는 버킷 (정할 수 없으면 -1)
+     * @param mixed  같은 샤드의 여러 버킷에 걸친 목록인지 (쓰기 차단은 샤드 전체 행으로 확인한다)
+     */
+    record KeyedBucket(int bucket, boolean mixed) {
+
+        static final KeyedBucket NONE = new KeyedBucket(-1, false);
+
+        static KeyedBucket of(int bucket) {
+            return bucket < 0 ? NONE : new KeyedBucket(bucket, false);
+        }
+
+        int fenceBucket() {
+            return bucket < 0 || mixed ? ShardFence.ANY_BUCKET : bucket;
+        }
+    }
+
+    /**
+     * statement 별로 한 번 정하는 샤드 키 정보
+     *
+     * @param sharded    {@link UserSharded} 매퍼의 statement 인지
+     * @param singleName 파라미터가 이름 없는 단일 값일 때 그 매개변수 이름 (userId 또는 id 만 의미가 있다)
+     */
+    record ShardKey(boolean sharded, String singleName) {
+
+        static ShardKey of(String statementId) {
+            Class<?> mapper = MapperStatements.mapperOf(statementId);
+            if (mapper == null || !mapper.isAnnotationPresent(UserSharded.class)) {
+                return new ShardKey(false, null);
+            }
+            Method method = MapperStatements.methodOf(statementId);
+            if (method == null || method.getParameterCount() != 1) {
+                return new ShardKey(true, null);
+            }
+            Parameter parameter = method.getParameters()[0];
+            Param param = parameter.getAnnotation(Param.class);
+            return new ShardKey(true, param != null ? param.value() : parameter.getName());
+        }
+
+        /**
+         * 파라미터가 가리키는 버킷 (정할 수 없으면 -1)
+         * 목록 파라미터는 원소가 모두 같은 샤드여야 한다.
+         */
+        KeyedBucket bucketOf(Configuration configuration, Object parameter, ShardMap shardMap) {
+            if (parameter instanceof Long value) {
+                if (USER_ID.equals(singleName)) {
+                    return KeyedBucket.of(SnowflakeIdGenerator.bucketOf(value));
+                }
+                return ID.equals(singleName)
+                        ? KeyedBucket.of(SnowflakeIdGenerator.bucketOfId(value))
+                        : KeyedBucket.NONE;
+            }
+            if (parameter instanceof Map<?, ?> params) {
+                if (params.containsKey(USER_ID) && params.get(USER_ID) instanceof Long userId) {
+                    return KeyedBucket.of(SnowflakeIdGenerator.bucketOf(userId));
+                }
+                if (params.containsKey(ID) && params.get(ID) instanceof Long id) {
+                    return KeyedBucket.of(SnowflakeIdGenerator.bucketOfId(id));
+                }
+                for (Map.Entry<?, ?> entry : params.entrySet()) {
+                    KeyedBucket keyed = entry.getValue() instanceof Collection<?> elements
+                            ? collectionBucket(configuration, elements, USER_IDS.equals(entry.getKey()), shardMap)
+                            : KeyedBucket.of(beanBucket(configuration, entry.getValue()));
+                    if (keyed.bucket() >= 0) {
+                        return keyed;
+                    }
+                }
+                return KeyedBucket.NONE;
+            }
+            return KeyedBucket.of(beanBucket(configuration, parameter));
+        }
+
+        private static KeyedBucket collectionBucket(Configuration configuration, Collection<?> elements,
+                                                    boolean userIds, ShardMap shardMap) {
+            int bucket = -1;
+            boolean mixed = false;
+            for (Object element : elements) {
+                int next = userIds && element instanceof Long userId
+                        ? SnowflakeIdGenerator.bucketOf(userId)
+                        : beanBucket(configuration, element);
+                if (next < 0) {
+                    continue;
+                }
+                if (bucket < 0) {
+                    bucket = next;
+                } else if (shardMap.shardOf(bucket) != shardMap.shardOf(next)) {
+                    throw new IllegalArgumentException("batch spans shards");
+                } else if (next != bucket) {
+                    mixed = true;
+                }
+            }
+            return new KeyedBucket(bucket, mixed);
+        }
+
+        private static int beanBucket(Configuration configuration, Object bean) {
+            if (bean == null || bean instanceof Map || bean instanceof Collection || bean instanceof Enum
+                    || bean.getClass().getName().startsWith("java.")) {
+                return -1;
+            }
+            MetaObject meta = configuration.newMetaObject(bean);
+            if (meta.hasGetter(USER_ID) && meta.getValue(USER_ID) instanceof Long userId) {
+                return SnowflakeIdGenerator.bucketOf(userId);
+            }
+            if (meta.hasGetter(ID) && meta.getValue(ID) instanceof Long id) {
+                return SnowflakeIdGenerator.bucketOfId(id);
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.assetmanager.config.shard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 사용자 샤드 데이터소스 구성 (datasource.sharding.enabled=true 일 때만)
+ * 0번 샤드 풀은 spring.datasource.* 를 그대로 쓰고, 나머지는 datasource.sharding.shards 목록으로 만든다.
+ * 애플리케이션이 쓰는 DataSource 는 샤드를 늦게 정하는 프록시 하나이며 MyBatis 와 트랜잭션 관리자가 이를 쓴다.
+ * datasource.routing 과 함께 켜면 ReplicaRoutingConfig 가 기동을 멈춘다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "datasource.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource globalShardDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("shard-0");
+        return dataSource;
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(HikariDataSource globalShardDataSource,
+                                                         ShardingProperties properties) {
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(globalShardDataSource);
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + shards.size());
+            dataSource.setJdbcUrl(shard.getJdbcUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            shards.add(dataSource);
+        }
+        return shardRouting(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public ShardMap shardMap(HikariDataSource globalShardDataSource, ShardRoutingDataSource shardRoutingDataSource) {
+        return new ShardMap(globalShardDataSource, shardRoutingDataSource.shardCount());
+    }
+
+    @Bean
+    public ShardRoutingInterceptor shardRoutingInterceptor(ShardMap shardMap, MeterRegistry meterRegistry) {
+        return new ShardRoutingInterceptor(shardMap, meterRegistry);
+    }
+
+    @Bean
+    public ShardFence shardFence(ShardRoutingDataSource shardRoutingDataSource, ShardMap shardMap) {
+        return new ShardFence(shardRoutingDataSource, shardMap);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardRoutingDataSource shardRoutingDataSource, ShardMap shardMap,
+                                           ShardFence shardFence, ApplicationEventPublisher eventPublisher) {
+        return new ShardRebalancer(shardRoutingDataSource, shardMap, shardFence, eventPublisher);
+    }
+
+    /**
+     * 샤드 번호 순서의 데이터소스로 라우팅 데이터소스를 만든다 (0번이 기본)
+     */
+    static ShardRoutingDataSource shardRouting(List<DataSource> shards) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(shards.get(ShardMap.GLOBAL_SHARD));
+        routing.afterPropertiesSet();
+        return routing;
+    }
+}
@@ -0,0 +1,44 @@
+package com.assetmanager.config.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 사용자 샤딩 설정 (datasource.sharding.*)
+ * 0번 샤드는 spring.datasource.* 이며 전역 테이블(users, 가격, shard_buckets) 도 이곳에 둔다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datasource.sharding")
+public class ShardingProperties {
+
+    /** 샤딩 사용 여부 (끄면 단일 풀, datasource.routing 과 함께 켤 수 없다) */
+    private boolean enabled = false;
+
+    /** ID 생성기 노드 번호 (0~31, 노드마다 달라야 한다) */
+    private int workerId = 0;
+
+    /** 버킷 배치표(shard_buckets) 를 다시 읽는 주기 (ms) */
+    private long refreshIntervalMs = 10_000;
+
+    /** 0번 외 샤드 (목록 순서가 샤드 번호 1, 2, ...) */
+    private List<Shard> shards = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Shard {
+
+        private String jdbcUrl;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,93 @@
+package com.assetmanager.config.shard;
+
+import java.time.Clock;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 전역 고유 ID 생성기 (AUTO_INCREMENT 대체)
+ * [시간 40비트 | 버킷 10비트 | 노드 5비트 | 순번 8비트] 로, 한 노드가 만든 값은 단조 증가한다.
+ * 버킷은 행 주인의 user_id 에서 오므로 id 만으로 조회해도 그 행이 있는 샤드를 찾을 수 있다.
+ * 같은 밀리초에 순번을 다 쓰거나 시계가 뒤로 가면 마지막 시각을 이어서 쓴다 (시계보다 잠시 앞설 수 있음).
+ */
+@Component
+public class SnowflakeIdGenerator {
+
+    public static final int BUCKET_BITS = 10;
+    public static final int BUCKETS = 1 << BUCKET_BITS;
+
+    static final int SEQUENCE_BITS = 8;
+    static final int WORKER_BITS = 5;
+    static final int TIME_BITS = 40;
+    static final int WORKER_SHIFT = SEQUENCE_BITS;
+    static final int BUCKET_SHIFT = WORKER_SHIFT + WORKER_BITS;
+    static final int TIME_SHIFT = BUCKET_SHIFT + BUCKET_BITS;
+    static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    /** 이보다 작은 id 는 생성기 도입 전 AUTO_INCREMENT 값으로 본다 (버킷 정보 없음) */
+    static final long MIN_GENERATED_ID = 1L << 40;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long worker;
+    private final Clock clock;
+    private long lastMillis = -1;
+    private long sequence;
+
+    @Autowired
+    public SnowflakeIdGenerator(ShardingProperties properties) {
+        this(properties.getWorkerId(), Clock.systemUTC());
+    }
+
+    SnowflakeIdGenerator(int workerId, Clock clock) {
+        if (workerId < 0 || workerId >= 1 << WORKER_BITS) {
+            throw new IllegalArgumentException("workerId must be between 0 and " + ((1 << WORKER_BITS) - 1));
+        }
+        this.worker = workerId;
+        this.clock = clock;
+    }
+
+    /**
+     * 사용자 행의 새 id (userId 가 없으면 0번 버킷)
+     */
+    public long nextId(Long userId) {
+        return nextId(userId == null ? 0 : bucketOf(userId));
+    }
+
+    public synchronized long nextId(int bucket) {
+        if (bucket < 0 || bucket >= BUCKETS) {
+            throw new IllegalArgumentException("invalid bucket: " + bucket);
+        }
+        long now = clock.millis() - EPOCH_MILLIS;
+        if (now > lastMillis) {
+            lastMillis = now;
+            sequence = 0;
+        } else if (++sequence > SEQUENCE_MASK) {
+            lastMillis++;
+            sequence = 0;
+        }
+        if (lastMillis < 0 || lastMillis >= 1L << TIME_BITS) {
+            throw new IllegalStateException("clock out of id range");
+        }
+        return lastMillis << TIME_SHIFT | (long) bucket << BUCKET_SHIFT | worker << WORKER_SHIFT | sequence;
+    }
+
+    /**
+     * 사용자가 속한 버킷 (바뀌지 않는다)
+     */
+    public static int bucketOf(long userId) {
+        return (int) Math.floorMod(userId, (long) BUCKETS);
+    }
+
+    /**
+     * 생성기가 만든 id 에 들어 있는 버킷 (이전 AUTO_INCREMENT 값이면 -1)
+     */
+    public static int bucketOfId(long id) {
+        if (id < MIN_GENERATED_ID) {
+            return -1;
+        }
+        return (int) (id >>> BUCKET_SHIFT) & (BUCKETS - 1);
+    }
+}
@@ -0,0 +1,33 @@
+package com.assetmanager.controller;
+
+import java.security.Principal;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assetmanager.dto.DashboardView;
+import com.assetmanager.service.portfolio.DashboardService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 대시보드 API
+ */
+@RestController
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+    private final UserAccessGuard userAccessGuard;
+
+    /**
+     * 사용자 대시보드 (보유 자산, 투자 합계, 상위 자산, 최근 거래)
+     * URL: GET /api/users/{userId}/dashboard
+     */
+    @GetMapping("/api/users/{userId}/dashboard")
+    public DashboardView dashboard(@PathVariable Long userId, Principal principal) {
+        userAccessGuard.checkOwner(userId, principal);
+        return dashboardService.getDashboard(userId);
+    }
+}
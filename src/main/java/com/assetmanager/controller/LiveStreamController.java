@@ -0,0 +1,74 @@
+package com.assetmanager.controller;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assetmanager.service.price.PriceKey;
+import com.assetmanager.service.stream.LiveStreamHub;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/**
+ * 실시간 현재가 / 포트폴리오 푸시 API (Server-Sent Events)
+ * 연결은 서블릿 비동기 요청으로 유지되어 대기 중에는 스레드를 점유하지 않는다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class LiveStreamController {
+
+    private final LiveStreamHub liveStreamHub;
+    private final UserAccessGuard userAccessGuard;
+
+    /**
+     * 종목 현재가 구독
+     * URL: GET /api/stream/prices?symbols=UPBIT:KRW-BTC,UPBIT:KRW-ETH
+     */
+    @GetMapping(value = "/api/stream/prices", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Object>>> prices(@RequestParam List<String> symbols) {
+        List<PriceKey> keys = new ArrayList<>(symbols.size());
+        try {
+            for (String symbol : symbols) {
+                keys.add(parseKey(symbol));
+            }
+            return liveStreamHub.subscribePrices(keys)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 사용자 포트폴리오 평가 구독
+     * URL: GET /api/users/{userId}/stream/portfolio
+     */
+    @GetMapping(value = "/api/users/{userId}/stream/portfolio", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Object>>> portfolio(@PathVariable Long userId, Principal principal) {
+        userAccessGuard.checkOwner(userId, principal);
+        return liveStreamHub.subscribePortfolio(userId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    /**
+     * "거래소:종목" 형식 (예: UPBIT:KRW-BTC)
+     */
+    private static PriceKey parseKey(String value) {
+        int separator = value.indexOf(':');
+        if (separator <= 0 || separator == value.length() - 1) {
+            throw new IllegalArgumentException("invalid symbol: " + value);
+        }
+        return PriceKey.of(value.substring(separator + 1).trim(), value.substring(0, separator).trim());
+    }
+}
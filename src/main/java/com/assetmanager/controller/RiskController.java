@@ -0,0 +1,40 @@
+package com.assetmanager.controller;
+
+import java.security.Principal;
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assetmanager.dto.RiskReport;
+import com.assetmanager.service.portfolio.PortfolioRiskService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 포트폴리오 위험 보고서 API
+ * 배치가 저장하는 지표와 달리 종목별 비중과 공분산 행렬은 요청 시 계산한다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class RiskController {
+
+    private final PortfolioRiskService riskService;
+    private final UserAccessGuard userAccessGuard;
+
+    /**
+     * 사용자 위험 보고서 (지표, 종목별 비중, 일간 수익률 공분산 행렬)
+     * URL: GET /api/users/{userId}/risk?date=2025-07-01 (기본 오늘)
+     */
+    @GetMapping("/api/users/{userId}/risk")
+    public RiskReport risk(@PathVariable Long userId,
+                           @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate date,
+                           Principal principal) {
+        userAccessGuard.checkOwner(userId, principal);
+        return riskService.report(userId, date == null ? LocalDate.now() : date);
+    }
+}
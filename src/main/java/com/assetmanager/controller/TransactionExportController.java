@@ -0,0 +1,94 @@
+package com.assetmanager.controller;
+
+import java.security.Principal;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.assetmanager.service.transaction.ExportFormat;
+import com.assetmanager.service.transaction.TransactionExportService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 거래 내역 내보내기 API
+ * 응답 본문은 비동기 스레드에서 커서를 따라가며 바로 스트림에 쓴다.
+ * 본문이 실행되지 않고 끝나는 경우(클라이언트 연결 끊김, 비동기 타임아웃)에도 슬롯은 비동기 완료 시점에 반납된다.
+ */
+@RestController
+@RequestMapping("/api/users/{userId}/transactions")
+@RequiredArgsConstructor
+public class TransactionExportController {
+
+    private static final Object SLOT_INTERCEPTOR_KEY = TransactionExportController.class.getName() + ".slot";
+
+    private final TransactionExportService exportService;
+    private final UserAccessGuard userAccessGuard;
+
+    /**
+     * 전체 거래 내역 내보내기
+     * URL: GET /api/users/{userId}/transactions/export?format=csv|ndjson
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable Long userId,
+                                                        @RequestParam(defaultValue = "csv") String format,
+                                                        Principal principal, HttpServletRequest request) {
+        userAccessGuard.checkOwner(userId, principal);
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!exportService.tryAcquireSlot()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+
+        Runnable releaseSlot = releaseOnce();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(SLOT_INTERCEPTOR_KEY,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        releaseSlot.run();
+                    }
+                });
+        StreamingResponseBody body = outputStream -> {
+            try {
+                exportService.export(userId, exportFormat, outputStream);
+            } finally {
+                releaseSlot.run();
+            }
+        };
+        String filename = "transactions-" + userId + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+            .body(body);
+    }
+
+    /**
+     * 본문 종료와 비동기 완료 콜백 중 먼저 오는 쪽에서 한 번만 반납
+     */
+    private Runnable releaseOnce() {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                exportService.releaseSlot();
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.assetmanager.controller;
+
+import java.security.Principal;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+import com.assetmanager.domain.User;
+import com.assetmanager.mapper.UserMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 경로의 userId 가 로그인한 사용자 본인인지 확인 (관리자는 모든 사용자 접근 가능)
+ * 인증 이름은 이메일이다. 거부하면 AccessDeniedException 으로 403 응답이 나간다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserAccessGuard {
+
+    private final UserMapper userMapper;
+
+    public void checkOwner(Long userId, Principal principal) {
+        if (principal == null) {
+            throw new AccessDeniedException("not authenticated");
+        }
+        User user = userMapper.findByEmail(principal.getName())
+            .filter(User::isAccountActive)
+            .orElseThrow(() -> new AccessDeniedException("unknown user"));
+        if (!user.isAdmin() && !user.getId().equals(userId)) {
+            throw new AccessDeniedException("access denied to user " + userId);
+        }
+    }
+}
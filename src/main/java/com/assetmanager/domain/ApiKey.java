@@ -19,6 +19,7 @@ public class ApiKey {
     private Long id;
     private Long userId;
     private ExchangeType exchangeType;
+    private Exchange exchange;
     private String exchangeName;
     private String accessKey;
     private String secretKey;
@@ -13,8 +13,12 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Asset {
+
+    /** assets.average_price 컬럼(DECIMAL(18,2)) 의 소수 자릿수 */
+    public static final int AVERAGE_PRICE_SCALE = 2;
+
     private Long id;
     private Long userId;
     private String symbol;
@@ -23,6 +27,9 @@ public class Asset {
     private String exchange;
     private BigDecimal quantity;
     private BigDecimal averagePrice;
+    private Boolean isActive;
+    /** 보유량/평균 매수가가 바뀔 때마다 1씩 증가 (조건부 UPDATE 로 동시 수정 감지) */
+    private Long version;
 
     public BigDecimal getTotalInvestmentAmount() {
         if (quantity == null || averagePrice == null) {
@@ -43,15 +50,16 @@ public class Asset {
     }
 
     public BigDecimal getProfitRate(BigDecimal currentPrice) {
-        BigDecimal investment = getTotalInvestmentAmount();
-        if (investment.compareTo(BigDecimal.ZERO) == 0) {
+        if (quantity == null || averagePrice == null || quantity.signum() == 0 || averagePrice.signum() == 0) {
             return BigDecimal.ZERO;
         }
-        return getProfitLoss(currentPrice)
-            .divide(investment, 8, RoundingMode.HALF_UP)
-            .multiply(BigDecimal.valueOf(100));
+        // (현재가 × 수량 - 평균가 × 수량) / (평균가 × 수량) 은 수량이 약분되어 (현재가 - 평균가) / 평균가 와 같다.
+        return ScaledDecimal.percentChange(averagePrice, currentPrice == null ? BigDecimal.ZERO : currentPrice);
     }
 
+    /**
+     * 매수를 반영한다. 평균 매수가는 저장되는 값과 같도록 매수마다 컬럼 자릿수로 반올림한다.
+     */
     public void addPurchase(BigDecimal buyQuantity, BigDecimal buyPrice) {
         if (buyQuantity == null || buyPrice == null ||
             buyQuantity.compareTo(BigDecimal.ZERO) <= 0 ||
@@ -61,7 +69,7 @@ public class Asset {
         BigDecimal totalCost = getTotalInvestmentAmount()
             .add(buyQuantity.multiply(buyPrice));
         BigDecimal newQuantity = quantity.add(buyQuantity);
-        this.averagePrice = totalCost.divide(newQuantity, 8, RoundingMode.HALF_UP);
+        this.averagePrice = totalCost.divide(newQuantity, AVERAGE_PRICE_SCALE, RoundingMode.HALF_UP);
         this.quantity = newQuantity;
     }
 
@@ -76,6 +84,10 @@ public class Asset {
         return sellQuantity.multiply(averagePrice);
     }
 
+    public boolean isActiveAsset() {
+        return !Boolean.FALSE.equals(isActive);
+    }
+
     public boolean isHolding() {
         return quantity != null && quantity.compareTo(BigDecimal.ZERO) > 0;
     }
@@ -0,0 +1,35 @@
+package com.assetmanager.domain;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum CandleResolution {
+    MINUTE_1(Duration.ofMinutes(1), ChronoUnit.MINUTES),
+    HOUR_1(Duration.ofHours(1), ChronoUnit.HOURS),
+    DAY_1(Duration.ofDays(1), ChronoUnit.DAYS);
+
+    private final Duration duration;
+    private final ChronoUnit unit;
+
+    CandleResolution(Duration duration, ChronoUnit unit) {
+        this.duration = duration;
+        this.unit = unit;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public LocalDateTime truncate(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    public CandleResolution finer() {
+        return this == MINUTE_1 ? null : values()[ordinal() - 1];
+    }
+
+    public long bucketsBetween(LocalDateTime from, LocalDateTime to) {
+        return Duration.between(from, to).toMillis() / duration.toMillis();
+    }
+}
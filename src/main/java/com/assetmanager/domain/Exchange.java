@@ -0,0 +1,35 @@
+package com.assetmanager.domain;
+
+import java.util.Locale;
+
+/**
+ * 거래소/증권사 코드 (api_keys.exchange_type 값)
+ * exchange_name 은 사용자가 붙인 표시 이름이므로 키 조회와 캐시는 이 코드로 한다.
+ */
+public enum Exchange {
+    UPBIT(ExchangeType.CRYPTO),
+    BITHUMB(ExchangeType.CRYPTO),
+    KIWOOM(ExchangeType.STOCK),
+    KIS(ExchangeType.STOCK);
+
+    private final ExchangeType type;
+
+    Exchange(ExchangeType type) {
+        this.type = type;
+    }
+
+    public ExchangeType getType() {
+        return type;
+    }
+
+    public static Exchange from(String code) {
+        if (code == null || code.isBlank()) {
+            throw new IllegalArgumentException("exchange code is required");
+        }
+        try {
+            return valueOf(code.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown exchange: " + code, e);
+        }
+    }
+}
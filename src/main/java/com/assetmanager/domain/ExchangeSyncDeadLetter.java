@@ -0,0 +1,26 @@
+package com.assetmanager.domain;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 동기화 중 가져오지 못해 커서를 넘기며 따로 남겨 둔 체결
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExchangeSyncDeadLetter {
+    private Long userId;
+    private Exchange exchange;
+    private String externalId;
+    private String symbol;
+    private LocalDateTime transactedAt;
+    private String reason;
+}
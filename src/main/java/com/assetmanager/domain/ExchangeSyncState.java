@@ -0,0 +1,31 @@
+package com.assetmanager.domain;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExchangeSyncState {
+    private Long userId;
+    private Exchange exchange;
+    private String lastExternalId;
+    private LocalDateTime lastTransactedAt;
+    private LocalDateTime lastSyncedAt;
+    private String lastError;
+    private int failureCount;
+
+    public static ExchangeSyncState initial(Long userId, Exchange exchange) {
+        return ExchangeSyncState.builder()
+            .userId(userId)
+            .exchange(exchange)
+            .build();
+    }
+}
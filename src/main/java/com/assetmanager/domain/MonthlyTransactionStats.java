@@ -0,0 +1,69 @@
+package com.assetmanager.domain;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyTransactionStats {
+    private Long userId;
+    private YearMonth month;
+    private Integer transactionCount;
+    private BigDecimal totalAmount;
+    private BigDecimal buyAmount;
+    private BigDecimal sellAmount;
+    private BigDecimal totalFee;
+
+    public static MonthlyTransactionStats empty(Long userId, YearMonth month) {
+        return new MonthlyTransactionStats(userId, month, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO);
+    }
+
+    /**
+     * 거래 한 건을 더하거나(sign = 1) 뺀다(sign = -1)
+     */
+    public void add(Transaction transaction, int sign) {
+        BigDecimal amount = nullToZero(transaction.getTotalAmount());
+        BigDecimal signed = sign < 0 ? amount.negate() : amount;
+        transactionCount = nullToZero(transactionCount) + sign;
+        totalAmount = nullToZero(totalAmount).add(signed);
+        if (transaction.getTransactionType() == TransactionType.BUY) {
+            buyAmount = nullToZero(buyAmount).add(signed);
+        } else if (transaction.getTransactionType() == TransactionType.SELL) {
+            sellAmount = nullToZero(sellAmount).add(signed);
+        }
+        BigDecimal fee = nullToZero(transaction.getFee());
+        totalFee = nullToZero(totalFee).add(sign < 0 ? fee.negate() : fee);
+    }
+
+    public boolean isZero() {
+        return matches(empty(userId, month));
+    }
+
+    public boolean matches(MonthlyTransactionStats other) {
+        return other != null
+            && month != null && month.equals(other.month)
+            && nullToZero(transactionCount) == nullToZero(other.transactionCount)
+            && nullToZero(totalAmount).compareTo(nullToZero(other.totalAmount)) == 0
+            && nullToZero(buyAmount).compareTo(nullToZero(other.buyAmount)) == 0
+            && nullToZero(sellAmount).compareTo(nullToZero(other.sellAmount)) == 0
+            && nullToZero(totalFee).compareTo(nullToZero(other.totalFee)) == 0;
+    }
+
+    private static BigDecimal nullToZero(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+
+    private static int nullToZero(Integer value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,35 @@
+package com.assetmanager.domain;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PortfolioAggregate {
+    private Long userId;
+    private AssetType assetType;
+    private BigDecimal totalInvestment;
+    private Integer activeAssetCount;
+
+    public boolean matches(PortfolioAggregate other) {
+        return other != null
+            && nullToZero(totalInvestment).compareTo(nullToZero(other.totalInvestment)) == 0
+            && nullToZero(activeAssetCount) == nullToZero(other.activeAssetCount);
+    }
+
+    private static BigDecimal nullToZero(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+
+    private static int nullToZero(Integer value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,30 @@
+package com.assetmanager.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PortfolioRisk {
+    private Long userId;
+    private LocalDate reportDate;
+    private BigDecimal totalValue;
+    /** 연환산 변동성 (%) */
+    private BigDecimal annualVolatility;
+    /** 1일 역사적 VaR (금액, 손실을 양수로) */
+    private BigDecimal valueAtRisk95;
+    private BigDecimal valueAtRisk99;
+    /** 관측 기간 최대 낙폭 (%) */
+    private BigDecimal maxDrawdown;
+    private Integer assetCount;
+    private Integer observationDays;
+}
@@ -1,7 +1,6 @@
 package com.assetmanager.domain;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 
 import lombok.AllArgsConstructor;
@@ -31,9 +30,7 @@ public class PortfolioSnapshot {
         if (totalInvestment == null || totalInvestment.compareTo(BigDecimal.ZERO) == 0) {
             this.profitRate = BigDecimal.ZERO;
         } else {
-            this.profitRate = totalProfitLoss
-                .divide(totalInvestment, 8, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(100));
+            this.profitRate = ScaledDecimal.percent(totalProfitLoss, totalInvestment);
         }
     }
 
@@ -57,16 +54,14 @@ public class PortfolioSnapshot {
         if (totalCurrentValue == null || totalCurrentValue.compareTo(BigDecimal.ZERO) == 0 || cryptoValue == null) {
             return BigDecimal.ZERO;
         }
-        return cryptoValue.divide(totalCurrentValue, 8, RoundingMode.HALF_UP)
-            .multiply(BigDecimal.valueOf(100));
+        return ScaledDecimal.percent(cryptoValue, totalCurrentValue);
     }
 
     public BigDecimal getStockWeight() {
         if (totalCurrentValue == null || totalCurrentValue.compareTo(BigDecimal.ZERO) == 0 || stockValue == null) {
             return BigDecimal.ZERO;
         }
-        return stockValue.divide(totalCurrentValue, 8, RoundingMode.HALF_UP)
-            .multiply(BigDecimal.valueOf(100));
+        return ScaledDecimal.percent(stockValue, totalCurrentValue);
     }
 
     public BigDecimal getDiversificationIndex() {
@@ -1,7 +1,6 @@
 package com.assetmanager.domain;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 
 import lombok.AllArgsConstructor;
@@ -51,18 +50,14 @@ public class PriceHistory {
         if (openPrice == null || openPrice.compareTo(BigDecimal.ZERO) == 0 || closePrice == null) {
             return BigDecimal.ZERO;
         }
-        return closePrice.subtract(openPrice)
-            .divide(openPrice, 8, RoundingMode.HALF_UP)
-            .multiply(BigDecimal.valueOf(100));
+        return ScaledDecimal.percentChange(openPrice, closePrice);
     }
 
     public BigDecimal getVolatilityIndicator() {
         if (openPrice == null || openPrice.compareTo(BigDecimal.ZERO) == 0 || highPrice == null || lowPrice == null) {
             return BigDecimal.ZERO;
         }
-        return highPrice.subtract(lowPrice)
-            .divide(openPrice, 8, RoundingMode.HALF_UP)
-            .multiply(BigDecimal.valueOf(100));
+        return ScaledDecimal.percentRange(highPrice, lowPrice, openPrice);
     }
 
     public boolean hasValidOHLCData() {
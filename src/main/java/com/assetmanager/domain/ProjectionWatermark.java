@@ -0,0 +1,18 @@
+package com.assetmanager.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectionWatermark {
+    private String projectionName;
+    private Long userId;
+    private Long lastEventId;
+}
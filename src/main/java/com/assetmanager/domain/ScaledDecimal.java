@@ -0,0 +1,164 @@
+package com.assetmanager.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 소수점 8자리 고정소수점 연산 (long 기반)
+ * 평가 계산 반복 구간에서 BigDecimal 할당 없이 계산하고, BigDecimal 은 API/DB 경계에서만 만든다.
+ * 나눗셈/곱셈 결과는 BigDecimal 의 divide(..., 8, HALF_UP) 와 같은 규칙(0.5 는 0 에서 먼 쪽)으로 반올림하며,
+ * 표현 범위를 넘으면 ArithmeticException 을 던진다.
+ */
+public final class ScaledDecimal {
+
+    public static final int SCALE = 8;
+    public static final long ONE = 100_000_000L;
+
+    private static final long DIRECT_DIVIDE_LIMIT = Long.MAX_VALUE / ONE;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private ScaledDecimal() {
+    }
+
+    // =================
+    // 경계 변환
+    // =================
+
+    /**
+     * BigDecimal → 고정소수점 (소수점 8자리를 넘거나 범위를 벗어나면 ArithmeticException)
+     */
+    public static long of(BigDecimal value) {
+        return value.movePointRight(SCALE).longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long scaled) {
+        return BigDecimal.valueOf(scaled, SCALE);
+    }
+
+    // =================
+    // 고정소수점 연산
+    // =================
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * a × b (소수점 8자리 HALF_UP)
+     */
+    public static long multiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+            return roundHalfUp(low, ONE);
+        }
+        // a = a1·ONE + a0, b = b1·ONE + b0 로 나누면 네 항의 부호가 모두 같아 마지막 항만 반올림하면 된다.
+        long a1 = a / ONE;
+        long a0 = a % ONE;
+        long b1 = b / ONE;
+        long b0 = b % ONE;
+        long integral = Math.addExact(
+            Math.addExact(Math.multiplyExact(Math.multiplyExact(a1, b1), ONE), Math.multiplyExact(a1, b0)),
+            Math.multiplyExact(a0, b1));
+        return Math.addExact(integral, roundHalfUp(a0 * b0, ONE));
+    }
+
+    /**
+     * a ÷ b (소수점 8자리 HALF_UP)
+     */
+    public static long divide(long dividend, long divisor) {
+        if (divisor == 0) {
+            throw new ArithmeticException("division by zero");
+        }
+        if (dividend == Long.MIN_VALUE || divisor == Long.MIN_VALUE) {
+            throw new ArithmeticException("overflow");
+        }
+        boolean negative = (dividend < 0) != (divisor < 0);
+        long n = Math.abs(dividend);
+        long d = Math.abs(divisor);
+
+        long quotient;
+        long remainder;
+        if (n <= DIRECT_DIVIDE_LIMIT) {
+            long scaled = n * ONE;
+            quotient = scaled / d;
+            remainder = scaled % d;
+        } else {
+            quotient = n / d;
+            remainder = n % d;
+            for (int i = 0; i < SCALE; i++) {
+                long shifted = Math.multiplyExact(remainder, 10L);
+                quotient = Math.addExact(Math.multiplyExact(quotient, 10L), shifted / d);
+                remainder = shifted % d;
+            }
+        }
+        if (remainder >= d - remainder) {
+            quotient = Math.addExact(quotient, 1);
+        }
+        return negative ? -quotient : quotient;
+    }
+
+    /**
+     * numerator ÷ denominator × 100 (비율을 8자리에서 반올림한 뒤 100 을 곱한다)
+     */
+    public static long percentOf(long numerator, long denominator) {
+        return Math.multiplyExact(divide(numerator, denominator), 100L);
+    }
+
+    /**
+     * base 대비 value 의 변동률 (%)
+     */
+    public static long percentChange(long base, long value) {
+        return percentOf(Math.subtractExact(value, base), base);
+    }
+
+    // =================
+    // BigDecimal 경계 계산 (범위를 벗어나면 BigDecimal 로 계산)
+    // =================
+
+    /**
+     * numerator.divide(denominator, 8, HALF_UP).multiply(100) 과 같은 값
+     */
+    public static BigDecimal percent(BigDecimal numerator, BigDecimal denominator) {
+        try {
+            return toBigDecimal(percentOf(of(numerator), of(denominator)));
+        } catch (ArithmeticException e) {
+            return numerator.divide(denominator, SCALE, RoundingMode.HALF_UP).multiply(HUNDRED);
+        }
+    }
+
+    /**
+     * value.subtract(base).divide(base, 8, HALF_UP).multiply(100) 과 같은 값
+     */
+    public static BigDecimal percentChange(BigDecimal base, BigDecimal value) {
+        try {
+            return toBigDecimal(percentChange(of(base), of(value)));
+        } catch (ArithmeticException e) {
+            return value.subtract(base).divide(base, SCALE, RoundingMode.HALF_UP).multiply(HUNDRED);
+        }
+    }
+
+    /**
+     * high.subtract(low).divide(base, 8, HALF_UP).multiply(100) 과 같은 값
+     */
+    public static BigDecimal percentRange(BigDecimal high, BigDecimal low, BigDecimal base) {
+        try {
+            return toBigDecimal(percentOf(Math.subtractExact(of(high), of(low)), of(base)));
+        } catch (ArithmeticException e) {
+            return high.subtract(low).divide(base, SCALE, RoundingMode.HALF_UP).multiply(HUNDRED);
+        }
+    }
+
+    private static long roundHalfUp(long value, long divisor) {
+        long quotient = value / divisor;
+        long remainder = value % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += Long.signum(value);
+        }
+        return quotient;
+    }
+}
@@ -1,7 +1,6 @@
 package com.assetmanager.domain;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 
 import lombok.AllArgsConstructor;
@@ -26,6 +25,7 @@ public class Transaction {
     private BigDecimal fee;
     private BigDecimal tax;
     private LocalDateTime transactedAt;
+    private String externalId;
 
     public BigDecimal calculateNetAmount() {
         BigDecimal net = totalAmount;
@@ -38,6 +38,13 @@ public class Transaction {
         return net;
     }
 
+    /**
+     * transactions.net_amount 로 저장하는 값 (총액이 없으면 null)
+     */
+    public BigDecimal getNetAmount() {
+        return totalAmount == null ? null : calculateNetAmount();
+    }
+
     public boolean isBuyTransaction() {
         return transactionType == TransactionType.BUY;
     }
@@ -50,7 +57,7 @@ public class Transaction {
         if (totalAmount == null || totalAmount.compareTo(BigDecimal.ZERO) == 0 || fee == null) {
             return BigDecimal.ZERO;
         }
-        return fee.divide(totalAmount, 8, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100));
+        return ScaledDecimal.percent(fee, totalAmount);
     }
 
     public void validate() {
@@ -0,0 +1,42 @@
+package com.assetmanager.domain;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionAggregate {
+    private Long userId;
+    private BigDecimal totalBuyAmount;
+    private BigDecimal totalSellAmount;
+    private BigDecimal totalFee;
+    private Integer transactionCount;
+
+    public static TransactionAggregate empty(Long userId) {
+        return new TransactionAggregate(userId, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+    }
+
+    public boolean matches(TransactionAggregate other) {
+        return other != null
+            && nullToZero(totalBuyAmount).compareTo(nullToZero(other.totalBuyAmount)) == 0
+            && nullToZero(totalSellAmount).compareTo(nullToZero(other.totalSellAmount)) == 0
+            && nullToZero(totalFee).compareTo(nullToZero(other.totalFee)) == 0
+            && nullToZero(transactionCount) == nullToZero(other.transactionCount);
+    }
+
+    private static BigDecimal nullToZero(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+
+    private static int nullToZero(Integer value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,60 @@
+package com.assetmanager.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionEvent {
+    private Long id;
+    private Long userId;
+    private Long transactionId;
+    private Integer sign;
+    private TransactionType transactionType;
+    private BigDecimal totalAmount;
+    private BigDecimal fee;
+    private LocalDateTime transactedAt;
+    private LocalDateTime createdAt;
+
+    /**
+     * 거래를 반영(sign = 1)하거나 취소(sign = -1)하는 이벤트
+     */
+    public static TransactionEvent of(Transaction transaction, int sign) {
+        return TransactionEvent.builder()
+            .userId(transaction.getUserId())
+            .transactionId(transaction.getId())
+            .sign(sign < 0 ? -1 : 1)
+            .transactionType(transaction.getTransactionType())
+            .totalAmount(transaction.getTotalAmount() == null ? BigDecimal.ZERO : transaction.getTotalAmount())
+            .fee(transaction.getFee() == null ? BigDecimal.ZERO : transaction.getFee())
+            .transactedAt(transaction.getTransactedAt())
+            .build();
+    }
+
+    public boolean isReversal() {
+        return sign != null && sign < 0;
+    }
+
+    /**
+     * 집계 계산용 거래 (이벤트에 담긴 컬럼만 채운다)
+     */
+    public Transaction toTransaction() {
+        return Transaction.builder()
+            .id(transactionId)
+            .userId(userId)
+            .transactionType(transactionType)
+            .totalAmount(totalAmount)
+            .fee(fee)
+            .transactedAt(transactedAt)
+            .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.assetmanager.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * API 키의 마지막 사용 시간 (last_used_at 일괄 반영 단위)
+ * 샤드 라우팅이 userId 로 소유자의 샤드를 고르고, 갱신은 (id, user_id) 가 모두 맞는 행에만 적용된다.
+ */
+@Getter
+@AllArgsConstructor
+public class ApiKeyUsage {
+    private Long id;
+    private Long userId;
+    private LocalDateTime usedAt;
+}
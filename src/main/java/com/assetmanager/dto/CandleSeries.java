@@ -0,0 +1,21 @@
+package com.assetmanager.dto;
+
+import java.util.List;
+
+import com.assetmanager.domain.CandleResolution;
+import com.assetmanager.domain.PriceHistory;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 차트용 캔들 조회 결과 (선택된 봉 단위 포함)
+ */
+@Getter
+@AllArgsConstructor
+public class CandleSeries {
+    private String symbol;
+    private String exchange;
+    private CandleResolution resolution;
+    private List<PriceHistory> candles;
+}
@@ -0,0 +1,26 @@
+package com.assetmanager.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.assetmanager.domain.CandleResolution;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 기간 내 캔들의 변동성/일중 변동률 요약 (%)
+ */
+@Getter
+@AllArgsConstructor
+public class CandleStats {
+    private String symbol;
+    private String exchange;
+    private CandleResolution resolution;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private int candleCount;
+    private BigDecimal averageVolatility;
+    private BigDecimal maxVolatility;
+    private BigDecimal averageIntraDayChange;
+}
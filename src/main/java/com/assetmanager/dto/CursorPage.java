@@ -0,0 +1,18 @@
+package com.assetmanager.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 커서 기반 페이지 응답
+ * nextCursor 를 그대로 다음 요청에 넘기면 이어지는 페이지를 조회한다.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,34 @@
+package com.assetmanager.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.Transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 사용자 대시보드 읽기 모델 (한 번의 조회로 화면 전체를 그린다)
+ * generation 은 만들 때 읽은 무효화 세대로, 현재 세대와 다르면 오래된 문서다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardView {
+    private Long userId;
+    private long generation;
+    private BigDecimal totalInvestment;
+    private int activeAssetCount;
+    private List<Asset> assets;
+    private List<Asset> topAssets;
+    private List<Transaction> recentTransactions;
+    private LocalDateTime builtAt;
+}
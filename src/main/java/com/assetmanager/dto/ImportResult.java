@@ -0,0 +1,32 @@
+package com.assetmanager.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 거래 내역 일괄 가져오기 결과
+ */
+@Getter
+@AllArgsConstructor
+public class ImportResult {
+    private int requested;
+    private int inserted;
+    private int duplicates;
+    private int invalid;
+    /** 보유 수량을 넘는 매도 등 자산에 반영할 수 없어 건너뛴 행 */
+    private int rejected;
+    private int assetsRecalculated;
+    private long elapsedMillis;
+    private List<String> rejectedExternalIds;
+    /** 과거 일자 체결을 거래 내역으로 다시 계산하지 못하고 저장된 보유량 위에 이어 반영한 자산 */
+    private List<Long> unexplainedAssetIds;
+
+    public double getRowsPerSecond() {
+        if (elapsedMillis <= 0) {
+            return inserted;
+        }
+        return inserted * 1000.0 / elapsedMillis;
+    }
+}
@@ -0,0 +1,25 @@
+package com.assetmanager.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 기간 수익률
+ * 요청 구간 안의 첫/마지막 스냅샷 기준이며 (from, to 는 실제 사용한 스냅샷 날짜), 수익률은 % 단위다.
+ * moneyWeightedReturn 은 연환산 IRR 이며 구할 수 없으면 null 이다.
+ */
+@Getter
+@AllArgsConstructor
+public class PerformanceReport {
+    private Long userId;
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal startValue;
+    private BigDecimal endValue;
+    private BigDecimal netFlow;
+    private BigDecimal timeWeightedReturn;
+    private BigDecimal moneyWeightedReturn;
+}
@@ -0,0 +1,24 @@
+package com.assetmanager.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 현재가 기준 포트폴리오 평가 결과
+ * 현재가를 아직 받지 못한 자산은 매수 원가로 평가한다 (unpricedCount).
+ */
+@Getter
+@AllArgsConstructor
+public class PortfolioValuation {
+    private Long userId;
+    private BigDecimal currentValue;
+    private BigDecimal totalInvestment;
+    private BigDecimal profitLoss;
+    private BigDecimal profitRate;
+    private int holdingCount;
+    private int unpricedCount;
+    private LocalDateTime valuedAt;
+}
@@ -0,0 +1,18 @@
+package com.assetmanager.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 실시간 푸시로 전달되는 현재가
+ */
+@Getter
+@AllArgsConstructor
+public class PriceTick {
+    private String symbol;
+    private String exchange;
+    private BigDecimal price;
+    private long fetchedAt;
+}
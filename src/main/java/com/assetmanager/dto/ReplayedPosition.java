@@ -0,0 +1,39 @@
+package com.assetmanager.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+import com.assetmanager.domain.Asset;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 거래 내역을 처음부터 다시 반영해 얻은 자산별 보유 상태
+ * anomalies 는 보유량을 넘는 매도처럼 그대로 반영할 수 없어 보정한 거래 수다.
+ */
+@Getter
+@AllArgsConstructor
+public class ReplayedPosition {
+    private Long assetId;
+    private BigDecimal quantity;
+    private BigDecimal averagePrice;
+    private BigDecimal realizedProfitLoss;
+    private BigDecimal totalFee;
+    private int buyCount;
+    private int sellCount;
+    private int anomalies;
+    private LocalDateTime lastTransactedAt;
+
+    /**
+     * 저장된 자산 행과 같은지 (평균 매수가는 컬럼 정밀도인 소수 2자리로 비교)
+     */
+    public boolean matches(Asset asset) {
+        return asset != null
+            && asset.getQuantity() != null && asset.getQuantity().compareTo(quantity) == 0
+            && asset.getAveragePrice() != null
+            && asset.getAveragePrice().setScale(Asset.AVERAGE_PRICE_SCALE, RoundingMode.HALF_UP)
+                .compareTo(averagePrice.setScale(Asset.AVERAGE_PRICE_SCALE, RoundingMode.HALF_UP)) == 0;
+    }
+}
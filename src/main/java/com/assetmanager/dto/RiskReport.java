@@ -0,0 +1,21 @@
+package com.assetmanager.dto;
+
+import java.util.List;
+
+import com.assetmanager.domain.PortfolioRisk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 사용자 위험 보고서 (지표 + 종목별 비중과 일간 수익률 공분산 행렬)
+ * symbols, weights, covariance 의 순서는 같다.
+ */
+@Getter
+@AllArgsConstructor
+public class RiskReport {
+    private PortfolioRisk risk;
+    private List<String> symbols;
+    private double[] weights;
+    private double[][] covariance;
+}
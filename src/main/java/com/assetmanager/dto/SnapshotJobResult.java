@@ -0,0 +1,26 @@
+package com.assetmanager.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 일별 포트폴리오 스냅샷 배치 실행 결과
+ */
+@Getter
+@AllArgsConstructor
+public class SnapshotJobResult {
+    private LocalDate snapshotDate;
+    private int users;
+    private int failedUsers;
+    private int chunks;
+    private long elapsedMillis;
+
+    public double getUsersPerSecond() {
+        if (elapsedMillis <= 0) {
+            return users;
+        }
+        return users * 1000.0 / elapsedMillis;
+    }
+}
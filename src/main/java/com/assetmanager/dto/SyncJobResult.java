@@ -0,0 +1,18 @@
+package com.assetmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 거래소 계정 동기화 실행 결과
+ */
+@Getter
+@AllArgsConstructor
+public class SyncJobResult {
+    private int accounts;
+    private int failedAccounts;
+    private int fillsFetched;
+    private int fillsInserted;
+    private int fillsDeadLettered;
+    private long elapsedMillis;
+}
@@ -0,0 +1,74 @@
+package com.assetmanager.mapper;
+
+import com.assetmanager.config.mybatis.StringSetTypeHandler;
+import com.assetmanager.domain.ApiKey;
+import com.assetmanager.domain.Exchange;
+import com.assetmanager.dto.ApiKeyUsage;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ApiKey 도메인을 위한 MyBatis Mapper 인터페이스
+ * access_key / secret_key 는 암호문 그대로 읽고 쓴다. (복호화는 ApiKeyService)
+ * 스키마의 exchange_type 은 거래소 코드이므로 도메인의 분류(CRYPTO/STOCK)로 바꿔 읽는다.
+ */
+@Mapper
+@UserSharded
+public interface ApiKeyMapper {
+
+    // =================
+    // 조회
+    // =================
+
+    /**
+     * ID로 API 키 조회
+     */
+    @Select("SELECT id, user_id, exchange_name, access_key, secret_key, api_permissions, is_active, " +
+            "last_used_at, expires_at, " +
+            "CASE WHEN exchange_type IN ('UPBIT', 'BITHUMB') THEN 'CRYPTO' ELSE 'STOCK' END AS exchange_type " +
+            "FROM api_keys WHERE id = #{id}")
+    @Results(id = "apiKeyMap", value = {
+        @Result(column = "api_permissions", property = "apiPermissions", typeHandler = StringSetTypeHandler.class)
+    })
+    Optional<ApiKey> findById(Long id);
+
+    /**
+     * 사용자의 거래소별 활성 API 키 조회 (uk_user_exchange 로 한 건)
+     */
+    @Select("SELECT id, user_id, exchange_name, access_key, secret_key, api_permissions, is_active, " +
+            "last_used_at, expires_at, " +
+            "CASE WHEN exchange_type IN ('UPBIT', 'BITHUMB') THEN 'CRYPTO' ELSE 'STOCK' END AS exchange_type " +
+            "FROM api_keys WHERE user_id = #{userId} AND exchange_type = #{exchange} AND is_active = true")
+    @ResultMap("apiKeyMap")
+    Optional<ApiKey> findActiveByUserIdAndExchange(@Param("userId") Long userId,
+                                                   @Param("exchange") Exchange exchange);
+
+    /**
+     * 동기화 대상 활성 키 목록 (ID 키셋 페이지, 암호문 컬럼은 읽지 않는다)
+     */
+    @Select("SELECT id, user_id, exchange_type AS exchange, exchange_name, is_active, expires_at FROM api_keys " +
+            "WHERE is_active = true AND id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<ApiKey> findActiveKeysAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    // =================
+    // 상태 변경
+    // =================
+
+    /**
+     * 마지막 사용 시간 일괄 반영 (한 샤드의 키만, 소유자까지 맞는 행에만 적용)
+     * api_keys 의 id 는 샤드별 AUTO_INCREMENT 라 버킷을 옮기면 바뀌므로 user_id 로 다른 사용자의 키를 건드리지 않게 한다.
+     */
+    @Update("<script>" +
+            "UPDATE api_keys SET last_used_at = CASE id " +
+            "<foreach collection='usages' item='usage'>WHEN #{usage.id} THEN #{usage.usedAt} </foreach>" +
+            "END WHERE (id, user_id) IN " +
+            "<foreach collection='usages' item='usage' open='(' separator=',' close=')'>" +
+            "(#{usage.id}, #{usage.userId})</foreach>" +
+            "</script>")
+    int updateLastUsedAt(@Param("usages") List<ApiKeyUsage> usages);
+
+    @Update("UPDATE api_keys SET is_active = false WHERE id = #{id}")
+    void deactivate(Long id);
+}
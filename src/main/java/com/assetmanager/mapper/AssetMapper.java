@@ -13,6 +13,7 @@ import java.util.Optional;
  * Phase 2.3: MyBatis Mapper 구현 - AssetMapper
  */
 @Mapper
+@UserSharded
 public interface AssetMapper {
     
     // =================
@@ -20,11 +21,11 @@ public interface AssetMapper {
     // =================
     
     /**
-     * 자산 등록
+     * 자산 등록 (id 는 실행 전에 생성기가 채운다)
      */
-    @Insert("INSERT INTO assets (user_id, symbol, name, asset_type, exchange, quantity, average_price, created_at, updated_at) " +
-            "VALUES (#{userId}, #{symbol}, #{name}, #{assetType}, #{exchange}, #{quantity}, #{averagePrice}, NOW(), NOW())")
-    @Options(useGeneratedKeys = true, keyProperty = "id")
+    @AssignId
+    @Insert("INSERT INTO assets (id, user_id, symbol, name, asset_type, exchange, quantity, average_price, created_at, updated_at) " +
+            "VALUES (#{id}, #{userId}, #{symbol}, #{name}, #{assetType}, #{exchange}, #{quantity}, #{averagePrice}, NOW(), NOW())")
     void insert(Asset asset);
     
     /**
@@ -34,16 +35,25 @@ public interface AssetMapper {
     Optional<Asset> findById(Long id);
     
     /**
-     * 자산 정보 수정
+     * 잠금 조회 (다른 트랜잭션이 커밋한 최신 행을 읽고, 커밋 때까지 행을 잠근다)
      */
-    @Update("UPDATE assets SET quantity = #{quantity}, average_price = #{averagePrice}, " +
-            "updated_at = NOW() WHERE id = #{id}")
-    void update(Asset asset);
+    @Select("SELECT * FROM assets WHERE id = #{id} FOR UPDATE")
+    Optional<Asset> findByIdForUpdate(Long id);
+    
+    /**
+     * 보유 수량/평균 매수가 수정 (읽은 뒤 다른 곳에서 바뀌지 않았을 때만)
+     * 
+     * @return 0 이면 expectedVersion 이후 다른 트랜잭션이 먼저 수정한 것
+     */
+    @Update("UPDATE assets SET quantity = #{asset.quantity}, average_price = #{asset.averagePrice}, " +
+            "version = version + 1, updated_at = NOW() " +
+            "WHERE id = #{asset.id} AND version = #{expectedVersion}")
+    int updatePosition(@Param("asset") Asset asset, @Param("expectedVersion") long expectedVersion);
     
     /**
      * 자산 삭제 (실제로는 비활성화)
      */
-    @Update("UPDATE assets SET is_active = false, updated_at = NOW() WHERE id = #{id}")
+    @Update("UPDATE assets SET is_active = false, version = version + 1, updated_at = NOW() WHERE id = #{id}")
     void softDelete(Long id);
     
     // =================
@@ -86,6 +96,7 @@ public interface AssetMapper {
     /**
      * 사용자의 총 투자 금액 계산
      */
+    @ReplicaRead
     @Select("SELECT COALESCE(SUM(quantity * average_price), 0) " +
             "FROM assets WHERE user_id = #{userId} AND is_active = true")
     BigDecimal getTotalInvestmentByUserId(Long userId);
@@ -93,12 +104,14 @@ public interface AssetMapper {
     /**
      * 사용자의 활성 자산 개수 조회
      */
+    @ReplicaRead
     @Select("SELECT COUNT(*) FROM assets WHERE user_id = #{userId} AND is_active = true")
     int countActiveAssetsByUserId(Long userId);
     
     /**
      * 자산 타입별 투자 금액 계산
      */
+    @ReplicaRead
     @Select("SELECT COALESCE(SUM(quantity * average_price), 0) " +
             "FROM assets WHERE user_id = #{userId} AND asset_type = #{assetType} " +
             "AND is_active = true")
@@ -108,6 +121,7 @@ public interface AssetMapper {
     /**
      * 가장 많이 투자한 자산 Top N
      */
+    @ReplicaRead
     @Select("SELECT * FROM assets WHERE user_id = #{userId} AND is_active = true " +
             "ORDER BY (quantity * average_price) DESC LIMIT #{limit}")
     List<Asset> findTopInvestmentAssets(@Param("userId") Long userId, 
@@ -124,6 +138,23 @@ public interface AssetMapper {
             "AND is_active = true ORDER BY symbol")
     List<Asset> findHoldingAssetsByUserId(Long userId);
     
+    /**
+     * 여러 사용자의 보유 자산 일괄 조회 (스냅샷 배치용)
+     */
+    @Select("<script>" +
+            "SELECT * FROM assets WHERE user_id IN " +
+            "<foreach collection='userIds' item='userId' open='(' separator=',' close=')'>#{userId}</foreach> " +
+            "AND quantity &gt; 0 AND is_active = true ORDER BY user_id, symbol" +
+            "</script>")
+    List<Asset> findHoldingAssetsByUserIds(@Param("userIds") List<Long> userIds);
+    
+    /**
+     * 보유 자산이 있는 사용자 ID (afterId 이후 키셋 조회, 위험 지표 배치용)
+     */
+    @Select("SELECT DISTINCT user_id FROM assets WHERE user_id > #{afterId} AND quantity > 0 " +
+            "AND is_active = true ORDER BY user_id LIMIT #{limit}")
+    List<Long> findHoldingUserIdsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+    
     /**
      * 특정 거래소의 자산들 조회
      */
@@ -0,0 +1,18 @@
+package com.assetmanager.mapper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 실행 전에 id 를 채워 넣는 INSERT 매퍼 메서드 표시
+ * 파라미터 객체(또는 컬렉션의 각 원소) 의 id 가 비어 있으면 SnowflakeIdGenerator 로 만든 값을 넣는다.
+ * SQL 은 id 컬럼을 직접 넣어야 하며 useGeneratedKeys 는 쓰지 않는다.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AssignId {
+}
@@ -0,0 +1,66 @@
+package com.assetmanager.mapper;
+
+import com.assetmanager.domain.ExchangeSyncDeadLetter;
+import com.assetmanager.domain.ExchangeSyncState;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+/**
+ * 거래소 계정 동기화 커서를 위한 MyBatis Mapper 인터페이스
+ * 상태 행은 (user_id, exchange_type) 로 식별한다. exchange_name 은 표시 이름이라 바뀔 수 있다.
+ */
+@Mapper
+@UserSharded
+public interface ExchangeSyncStateMapper {
+
+    // =================
+    // 조회
+    // =================
+
+    /**
+     * 여러 사용자의 동기화 상태 일괄 조회
+     */
+    @Select("<script>" +
+            "SELECT user_id, exchange_type AS exchange, last_external_id, last_transacted_at, last_synced_at, " +
+            "last_error, failure_count " +
+            "FROM exchange_sync_state WHERE user_id IN " +
+            "<foreach collection='userIds' item='userId' open='(' separator=',' close=')'>#{userId}</foreach>" +
+            "</script>")
+    List<ExchangeSyncState> findByUserIds(@Param("userIds") List<Long> userIds);
+
+    // =================
+    // 쓰기
+    // =================
+
+    /**
+     * 동기화 결과 일괄 반영 (행이 없으면 생성)
+     */
+    @Insert("<script>" +
+            "INSERT INTO exchange_sync_state (user_id, exchange_type, last_external_id, last_transacted_at, " +
+            "last_synced_at, last_error, failure_count) VALUES " +
+            "<foreach collection='states' item='s' separator=','>" +
+            "(#{s.userId}, #{s.exchange}, #{s.lastExternalId}, #{s.lastTransactedAt}, #{s.lastSyncedAt}, " +
+            "#{s.lastError}, #{s.failureCount})" +
+            "</foreach> " +
+            "ON DUPLICATE KEY UPDATE " +
+            "last_external_id = VALUES(last_external_id), " +
+            "last_transacted_at = VALUES(last_transacted_at), " +
+            "last_synced_at = VALUES(last_synced_at), " +
+            "last_error = VALUES(last_error), " +
+            "failure_count = VALUES(failure_count)" +
+            "</script>")
+    int upsertBatch(@Param("states") List<ExchangeSyncState> states);
+
+    /**
+     * 가져오지 못한 체결 격리 (같은 체결이 다시 들어오면 무시)
+     */
+    @Insert("<script>" +
+            "INSERT IGNORE INTO exchange_sync_dead_letters (user_id, exchange_type, external_id, symbol, " +
+            "transacted_at, reason, created_at) VALUES " +
+            "<foreach collection='deadLetters' item='d' separator=','>" +
+            "(#{d.userId}, #{d.exchange}, #{d.externalId}, #{d.symbol}, #{d.transactedAt}, #{d.reason}, NOW())" +
+            "</foreach>" +
+            "</script>")
+    int insertDeadLetters(@Param("deadLetters") List<ExchangeSyncDeadLetter> deadLetters);
+}
@@ -0,0 +1,100 @@
+package com.assetmanager.mapper;
+
+import com.assetmanager.domain.MonthlyTransactionStats;
+import org.apache.ibatis.annotations.*;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 월별 거래 통계 롤업 테이블을 위한 MyBatis Mapper 인터페이스
+ * 거래 쓰기 경로에서 변화량만 반영하므로 조회 시 원본 거래를 다시 집계하지 않는다.
+ */
+@Mapper
+@UserSharded
+public interface MonthlyTransactionStatsMapper {
+
+    // =================
+    // 롤업 조회
+    // =================
+
+    /**
+     * 사용자의 월별 통계 전체 (최근 월부터)
+     */
+    @Select("SELECT user_id, stat_month AS month, transaction_count, total_amount, buy_amount, sell_amount, " +
+            "total_fee FROM monthly_transaction_stats WHERE user_id = #{userId} ORDER BY stat_month DESC")
+    List<MonthlyTransactionStats> findByUserId(Long userId);
+
+    /**
+     * 특정 월의 통계
+     */
+    @ReplicaRead
+    @Select("SELECT user_id, stat_month AS month, transaction_count, total_amount, buy_amount, sell_amount, " +
+            "total_fee FROM monthly_transaction_stats WHERE user_id = #{userId} AND stat_month = #{month}")
+    Optional<MonthlyTransactionStats> findByUserIdAndMonth(@Param("userId") Long userId,
+                                                           @Param("month") YearMonth month);
+
+    /**
+     * 기준 월 이전(마감된 달)의 통계 (최근 월부터)
+     */
+    @ReplicaRead
+    @Select("SELECT user_id, stat_month AS month, transaction_count, total_amount, buy_amount, sell_amount, " +
+            "total_fee FROM monthly_transaction_stats WHERE user_id = #{userId} AND stat_month < #{month} " +
+            "ORDER BY stat_month DESC")
+    List<MonthlyTransactionStats> findByUserIdBefore(@Param("userId") Long userId,
+                                                     @Param("month") YearMonth month);
+
+    // =================
+    // 쓰기 경로 반영
+    // =================
+
+    /**
+     * 월별 변화량 일괄 반영 (행이 없으면 생성)
+     */
+    @Insert("<script>" +
+            "INSERT INTO monthly_transaction_stats (user_id, stat_month, transaction_count, total_amount, " +
+            "buy_amount, sell_amount, total_fee, updated_at) VALUES " +
+            "<foreach collection='deltas' item='d' separator=','>" +
+            "(#{d.userId}, #{d.month}, #{d.transactionCount}, #{d.totalAmount}, #{d.buyAmount}, " +
+            "#{d.sellAmount}, #{d.totalFee}, NOW())" +
+            "</foreach> " +
+            "ON DUPLICATE KEY UPDATE " +
+            "transaction_count = transaction_count + VALUES(transaction_count), " +
+            "total_amount = total_amount + VALUES(total_amount), " +
+            "buy_amount = buy_amount + VALUES(buy_amount), " +
+            "sell_amount = sell_amount + VALUES(sell_amount), " +
+            "total_fee = total_fee + VALUES(total_fee), " +
+            "updated_at = NOW()" +
+            "</script>")
+    void applyDeltas(@Param("deltas") List<MonthlyTransactionStats> deltas);
+
+    // =================
+    // 재계산 / 검증
+    // =================
+
+    /**
+     * 원본 transactions 테이블에서 월별 통계 계산 (검증 작업 전용)
+     */
+    @Select("SELECT user_id, DATE_FORMAT(transacted_at, '%Y-%m') AS month, COUNT(*) AS transaction_count, " +
+            "COALESCE(SUM(total_amount), 0) AS total_amount, " +
+            "COALESCE(SUM(CASE WHEN transaction_type = 'BUY' THEN total_amount ELSE 0 END), 0) AS buy_amount, " +
+            "COALESCE(SUM(CASE WHEN transaction_type = 'SELL' THEN total_amount ELSE 0 END), 0) AS sell_amount, " +
+            "COALESCE(SUM(fee), 0) AS total_fee " +
+            "FROM transactions WHERE user_id = #{userId} " +
+            "GROUP BY user_id, DATE_FORMAT(transacted_at, '%Y-%m') ORDER BY month DESC")
+    List<MonthlyTransactionStats> calculateFromTransactions(Long userId);
+
+    @Delete("DELETE FROM monthly_transaction_stats WHERE user_id = #{userId}")
+    void deleteByUserId(Long userId);
+
+    @Insert("<script>" +
+            "INSERT INTO monthly_transaction_stats (user_id, stat_month, transaction_count, total_amount, " +
+            "buy_amount, sell_amount, total_fee, updated_at) VALUES " +
+            "<foreach collection='stats' item='s' separator=','>" +
+            "(#{s.userId}, #{s.month}, #{s.transactionCount}, #{s.totalAmount}, #{s.buyAmount}, " +
+            "#{s.sellAmount}, #{s.totalFee}, NOW())" +
+            "</foreach>" +
+            "</script>")
+    void insertBatch(@Param("stats") List<MonthlyTransactionStats> stats);
+}
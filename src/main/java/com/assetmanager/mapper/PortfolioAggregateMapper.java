@@ -0,0 +1,142 @@
+package com.assetmanager.mapper;
+
+import com.assetmanager.domain.AssetType;
+import com.assetmanager.domain.PortfolioAggregate;
+import com.assetmanager.domain.TransactionAggregate;
+import org.apache.ibatis.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 포트폴리오/거래 집계 테이블을 위한 MyBatis Mapper 인터페이스
+ * 대시보드 합계를 원본 SUM 대신 사용자별 집계 행 조회로 제공한다.
+ */
+@Mapper
+@UserSharded
+public interface PortfolioAggregateMapper {
+    
+    // =================
+    // 집계 조회
+    // =================
+    
+    /**
+     * 사용자의 자산 유형별 집계 조회
+     */
+    @Select("SELECT * FROM portfolio_aggregates WHERE user_id = #{userId} ORDER BY asset_type")
+    List<PortfolioAggregate> findByUserId(Long userId);
+    
+    /**
+     * 사용자의 특정 자산 유형 집계 조회
+     */
+    @Select("SELECT * FROM portfolio_aggregates WHERE user_id = #{userId} AND asset_type = #{assetType}")
+    Optional<PortfolioAggregate> findByUserIdAndAssetType(@Param("userId") Long userId,
+                                                          @Param("assetType") AssetType assetType);
+    
+    /**
+     * 사용자의 거래 집계 조회
+     */
+    @Select("SELECT * FROM transaction_aggregates WHERE user_id = #{userId}")
+    Optional<TransactionAggregate> findTransactionAggregate(Long userId);
+    
+    // =================
+    // 증분 갱신 (쓰기 트랜잭션 내에서 호출)
+    // =================
+    
+    /**
+     * 자산 유형별 집계에 변화량 반영
+     */
+    @Insert("INSERT INTO portfolio_aggregates (user_id, asset_type, total_investment, active_asset_count, updated_at) " +
+            "VALUES (#{userId}, #{assetType}, #{investmentDelta}, #{countDelta}, NOW()) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "total_investment = total_investment + VALUES(total_investment), " +
+            "active_asset_count = active_asset_count + VALUES(active_asset_count), " +
+            "updated_at = NOW()")
+    void applyAssetDelta(@Param("userId") Long userId,
+                         @Param("assetType") AssetType assetType,
+                         @Param("investmentDelta") BigDecimal investmentDelta,
+                         @Param("countDelta") int countDelta);
+    
+    /**
+     * 거래 집계에 변화량 반영
+     */
+    @Insert("INSERT INTO transaction_aggregates (user_id, total_buy_amount, total_sell_amount, total_fee, " +
+            "transaction_count, updated_at) " +
+            "VALUES (#{userId}, #{buyDelta}, #{sellDelta}, #{feeDelta}, #{countDelta}, NOW()) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "total_buy_amount = total_buy_amount + VALUES(total_buy_amount), " +
+            "total_sell_amount = total_sell_amount + VALUES(total_sell_amount), " +
+            "total_fee = total_fee + VALUES(total_fee), " +
+            "transaction_count = transaction_count + VALUES(transaction_count), " +
+            "updated_at = NOW()")
+    void applyTransactionDelta(@Param("userId") Long userId,
+                               @Param("buyDelta") BigDecimal buyDelta,
+                               @Param("sellDelta") BigDecimal sellDelta,
+                               @Param("feeDelta") BigDecimal feeDelta,
+                               @Param("countDelta") int countDelta);
+    
+    // =================
+    // 재계산 / 검증
+    // =================
+    
+    /**
+     * 재계산 중 동시 쓰기를 막기 위해 집계 행 잠금
+     */
+    @Select("SELECT COUNT(*) FROM portfolio_aggregates WHERE user_id = #{userId} FOR UPDATE")
+    int lockAssetAggregates(Long userId);
+    
+    /**
+     * 재계산 중 동시 쓰기를 막기 위해 거래 집계 행 잠금
+     */
+    @Select("SELECT COUNT(*) FROM transaction_aggregates WHERE user_id = #{userId} FOR UPDATE")
+    int lockTransactionAggregate(Long userId);
+    
+    /**
+     * 원본 assets 테이블에서 자산 유형별 집계 계산 (자산별로 소수 둘째 자리 반올림 후 합산)
+     */
+    @Select("SELECT user_id, asset_type, " +
+            "COALESCE(SUM(ROUND(quantity * average_price, 2)), 0) AS total_investment, " +
+            "COUNT(*) AS active_asset_count " +
+            "FROM assets WHERE user_id = #{userId} AND is_active = true " +
+            "GROUP BY user_id, asset_type")
+    List<PortfolioAggregate> calculateAssetAggregates(Long userId);
+    
+    /**
+     * 원본 transactions 테이블에서 거래 집계 계산
+     */
+    @Select("SELECT #{userId} AS user_id, " +
+            "COALESCE(SUM(CASE WHEN transaction_type = 'BUY' THEN total_amount ELSE 0 END), 0) AS total_buy_amount, " +
+            "COALESCE(SUM(CASE WHEN transaction_type = 'SELL' THEN total_amount ELSE 0 END), 0) AS total_sell_amount, " +
+            "COALESCE(SUM(fee), 0) AS total_fee, " +
+            "COUNT(*) AS transaction_count " +
+            "FROM transactions WHERE user_id = #{userId}")
+    TransactionAggregate calculateTransactionAggregate(Long userId);
+    
+    /**
+     * 사용자의 자산 유형별 집계 전체 삭제 (재계산 전)
+     */
+    @Delete("DELETE FROM portfolio_aggregates WHERE user_id = #{userId}")
+    void deleteAssetAggregates(Long userId);
+    
+    /**
+     * 자산 유형별 집계를 절대값으로 저장
+     */
+    @Insert("INSERT INTO portfolio_aggregates (user_id, asset_type, total_investment, active_asset_count, updated_at) " +
+            "VALUES (#{userId}, #{assetType}, #{totalInvestment}, #{activeAssetCount}, NOW())")
+    void insertAssetAggregate(PortfolioAggregate aggregate);
+    
+    /**
+     * 거래 집계를 절대값으로 저장
+     */
+    @Insert("INSERT INTO transaction_aggregates (user_id, total_buy_amount, total_sell_amount, total_fee, " +
+            "transaction_count, updated_at) " +
+            "VALUES (#{userId}, #{totalBuyAmount}, #{totalSellAmount}, #{totalFee}, #{transactionCount}, NOW()) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "total_buy_amount = VALUES(total_buy_amount), " +
+            "total_sell_amount = VALUES(total_sell_amount), " +
+            "total_fee = VALUES(total_fee), " +
+            "transaction_count = VALUES(transaction_count), " +
+            "updated_at = NOW()")
+    void upsertTransactionAggregate(TransactionAggregate aggregate);
+}
@@ -0,0 +1,46 @@
+package com.assetmanager.mapper;
+
+import com.assetmanager.domain.PortfolioRisk;
+import org.apache.ibatis.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 포트폴리오 위험 지표를 위한 MyBatis Mapper 인터페이스
+ */
+@Mapper
+@UserSharded
+public interface PortfolioRiskMapper {
+
+    // =================
+    // 저장
+    // =================
+
+    /**
+     * 위험 지표 일괄 저장 ((user_id, report_date) 가 같으면 덮어쓴다)
+     */
+    @Insert("<script>" +
+            "INSERT INTO portfolio_risk (user_id, report_date, total_value, annual_volatility, " +
+            "value_at_risk_95, value_at_risk_99, max_drawdown, asset_count, observation_days) VALUES " +
+            "<foreach collection='risks' item='r' separator=','>" +
+            "(#{r.userId}, #{r.reportDate}, #{r.totalValue}, #{r.annualVolatility}, " +
+            "#{r.valueAtRisk95}, #{r.valueAtRisk99}, #{r.maxDrawdown}, #{r.assetCount}, #{r.observationDays})" +
+            "</foreach> " +
+            "ON DUPLICATE KEY UPDATE " +
+            "total_value = VALUES(total_value), annual_volatility = VALUES(annual_volatility), " +
+            "value_at_risk_95 = VALUES(value_at_risk_95), value_at_risk_99 = VALUES(value_at_risk_99), " +
+            "max_drawdown = VALUES(max_drawdown), asset_count = VALUES(asset_count), " +
+            "observation_days = VALUES(observation_days)" +
+            "</script>")
+    int upsertBatch(@Param("risks") List<PortfolioRisk> risks);
+
+    // =================
+    // 조회
+    // =================
+
+    @ReplicaRead
+    @Select("SELECT * FROM portfolio_risk WHERE user_id = #{userId} ORDER BY report_date DESC LIMIT 1")
+    Optional<PortfolioRisk> findLatestByUserId(Long userId);
+}
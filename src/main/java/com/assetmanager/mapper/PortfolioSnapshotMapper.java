@@ -0,0 +1,77 @@
+package com.assetmanager.mapper;
+
+import com.assetmanager.domain.PortfolioSnapshot;
+import org.apache.ibatis.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 일별 포트폴리오 스냅샷을 위한 MyBatis Mapper 인터페이스
+ */
+@Mapper
+@UserSharded
+public interface PortfolioSnapshotMapper {
+
+    // =================
+    // 스냅샷 저장
+    // =================
+
+    /**
+     * 스냅샷 일괄 저장 ((user_id, snapshot_date) 가 같으면 덮어쓰고 기존 id 는 유지한다)
+     */
+    @AssignId
+    @Insert("<script>" +
+            "INSERT INTO portfolio_snapshots (id, user_id, snapshot_date, total_investment, total_current_value, " +
+            "total_profit_loss, profit_rate, asset_count, crypto_value, stock_value) VALUES " +
+            "<foreach collection='snapshots' item='s' separator=','>" +
+            "(#{s.id}, #{s.userId}, #{s.snapshotDate}, #{s.totalInvestment}, #{s.totalCurrentValue}, " +
+            "#{s.totalProfitLoss}, #{s.profitRate}, #{s.assetCount}, #{s.cryptoValue}, #{s.stockValue})" +
+            "</foreach> " +
+            "ON DUPLICATE KEY UPDATE " +
+            "total_investment = VALUES(total_investment), total_current_value = VALUES(total_current_value), " +
+            "total_profit_loss = VALUES(total_profit_loss), profit_rate = VALUES(profit_rate), " +
+            "asset_count = VALUES(asset_count), crypto_value = VALUES(crypto_value), " +
+            "stock_value = VALUES(stock_value)" +
+            "</script>")
+    int upsertBatch(@Param("snapshots") List<PortfolioSnapshot> snapshots);
+
+    // =================
+    // 스냅샷 조회
+    // =================
+
+    @Select("SELECT * FROM portfolio_snapshots WHERE user_id = #{userId} AND snapshot_date = #{snapshotDate}")
+    Optional<PortfolioSnapshot> findByUserIdAndSnapshotDate(@Param("userId") Long userId,
+                                                            @Param("snapshotDate") LocalDate snapshotDate);
+
+    /**
+     * 사용자의 기간별 스냅샷 조회 (추이 차트용)
+     */
+    @ReplicaRead
+    @Select("SELECT * FROM portfolio_snapshots WHERE user_id = #{userId} " +
+            "AND snapshot_date >= #{from} AND snapshot_date <= #{to} ORDER BY snapshot_date")
+    List<PortfolioSnapshot> findByUserIdAndDateRange(@Param("userId") Long userId,
+                                                     @Param("from") LocalDate from,
+                                                     @Param("to") LocalDate to);
+
+    // =================
+    // 배치 작업용
+    // =================
+
+    /**
+     * 해당 날짜 스냅샷이 아직 없는, 자산을 가진 사용자 ID (afterId 이후 키셋 조회)
+     * users 는 0번 샤드에만 있으므로 샤드마다 있는 assets 에서 사용자를 찾는다 (ShardRouter 범위 안에서 호출).
+     * 작업이 중간에 멈춰도 다시 실행하면 남은 사용자만 처리된다.
+     */
+    @Select("SELECT DISTINCT a.user_id FROM assets a WHERE a.user_id > #{afterId} " +
+            "AND NOT EXISTS (SELECT 1 FROM portfolio_snapshots s " +
+            "                WHERE s.user_id = a.user_id AND s.snapshot_date = #{snapshotDate}) " +
+            "ORDER BY a.user_id LIMIT #{limit}")
+    List<Long> findUserIdsWithoutSnapshot(@Param("snapshotDate") LocalDate snapshotDate,
+                                          @Param("afterId") long afterId,
+                                          @Param("limit") int limit);
+
+    @Select("SELECT COUNT(*) FROM portfolio_snapshots WHERE snapshot_date = #{snapshotDate}")
+    int countBySnapshotDate(LocalDate snapshotDate);
+}
@@ -0,0 +1,99 @@
+package com.assetmanager.mapper;
+
+import com.assetmanager.domain.CandleResolution;
+import com.assetmanager.domain.PriceHistory;
+import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 가격 캔들(OHLCV 롤업)을 위한 MyBatis Mapper 인터페이스
+ * 캔들은 PriceHistory 로 주고받으며, timestamp 는 봉 시작 시점, price 는 종가를 뜻한다.
+ */
+@Mapper
+public interface PriceCandleMapper {
+    
+    /**
+     * 캔들 일괄 저장 (같은 봉이 있으면 덮어쓴다)
+     */
+    @Insert("<script>" +
+            "INSERT INTO price_candles (symbol, exchange, resolution, bucket_start, " +
+            "open_price, high_price, low_price, close_price, volume, updated_at) VALUES " +
+            "<foreach collection='candles' item='c' separator=','>" +
+            "(#{c.symbol}, #{c.exchange}, #{resolution}, #{c.timestamp}, " +
+            "#{c.openPrice}, #{c.highPrice}, #{c.lowPrice}, #{c.closePrice}, #{c.volume}, NOW())" +
+            "</foreach> " +
+            "ON DUPLICATE KEY UPDATE " +
+            "open_price = VALUES(open_price), high_price = VALUES(high_price), " +
+            "low_price = VALUES(low_price), close_price = VALUES(close_price), " +
+            "volume = VALUES(volume), updated_at = NOW()" +
+            "</script>")
+    int upsertBatch(@Param("resolution") CandleResolution resolution,
+                    @Param("candles") List<PriceHistory> candles);
+    
+    /**
+     * 종목의 기간별 캔들 조회 (차트용)
+     */
+    @ReplicaRead
+    @Select("SELECT symbol, exchange, open_price, high_price, low_price, close_price, " +
+            "close_price AS price, volume, bucket_start FROM price_candles " +
+            "WHERE symbol = #{symbol} AND exchange = #{exchange} AND resolution = #{resolution} " +
+            "AND bucket_start >= #{from} AND bucket_start < #{to} " +
+            "ORDER BY bucket_start")
+    @Results(id = "candleMap", value = {
+        @Result(column = "bucket_start", property = "timestamp")
+    })
+    List<PriceHistory> findCandles(@Param("symbol") String symbol,
+                                   @Param("exchange") String exchange,
+                                   @Param("resolution") CandleResolution resolution,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to);
+    
+    /**
+     * 기간 내 모든 종목의 캔들 스트리밍 조회 (상위 단위 롤업용)
+     */
+    @Select("SELECT symbol, exchange, open_price, high_price, low_price, close_price, " +
+            "close_price AS price, volume, bucket_start FROM price_candles " +
+            "WHERE resolution = #{resolution} AND bucket_start >= #{from} AND bucket_start < #{to} " +
+            "ORDER BY symbol, exchange, bucket_start")
+    @ResultMap("candleMap")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+    Cursor<PriceHistory> streamCandlesBetween(@Param("resolution") CandleResolution resolution,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to);
+    
+    /**
+     * 종목별로 기준 시점 이전 마지막 캔들 조회 (일별 스냅샷 종가용)
+     * 거래가 없던 날은 since 이후의 가장 최근 봉을 쓴다.
+     */
+    @Select("SELECT c.symbol, c.exchange, c.open_price, c.high_price, c.low_price, c.close_price, " +
+            "c.close_price AS price, c.volume, c.bucket_start FROM price_candles c " +
+            "JOIN (SELECT symbol, exchange, MAX(bucket_start) AS bucket_start FROM price_candles " +
+            "      WHERE resolution = #{resolution} AND bucket_start >= #{since} AND bucket_start <= #{asOf} " +
+            "      GROUP BY symbol, exchange) latest " +
+            "ON c.symbol = latest.symbol AND c.exchange = latest.exchange " +
+            "AND c.bucket_start = latest.bucket_start " +
+            "WHERE c.resolution = #{resolution}")
+    @ResultMap("candleMap")
+    List<PriceHistory> findLatestCandlesAsOf(@Param("resolution") CandleResolution resolution,
+                                             @Param("since") LocalDateTime since,
+                                             @Param("asOf") LocalDateTime asOf);
+    
+    /**
+     * 단위별 가장 최근 봉 시작 시점 (롤업 재개 지점)
+     */
+    @Select("SELECT MAX(bucket_start) FROM price_candles WHERE resolution = #{resolution}")
+    LocalDateTime findLatestBucket(CandleResolution resolution);
+    
+    /**
+     * 보관 기간이 지난 캔들 삭제 (한 번에 limit 건)
+     */
+    @Delete("DELETE FROM price_candles WHERE resolution = #{resolution} AND bucket_start < #{cutoff} " +
+            "LIMIT #{limit}")
+    int deleteOlderThan(@Param("resolution") CandleResolution resolution,
+                        @Param("cutoff") LocalDateTime cutoff,
+                        @Param("limit") int limit);
+}
@@ -0,0 +1,66 @@
+package com.assetmanager.mapper;
+
+import com.assetmanager.domain.PriceHistory;
+import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * PriceHistory 도메인을 위한 MyBatis Mapper 인터페이스
+ * price_history 는 원본 틱을 보관하며, 차트 조회는 price_candles 롤업을 사용한다.
+ */
+@Mapper
+public interface PriceHistoryMapper {
+    
+    /**
+     * ID로 가격 데이터 조회
+     */
+    @Select("SELECT * FROM price_history WHERE id = #{id}")
+    @Results(id = "priceHistoryMap", value = {
+        @Result(column = "price_timestamp", property = "timestamp")
+    })
+    Optional<PriceHistory> findById(Long id);
+    
+    /**
+     * 종목의 최신 가격 조회
+     */
+    @Select("SELECT * FROM price_history WHERE symbol = #{symbol} AND exchange = #{exchange} " +
+            "ORDER BY price_timestamp DESC LIMIT 1")
+    @ResultMap("priceHistoryMap")
+    Optional<PriceHistory> findLatestBySymbolAndExchange(@Param("symbol") String symbol,
+                                                        @Param("exchange") String exchange);
+    
+    /**
+     * 특정 기간의 원본 틱 조회
+     */
+    @Select("SELECT * FROM price_history WHERE symbol = #{symbol} AND exchange = #{exchange} " +
+            "AND price_timestamp >= #{from} AND price_timestamp < #{to} " +
+            "ORDER BY price_timestamp")
+    @ResultMap("priceHistoryMap")
+    List<PriceHistory> findBySymbolAndDateRange(@Param("symbol") String symbol,
+                                                @Param("exchange") String exchange,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to);
+    
+    /**
+     * 기간 내 모든 종목의 원본 틱 스트리밍 조회 (1분봉 롤업용)
+     */
+    @Select("SELECT * FROM price_history " +
+            "WHERE price_timestamp >= #{from} AND price_timestamp < #{to} " +
+            "ORDER BY symbol, exchange, price_timestamp")
+    @ResultMap("priceHistoryMap")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+    Cursor<PriceHistory> streamTicksBetween(@Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+    
+    /**
+     * 보관 기간이 지난 원본 틱 삭제 (한 번에 limit 건)
+     */
+    @Delete("DELETE FROM price_history WHERE price_timestamp < #{cutoff} LIMIT #{limit}")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff,
+                        @Param("limit") int limit);
+}
@@ -0,0 +1,18 @@
+package com.assetmanager.mapper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 읽기 복제본에서 실행해도 되는 조회 매퍼 메서드 표시
+ * 복제 지연(수 초)을 허용하는 집계·통계성 조회에만 붙인다.
+ * 트랜잭션 안이거나, 조회 대상 사용자(userId 파라미터 또는 단일 Long 인자)가 방금 쓰기를 했다면 원본에서 읽는다.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaRead {
+}
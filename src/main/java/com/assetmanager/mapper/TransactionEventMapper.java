@@ -0,0 +1,152 @@
+package com.assetmanager.mapper;
+
+import com.assetmanager.domain.ProjectionWatermark;
+import com.assetmanager.domain.TransactionEvent;
+import org.apache.ibatis.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 거래 이벤트 아웃박스와 프로젝션 진행 위치를 위한 MyBatis Mapper 인터페이스
+ */
+@Mapper
+@UserSharded
+public interface TransactionEventMapper {
+
+    // =================
+    // 이벤트 추가 (거래 쓰기 트랜잭션 내에서 호출)
+    // =================
+
+    @Insert("<script>" +
+            "INSERT INTO transaction_events (user_id, transaction_id, sign, transaction_type, total_amount, fee, " +
+            "transacted_at) VALUES " +
+            "<foreach collection='events' item='e' separator=','>" +
+            "(#{e.userId}, #{e.transactionId}, #{e.sign}, #{e.transactionType}, #{e.totalAmount}, #{e.fee}, " +
+            "#{e.transactedAt})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("events") List<TransactionEvent> events);
+
+    // =================
+    // 이벤트 조회
+    // =================
+
+    /**
+     * afterId 이후 이벤트 (ID 순)
+     */
+    @Select("SELECT * FROM transaction_events WHERE id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<TransactionEvent> findAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Select("SELECT COALESCE(MAX(id), 0) FROM transaction_events")
+    long findLastEventId();
+
+    @Select("SELECT COALESCE(MAX(id), 0) FROM transaction_events WHERE user_id = #{userId}")
+    long findLastEventIdByUserId(@Param("userId") Long userId);
+
+    /**
+     * 구간 안의 커밋된 이벤트 ID (afterId 초과, upToId 이하)
+     */
+    @Select("SELECT id FROM transaction_events WHERE id > #{afterId} AND id <= #{upToId} ORDER BY id")
+    List<Long> findEventIdsBetween(@Param("afterId") long afterId, @Param("upToId") long upToId);
+
+    /**
+     * 이 시각 이전에 기록된 이벤트 뒤의 빈 번호는 넘어간다 (created_at 과 같은 DB 시계로 계산)
+     */
+    @Select("SELECT NOW(3) - INTERVAL #{settleSeconds} SECOND")
+    LocalDateTime findSettleCutoff(@Param("settleSeconds") long settleSeconds);
+
+    // =================
+    // 프로젝션 진행 위치
+    // =================
+
+    @Insert("INSERT IGNORE INTO projection_offsets (projection_name, last_event_id) VALUES (#{projection}, 0)")
+    void insertOffsetIfAbsent(String projection);
+
+    /**
+     * 읽기 위치를 잠그고 조회 (여러 노드의 작업자가 같은 구간을 동시에 처리하지 않게 한다)
+     */
+    @Select("SELECT last_event_id FROM projection_offsets WHERE projection_name = #{projection} FOR UPDATE")
+    Optional<Long> lockOffset(String projection);
+
+    @Update("UPDATE projection_offsets SET last_event_id = #{lastEventId} WHERE projection_name = #{projection}")
+    int updateOffset(@Param("projection") String projection, @Param("lastEventId") long lastEventId);
+
+    @Select("SELECT last_event_id FROM projection_offsets WHERE projection_name = #{projection}")
+    Optional<Long> findOffset(String projection);
+
+    // =================
+    // 넘어간 빈 번호 (늦게 커밋되는 이벤트)
+    // =================
+
+    @Insert("<script>" +
+            "INSERT IGNORE INTO projection_gaps (projection_name, event_id) VALUES " +
+            "<foreach collection='eventIds' item='eventId' separator=','>(#{projection}, #{eventId})</foreach>" +
+            "</script>")
+    int insertGaps(@Param("projection") String projection, @Param("eventIds") List<Long> eventIds);
+
+    /**
+     * 읽기 위치(upToId) 이하의 빈 번호 중 그 뒤에 커밋되어 나타난 이벤트 (ID 순)
+     * 읽기 위치 뒤의 빈 번호는 차례대로 읽을 때 반영한다. (먼저 반영하면 반영 위치가 아직 읽지 않은 이벤트를 넘는다)
+     */
+    @Select("SELECT e.* FROM projection_gaps g JOIN transaction_events e ON e.id = g.event_id " +
+            "WHERE g.projection_name = #{projection} AND g.event_id <= #{upToId} ORDER BY e.id LIMIT #{limit}")
+    List<TransactionEvent> findGapEvents(@Param("projection") String projection, @Param("upToId") long upToId,
+                                         @Param("limit") int limit);
+
+    @Delete("<script>" +
+            "DELETE FROM projection_gaps WHERE projection_name = #{projection} AND event_id IN " +
+            "<foreach collection='eventIds' item='eventId' open='(' separator=',' close=')'>#{eventId}</foreach>" +
+            "</script>")
+    int deleteGaps(@Param("projection") String projection, @Param("eventIds") List<Long> eventIds);
+
+    /**
+     * 읽기 위치 뒤에 미리 남겨 둔 빈 번호 (afterId 초과, upToId 이하, 원본에서 다시 계산할 때 기록)
+     */
+    @Select("SELECT event_id FROM projection_gaps WHERE projection_name = #{projection} " +
+            "AND event_id > #{afterId} AND event_id <= #{upToId}")
+    List<Long> findGapIdsBetween(@Param("projection") String projection, @Param("afterId") long afterId,
+                                 @Param("upToId") long upToId);
+
+    /**
+     * 사용자의 반영 위치 이하인 빈 번호 삭제 (원본에서 다시 계산한 값에 이미 들어간 이벤트)
+     */
+    @Delete("DELETE FROM projection_gaps WHERE projection_name = #{projection} AND event_id IN (" +
+            "SELECT e.id FROM transaction_events e JOIN projection_watermarks w " +
+            "ON w.projection_name = #{projection} AND w.user_id = e.user_id " +
+            "WHERE e.user_id = #{userId} AND e.id <= w.last_event_id)")
+    int deleteGapsUpToWatermark(@Param("projection") String projection, @Param("userId") Long userId);
+
+    /**
+     * 롤백이 확실한 빈 번호 삭제
+     * 번호를 받은 트랜잭션은 빈 번호를 처음 본 시점보다 먼저 시작했으므로, 그 뒤 가장 긴 쓰기 트랜잭션 시간이 지나도
+     * 이벤트가 없으면 롤백된 것이다. (first_seen_at 과 같은 DB 시계로 비교)
+     */
+    @Delete("DELETE FROM projection_gaps WHERE projection_name = #{projection} " +
+            "AND NOT EXISTS (SELECT 1 FROM transaction_events e WHERE e.id = projection_gaps.event_id) " +
+            "AND first_seen_at < NOW(3) - INTERVAL #{expirySeconds} SECOND")
+    int deleteRolledBackGaps(@Param("projection") String projection, @Param("expirySeconds") long expirySeconds);
+
+    // =================
+    // 사용자별 반영 위치 (재처리 시 중복 반영 방지)
+    // =================
+
+    @Select("<script>" +
+            "SELECT projection_name, user_id, last_event_id FROM projection_watermarks " +
+            "WHERE projection_name = #{projection} AND user_id IN " +
+            "<foreach collection='userIds' item='userId' open='(' separator=',' close=')'>#{userId}</foreach> " +
+            "ORDER BY user_id FOR UPDATE" +
+            "</script>")
+    List<ProjectionWatermark> lockWatermarks(@Param("projection") String projection,
+                                             @Param("userIds") List<Long> userIds);
+
+    @Insert("<script>" +
+            "INSERT INTO projection_watermarks (projection_name, user_id, last_event_id) VALUES " +
+            "<foreach collection='watermarks' item='w' separator=','>" +
+            "(#{w.projectionName}, #{w.userId}, #{w.lastEventId})" +
+            "</foreach> " +
+            "ON DUPLICATE KEY UPDATE last_event_id = GREATEST(last_event_id, VALUES(last_event_id))" +
+            "</script>")
+    int upsertWatermarks(@Param("watermarks") List<ProjectionWatermark> watermarks);
+}
@@ -3,6 +3,8 @@ package com.assetmanager.mapper;
 import com.assetmanager.domain.Transaction;
 import com.assetmanager.domain.TransactionType;
 import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -14,6 +16,7 @@ import java.util.Optional;
  * Phase 2.3: MyBatis Mapper 구현 - TransactionMapper
  */
 @Mapper
+@UserSharded
 public interface TransactionMapper {
     
     // =================
@@ -21,15 +24,42 @@ public interface TransactionMapper {
     // =================
     
     /**
-     * 거래 내역 등록
+     * 거래 내역 등록 (id 는 실행 전에 생성기가 채운다)
      */
-    @Insert("INSERT INTO transactions (user_id, asset_id, transaction_type, quantity, price, " +
-            "total_amount, fee, tax, transacted_at, created_at) " +
-            "VALUES (#{userId}, #{assetId}, #{transactionType}, #{quantity}, #{price}, " +
-            "#{totalAmount}, #{fee}, #{tax}, #{transactedAt}, NOW())")
-    @Options(useGeneratedKeys = true, keyProperty = "id")
+    @AssignId
+    @Insert("INSERT INTO transactions (id, user_id, asset_id, transaction_type, quantity, price, " +
+            "total_amount, fee, tax, net_amount, transacted_at, external_id, created_at) " +
+            "VALUES (#{id}, #{userId}, #{assetId}, #{transactionType}, #{quantity}, #{price}, " +
+            "#{totalAmount}, #{fee}, #{tax}, #{netAmount}, #{transactedAt}, #{externalId}, NOW())")
     void insert(Transaction transaction);
     
+    /**
+     * 거래 내역 일괄 등록 (다중 행 INSERT, 거래소 내역 가져오기용)
+     * id 는 실행 전에 원소마다 생성기가 채운다.
+     */
+    @AssignId
+    @Insert("<script>" +
+            "INSERT INTO transactions (id, user_id, asset_id, transaction_type, quantity, price, " +
+            "total_amount, fee, tax, net_amount, transacted_at, external_id, created_at) VALUES " +
+            "<foreach collection='transactions' item='t' separator=','>" +
+            "(#{t.id}, #{t.userId}, #{t.assetId}, #{t.transactionType}, #{t.quantity}, #{t.price}, " +
+            "#{t.totalAmount}, #{t.fee}, #{t.tax}, #{t.netAmount}, #{t.transactedAt}, #{t.externalId}, NOW())" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("transactions") List<Transaction> transactions);
+    
+    /**
+     * 이미 등록된 외부 거래 ID 조회 (가져오기 중복 제거용)
+     */
+    @Select("<script>" +
+            "SELECT external_id FROM transactions WHERE user_id = #{userId} AND external_id IN " +
+            "<foreach collection='externalIds' item='externalId' open='(' separator=',' close=')'>" +
+            "#{externalId}" +
+            "</foreach>" +
+            "</script>")
+    List<String> findExistingExternalIds(@Param("userId") Long userId,
+                                        @Param("externalIds") List<String> externalIds);
+    
     /**
      * ID로 거래 내역 조회
      */
@@ -40,7 +70,7 @@ public interface TransactionMapper {
      * 거래 내역 수정 (가격, 수수료 등 수정 가능)
      */
     @Update("UPDATE transactions SET quantity = #{quantity}, price = #{price}, " +
-            "total_amount = #{totalAmount}, fee = #{fee}, tax = #{tax}, " +
+            "total_amount = #{totalAmount}, fee = #{fee}, tax = #{tax}, net_amount = #{netAmount}, " +
             "updated_at = NOW() WHERE id = #{id}")
     void update(Transaction transaction);
     
@@ -71,6 +101,44 @@ public interface TransactionMapper {
                                            @Param("limit") int limit,
                                            @Param("offset") int offset);
     
+    /**
+     * 사용자의 거래 내역 커서(키셋) 페이징 조회
+     * 직전 페이지 마지막 행의 (transacted_at, id) 다음부터 읽으므로 idx_user_date 인덱스에서
+     * 바로 탐색하며, 페이지 깊이와 무관하게 비용이 일정하다. 커서가 null 이면 첫 페이지.
+     */
+    @Select("<script>" +
+            "SELECT * FROM transactions WHERE user_id = #{userId} " +
+            "<if test='cursorTransactedAt != null and cursorId != null'>" +
+            "AND (transacted_at &lt; #{cursorTransactedAt} " +
+            "OR (transacted_at = #{cursorTransactedAt} AND id &lt; #{cursorId})) " +
+            "</if>" +
+            "ORDER BY transacted_at DESC, id DESC " +
+            "LIMIT #{limit}" +
+            "</script>")
+    List<Transaction> findByUserIdAfterCursor(@Param("userId") Long userId,
+                                            @Param("cursorTransactedAt") LocalDateTime cursorTransactedAt,
+                                            @Param("cursorId") Long cursorId,
+                                            @Param("limit") int limit);
+    
+    /**
+     * 사용자의 전체 거래 내역 스트리밍 조회 (내보내기용)
+     * 반드시 트랜잭션 안에서 열고 닫아야 하며, MySQL 은 useCursorFetch=true 로 서버 커서를 사용한다.
+     */
+    @Select("SELECT * FROM transactions WHERE user_id = #{userId} " +
+            "ORDER BY transacted_at DESC, id DESC")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+    Cursor<Transaction> streamByUserId(Long userId);
+    
+    /**
+     * 보유량 재계산용 매수/매도 스트리밍 조회 (자산별 시간순)
+     * 재계산에 필요한 컬럼만 읽는다. idx_user_asset_date 를 따라 정렬 없이 읽힌다.
+     */
+    @Select("SELECT id, asset_id, transaction_type, quantity, price, total_amount, fee, tax, transacted_at, " +
+            "external_id FROM transactions WHERE user_id = #{userId} AND transaction_type IN ('BUY', 'SELL') " +
+            "ORDER BY asset_id, transacted_at, id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+    Cursor<Transaction> streamPositionFillsByUserId(Long userId);
+    
     /**
      * 특정 자산의 거래 내역 조회
      */
@@ -95,6 +163,7 @@ public interface TransactionMapper {
     /**
      * 특정 기간의 거래 내역 조회
      */
+    @ReplicaRead
     @Select("SELECT * FROM transactions WHERE user_id = #{userId} " +
             "AND transacted_at BETWEEN #{startDate} AND #{endDate} " +
             "ORDER BY transacted_at DESC")
@@ -118,12 +187,14 @@ public interface TransactionMapper {
     /**
      * 사용자의 총 거래 횟수
      */
+    @ReplicaRead
     @Select("SELECT COUNT(*) FROM transactions WHERE user_id = #{userId}")
     int countTransactionsByUserId(Long userId);
     
     /**
      * 총 매수 금액 계산
      */
+    @ReplicaRead
     @Select("SELECT COALESCE(SUM(total_amount), 0) FROM transactions " +
             "WHERE user_id = #{userId} AND transaction_type = 'BUY'")
     BigDecimal getTotalBuyAmountByUserId(Long userId);
@@ -131,6 +202,7 @@ public interface TransactionMapper {
     /**
      * 총 매도 금액 계산
      */
+    @ReplicaRead
     @Select("SELECT COALESCE(SUM(total_amount), 0) FROM transactions " +
             "WHERE user_id = #{userId} AND transaction_type = 'SELL'")
     BigDecimal getTotalSellAmountByUserId(Long userId);
@@ -138,35 +210,10 @@ public interface TransactionMapper {
     /**
      * 총 거래 수수료 계산
      */
+    @ReplicaRead
     @Select("SELECT COALESCE(SUM(fee), 0) FROM transactions WHERE user_id = #{userId}")
     BigDecimal getTotalFeeByUserId(Long userId);
     
-    /**
-     * 특정 자산의 평균 매수가 계산
-     */
-    @Select("SELECT " +
-            "CASE WHEN SUM(CASE WHEN transaction_type = 'BUY' THEN quantity ELSE 0 END) > 0 " +
-            "THEN SUM(CASE WHEN transaction_type = 'BUY' THEN total_amount ELSE 0 END) / " +
-            "     SUM(CASE WHEN transaction_type = 'BUY' THEN quantity ELSE 0 END) " +
-            "ELSE 0 END as average_price " +
-            "FROM transactions " +
-            "WHERE user_id = #{userId} AND asset_id = #{assetId}")
-    BigDecimal getAveragePurchasePrice(@Param("userId") Long userId,
-                                     @Param("assetId") Long assetId);
-    
-    /**
-     * 월별 거래 통계
-     */
-    @Select("SELECT " +
-            "DATE_FORMAT(transacted_at, '%Y-%m') as month, " +
-            "COUNT(*) as transaction_count, " +
-            "SUM(total_amount) as total_amount " +
-            "FROM transactions " +
-            "WHERE user_id = #{userId} " +
-            "GROUP BY DATE_FORMAT(transacted_at, '%Y-%m') " +
-            "ORDER BY month DESC")
-    List<Object> getMonthlyTransactionStats(Long userId);
-    
     // =================
     // 최근 거래 조회
     // =================
@@ -32,6 +32,12 @@ public interface UserMapper {
     @Select("SELECT * FROM users WHERE email = #{email}")
     Optional<User> findByEmail(String email);
     
+    /**
+     * 활성 사용자 ID 목록 조회 (배치 작업용)
+     */
+    @Select("SELECT id FROM users WHERE is_active = true ORDER BY id")
+    List<Long> findActiveUserIds();
+    
     /**
      * 활성 사용자 수 조회
      */
@@ -0,0 +1,18 @@
+package com.assetmanager.mapper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 사용자 단위로 샤드에 나뉘어 저장되는 테이블의 매퍼 표시 (datasource.sharding.enabled=true 일 때 적용)
+ * 각 SQL 은 파라미터의 userId (또는 생성기가 만든 id 에 들어 있는 버킷) 로 샤드를 고른다.
+ * 표시가 없는 매퍼는 전역 테이블로 보고 0번 샤드에서 실행한다.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UserSharded {
+}
@@ -0,0 +1,47 @@
+package com.assetmanager.service.asset;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.service.portfolio.PortfolioAggregateService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 자산 쓰기 서비스
+ * 자산 행과 자산 유형별 집계를 같은 DB 트랜잭션 안에서 함께 갱신한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class AssetService {
+
+    private final AssetMapper assetMapper;
+    private final PortfolioAggregateService aggregateService;
+    private final PositionLedger positionLedger;
+
+    @Transactional
+    public Asset register(Asset asset) {
+        assetMapper.insert(asset);
+        aggregateService.onAssetInserted(asset);
+        return asset;
+    }
+
+    /**
+     * 보유 수량/평균 매수가 수정
+     * version 을 함께 보내면 그 사이 다른 수정이 있었을 때 OptimisticLockingFailureException 으로 거절한다.
+     */
+    @Transactional
+    public Asset update(Asset asset) {
+        return positionLedger.overwrite(asset).after();
+    }
+
+    @Transactional
+    public void deactivate(Long id) {
+        Asset before = assetMapper.findByIdForUpdate(id)
+            .orElseThrow(() -> new IllegalArgumentException("asset not found: " + id));
+        assetMapper.softDelete(id);
+        aggregateService.onAssetDeactivated(before);
+    }
+}
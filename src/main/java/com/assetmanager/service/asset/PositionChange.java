@@ -0,0 +1,9 @@
+package com.assetmanager.service.asset;
+
+import com.assetmanager.domain.Asset;
+
+/**
+ * 보유량 변경 전후 상태
+ */
+public record PositionChange(Asset before, Asset after) {
+}
@@ -0,0 +1,213 @@
+package com.assetmanager.service.asset;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.service.portfolio.PortfolioAggregateService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 자산 보유량/평균 매수가 갱신 경로
+ * 같은 노드의 같은 자산 갱신은 자산별 스트라이프 잠금으로 트랜잭션 종료까지 줄 세우고,
+ * 다른 노드와의 경합은 version 조건부 UPDATE 로 감지한다.
+ * 충돌하면 잠금 조회로 최신 행을 다시 읽어 한 번 더 반영하므로, 경합이 없을 때는 행 잠금 대기 없이 끝난다.
+ * 한 트랜잭션에서 여러 자산을 갱신할 때는 lockAll 로 스트라이프를 먼저 잡아야 잠금 순서가 엇갈리지 않는다.
+ */
+@Service
+public class PositionLedger {
+
+    private static final int STRIPES = 256;
+    private static final long LOCK_TIMEOUT_MILLIS = 5_000;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    private final AssetMapper assetMapper;
+    private final PortfolioAggregateService aggregateService;
+
+    private final Counter conflicts;
+    private final Timer lockWait;
+
+    public PositionLedger(AssetMapper assetMapper, PortfolioAggregateService aggregateService,
+                          MeterRegistry meterRegistry) {
+        this.assetMapper = assetMapper;
+        this.aggregateService = aggregateService;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+
+        this.conflicts = Counter.builder("asset.position.conflicts")
+            .description("Position writes that lost the version check and were reapplied")
+            .register(meterRegistry);
+        this.lockWait = Timer.builder("asset.position.lock.wait")
+            .description("Time spent waiting for the per-asset stripe lock")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 한 트랜잭션에서 여러 자산을 갱신하기 전에 스트라이프 잠금을 트랜잭션 종료까지 잡아 둔다.
+     * 자산 ID 순서와 스트라이프 번호 순서는 다를 수 있어서, 스트라이프 번호 순으로 중복 없이 잠가야
+     * 두 트랜잭션이 서로의 스트라이프를 기다리며 멈추지 않는다. 이후 applyFills/overwrite 는 재진입한다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockAll(Collection<Long> assetIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        int[] indexes = assetIds.stream().mapToInt(PositionLedger::stripeOf).distinct().sorted().toArray();
+        for (int index : indexes) {
+            releaseOnCompletion(acquire(index, "stripe=" + index));
+        }
+    }
+
+    /**
+     * 체결을 시간순으로 자산에 반영
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PositionChange applyFills(Long userId, Long assetId, List<Transaction> fills) {
+        ReentrantLock lock = acquire(assetId);
+        boolean releasedOnCompletion = releaseOnCompletion(lock);
+        try {
+            Asset current = load(assetId, false);
+            if (!userId.equals(current.getUserId())) {
+                throw new IllegalArgumentException("asset " + assetId + " does not belong to user " + userId);
+            }
+            PositionChange change = tryApply(current, fills);
+            if (change == null) {
+                // 다른 노드가 먼저 수정했다. 잠금 조회는 커밋된 최신 행을 읽으므로 다시 충돌하지 않는다.
+                conflicts.increment();
+                change = tryApply(load(assetId, true), fills);
+            }
+            if (change == null) {
+                throw new OptimisticLockingFailureException("asset " + assetId + " was modified concurrently");
+            }
+            aggregateService.onAssetUpdated(change.before(), change.after());
+            return change;
+        } finally {
+            if (!releasedOnCompletion) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 보유 수량/평균 매수가 직접 수정
+     * version 이 있으면 그 버전에서 바뀌지 않았을 때만 반영하고, 없으면 최신 행 위에 덮어쓴다.
+     * 평균 매수가는 컬럼 자릿수로 반올림해 저장하므로 집계 변화량도 저장된 값으로 계산된다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PositionChange overwrite(Asset asset) {
+        ReentrantLock lock = acquire(asset.getId());
+        boolean releasedOnCompletion = releaseOnCompletion(lock);
+        try {
+            Asset before = load(asset.getId(), true);
+            if (asset.getAveragePrice() != null) {
+                asset.setAveragePrice(asset.getAveragePrice().setScale(Asset.AVERAGE_PRICE_SCALE, RoundingMode.HALF_UP));
+            }
+            long expected = asset.getVersion() == null ? version(before) : asset.getVersion();
+            if (expected != version(before) || assetMapper.updatePosition(asset, expected) == 0) {
+                conflicts.increment();
+                throw new OptimisticLockingFailureException("asset " + asset.getId() + " was modified concurrently");
+            }
+            asset.setVersion(expected + 1);
+            aggregateService.onAssetUpdated(before, asset);
+            return new PositionChange(before, asset);
+        } finally {
+            if (!releasedOnCompletion) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 읽은 상태에 체결을 반영해 조건부 저장
+     *
+     * @return 읽은 뒤 다른 트랜잭션이 먼저 수정했으면 null
+     */
+    private PositionChange tryApply(Asset current, List<Transaction> fills) {
+        Asset after = current.toBuilder().build();
+        if (after.getQuantity() == null) {
+            after.setQuantity(BigDecimal.ZERO);
+        }
+        for (Transaction fill : fills) {
+            if (fill.isBuyTransaction()) {
+                after.addPurchase(fill.getQuantity(), fill.getPrice());
+            } else if (fill.isSellTransaction()) {
+                after.sell(fill.getQuantity());
+            }
+        }
+        long expected = version(current);
+        if (assetMapper.updatePosition(after, expected) == 0) {
+            return null;
+        }
+        after.setVersion(expected + 1);
+        return new PositionChange(current, after);
+    }
+
+    private Asset load(Long assetId, boolean forUpdate) {
+        return (forUpdate ? assetMapper.findByIdForUpdate(assetId) : assetMapper.findById(assetId))
+            .orElseThrow(() -> new IllegalArgumentException("asset not found: " + assetId));
+    }
+
+    private ReentrantLock acquire(Long assetId) {
+        return acquire(stripeOf(assetId), "assetId=" + assetId);
+    }
+
+    private ReentrantLock acquire(int stripe, String target) {
+        ReentrantLock lock = stripes[stripe];
+        long startedAt = System.nanoTime();
+        try {
+            if (!lock.tryLock(LOCK_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                throw new CannotAcquireLockException("position lock timeout: " + target);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("interrupted while waiting for position lock: " + target, e);
+        } finally {
+            lockWait.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+        return lock;
+    }
+
+    /**
+     * 트랜잭션 안이면 잠금을 커밋/롤백 후에 푼다.
+     * 커밋 전에 풀면 같은 노드의 다음 갱신이 아직 커밋되지 않은 이전 버전을 읽고 충돌하게 된다.
+     */
+    private static boolean releaseOnCompletion(ReentrantLock lock) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+        return true;
+    }
+
+    private static int stripeOf(Long assetId) {
+        return Math.floorMod(Long.hashCode(assetId * 0x9E3779B97F4A7C15L), STRIPES);
+    }
+
+    private static long version(Asset asset) {
+        return asset.getVersion() == null ? 0L : asset.getVersion();
+    }
+}
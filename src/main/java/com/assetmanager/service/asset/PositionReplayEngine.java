@@ -0,0 +1,255 @@
+package com.assetmanager.service.asset;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.dto.ReplayedPosition;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.mapper.TransactionMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 보유량 재계산 엔진
+ * 사용자의 매수/매도를 (asset_id, transacted_at) 순으로 한 번만 읽으며 Asset.addPurchase / sell 로 접어
+ * 전체 자산의 수량, 평균 매수가, 실현 손익을 함께 구한다.
+ * 자산이 바뀔 때마다 이전 자산을 확정하므로 메모리는 자산 수에만 비례한다.
+ * 평균 매수가는 저장 경로(PositionLedger) 와 같이 체결마다 컬럼 자릿수로 반올림하며 이어 간다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PositionReplayEngine {
+
+    private final TransactionMapper transactionMapper;
+    private final AssetMapper assetMapper;
+    private final PositionLedger positionLedger;
+
+    /**
+     * 사용자의 전체 거래를 다시 반영한 자산별 보유 상태 (asset_id 순)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, ReplayedPosition> replay(Long userId) {
+        return replayExcluding(userId, Set.of());
+    }
+
+    /**
+     * 저장된 보유량이 거래 내역과 어긋난 자산 조회 (거래가 있는 활성 자산만 비교)
+     */
+    @Transactional(readOnly = true)
+    public List<ReplayedPosition> reconcile(Long userId) {
+        return drifted(userId, replay(userId));
+    }
+
+    /**
+     * 과거 일자 체결을 가져온 뒤 해당 자산의 보유량을 거래 내역 기준으로 다시 쓴다
+     * 이번 체결을 빼고 다시 반영한 결과가 저장된 보유량과 다르면 거래 내역 밖에서 들어온 보유량(직접 입력 등)이므로
+     * 덮어쓰지 않고 이번 체결만 저장된 보유량 위에 이어 반영한 뒤 unexplained 로 돌려준다.
+     * 그 반영에서 보유 수량을 넘는 매도가 나오면 IllegalArgumentException 으로 가져오기 전체가 롤백된다.
+     *
+     * @param added 이번에 가져온 체결 (자산별, external_id 로 기존 거래와 구분)
+     */
+    @Transactional
+    public RebuildResult rebuild(Long userId, Map<Long, List<Transaction>> added) {
+        // 다시 반영하기 전에 스트라이프 → 행 순서(applyFills 와 같은 순서) 로 잠가, 읽은 보유량과 쓰는 보유량 사이에
+        // 같은 자산의 다른 갱신이 끼어들지 못하게 한다
+        List<Long> assetIds = added.keySet().stream().sorted().toList();
+        positionLedger.lockAll(assetIds);
+        Map<Long, Asset> locked = new LinkedHashMap<>();
+        for (Long assetId : assetIds) {
+            assetMapper.findByIdForUpdate(assetId)
+                .filter(asset -> userId.equals(asset.getUserId()) && asset.isActiveAsset())
+                .ifPresent(asset -> locked.put(assetId, asset));
+        }
+
+        Set<String> addedIds = added.values().stream()
+            .flatMap(List::stream)
+            .map(Transaction::getExternalId)
+            .collect(Collectors.toSet());
+        Map<Long, ReplayedPosition> replayed = replay(userId);
+        Map<Long, ReplayedPosition> prior = replayExcluding(userId, addedIds);
+
+        int rebuilt = 0;
+        List<Long> unexplained = new ArrayList<>();
+        for (Asset asset : locked.values()) {
+            ReplayedPosition position = replayed.get(asset.getId());
+            if (position == null || position.matches(asset)) {
+                continue;
+            }
+            if (!isExplained(prior.get(asset.getId()), asset)) {
+                unexplained.add(asset.getId());
+                log.warn("position not rebuilt, holding is not explained by transactions: userId={}, assetId={}",
+                        userId, asset.getId());
+                positionLedger.applyFills(userId, asset.getId(), added.get(asset.getId()));
+                continue;
+            }
+            asset.setQuantity(position.getQuantity());
+            asset.setAveragePrice(position.getAveragePrice());
+            positionLedger.overwrite(asset);
+            rebuilt++;
+            log.warn("position rebuilt from transactions: userId={}, assetId={}, quantity={}, averagePrice={}, " +
+                    "anomalies={}", userId, position.getAssetId(), position.getQuantity(),
+                    position.getAveragePrice(), position.getAnomalies());
+        }
+        return new RebuildResult(rebuilt, unexplained);
+    }
+
+    /**
+     * 이번 체결 전 보유량이 그때까지의 거래 내역으로 설명되는지 (거래가 없던 자산은 수량 0 이어야 한다)
+     */
+    private static boolean isExplained(ReplayedPosition prior, Asset stored) {
+        if (prior == null) {
+            return stored.getQuantity() == null || stored.getQuantity().signum() == 0;
+        }
+        return prior.matches(stored);
+    }
+
+    private Map<Long, ReplayedPosition> replayExcluding(Long userId, Set<String> externalIds) {
+        try (Cursor<Transaction> cursor = transactionMapper.streamPositionFillsByUserId(userId)) {
+            if (externalIds.isEmpty()) {
+                return fold(cursor.iterator());
+            }
+            Iterator<Transaction> fills = StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(cursor.iterator(), Spliterator.ORDERED), false)
+                .filter(fill -> !externalIds.contains(fill.getExternalId()))
+                .iterator();
+            return fold(fills);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<ReplayedPosition> drifted(Long userId, Map<Long, ReplayedPosition> replayed) {
+        List<ReplayedPosition> drifted = new ArrayList<>();
+        for (Asset asset : assetMapper.findActiveAssetsByUserId(userId)) {
+            ReplayedPosition position = replayed.get(asset.getId());
+            if (position != null && !position.matches(asset)) {
+                drifted.add(position);
+            }
+        }
+        return drifted;
+    }
+
+    /**
+     * (asset_id, transacted_at) 순으로 정렬된 거래를 자산별 보유 상태로 접는다.
+     */
+    public static Map<Long, ReplayedPosition> fold(Iterator<Transaction> transactions) {
+        Map<Long, ReplayedPosition> positions = new LinkedHashMap<>();
+        Fold current = null;
+        while (transactions.hasNext()) {
+            Transaction transaction = transactions.next();
+            if (current == null || !current.assetId.equals(transaction.getAssetId())) {
+                if (current != null) {
+                    positions.put(current.assetId, current.toPosition());
+                }
+                if (positions.containsKey(transaction.getAssetId())) {
+                    throw new IllegalArgumentException("transactions must be ordered by asset_id");
+                }
+                current = new Fold(transaction.getAssetId());
+            }
+            current.apply(transaction);
+        }
+        if (current != null) {
+            positions.put(current.assetId, current.toPosition());
+        }
+        return positions;
+    }
+
+    /**
+     * 자산 하나의 누적 상태
+     */
+    private static final class Fold {
+
+        private final Long assetId;
+        private final Asset asset = Asset.builder()
+            .quantity(BigDecimal.ZERO)
+            .averagePrice(BigDecimal.ZERO)
+            .build();
+        private BigDecimal realizedProfitLoss = BigDecimal.ZERO;
+        private BigDecimal totalFee = BigDecimal.ZERO;
+        private int buyCount;
+        private int sellCount;
+        private int anomalies;
+        private LocalDateTime lastTransactedAt;
+
+        Fold(Long assetId) {
+            this.assetId = assetId;
+        }
+
+        void apply(Transaction transaction) {
+            lastTransactedAt = transaction.getTransactedAt();
+            totalFee = totalFee.add(orZero(transaction.getFee())).add(orZero(transaction.getTax()));
+            BigDecimal quantity = transaction.getQuantity();
+            if (quantity == null || quantity.signum() <= 0) {
+                anomalies++;
+                return;
+            }
+            if (transaction.isBuyTransaction()) {
+                applyBuy(quantity, transaction.getPrice());
+            } else if (transaction.isSellTransaction()) {
+                applySell(quantity, transaction);
+            }
+        }
+
+        private void applyBuy(BigDecimal quantity, BigDecimal price) {
+            buyCount++;
+            if (price == null || price.signum() <= 0) {
+                // 무상 입고(에어드롭 등)는 Asset.addPurchase 가 받지 않으므로 원가 0 으로 수량만 늘린다.
+                BigDecimal cost = asset.getTotalInvestmentAmount();
+                BigDecimal newQuantity = asset.getQuantity().add(quantity);
+                asset.setAveragePrice(cost.divide(newQuantity, Asset.AVERAGE_PRICE_SCALE, RoundingMode.HALF_UP));
+                asset.setQuantity(newQuantity);
+                anomalies++;
+                return;
+            }
+            asset.addPurchase(quantity, price);
+        }
+
+        private void applySell(BigDecimal quantity, Transaction transaction) {
+            sellCount++;
+            BigDecimal sold = quantity;
+            if (sold.compareTo(asset.getQuantity()) > 0) {
+                // 보유량을 넘는 매도는 보유분까지만 반영한다 (누락된 매수나 입고가 있다는 뜻).
+                anomalies++;
+                sold = asset.getQuantity();
+                if (sold.signum() == 0) {
+                    return;
+                }
+            }
+            BigDecimal proceeds = transaction.getPrice() != null
+                ? sold.multiply(transaction.getPrice())
+                : orZero(transaction.getTotalAmount());
+            BigDecimal costBasis = asset.sell(sold);
+            realizedProfitLoss = realizedProfitLoss.add(proceeds.subtract(costBasis));
+        }
+
+        ReplayedPosition toPosition() {
+            return new ReplayedPosition(assetId, asset.getQuantity(), asset.getAveragePrice(), realizedProfitLoss,
+                    totalFee, buyCount, sellCount, anomalies, lastTransactedAt);
+        }
+
+        private static BigDecimal orZero(BigDecimal value) {
+            return value == null ? BigDecimal.ZERO : value;
+        }
+    }
+}
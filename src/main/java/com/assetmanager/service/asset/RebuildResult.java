@@ -0,0 +1,11 @@
+package com.assetmanager.service.asset;
+
+import java.util.List;
+
+/**
+ * 과거 일자 체결 반영 후 보유량 재계산 결과
+ * unexplained 는 기존 거래 내역으로 설명되지 않는 보유량(직접 입력 등)이라 다시 계산하지 않고
+ * 이번 체결만 저장된 보유량 위에 반영한 자산 ID 다.
+ */
+public record RebuildResult(int rebuilt, List<Long> unexplained) {
+}
@@ -0,0 +1,105 @@
+package com.assetmanager.service.exchange;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.security.auth.Destroyable;
+
+/**
+ * 복호화한 거래소 API 키 (ApiKeyService 캐시 항목)
+ * 평문은 지울 수 있는 byte[] 로만 들고 있으며, 캐시에서 빠지고 빌려 쓰는 호출이 모두 끝나면 0 으로 덮는다.
+ * ApiKeyService.withCredentials 콜백 안에서만 쓰고 밖으로 꺼내 보관하지 않는다.
+ */
+public final class ApiCredentials implements Destroyable {
+
+    private final Long apiKeyId;
+    private final byte[] accessKey;
+    private final byte[] secretKey;
+    private final long loadedAtMillis;
+
+    private int leases;
+    private boolean evicted;
+    private boolean destroyed;
+
+    ApiCredentials(Long apiKeyId, byte[] accessKey, byte[] secretKey, long loadedAtMillis) {
+        this.apiKeyId = apiKeyId;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.loadedAtMillis = loadedAtMillis;
+    }
+
+    public Long apiKeyId() {
+        return apiKeyId;
+    }
+
+    /**
+     * 액세스 키 (요청 헤더/토큰의 공개 식별자)
+     */
+    public synchronized String accessKey() {
+        requireLive();
+        return new String(accessKey, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 서명용 시크릿 키 원본 배열 (복사하지 않으므로 수정하거나 보관하지 않는다)
+     */
+    public synchronized byte[] secretKey() {
+        requireLive();
+        return secretKey;
+    }
+
+    long loadedAtMillis() {
+        return loadedAtMillis;
+    }
+
+    /**
+     * 사용 시작 (이미 캐시에서 빠졌으면 false)
+     */
+    synchronized boolean lease() {
+        if (evicted) {
+            return false;
+        }
+        leases++;
+        return true;
+    }
+
+    synchronized void release() {
+        leases--;
+        if (evicted && leases == 0) {
+            destroy();
+        }
+    }
+
+    /**
+     * 캐시에서 빠짐 (사용 중인 호출이 없으면 바로 지운다)
+     */
+    synchronized void evict() {
+        evicted = true;
+        if (leases == 0) {
+            destroy();
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        Arrays.fill(accessKey, (byte) 0);
+        Arrays.fill(secretKey, (byte) 0);
+        destroyed = true;
+    }
+
+    @Override
+    public synchronized boolean isDestroyed() {
+        return destroyed;
+    }
+
+    @Override
+    public String toString() {
+        return "ApiCredentials(apiKeyId=" + apiKeyId + ")";
+    }
+
+    private void requireLive() {
+        if (destroyed) {
+            throw new IllegalStateException("api credentials already destroyed");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.assetmanager.service.exchange;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * API 키 암호화 (AES-256-GCM)
+ * 저장 형식: Base64(IV 12바이트 + 암호문 + 인증 태그)
+ */
+@Component
+public class ApiKeyCipher {
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final int KEY_BYTES = 32;
+
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+
+    public ApiKeyCipher(ApiKeyProperties properties) {
+        this(properties.getEncryptionKey());
+    }
+
+    ApiKeyCipher(String base64Key) {
+        if (base64Key == null || base64Key.isBlank()) {
+            this.key = null;
+            return;
+        }
+        byte[] raw = Base64.getDecoder().decode(base64Key.trim());
+        if (raw.length != KEY_BYTES) {
+            throw new IllegalArgumentException("api key encryption key must be 256 bits");
+        }
+        this.key = new SecretKeySpec(raw, "AES");
+        Arrays.fill(raw, (byte) 0);
+    }
+
+    public String encrypt(byte[] plain) {
+        byte[] iv = new byte[IV_BYTES];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, requireKey(), new GCMParameterSpec(TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(plain);
+            return Base64.getEncoder().encodeToString(
+                    ByteBuffer.allocate(IV_BYTES + encrypted.length).put(iv).put(encrypted).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("api key encryption failed", e);
+        }
+    }
+
+    /**
+     * 복호화한 평문 바이트 (다 쓰면 호출자가 지운다)
+     */
+    public byte[] decrypt(String encoded) {
+        byte[] data = Base64.getDecoder().decode(encoded);
+        if (data.length <= IV_BYTES) {
+            throw new IllegalArgumentException("invalid encrypted api key");
+        }
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, requireKey(), new GCMParameterSpec(TAG_BITS, data, 0, IV_BYTES));
+            return cipher.doFinal(data, IV_BYTES, data.length - IV_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("api key decryption failed", e);
+        }
+    }
+
+    private SecretKeySpec requireKey() {
+        if (key == null) {
+            throw new IllegalStateException("api key encryption key is not configured");
+        }
+        return key;
+    }
+}
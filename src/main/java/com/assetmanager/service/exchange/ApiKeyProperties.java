@@ -0,0 +1,29 @@
+package com.assetmanager.service.exchange;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 거래소 API 키 설정 (api.keys.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "api.keys")
+public class ApiKeyProperties {
+
+    /** access_key / secret_key 암호화 키 (Base64, 256비트) */
+    private String encryptionKey;
+
+    /** 복호화한 키를 메모리에 두는 시간 (지나면 지우고 다시 읽는다) */
+    private Duration cacheTtl = Duration.ofMinutes(1);
+
+    /** 복호화한 키를 동시에 보관할 최대 개수 */
+    private int cacheMaxEntries = 10_000;
+
+    /** last_used_at 일괄 반영 주기 (ms), 키마다 이 주기에 최대 한 번 쓴다 */
+    private long lastUsedFlushIntervalMs = 30_000;
+}
@@ -0,0 +1,257 @@
+package com.assetmanager.service.exchange;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.assetmanager.config.shard.ShardBucketMovedEvent;
+import com.assetmanager.config.shard.SnowflakeIdGenerator;
+import com.assetmanager.domain.ApiKey;
+import com.assetmanager.domain.Exchange;
+import com.assetmanager.dto.ApiKeyUsage;
+import com.assetmanager.mapper.ApiKeyMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 거래소 API 키 서비스
+ * 복호화한 키를 짧은 TTL 의 크기 제한 캐시에 두어 호출마다 DB 조회와 복호화를 하지 않는다.
+ * 캐시에서 빠진 키의 평문은 사용 중인 호출이 끝나는 즉시 0 으로 덮는다.
+ * last_used_at 은 호출마다 쓰지 않고 키별 마지막 사용 시간만 모아 주기적으로 한 번에 반영한다.
+ * 반영은 소유자의 버킷별로 나눠 각 UPDATE 가 그 사용자의 샤드로 라우팅되게 한다.
+ */
+@Slf4j
+@Service
+public class ApiKeyService {
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final ApiKeyMapper apiKeyMapper;
+    private final ApiKeyCipher cipher;
+    private final ApiKeyProperties properties;
+    private final Clock clock;
+    private final Map<CredentialsKey, ApiCredentials> cache;
+    private final ConcurrentHashMap<Long, PendingUse> pendingLastUsed = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter lastUsedWrites;
+
+    @Autowired
+    public ApiKeyService(ApiKeyMapper apiKeyMapper, ApiKeyCipher cipher, ApiKeyProperties properties,
+                         MeterRegistry meterRegistry) {
+        this(apiKeyMapper, cipher, properties, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    ApiKeyService(ApiKeyMapper apiKeyMapper, ApiKeyCipher cipher, ApiKeyProperties properties,
+                  MeterRegistry meterRegistry, Clock clock) {
+        this.apiKeyMapper = apiKeyMapper;
+        this.cipher = cipher;
+        this.properties = properties;
+        this.clock = clock;
+        int maxEntries = Math.max(1, properties.getCacheMaxEntries());
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CredentialsKey, ApiCredentials> eldest) {
+                if (size() > maxEntries) {
+                    eldest.getValue().evict();
+                    return true;
+                }
+                return false;
+            }
+        });
+
+        this.hits = cacheCounter(meterRegistry, "hit");
+        this.misses = cacheCounter(meterRegistry, "miss");
+        this.lastUsedWrites = Counter.builder("api.keys.last.used.writes")
+            .description("Rows written by batched last_used_at updates")
+            .register(meterRegistry);
+        Gauge.builder("api.keys.cache.size", cache, Map::size)
+            .description("Decrypted api keys held in memory")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 사용자의 거래소 API 키로 작업 실행
+     * 콜백이 끝나면 사용 시간을 기록한다 (DB 반영은 flushLastUsed).
+     */
+    public <T> T withCredentials(Long userId, Exchange exchange, Function<ApiCredentials, T> action) {
+        CredentialsKey key = new CredentialsKey(userId, exchange);
+        ApiCredentials credentials = lease(key);
+        try {
+            return action.apply(credentials);
+        } finally {
+            credentials.release();
+            pendingLastUsed.merge(credentials.apiKeyId(), new PendingUse(userId, clock.millis()),
+                    PendingUse::latest);
+        }
+    }
+
+    /**
+     * 키 교체/비활성화 시 캐시된 평문 제거
+     */
+    public void invalidate(Long userId, Exchange exchange) {
+        CredentialsKey key = new CredentialsKey(userId, exchange);
+        ApiCredentials removed = cache.remove(key);
+        if (removed != null) {
+            removed.evict();
+        }
+    }
+
+    /**
+     * 버킷을 옮기면 api_keys 는 새 id 로 복사되므로 옮겨진 사용자의 캐시를 비운다 (다른 노드는 TTL 로 정리된다)
+     */
+    @EventListener
+    public void onShardBucketMoved(ShardBucketMovedEvent event) {
+        for (Long userId : event.userIds()) {
+            for (Exchange exchange : Exchange.values()) {
+                invalidate(userId, exchange);
+            }
+        }
+    }
+
+    /**
+     * TTL 이 지난 평문을 조회가 없어도 지운다
+     */
+    @Scheduled(fixedDelay = 5000)
+    public void evictExpired() {
+        long now = clock.millis();
+        List<ApiCredentials> expired = new ArrayList<>();
+        synchronized (cache) {
+            cache.values().removeIf(credentials -> {
+                if (isExpired(credentials, now)) {
+                    expired.add(credentials);
+                    return true;
+                }
+                return false;
+            });
+        }
+        expired.forEach(ApiCredentials::evict);
+    }
+
+    /**
+     * 모아 둔 마지막 사용 시간을 한 번에 반영 (키마다 주기당 최대 한 번), 반영한 키 수를 돌려준다
+     */
+    @Scheduled(fixedDelayString = "${api.keys.last-used-flush-interval-ms:30000}")
+    public int flushLastUsed() {
+        if (pendingLastUsed.isEmpty()) {
+            return 0;
+        }
+        Map<Long, PendingUse> drained = new LinkedHashMap<>();
+        for (Long apiKeyId : new ArrayList<>(pendingLastUsed.keySet())) {
+            PendingUse use = pendingLastUsed.remove(apiKeyId);
+            if (use != null) {
+                drained.put(apiKeyId, use);
+            }
+        }
+
+        Map<Integer, List<ApiKeyUsage>> byBucket = new LinkedHashMap<>();
+        drained.forEach((apiKeyId, use) -> byBucket
+            .computeIfAbsent(SnowflakeIdGenerator.bucketOf(use.userId()), bucket -> new ArrayList<>())
+            .add(new ApiKeyUsage(apiKeyId, use.userId(),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(use.usedAt()), clock.getZone()))));
+
+        int flushed = 0;
+        for (List<ApiKeyUsage> usages : byBucket.values()) {
+            for (int from = 0; from < usages.size(); from += FLUSH_BATCH_SIZE) {
+                flushed += write(usages.subList(from, Math.min(from + FLUSH_BATCH_SIZE, usages.size())), drained);
+            }
+        }
+        return flushed;
+    }
+
+    @PreDestroy
+    public void close() {
+        flushLastUsed();
+        List<ApiCredentials> all;
+        synchronized (cache) {
+            all = new ArrayList<>(cache.values());
+            cache.clear();
+        }
+        all.forEach(ApiCredentials::evict);
+    }
+
+    private ApiCredentials lease(CredentialsKey key) {
+        long now = clock.millis();
+        ApiCredentials cached = cache.get(key);
+        if (cached != null) {
+            if (!isExpired(cached, now) && cached.lease()) {
+                hits.increment();
+                return cached;
+            }
+            if (cache.remove(key, cached)) {
+                cached.evict();
+            }
+        }
+
+        misses.increment();
+        ApiCredentials loaded = load(key, now);
+        loaded.lease();
+        ApiCredentials previous = cache.put(key, loaded);
+        if (previous != null) {
+            previous.evict();
+        }
+        return loaded;
+    }
+
+    private ApiCredentials load(CredentialsKey key, long now) {
+        ApiKey apiKey = apiKeyMapper.findActiveByUserIdAndExchange(key.userId(), key.exchange())
+            .filter(ApiKey::isActiveAndValid)
+            .orElseThrow(() -> new IllegalArgumentException("active api key not found"));
+        return new ApiCredentials(apiKey.getId(), cipher.decrypt(apiKey.getAccessKey()),
+                cipher.decrypt(apiKey.getSecretKey()), now);
+    }
+
+    /**
+     * 실패하면 다음 주기에 다시 쓰도록 되돌린다 (그 사이 더 늦은 사용 시간이 있으면 그것을 유지)
+     */
+    private int write(List<ApiKeyUsage> batch, Map<Long, PendingUse> drained) {
+        try {
+            apiKeyMapper.updateLastUsedAt(batch);
+            lastUsedWrites.increment(batch.size());
+            return batch.size();
+        } catch (RuntimeException e) {
+            log.warn("api key last used flush failed: keys={}, error={}", batch.size(), e.getMessage());
+            batch.forEach(usage ->
+                    pendingLastUsed.merge(usage.getId(), drained.get(usage.getId()), PendingUse::latest));
+            return 0;
+        }
+    }
+
+    private boolean isExpired(ApiCredentials credentials, long now) {
+        return now - credentials.loadedAtMillis() >= properties.getCacheTtl().toMillis();
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("api.keys.cache")
+            .description("Decrypted api key lookups by cache result")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private record CredentialsKey(Long userId, Exchange exchange) {
+    }
+
+    private record PendingUse(Long userId, long usedAt) {
+
+        static PendingUse latest(PendingUse a, PendingUse b) {
+            return a.usedAt() >= b.usedAt() ? a : b;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.assetmanager.service.exchange;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 토큰 버킷 방식 호출 빈도 제한기
+ * period 동안 permits 개의 호출을 허용하며, 버킷이 비면 다음 토큰이 찰 때까지 순서대로 기다리게 한다.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double capacity;
+    private final double nanosPerPermit;
+    private final LongSupplier nanoTime;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucketRateLimiter(int permits, Duration period) {
+        this(permits, period, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int permits, Duration period, LongSupplier nanoTime) {
+        if (permits <= 0 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("rate limit must be positive");
+        }
+        this.capacity = permits;
+        this.nanosPerPermit = (double) period.toNanos() / permits;
+        this.nanoTime = nanoTime;
+        this.tokens = permits;
+        this.lastRefillNanos = nanoTime.getAsLong();
+    }
+
+    /**
+     * 토큰 하나를 얻을 때까지 대기
+     */
+    public void acquire() {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while waiting for rate limit", e);
+            }
+        }
+    }
+
+    /**
+     * 대기 없이 토큰을 얻을 수 있으면 사용
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 토큰 하나를 예약하고, 사용 가능해질 때까지 남은 시간(ns)을 돌려준다.
+     */
+    public synchronized long reserve() {
+        refill();
+        tokens -= 1;
+        if (tokens >= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(-tokens * nanosPerPermit);
+    }
+
+    public synchronized double availablePermits() {
+        refill();
+        return Math.max(0, tokens);
+    }
+
+    private void refill() {
+        long now = nanoTime.getAsLong();
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed / nanosPerPermit);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.assetmanager.service.portfolio;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.domain.TransactionEvent;
+import com.assetmanager.service.transaction.TransactionProjection;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 거래 집계(transaction_aggregates)와 월별 통계 롤업 프로젝션
+ * 한 사용자의 배치 이벤트를 변화량 하나로 합쳐 집계 행과 월별 행에 한 번씩만 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AggregateProjection implements TransactionProjection {
+
+    static final String NAME = "aggregates";
+
+    private final PortfolioAggregateService aggregateService;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void apply(Long userId, List<TransactionEvent> events) {
+        List<Transaction> added = new ArrayList<>();
+        List<Transaction> removed = new ArrayList<>();
+        for (TransactionEvent event : events) {
+            (event.isReversal() ? removed : added).add(event.toTransaction());
+        }
+        aggregateService.applyTransactionChanges(userId, added, removed);
+    }
+}
@@ -0,0 +1,29 @@
+package com.assetmanager.service.portfolio;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 대시보드 읽기 모델 설정 (portfolio.dashboard.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "portfolio.dashboard")
+public class DashboardProperties {
+
+    /** Redis 에 보관하는 시간 (무효화 누락 대비 상한) */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /** 무효화 세대 키 보관 시간 (문서보다 먼저 사라지면 세대가 0 으로 돌아가므로 ttl 보다 길어야 한다) */
+    private Duration generationTtl = Duration.ofHours(1);
+
+    /** 투자 금액 상위 자산 수 */
+    private int topAssets = 5;
+
+    /** 최근 거래 수 */
+    private int recentTransactions = 10;
+}
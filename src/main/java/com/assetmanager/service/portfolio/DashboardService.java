@@ -0,0 +1,215 @@
+package com.assetmanager.service.portfolio;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.dto.DashboardView;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.mapper.TransactionMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 대시보드 읽기 모델 서비스
+ * 사용자별 대시보드를 JSON 문서 하나로 Redis 에 두고, 문서와 무효화 세대를 MGET 한 번으로 읽는다.
+ * 자산/거래 쓰기가 커밋되면 세대를 올려 문서를 무효화하므로, 만드는 도중 쓰기가 끼어든 문서는 다음 조회에서 버려진다.
+ * 캐시를 놓치면 활성 자산과 최근 거래 두 쿼리로 다시 만든다 (합계/개수/상위 자산은 활성 자산에서 계산).
+ */
+@Slf4j
+@Service
+public class DashboardService {
+
+    private static final String VIEW_PREFIX = "dashboard:view:";
+    private static final String GENERATION_PREFIX = "dashboard:gen:";
+
+    private final AssetMapper assetMapper;
+    private final TransactionMapper transactionMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    /** 도메인 객체의 계산용 getter(totalInvestmentAmount 등)도 직렬화되므로 읽을 때는 모르는 필드를 무시한다 */
+    private final ObjectReader viewReader;
+    private final DashboardProperties properties;
+    private final Clock clock;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+    private final Timer readTimer;
+
+    @Autowired
+    public DashboardService(AssetMapper assetMapper, TransactionMapper transactionMapper,
+                            StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                            DashboardProperties properties, MeterRegistry meterRegistry) {
+        this(assetMapper, transactionMapper, redisTemplate, objectMapper, properties, meterRegistry,
+                Clock.systemDefaultZone());
+    }
+
+    DashboardService(AssetMapper assetMapper, TransactionMapper transactionMapper,
+                     StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                     DashboardProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        if (properties.getGenerationTtl().compareTo(properties.getTtl()) <= 0) {
+            throw new IllegalArgumentException("portfolio.dashboard.generation-ttl must be longer than ttl");
+        }
+        this.assetMapper = assetMapper;
+        this.transactionMapper = transactionMapper;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.viewReader = objectMapper.readerFor(DashboardView.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.properties = properties;
+        this.clock = clock;
+
+        this.hits = cacheCounter(meterRegistry, "hit");
+        this.misses = cacheCounter(meterRegistry, "miss");
+        this.errors = cacheCounter(meterRegistry, "error");
+        this.readTimer = Timer.builder("portfolio.dashboard.read")
+            .description("Dashboard read latency including rebuilds on miss")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        Gauge.builder("portfolio.dashboard.cache.hit.ratio", this, DashboardService::hitRatio)
+            .description("Share of dashboard reads served from the read model")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 사용자 대시보드 조회
+     */
+    public DashboardView getDashboard(Long userId) {
+        long startedAt = System.nanoTime();
+        try {
+            return readOrBuild(userId);
+        } finally {
+            readTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private DashboardView readOrBuild(Long userId) {
+        long generation;
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(List.of(viewKey(userId), generationKey(userId)));
+            String json = values == null ? null : values.get(0);
+            generation = values == null || values.get(1) == null ? 0L : Long.parseLong(values.get(1));
+            if (json != null) {
+                DashboardView view = viewReader.readValue(json);
+                if (view.getGeneration() == generation) {
+                    hits.increment();
+                    return view;
+                }
+            }
+        } catch (DataAccessException | JsonProcessingException | NumberFormatException e) {
+            errors.increment();
+            log.debug("dashboard read model lookup failed: userId={}, {}", userId, e.getMessage());
+            return build(userId, -1);
+        }
+
+        misses.increment();
+        DashboardView view = build(userId, generation);
+        store(view);
+        return view;
+    }
+
+    /**
+     * 원본 쿼리로 대시보드 생성
+     */
+    DashboardView build(Long userId, long generation) {
+        List<Asset> assets = assetMapper.findActiveAssetsByUserId(userId);
+        BigDecimal totalInvestment = assets.stream()
+            .map(Asset::getTotalInvestmentAmount)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<Asset> topAssets = assets.stream()
+            .sorted(Comparator.comparing(Asset::getTotalInvestmentAmount).reversed())
+            .limit(properties.getTopAssets())
+            .toList();
+
+        return DashboardView.builder()
+            .userId(userId)
+            .generation(generation)
+            .totalInvestment(totalInvestment)
+            .activeAssetCount(assets.size())
+            .assets(assets)
+            .topAssets(topAssets)
+            .recentTransactions(transactionMapper.findRecentTransactionsByUserId(userId,
+                    properties.getRecentTransactions()))
+            .builtAt(LocalDateTime.now(clock))
+            .build();
+    }
+
+    private void store(DashboardView view) {
+        try {
+            redisTemplate.opsForValue().set(viewKey(view.getUserId()), objectMapper.writeValueAsString(view),
+                    properties.getTtl());
+        } catch (DataAccessException | JsonProcessingException e) {
+            errors.increment();
+            log.debug("dashboard read model store failed: userId={}, {}", view.getUserId(), e.getMessage());
+        }
+    }
+
+    // =================
+    // 무효화 (쓰기 커밋 후)
+    // =================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHoldingsChanged(HoldingsChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    /**
+     * 세대를 올리고 문서를 지운다.
+     * 세대만 올려도 오래된 문서는 걸러지지만, 지워 두면 다음 조회가 역직렬화 없이 바로 다시 만든다.
+     * 세대 키는 문서보다 오래 남도록 무효화할 때마다 만료를 연장한다 (쓰기가 없는 사용자의 키는 정리된다).
+     */
+    public void invalidate(Long userId) {
+        try {
+            redisTemplate.opsForValue().increment(generationKey(userId));
+            redisTemplate.expire(generationKey(userId), properties.getGenerationTtl());
+            redisTemplate.delete(viewKey(userId));
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("dashboard read model invalidation failed: userId={}", userId, e);
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private static String viewKey(Long userId) {
+        return VIEW_PREFIX + userId;
+    }
+
+    private static String generationKey(Long userId) {
+        return GENERATION_PREFIX + userId;
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("portfolio.dashboard.cache")
+            .description("Dashboard reads by read model outcome")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
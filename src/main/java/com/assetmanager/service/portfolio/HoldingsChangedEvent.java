@@ -0,0 +1,7 @@
+package com.assetmanager.service.portfolio;
+
+/**
+ * 사용자 보유 자산 변경 이벤트 (등록/수정/비활성화 시 발행)
+ */
+public record HoldingsChangedEvent(Long userId) {
+}
@@ -0,0 +1,97 @@
+package com.assetmanager.service.portfolio;
+
+/**
+ * 내부수익률 계산 (NPV(r) = Σ amount_i · (1 + r)^(-years_i) = 0 의 근)
+ * 뉴턴법으로 먼저 풀고, 발산하거나 범위를 벗어나면 부호가 바뀌는 구간을 찾아 이분법으로 푼다.
+ */
+final class IrrSolver {
+
+    private static final double TOLERANCE = 1e-10;
+    private static final int NEWTON_ITERATIONS = 50;
+    private static final int BISECTION_ITERATIONS = 200;
+    private static final double LOWER_BOUND = -0.999999;
+    private static final double UPPER_LIMIT = 1e6;
+
+    private IrrSolver() {
+    }
+
+    /**
+     * @return 연 수익률 (유입과 유출이 모두 있어야 하며, 근이 없으면 NaN)
+     */
+    static double solve(double[] amounts, double[] years) {
+        if (amounts.length != years.length) {
+            throw new IllegalArgumentException("amounts and years must have the same length");
+        }
+        boolean positive = false;
+        boolean negative = false;
+        for (double amount : amounts) {
+            positive |= amount > 0;
+            negative |= amount < 0;
+        }
+        if (!positive || !negative) {
+            return Double.NaN;
+        }
+
+        double rate = newton(amounts, years, 0.1);
+        return Double.isNaN(rate) ? bisection(amounts, years) : rate;
+    }
+
+    private static double newton(double[] amounts, double[] years, double guess) {
+        double rate = guess;
+        for (int i = 0; i < NEWTON_ITERATIONS; i++) {
+            double npv = 0;
+            double derivative = 0;
+            double base = 1 + rate;
+            for (int j = 0; j < amounts.length; j++) {
+                double discounted = amounts[j] * Math.pow(base, -years[j]);
+                npv += discounted;
+                derivative -= years[j] * discounted / base;
+            }
+            if (derivative == 0 || !Double.isFinite(npv)) {
+                return Double.NaN;
+            }
+            double next = rate - npv / derivative;
+            if (!Double.isFinite(next) || next <= -1) {
+                return Double.NaN;
+            }
+            if (Math.abs(next - rate) < TOLERANCE) {
+                return next;
+            }
+            rate = next;
+        }
+        return Double.NaN;
+    }
+
+    private static double bisection(double[] amounts, double[] years) {
+        double low = LOWER_BOUND;
+        double high = 1;
+        double lowNpv = npv(amounts, years, low);
+        double highNpv = npv(amounts, years, high);
+        while (Math.signum(lowNpv) == Math.signum(highNpv)) {
+            if (high >= UPPER_LIMIT) {
+                return Double.NaN;
+            }
+            high *= 10;
+            highNpv = npv(amounts, years, high);
+        }
+        for (int i = 0; i < BISECTION_ITERATIONS && high - low > TOLERANCE; i++) {
+            double mid = (low + high) / 2;
+            double midNpv = npv(amounts, years, mid);
+            if (Math.signum(midNpv) == Math.signum(lowNpv)) {
+                low = mid;
+                lowNpv = midNpv;
+            } else {
+                high = mid;
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    private static double npv(double[] amounts, double[] years, double rate) {
+        double npv = 0;
+        for (int j = 0; j < amounts.length; j++) {
+            npv += amounts[j] * Math.pow(1 + rate, -years[j]);
+        }
+        return npv;
+    }
+}
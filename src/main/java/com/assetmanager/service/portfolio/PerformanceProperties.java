@@ -0,0 +1,26 @@
+package com.assetmanager.service.portfolio;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 기간 수익률 (TWR/IRR) 설정 (portfolio.performance.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "portfolio.performance")
+public class PerformanceProperties {
+
+    /** 수익률 지수에 담는 스냅샷 기간 (일), 이보다 오래된 구간은 조회할 수 없다 */
+    private int historyDays = 1825;
+
+    /** 메모리에 둘 사용자별 수익률 지수 최대 개수 */
+    private int cacheMaxEntries = 10_000;
+
+    /** 무효화 세대 키 보관 시간 (지수는 만든 날까지만 쓰므로 하루보다 길어야 한다) */
+    private Duration generationTtl = Duration.ofDays(2);
+}
@@ -0,0 +1,189 @@
+package com.assetmanager.service.portfolio;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.assetmanager.domain.PortfolioSnapshot;
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.dto.PerformanceReport;
+import com.assetmanager.mapper.PortfolioSnapshotMapper;
+import com.assetmanager.mapper.TransactionMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기간 수익률 서비스 (시간가중 TWR, 금액가중 IRR)
+ * 사용자별 ReturnIndex 를 하루 한 번 만들어 메모리에 두므로, 같은 날의 구간 조회는 DB 를 다시 읽지 않는다.
+ * 거래가 바뀌면 (과거 일자 가져오기 포함) 커밋 후 해당 사용자의 Redis 세대를 올려 모든 노드의 지수를 버린다.
+ * 세대를 읽지 못하면(Redis 장애) 메모리의 지수를 믿을 수 없으므로 매번 새로 만든다.
+ */
+@Slf4j
+@Service
+public class PerformanceService {
+
+    private static final String GENERATION_PREFIX = "portfolio:performance:gen:";
+
+    private final PortfolioSnapshotMapper snapshotMapper;
+    private final TransactionMapper transactionMapper;
+    private final PerformanceProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final Clock clock;
+    private final Map<Long, CachedIndex> cache;
+    /** 만드는 도중 무효화가 있었으면 그 지수는 캐시에 넣지 않는다 */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter builds;
+
+    @Autowired
+    public PerformanceService(PortfolioSnapshotMapper snapshotMapper, TransactionMapper transactionMapper,
+                              PerformanceProperties properties, StringRedisTemplate redisTemplate,
+                              MeterRegistry meterRegistry) {
+        this(snapshotMapper, transactionMapper, properties, redisTemplate, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    PerformanceService(PortfolioSnapshotMapper snapshotMapper, TransactionMapper transactionMapper,
+                       PerformanceProperties properties, StringRedisTemplate redisTemplate,
+                       MeterRegistry meterRegistry, Clock clock) {
+        this.snapshotMapper = snapshotMapper;
+        this.transactionMapper = transactionMapper;
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+        int maxEntries = Math.max(1, properties.getCacheMaxEntries());
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedIndex> eldest) {
+                return size() > maxEntries;
+            }
+        });
+
+        this.hits = indexCounter(meterRegistry, "hit");
+        this.builds = indexCounter(meterRegistry, "build");
+        Gauge.builder("portfolio.performance.cache.size", cache, Map::size)
+            .description("Return indices held in memory")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 구간 수익률 (구간 안에 스냅샷이 없으면 empty)
+     */
+    public Optional<PerformanceReport> getPerformance(Long userId, LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("invalid date range");
+        }
+        ReturnIndex index = index(userId);
+        int start = index.indexOnOrAfter(from);
+        int end = index.indexOnOrBefore(to);
+        if (start < 0 || end < start) {
+            return Optional.empty();
+        }
+
+        double moneyWeighted = index.moneyWeighted(start, end);
+        return Optional.of(new PerformanceReport(
+                userId,
+                index.dateAt(start),
+                index.dateAt(end),
+                money(index.valueAt(start)),
+                money(index.valueAt(end)),
+                money(index.netFlow(start, end)),
+                percent(index.timeWeighted(start, end)),
+                Double.isNaN(moneyWeighted) ? null : percent(moneyWeighted)));
+    }
+
+    /**
+     * 오늘 같은 세대로 만든 지수가 있으면 그대로, 없으면 스냅샷과 거래를 한 번씩 읽어 만든다
+     */
+    ReturnIndex index(Long userId) {
+        LocalDate today = LocalDate.now(clock);
+        Long generation;
+        try {
+            String value = redisTemplate.opsForValue().get(generationKey(userId));
+            generation = value == null ? 0L : Long.parseLong(value);
+        } catch (DataAccessException | NumberFormatException e) {
+            log.debug("performance index generation lookup failed: userId={}, {}", userId, e.getMessage());
+            generation = null;
+        }
+        CachedIndex cached = generation == null ? null : cache.get(userId);
+        if (cached != null && cached.builtOn().equals(today) && cached.generation() == generation) {
+            hits.increment();
+            return cached.index();
+        }
+
+        builds.increment();
+        long localGeneration = invalidations.get();
+        LocalDate since = today.minusDays(Math.max(1, properties.getHistoryDays()));
+        List<PortfolioSnapshot> snapshots = snapshotMapper.findByUserIdAndDateRange(userId, since, today);
+        // 스냅샷 D 는 D+1 0시 무렵 평가액이므로 첫 스냅샷 다음 날부터 마지막 스냅샷 날까지의 거래가 흐름이다
+        List<Transaction> transactions = snapshots.isEmpty()
+            ? List.of()
+            : transactionMapper.findByUserIdAndDateRange(userId,
+                    snapshots.get(0).getSnapshotDate().plusDays(1).atStartOfDay(),
+                    snapshots.get(snapshots.size() - 1).getSnapshotDate().plusDays(1).atStartOfDay());
+        ReturnIndex index = ReturnIndex.build(snapshots, transactions);
+        if (generation != null && invalidations.get() == localGeneration) {
+            cache.put(userId, new CachedIndex(today, generation, index));
+        }
+        return index;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    /**
+     * 세대를 올려 모든 노드의 지수를 무효화한다 (이 노드의 지수는 바로 지운다)
+     * 세대 키는 지수보다 오래 남도록 무효화할 때마다 만료를 연장한다.
+     */
+    public void invalidate(Long userId) {
+        invalidations.incrementAndGet();
+        cache.remove(userId);
+        try {
+            redisTemplate.opsForValue().increment(generationKey(userId));
+            redisTemplate.expire(generationKey(userId), properties.getGenerationTtl());
+        } catch (DataAccessException e) {
+            log.warn("performance index invalidation failed: userId={}", userId, e);
+        }
+    }
+
+    private static BigDecimal percent(double rate) {
+        return BigDecimal.valueOf(rate * 100).setScale(4, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static String generationKey(Long userId) {
+        return GENERATION_PREFIX + userId;
+    }
+
+    private static Counter indexCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("portfolio.performance.index")
+            .description("Return index lookups by result")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private record CachedIndex(LocalDate builtOn, long generation, ReturnIndex index) {
+    }
+}
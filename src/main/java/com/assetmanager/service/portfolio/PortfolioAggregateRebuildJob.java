@@ -0,0 +1,62 @@
+package com.assetmanager.service.portfolio;
+
+import java.util.List;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.assetmanager.config.shard.ShardBucketMovedEvent;
+import com.assetmanager.mapper.UserMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 포트폴리오 집계 검증 작업
+ * 원본 행에서 집계를 다시 계산해 증분 갱신 누락(드리프트)을 찾아 바로잡는다.
+ * 버킷이 다른 샤드로 옮겨지면 (원래 샤드에서 반영되지 못한 이벤트는 옮겨지지 않으므로) 그 사용자들을 새 샤드에서 바로 맞춘다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PortfolioAggregateRebuildJob {
+
+    private final UserMapper userMapper;
+    private final PortfolioAggregateService aggregateService;
+
+    @Scheduled(cron = "${portfolio.aggregate.verify-cron:0 30 3 * * *}")
+    public void verifyAll() {
+        List<Long> userIds = userMapper.findActiveUserIds();
+        int drifted = 0;
+        int failed = 0;
+        long startedAt = System.currentTimeMillis();
+
+        for (Long userId : userIds) {
+            try {
+                if (aggregateService.verifyAndRebuild(userId)) {
+                    drifted++;
+                    log.warn("portfolio aggregate drift corrected: userId={}", userId);
+                }
+            } catch (RuntimeException e) {
+                failed++;
+                log.error("portfolio aggregate verify failed: userId={}", userId, e);
+            }
+        }
+
+        log.info("portfolio aggregate verify finished: users={}, drifted={}, failed={}, elapsedMs={}",
+                userIds.size(), drifted, failed, System.currentTimeMillis() - startedAt);
+    }
+
+    @EventListener
+    public void onShardBucketMoved(ShardBucketMovedEvent event) {
+        for (Long userId : event.userIds()) {
+            try {
+                aggregateService.verifyAndRebuild(userId);
+            } catch (RuntimeException e) {
+                log.error("portfolio aggregate rebuild after shard move failed: userId={}, shard={}",
+                        userId, event.targetShard(), e);
+            }
+        }
+    }
+}
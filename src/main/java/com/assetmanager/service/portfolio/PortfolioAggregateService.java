@@ -0,0 +1,243 @@
+package com.assetmanager.service.portfolio;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.AssetType;
+import com.assetmanager.domain.PortfolioAggregate;
+import com.assetmanager.domain.ProjectionWatermark;
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.domain.TransactionAggregate;
+import com.assetmanager.domain.TransactionType;
+import com.assetmanager.mapper.PortfolioAggregateMapper;
+import com.assetmanager.mapper.TransactionEventMapper;
+import com.assetmanager.service.transaction.MonthlyStatsService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 포트폴리오 집계 서비스
+ * 대시보드 합계를 사용자별 집계 행에서 O(1) 로 읽고, 쓰기 경로에서는 같은 트랜잭션 안에서 변화량만 반영한다.
+ * 거래 변화량은 요청 경로가 아니라 거래 이벤트 프로젝션(AggregateProjection)이 월별 통계 롤업과 함께 반영한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PortfolioAggregateService {
+
+    private final PortfolioAggregateMapper aggregateMapper;
+    private final TransactionEventMapper eventMapper;
+    private final MonthlyStatsService monthlyStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // =================
+    // 집계 조회
+    // =================
+
+    public BigDecimal getTotalInvestment(Long userId) {
+        return aggregateMapper.findByUserId(userId).stream()
+            .map(PortfolioAggregate::getTotalInvestment)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    public BigDecimal getInvestmentByAssetType(Long userId, AssetType assetType) {
+        return aggregateMapper.findByUserIdAndAssetType(userId, assetType)
+            .map(PortfolioAggregate::getTotalInvestment)
+            .orElse(BigDecimal.ZERO);
+    }
+
+    public int countActiveAssets(Long userId) {
+        return aggregateMapper.findByUserId(userId).stream()
+            .mapToInt(PortfolioAggregate::getActiveAssetCount)
+            .sum();
+    }
+
+    public TransactionAggregate getTransactionAggregate(Long userId) {
+        return aggregateMapper.findTransactionAggregate(userId)
+            .orElseGet(() -> TransactionAggregate.empty(userId));
+    }
+
+    public BigDecimal getTotalBuyAmount(Long userId) {
+        return getTransactionAggregate(userId).getTotalBuyAmount();
+    }
+
+    public BigDecimal getTotalSellAmount(Long userId) {
+        return getTransactionAggregate(userId).getTotalSellAmount();
+    }
+
+    public BigDecimal getTotalFee(Long userId) {
+        return getTransactionAggregate(userId).getTotalFee();
+    }
+
+    // =================
+    // 쓰기 경로 반영 (호출자의 트랜잭션 필수)
+    // =================
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onAssetInserted(Asset asset) {
+        if (asset.isActiveAsset()) {
+            aggregateMapper.applyAssetDelta(asset.getUserId(), asset.getAssetType(),
+                    investmentOf(asset), 1);
+        }
+        eventPublisher.publishEvent(new HoldingsChangedEvent(asset.getUserId()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onAssetUpdated(Asset before, Asset after) {
+        if (!before.isActiveAsset()) {
+            return;
+        }
+        BigDecimal delta = investmentOf(after).subtract(investmentOf(before));
+        if (delta.signum() != 0) {
+            aggregateMapper.applyAssetDelta(before.getUserId(), before.getAssetType(), delta, 0);
+        }
+        eventPublisher.publishEvent(new HoldingsChangedEvent(before.getUserId()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onAssetDeactivated(Asset before) {
+        if (before.isActiveAsset()) {
+            aggregateMapper.applyAssetDelta(before.getUserId(), before.getAssetType(),
+                    investmentOf(before).negate(), -1);
+        }
+        eventPublisher.publishEvent(new HoldingsChangedEvent(before.getUserId()));
+    }
+
+    /**
+     * 추가/취소된 거래를 거래 집계와 월별 통계에 반영 (거래 이벤트 프로젝션에서 호출)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyTransactionChanges(Long userId, Collection<Transaction> added, Collection<Transaction> removed) {
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        BigDecimal buy = BigDecimal.ZERO;
+        BigDecimal sell = BigDecimal.ZERO;
+        BigDecimal fee = BigDecimal.ZERO;
+        for (Transaction transaction : added) {
+            buy = buy.add(amountOf(transaction, TransactionType.BUY));
+            sell = sell.add(amountOf(transaction, TransactionType.SELL));
+            fee = fee.add(feeOf(transaction));
+        }
+        for (Transaction transaction : removed) {
+            buy = buy.subtract(amountOf(transaction, TransactionType.BUY));
+            sell = sell.subtract(amountOf(transaction, TransactionType.SELL));
+            fee = fee.subtract(feeOf(transaction));
+        }
+        aggregateMapper.applyTransactionDelta(userId, buy, sell, fee, added.size() - removed.size());
+        monthlyStatsService.applyChanges(userId, added, removed);
+    }
+
+    // =================
+    // 재계산 / 검증
+    // =================
+
+    /**
+     * 원본 행에서 집계를 다시 계산해 비교하고, 어긋나 있으면 재계산 값으로 덮어쓴다.
+     * 집계 행을 먼저 잠가 두므로 동시에 진행 중인 쓰기는 재계산이 끝난 뒤 변화량을 반영한다.
+     *
+     * @return 집계가 원본과 달랐으면 true
+     */
+    @Transactional
+    public boolean verifyAndRebuild(Long userId) {
+        // 프로젝션 작업자와 같은 순서(반영 위치 → 집계 행)로 잠근다
+        eventMapper.lockWatermarks(AggregateProjection.NAME, List.of(userId));
+        aggregateMapper.lockAssetAggregates(userId);
+        aggregateMapper.lockTransactionAggregate(userId);
+
+        boolean drifted = rebuildAssetAggregates(userId);
+        drifted |= rebuildTransactionAggregate(userId);
+        drifted |= monthlyStatsService.verifyAndRebuild(userId);
+        // 원본에서 다시 계산한 값에는 이 트랜잭션이 본 이벤트가 모두 들어 있으므로 아직 반영 전인 이벤트는 건너뛰게 한다
+        // 늦게 커밋된 빈 번호 이벤트도 반영 위치와 관계없이 반영되므로, 새 반영 위치 이하의 빈 번호는 지운다
+        long latest = eventMapper.findLastEventIdByUserId(userId);
+        eventMapper.upsertWatermarks(List.of(new ProjectionWatermark(AggregateProjection.NAME, userId, latest)));
+        eventMapper.deleteGapsUpToWatermark(AggregateProjection.NAME, userId);
+        recordOpenEventIds(latest);
+        return drifted;
+    }
+
+    /**
+     * 읽기 위치와 새 반영 위치 사이에서 아직 보이지 않는 번호를 빈 번호로 남긴다
+     * 커밋 전인 트랜잭션의 이벤트일 수 있고 (재계산 값에 없다), 그대로 두면 반영 위치보다 작아 건너뛰어진다.
+     * 빈 번호 이벤트는 반영 위치와 관계없이 한 번 반영되며, 롤백된 번호는 gap-expiry 가 지나면 지워진다.
+     */
+    private void recordOpenEventIds(long latest) {
+        long offset = eventMapper.findOffset(AggregateProjection.NAME).orElse(0L);
+        if (latest <= offset) {
+            return;
+        }
+        Set<Long> committed = new HashSet<>(eventMapper.findEventIdsBetween(offset, latest));
+        List<Long> open = LongStream.rangeClosed(offset + 1, latest)
+            .filter(id -> !committed.contains(id))
+            .boxed()
+            .toList();
+        if (!open.isEmpty()) {
+            eventMapper.insertGaps(AggregateProjection.NAME, open);
+        }
+    }
+
+    private boolean rebuildAssetAggregates(Long userId) {
+        Map<AssetType, PortfolioAggregate> stored = aggregateMapper.findByUserId(userId).stream()
+            .collect(Collectors.toMap(PortfolioAggregate::getAssetType, Function.identity()));
+        List<PortfolioAggregate> expected = aggregateMapper.calculateAssetAggregates(userId);
+
+        boolean drifted = expected.stream().anyMatch(aggregate -> !aggregate.matches(stored.get(aggregate.getAssetType())));
+        Map<AssetType, PortfolioAggregate> expectedByType = expected.stream()
+            .collect(Collectors.toMap(PortfolioAggregate::getAssetType, Function.identity()));
+        drifted |= stored.values().stream()
+            .anyMatch(aggregate -> !expectedByType.containsKey(aggregate.getAssetType()) && !isEmpty(aggregate));
+
+        if (drifted) {
+            aggregateMapper.deleteAssetAggregates(userId);
+            expected.forEach(aggregateMapper::insertAssetAggregate);
+        }
+        return drifted;
+    }
+
+    private boolean rebuildTransactionAggregate(Long userId) {
+        TransactionAggregate expected = aggregateMapper.calculateTransactionAggregate(userId);
+        TransactionAggregate stored = getTransactionAggregate(userId);
+        if (expected.matches(stored)) {
+            return false;
+        }
+        aggregateMapper.upsertTransactionAggregate(expected);
+        return true;
+    }
+
+    private static boolean isEmpty(PortfolioAggregate aggregate) {
+        return aggregate.matches(new PortfolioAggregate(aggregate.getUserId(), aggregate.getAssetType(), BigDecimal.ZERO, 0));
+    }
+
+    /**
+     * 집계 컬럼(DECIMAL(20,2))과 같은 자릿수로 반올림한 자산 투자금액.
+     * 변화량과 재계산(calculateAssetAggregates 의 ROUND) 모두 자산별 반올림 값을 더하므로 반올림 차이가 드리프트로 잡히지 않는다.
+     */
+    static BigDecimal investmentOf(Asset asset) {
+        return asset.getTotalInvestmentAmount().setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal amountOf(Transaction transaction, TransactionType type) {
+        if (transaction.getTransactionType() != type || transaction.getTotalAmount() == null) {
+            return BigDecimal.ZERO;
+        }
+        return transaction.getTotalAmount();
+    }
+
+    private static BigDecimal feeOf(Transaction transaction) {
+        return transaction.getFee() == null ? BigDecimal.ZERO : transaction.getFee();
+    }
+}
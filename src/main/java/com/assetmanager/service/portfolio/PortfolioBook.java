@@ -0,0 +1,156 @@
+package com.assetmanager.service.portfolio;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.ScaledDecimal;
+import com.assetmanager.dto.PortfolioValuation;
+import com.assetmanager.service.price.PriceKey;
+
+/**
+ * 한 사용자의 보유 자산 평가 상태 (재평가 엔진 내부용)
+ * 평가금액은 고정소수점 long 으로 계산하고, long 범위를 넘는 포트폴리오만 BigDecimal 로 계산한다.
+ */
+class PortfolioBook {
+
+    private final Long userId;
+    private final Map<PriceKey, Holding> holdings = new HashMap<>();
+    private final BigDecimal totalInvestment;
+
+    private boolean wide;
+    private long scaledValue;
+    private BigDecimal wideValue;
+    private int unpricedCount;
+    private LocalDateTime valuedAt;
+
+    PortfolioBook(Long userId, List<Asset> assets) {
+        this.userId = userId;
+        BigDecimal investment = BigDecimal.ZERO;
+        for (Asset asset : assets) {
+            PriceKey key = PriceKey.of(asset.getSymbol(), asset.getExchange());
+            BigDecimal cost = asset.getTotalInvestmentAmount().setScale(ScaledDecimal.SCALE, RoundingMode.HALF_UP);
+            holdings.merge(key, new Holding(asset.getQuantity(), cost), Holding::combine);
+            investment = investment.add(cost);
+        }
+        this.totalInvestment = investment;
+        this.unpricedCount = holdings.size();
+        recalculate();
+    }
+
+    Set<PriceKey> keys() {
+        return holdings.keySet();
+    }
+
+    boolean holds(PriceKey key) {
+        return holdings.containsKey(key);
+    }
+
+    /**
+     * 보유 종목 중 가격이 바뀐 종목만 반영하고 평가금액을 다시 계산
+     *
+     * @return 반영된 종목이 있으면 true
+     */
+    synchronized boolean reprice(Map<PriceKey, Long> prices) {
+        boolean changed = false;
+        for (Map.Entry<PriceKey, Holding> entry : holdings.entrySet()) {
+            Long price = prices.get(entry.getKey());
+            Holding holding = entry.getValue();
+            if (price == null || (holding.priced && holding.price == price)) {
+                continue;
+            }
+            if (!holding.priced) {
+                holding.priced = true;
+                unpricedCount--;
+            }
+            holding.price = price;
+            changed = true;
+        }
+        if (changed) {
+            recalculate();
+        }
+        return changed;
+    }
+
+    synchronized PortfolioValuation toValuation() {
+        BigDecimal currentValue = wide ? wideValue : ScaledDecimal.toBigDecimal(scaledValue);
+        BigDecimal profitLoss = currentValue.subtract(totalInvestment);
+        BigDecimal profitRate = totalInvestment.signum() == 0
+            ? BigDecimal.ZERO
+            : ScaledDecimal.percent(profitLoss, totalInvestment);
+        return new PortfolioValuation(userId, currentValue, totalInvestment, profitLoss, profitRate,
+                holdings.size(), unpricedCount, valuedAt);
+    }
+
+    private void recalculate() {
+        valuedAt = LocalDateTime.now();
+        if (!wide) {
+            try {
+                long total = 0;
+                for (Holding holding : holdings.values()) {
+                    total = Math.addExact(total, holding.scaledValue());
+                }
+                scaledValue = total;
+                return;
+            } catch (ArithmeticException e) {
+                wide = true;
+            }
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        for (Holding holding : holdings.values()) {
+            total = total.add(holding.wideValue());
+        }
+        wideValue = total;
+    }
+
+    private static long scaled(BigDecimal value) {
+        return ScaledDecimal.of(value.setScale(ScaledDecimal.SCALE, RoundingMode.HALF_UP));
+    }
+
+    private static final class Holding {
+        private final BigDecimal quantity;
+        private final BigDecimal cost;
+        private long scaledQuantity;
+        private long scaledCost;
+        private boolean fitsLong;
+        private long price;
+        private boolean priced;
+
+        Holding(BigDecimal quantity, BigDecimal cost) {
+            this.quantity = quantity;
+            this.cost = cost;
+            try {
+                this.scaledQuantity = scaled(quantity);
+                this.scaledCost = scaled(cost);
+                this.fitsLong = true;
+            } catch (ArithmeticException e) {
+                this.fitsLong = false;
+            }
+        }
+
+        static Holding combine(Holding a, Holding b) {
+            return new Holding(a.quantity.add(b.quantity), a.cost.add(b.cost));
+        }
+
+        /**
+         * 고정소수점 평가금액 (범위를 넘으면 ArithmeticException)
+         */
+        long scaledValue() {
+            if (!fitsLong) {
+                throw new ArithmeticException("holding out of fixed-point range");
+            }
+            return priced ? ScaledDecimal.multiply(scaledQuantity, price) : scaledCost;
+        }
+
+        BigDecimal wideValue() {
+            return priced
+                ? quantity.multiply(ScaledDecimal.toBigDecimal(price)).setScale(ScaledDecimal.SCALE, RoundingMode.HALF_UP)
+                : cost;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.assetmanager.service.portfolio;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.ScaledDecimal;
+import com.assetmanager.dto.PortfolioValuation;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.mapper.UserMapper;
+import com.assetmanager.service.price.PriceCache;
+import com.assetmanager.service.price.PriceKey;
+import com.assetmanager.service.price.PriceUpdatedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 포트폴리오 재평가 엔진
+ * 종목 → 보유 사용자 역색인을 유지해, 가격이 바뀐 종목을 보유한 사용자만 다시 평가한다.
+ * 틱은 종목별 최신 값만 남겨 두었다가 주기적으로 한꺼번에 반영한다.
+ * 반영 후 평가 값이 바뀐 사용자는 {@link PortfolioRevaluedEvent} 로 알린다.
+ * 색인된 종목은 PriceCache 에 고정 등록해, 아무도 조회하지 않는 종목도 주기 갱신으로 틱이 들어오게 한다.
+ */
+@Slf4j
+@Service
+public class PortfolioRevaluationEngine {
+
+    /** 종목 → 보유 사용자 */
+    private final ConcurrentHashMap<PriceKey, Set<Long>> holders = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, PortfolioBook> books = new ConcurrentHashMap<>();
+    /** 마지막으로 반영된 현재가 (고정소수점) */
+    private final ConcurrentHashMap<PriceKey, Long> lastPrices = new ConcurrentHashMap<>();
+    /** 반영 대기 중인 틱 (종목별 최신 값만 유지) */
+    private final ConcurrentHashMap<PriceKey, Long> pendingTicks = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyUsers = ConcurrentHashMap.newKeySet();
+
+    private final AssetMapper assetMapper;
+    private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Counter ticksReceived;
+    private final Counter ticksApplied;
+    private final Counter usersRevalued;
+    private final Timer flushTimer;
+
+    public PortfolioRevaluationEngine(AssetMapper assetMapper, UserMapper userMapper, PriceCache priceCache,
+                                      ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.assetMapper = assetMapper;
+        this.userMapper = userMapper;
+        this.eventPublisher = eventPublisher;
+        priceCache.pin(holders.keySet());
+
+        this.ticksReceived = tickCounter(meterRegistry, "received");
+        this.ticksApplied = tickCounter(meterRegistry, "applied");
+        this.usersRevalued = Counter.builder("portfolio.revaluation.users")
+            .description("Portfolios revalued after price ticks")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("portfolio.revaluation.flush")
+            .description("Time to apply coalesced price ticks")
+            .register(meterRegistry);
+        Gauge.builder("portfolio.revaluation.symbols", holders, Map::size)
+            .description("Symbols in the holder index")
+            .register(meterRegistry);
+        Gauge.builder("portfolio.revaluation.portfolios", books, Map::size)
+            .description("Portfolios kept in memory")
+            .register(meterRegistry);
+        Gauge.builder("portfolio.revaluation.pending", pendingTicks, Map::size)
+            .description("Symbols waiting to be applied")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 사용자의 최신 평가 결과 조회 (색인되지 않은 사용자는 빈 값)
+     */
+    public Optional<PortfolioValuation> getValuation(Long userId) {
+        return Optional.ofNullable(books.get(userId)).map(PortfolioBook::toValuation);
+    }
+
+    // =================
+    // 이벤트 수신
+    // =================
+
+    @EventListener
+    public void onPriceUpdated(PriceUpdatedEvent event) {
+        ticksReceived.increment();
+        try {
+            pendingTicks.put(event.key(), scaled(event.price()));
+        } catch (ArithmeticException e) {
+            log.warn("price out of fixed-point range: key={}, price={}", event.key(), event.price());
+        }
+    }
+
+    /**
+     * 보유 자산이 바뀐 사용자는 커밋 후 다음 반영 주기에 다시 색인
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHoldingsChanged(HoldingsChangedEvent event) {
+        dirtyUsers.add(event.userId());
+    }
+
+    // =================
+    // 틱 반영 / 색인
+    // =================
+
+    /**
+     * 대기 중인 틱을 반영해 영향받는 사용자만 재평가
+     *
+     * @return 재평가된 사용자 수
+     */
+    @Scheduled(fixedDelayString = "${portfolio.revaluation.flush-interval-ms:500}")
+    public int flush() {
+        Set<Long> changed = reindexDirtyUsers();
+        if (pendingTicks.isEmpty()) {
+            publishRevalued(changed);
+            return 0;
+        }
+        long startedAt = System.nanoTime();
+
+        Map<PriceKey, Long> ticks = new HashMap<>();
+        for (PriceKey key : pendingTicks.keySet()) {
+            Long price = pendingTicks.remove(key);
+            if (price != null) {
+                ticks.put(key, price);
+            }
+        }
+        lastPrices.putAll(ticks);
+
+        Set<Long> affected = new HashSet<>();
+        for (PriceKey key : ticks.keySet()) {
+            Set<Long> users = holders.get(key);
+            if (users != null) {
+                affected.addAll(users);
+            }
+        }
+
+        int revalued = 0;
+        for (Long userId : affected) {
+            PortfolioBook book = books.get(userId);
+            if (book != null && book.reprice(ticks)) {
+                changed.add(userId);
+                revalued++;
+            }
+        }
+
+        ticksApplied.increment(ticks.size());
+        usersRevalued.increment(revalued);
+        flushTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        publishRevalued(changed);
+        return revalued;
+    }
+
+    /**
+     * 전체 활성 사용자 재색인 (이벤트 누락 보정)
+     */
+    @Scheduled(fixedDelayString = "${portfolio.revaluation.reindex-interval-ms:600000}")
+    public void rebuildIndex() {
+        Set<Long> activeUserIds = new HashSet<>(userMapper.findActiveUserIds());
+        int failed = 0;
+        for (Long userId : activeUserIds) {
+            try {
+                reindexUser(userId);
+            } catch (RuntimeException e) {
+                failed++;
+                log.error("portfolio reindex failed: userId={}", userId, e);
+            }
+        }
+        for (Long userId : new ArrayList<>(books.keySet())) {
+            if (!activeUserIds.contains(userId)) {
+                install(userId, null);
+            }
+        }
+        log.info("portfolio revaluation index rebuilt: users={}, symbols={}, failed={}",
+                books.size(), holders.size(), failed);
+    }
+
+    void reindexUser(Long userId) {
+        List<Asset> assets = assetMapper.findHoldingAssetsByUserId(userId);
+        install(userId, assets.isEmpty() ? null : new PortfolioBook(userId, assets));
+    }
+
+    private Set<Long> reindexDirtyUsers() {
+        Set<Long> reindexed = new HashSet<>();
+        for (Long userId : new ArrayList<>(dirtyUsers)) {
+            dirtyUsers.remove(userId);
+            try {
+                reindexUser(userId);
+                reindexed.add(userId);
+            } catch (RuntimeException e) {
+                dirtyUsers.add(userId);
+                log.error("portfolio reindex failed: userId={}", userId, e);
+            }
+        }
+        return reindexed;
+    }
+
+    private void publishRevalued(Set<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            eventPublisher.publishEvent(new PortfolioRevaluedEvent(Set.copyOf(userIds)));
+        }
+    }
+
+    /**
+     * 사용자 평가 상태 교체와 역색인 갱신
+     * 교체 사이에 반영된 틱을 놓치지 않도록 새 상태는 등록 후 마지막 현재가로 다시 평가한다.
+     */
+    private void install(Long userId, PortfolioBook book) {
+        PortfolioBook previous = book == null ? books.remove(userId) : books.put(userId, book);
+        if (book != null) {
+            for (PriceKey key : book.keys()) {
+                holders.compute(key, (k, users) -> {
+                    Set<Long> result = users == null ? ConcurrentHashMap.newKeySet() : users;
+                    result.add(userId);
+                    return result;
+                });
+            }
+            book.reprice(lastPrices);
+        }
+        if (previous == null) {
+            return;
+        }
+        for (PriceKey key : previous.keys()) {
+            if (book == null || !book.holds(key)) {
+                holders.computeIfPresent(key, (k, users) -> {
+                    users.remove(userId);
+                    return users.isEmpty() ? null : users;
+                });
+            }
+        }
+    }
+
+    private static long scaled(BigDecimal price) {
+        return ScaledDecimal.of(price.setScale(ScaledDecimal.SCALE, RoundingMode.HALF_UP));
+    }
+
+    private static Counter tickCounter(MeterRegistry meterRegistry, String stage) {
+        return Counter.builder("portfolio.revaluation.ticks")
+            .description("Price ticks received and applied after coalescing")
+            .tag("stage", stage)
+            .register(meterRegistry);
+    }
+}
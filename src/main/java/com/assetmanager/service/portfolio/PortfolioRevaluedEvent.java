@@ -0,0 +1,9 @@
+package com.assetmanager.service.portfolio;
+
+import java.util.Set;
+
+/**
+ * 포트폴리오 재평가 이벤트 (반영 주기마다 평가 값이 바뀐 사용자 목록으로 한 번 발행)
+ */
+public record PortfolioRevaluedEvent(Set<Long> userIds) {
+}
@@ -0,0 +1,166 @@
+package com.assetmanager.service.portfolio;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.assetmanager.config.shard.ShardRouter;
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.PortfolioRisk;
+import com.assetmanager.dto.RiskJobResult;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.mapper.PortfolioRiskMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 일별 포트폴리오 위험 지표 배치
+ * 보유 자산이 있는 사용자를 샤드별로 청크로 읽어 fork-join 풀에서 사용자별로 병렬 계산하고, 청크마다 한 번에 저장한다.
+ * 종목 수익률은 ReturnSeriesCache 를 통해 한 번만 읽어 같은 종목을 가진 모든 사용자가 함께 쓴다.
+ */
+@Slf4j
+@Component
+public class PortfolioRiskJob {
+
+    private final PortfolioRiskService riskService;
+    private final ReturnSeriesCache returnSeries;
+    private final AssetMapper assetMapper;
+    private final PortfolioRiskMapper riskMapper;
+    private final PortfolioRiskProperties properties;
+    private final ShardRouter shardRouter;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter usersWritten;
+    private final Counter usersFailed;
+    private volatile double lastUsersPerSecond;
+
+    public PortfolioRiskJob(PortfolioRiskService riskService, ReturnSeriesCache returnSeries,
+                            AssetMapper assetMapper, PortfolioRiskMapper riskMapper,
+                            PortfolioRiskProperties properties, ShardRouter shardRouter,
+                            MeterRegistry meterRegistry) {
+        this.riskService = riskService;
+        this.returnSeries = returnSeries;
+        this.assetMapper = assetMapper;
+        this.riskMapper = riskMapper;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+
+        this.usersWritten = userCounter(meterRegistry, "written");
+        this.usersFailed = userCounter(meterRegistry, "failed");
+        Gauge.builder("portfolio.risk.throughput", this, job -> job.lastUsersPerSecond)
+            .description("Users per second of the last risk run")
+            .baseUnit("users/s")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 전날 종가까지의 수익률로 오늘자 지표 생성 (일별 스냅샷 이후)
+     */
+    @Scheduled(cron = "${portfolio.risk.cron:0 0 1 * * *}")
+    public void runNightly() {
+        run(LocalDate.now());
+    }
+
+    public RiskJobResult run(LocalDate reportDate) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("portfolio risk job is already running");
+        }
+        int parallelism = properties.getParallelism() > 0
+            ? properties.getParallelism()
+            : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return execute(reportDate, pool);
+        } finally {
+            pool.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    private RiskJobResult execute(LocalDate reportDate, ForkJoinPool pool) {
+        long startedAt = System.currentTimeMillis();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger writtenUsers = new AtomicInteger();
+        shardRouter.forEachShard(shard -> writtenUsers.addAndGet(evaluateShard(reportDate, pool, failed)));
+        int written = writtenUsers.get();
+
+        RiskJobResult result = new RiskJobResult(reportDate, written, failed.get(), returnSeries.size(reportDate),
+                System.currentTimeMillis() - startedAt);
+        usersWritten.increment(written);
+        usersFailed.increment(failed.get());
+        lastUsersPerSecond = result.getUsersPerSecond();
+        log.info("portfolio risk finished: date={}, users={}, failed={}, symbols={}, elapsedMs={}, usersPerSec={}",
+                reportDate, written, failed.get(), result.getSymbols(), result.getElapsedMillis(),
+                String.format("%.1f", result.getUsersPerSecond()));
+        return result;
+    }
+
+    /**
+     * 현재 샤드의 보유 사용자를 청크로 계산해 저장 (청크의 사용자는 모두 같은 샤드)
+     *
+     * @return 저장한 사용자 수
+     */
+    private int evaluateShard(LocalDate reportDate, ForkJoinPool pool, AtomicInteger failed) {
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        int written = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> userIds = assetMapper.findHoldingUserIdsAfter(afterId, chunkSize);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            afterId = userIds.get(userIds.size() - 1);
+            Map<Long, List<Asset>> holdings = assetMapper.findHoldingAssetsByUserIds(userIds).stream()
+                .collect(Collectors.groupingBy(Asset::getUserId));
+
+            // 공용 풀이 아니라 이 풀에서 병렬 스트림이 돌도록 풀 안에서 실행한다
+            List<PortfolioRisk> risks;
+            try {
+                risks = pool.submit(() -> userIds.parallelStream()
+                        .map(userId -> evaluate(userId, reportDate, holdings.getOrDefault(userId, List.of()), failed))
+                        .filter(Objects::nonNull)
+                        .toList())
+                    .get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("portfolio risk chunk failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("portfolio risk job interrupted", e);
+            }
+            if (!risks.isEmpty()) {
+                riskMapper.upsertBatch(risks);
+            }
+            written += risks.size();
+        }
+        return written;
+    }
+
+    private PortfolioRisk evaluate(Long userId, LocalDate reportDate, List<Asset> assets, AtomicInteger failed) {
+        try {
+            return riskService.evaluate(userId, reportDate, assets);
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.error("portfolio risk failed: date={}, userId={}", reportDate, userId, e);
+            return null;
+        }
+    }
+
+    private static Counter userCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("portfolio.risk.users")
+            .description("Users processed by the risk job")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
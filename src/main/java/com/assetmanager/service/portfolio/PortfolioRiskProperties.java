@@ -0,0 +1,30 @@
+package com.assetmanager.service.portfolio;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 포트폴리오 위험 지표 설정 (portfolio.risk.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "portfolio.risk")
+public class PortfolioRiskProperties {
+
+    /** 수익률 관측 기간 (일, 1일봉 종가 기준) */
+    private int lookbackDays = 365;
+
+    /** 연환산에 쓰는 연간 관측일 수 (코인은 매일 거래되므로 365) */
+    private int annualizationDays = 365;
+
+    /** 계산 병렬도 (fork-join 풀 크기, 0 이면 CPU 수) */
+    private int parallelism = 0;
+
+    /** 한 번에 읽고 저장하는 사용자 수 */
+    private int chunkSize = 1000;
+
+    /** 메모리에 두는 (종목, 기준일) 수익률 시계열 수 (야간 작업의 보유 종목 수보다 크게) */
+    private int seriesCacheMaxEntries = 10_000;
+}
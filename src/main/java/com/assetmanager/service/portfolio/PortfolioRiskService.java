@@ -0,0 +1,103 @@
+package com.assetmanager.service.portfolio;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.PortfolioRisk;
+import com.assetmanager.dto.RiskReport;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.service.portfolio.ReturnSeriesCache.ReturnSeries;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 포트폴리오 위험 지표 (변동성, 역사적 VaR, 최대 낙폭, 공분산)
+ * 비중은 전날 종가로 평가한 현재 보유 자산 기준이며, 종목 수익률은 사용자 간에 공유되는 캐시에서 읽는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PortfolioRiskService {
+
+    private final AssetMapper assetMapper;
+    private final ReturnSeriesCache returnSeries;
+    private final PortfolioRiskProperties properties;
+
+    /**
+     * 한 사용자의 상세 보고서 (종목별 비중과 공분산 행렬 포함)
+     */
+    public RiskReport report(Long userId, LocalDate reportDate) {
+        Positions positions = positions(assetMapper.findHoldingAssetsByUserId(userId), reportDate);
+        return new RiskReport(evaluate(userId, reportDate, positions), positions.symbols(), positions.weights(),
+                RiskMath.covariance(positions.returns()));
+    }
+
+    /**
+     * 배치용 지표 계산 (보유 자산은 호출자가 한 번에 읽어 넘긴다)
+     */
+    public PortfolioRisk evaluate(Long userId, LocalDate reportDate, List<Asset> assets) {
+        return evaluate(userId, reportDate, positions(assets, reportDate));
+    }
+
+    private PortfolioRisk evaluate(Long userId, LocalDate reportDate, Positions positions) {
+        double[] portfolio = RiskMath.portfolioReturns(positions.weights(), positions.returns());
+        double total = positions.totalValue().doubleValue();
+        double annualVolatility = RiskMath.standardDeviation(portfolio)
+            * Math.sqrt(Math.max(1, properties.getAnnualizationDays())) * 100;
+        return PortfolioRisk.builder()
+            .userId(userId)
+            .reportDate(reportDate)
+            .totalValue(positions.totalValue())
+            .annualVolatility(percent(annualVolatility))
+            .valueAtRisk95(money(RiskMath.historicalLoss(portfolio, 0.95) * total))
+            .valueAtRisk99(money(RiskMath.historicalLoss(portfolio, 0.99) * total))
+            .maxDrawdown(percent(RiskMath.maxDrawdown(portfolio) * 100))
+            .assetCount(positions.symbols().size())
+            .observationDays(portfolio.length)
+            .build();
+    }
+
+    /**
+     * 자산별 평가금액과 수익률 (종가가 없는 자산은 매수 원가로 평가하고 수익률은 0 으로 둔다)
+     */
+    private Positions positions(List<Asset> assets, LocalDate reportDate) {
+        List<String> symbols = new ArrayList<>(assets.size());
+        BigDecimal[] values = new BigDecimal[assets.size()];
+        double[][] returns = new double[assets.size()][];
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < assets.size(); i++) {
+            Asset asset = assets.get(i);
+            ReturnSeries series = returnSeries.get(asset.getSymbol(), asset.getExchange(), reportDate);
+            values[i] = series.lastClose() == null
+                ? asset.getTotalInvestmentAmount()
+                : asset.getCurrentValue(series.lastClose());
+            returns[i] = series.returns();
+            symbols.add(asset.getSymbol());
+            total = total.add(values[i]);
+        }
+
+        double[] weights = new double[assets.size()];
+        if (total.signum() > 0) {
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = values[i].doubleValue() / total.doubleValue();
+            }
+        }
+        return new Positions(symbols, weights, returns, total.setScale(2, RoundingMode.HALF_UP));
+    }
+
+    private static BigDecimal percent(double value) {
+        return BigDecimal.valueOf(value).setScale(4, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private record Positions(List<String> symbols, double[] weights, double[][] returns, BigDecimal totalValue) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.assetmanager.service.portfolio;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.assetmanager.config.shard.ShardRouter;
+import com.assetmanager.dto.SnapshotJobResult;
+import com.assetmanager.mapper.PortfolioSnapshotMapper;
+import com.assetmanager.service.price.PriceKey;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 일별 포트폴리오 스냅샷 배치
+ * 스냅샷이 없는 사용자를 샤드별로 청크로 나눠 고정 크기 작업 풀에서 병렬로 처리한다 (한 청크의 사용자는 같은 샤드).
+ * 이미 저장된 사용자는 건너뛰므로 중간에 멈춘 작업은 다시 실행하면 남은 사용자부터 이어진다.
+ */
+@Slf4j
+@Component
+public class PortfolioSnapshotJob {
+
+    private final PortfolioSnapshotService snapshotService;
+    private final PortfolioSnapshotMapper snapshotMapper;
+    private final PortfolioSnapshotProperties properties;
+    private final ShardRouter shardRouter;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter usersWritten;
+    private final Counter usersFailed;
+    private volatile double lastUsersPerSecond;
+
+    public PortfolioSnapshotJob(PortfolioSnapshotService snapshotService, PortfolioSnapshotMapper snapshotMapper,
+                                PortfolioSnapshotProperties properties, ShardRouter shardRouter,
+                                MeterRegistry meterRegistry) {
+        this.snapshotService = snapshotService;
+        this.snapshotMapper = snapshotMapper;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+
+        this.usersWritten = userCounter(meterRegistry, "written");
+        this.usersFailed = userCounter(meterRegistry, "failed");
+        Gauge.builder("portfolio.snapshot.throughput", this, job -> job.lastUsersPerSecond)
+            .description("Users per second of the last snapshot run")
+            .baseUnit("users/s")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 전날 종가 기준 스냅샷 생성
+     */
+    @Scheduled(cron = "${portfolio.snapshot.cron:0 30 0 * * *}")
+    public void runNightly() {
+        run(LocalDate.now().minusDays(1));
+    }
+
+    public SnapshotJobResult run(LocalDate snapshotDate) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("portfolio snapshot job is already running");
+        }
+        ThreadPoolExecutor workers = newWorkerPool();
+        try {
+            return execute(snapshotDate, workers);
+        } finally {
+            workers.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    private SnapshotJobResult execute(LocalDate snapshotDate, ThreadPoolExecutor workers) {
+        long startedAt = System.currentTimeMillis();
+        Map<PriceKey, BigDecimal> closes = snapshotService.loadClosingPrices(snapshotDate);
+        int chunkSize = Math.max(1, properties.getChunkSize());
+
+        // 작업 큐가 차면 호출 스레드가 직접 처리하므로 읽어 둔 청크가 무한정 쌓이지 않는다.
+        List<Chunk> chunks = new ArrayList<>();
+        shardRouter.forEachShard(shard -> {
+            long afterId = 0;
+            while (true) {
+                List<Long> userIds = snapshotMapper.findUserIdsWithoutSnapshot(snapshotDate, afterId, chunkSize);
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                afterId = userIds.get(userIds.size() - 1);
+                chunks.add(new Chunk(userIds.get(0), userIds.size(),
+                        workers.submit(() -> snapshotService.writeChunk(snapshotDate, userIds, closes))));
+            }
+        });
+
+        int written = 0;
+        int failed = 0;
+        for (Chunk chunk : chunks) {
+            try {
+                written += chunk.result().get();
+            } catch (ExecutionException e) {
+                failed += chunk.size();
+                log.error("portfolio snapshot chunk failed: date={}, firstUserId={}, size={}",
+                        snapshotDate, chunk.firstUserId(), chunk.size(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("portfolio snapshot job interrupted", e);
+            }
+        }
+
+        SnapshotJobResult result = new SnapshotJobResult(snapshotDate, written, failed, chunks.size(),
+                System.currentTimeMillis() - startedAt);
+        usersWritten.increment(written);
+        usersFailed.increment(failed);
+        lastUsersPerSecond = result.getUsersPerSecond();
+        log.info("portfolio snapshot finished: date={}, users={}, failed={}, chunks={}, elapsedMs={}, usersPerSec={}",
+                snapshotDate, written, failed, chunks.size(), result.getElapsedMillis(),
+                String.format("%.1f", result.getUsersPerSecond()));
+        return result;
+    }
+
+    private ThreadPoolExecutor newWorkerPool() {
+        int size = Math.max(1, properties.getWorkers());
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(size * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "snapshot-worker-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private static Counter userCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("portfolio.snapshot.users")
+            .description("Users processed by the snapshot job")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private record Chunk(Long firstUserId, int size, Future<Integer> result) {
+    }
+}
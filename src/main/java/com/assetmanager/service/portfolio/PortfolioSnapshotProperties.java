@@ -0,0 +1,24 @@
+package com.assetmanager.service.portfolio;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 일별 스냅샷 배치 설정 (portfolio.snapshot.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "portfolio.snapshot")
+public class PortfolioSnapshotProperties {
+
+    /** 동시에 처리하는 청크 수 (각각 DB 커넥션 하나를 사용) */
+    private int workers = 4;
+
+    /** 한 번에 읽고 저장하는 사용자 수 */
+    private int chunkSize = 500;
+
+    /** 종가 캔들이 없을 때 거슬러 올라가 찾는 최대 일수 */
+    private int closeLookbackDays = 7;
+}
@@ -0,0 +1,112 @@
+package com.assetmanager.service.portfolio;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.AssetType;
+import com.assetmanager.domain.CandleResolution;
+import com.assetmanager.domain.PortfolioSnapshot;
+import com.assetmanager.domain.PriceHistory;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.mapper.PortfolioSnapshotMapper;
+import com.assetmanager.mapper.PriceCandleMapper;
+import com.assetmanager.service.price.PriceKey;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 일별 포트폴리오 스냅샷 생성
+ * 사용자 청크 단위로 보유 자산을 한 번에 읽고, 종가로 평가한 스냅샷을 한 번의 일괄 저장으로 기록한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PortfolioSnapshotService {
+
+    private final AssetMapper assetMapper;
+    private final PortfolioSnapshotMapper snapshotMapper;
+    private final PriceCandleMapper candleMapper;
+    private final PortfolioSnapshotProperties properties;
+
+    /**
+     * 기준일 종가 (1일봉 종가, 거래가 없던 종목은 가장 최근 봉)
+     */
+    public Map<PriceKey, BigDecimal> loadClosingPrices(LocalDate snapshotDate) {
+        LocalDateTime asOf = snapshotDate.atStartOfDay();
+        List<PriceHistory> candles = candleMapper.findLatestCandlesAsOf(CandleResolution.DAY_1,
+                asOf.minusDays(properties.getCloseLookbackDays()), asOf);
+        Map<PriceKey, BigDecimal> closes = new HashMap<>();
+        for (PriceHistory candle : candles) {
+            closes.put(PriceKey.of(candle.getSymbol(), candle.getExchange()), candle.getClosePrice());
+        }
+        return closes;
+    }
+
+    /**
+     * 사용자 청크의 스냅샷 저장 (보유 자산이 없는 사용자도 0 으로 기록해 처리 완료로 남긴다)
+     *
+     * @return 저장한 스냅샷 수
+     */
+    @Transactional
+    public int writeChunk(LocalDate snapshotDate, List<Long> userIds, Map<PriceKey, BigDecimal> closes) {
+        Map<Long, List<Asset>> holdings = assetMapper.findHoldingAssetsByUserIds(userIds).stream()
+            .collect(Collectors.groupingBy(Asset::getUserId));
+        List<PortfolioSnapshot> snapshots = userIds.stream()
+            .map(userId -> buildSnapshot(userId, snapshotDate, holdings.getOrDefault(userId, List.of()), closes))
+            .toList();
+        snapshotMapper.upsertBatch(snapshots);
+        return snapshots.size();
+    }
+
+    /**
+     * 종가 기준 스냅샷 계산 (종가가 없는 자산은 매수 원가로 평가)
+     */
+    static PortfolioSnapshot buildSnapshot(Long userId, LocalDate snapshotDate, List<Asset> assets,
+                                           Map<PriceKey, BigDecimal> closes) {
+        BigDecimal investment = BigDecimal.ZERO;
+        BigDecimal currentValue = BigDecimal.ZERO;
+        BigDecimal cryptoValue = BigDecimal.ZERO;
+        BigDecimal stockValue = BigDecimal.ZERO;
+
+        for (Asset asset : assets) {
+            BigDecimal cost = asset.getTotalInvestmentAmount();
+            BigDecimal close = closes.get(PriceKey.of(asset.getSymbol(), asset.getExchange()));
+            BigDecimal value = close == null ? cost : asset.getCurrentValue(close);
+
+            investment = investment.add(cost);
+            currentValue = currentValue.add(value);
+            if (asset.getAssetType() == AssetType.CRYPTO) {
+                cryptoValue = cryptoValue.add(value);
+            } else if (asset.getAssetType() == AssetType.STOCK) {
+                stockValue = stockValue.add(value);
+            }
+        }
+
+        PortfolioSnapshot snapshot = PortfolioSnapshot.builder()
+            .userId(userId)
+            .snapshotDate(snapshotDate)
+            .totalInvestment(money(investment))
+            .totalCurrentValue(money(currentValue))
+            .assetCount(assets.size())
+            .cryptoValue(money(cryptoValue))
+            .stockValue(money(stockValue))
+            .build();
+        snapshot.recalculateProfitLoss();
+        snapshot.recalculateProfitRate();
+        snapshot.setProfitRate(snapshot.getProfitRate().setScale(4, RoundingMode.HALF_UP));
+        return snapshot;
+    }
+
+    private static BigDecimal money(BigDecimal value) {
+        return value.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,232 @@
+package com.assetmanager.service.portfolio;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import com.assetmanager.domain.PortfolioSnapshot;
+import com.assetmanager.domain.Transaction;
+
+/**
+ * 일별 스냅샷과 외부 현금흐름으로 만든 누적 수익률 지수 (불변)
+ * 스냅샷 사이 구간마다 Modified Dietz 수익률을 구해 누적곱으로 두므로, 임의 구간의 시간가중수익률은 나눗셈 한 번이다.
+ * 스냅샷 D 는 D 의 일봉 종가, 곧 D+1 0시 무렵의 평가액이므로 [D 0시, D+1 0시) 의 거래가 D 로 끝나는 구간의 흐름이 된다.
+ * 그래서 구간 계산에서는 거래 시각을 하루 당겨 스냅샷 날짜와 같은 축에 둔다.
+ */
+public final class ReturnIndex {
+
+    private static final double SECONDS_PER_DAY = 86_400d;
+    private static final double DAYS_PER_YEAR = 365d;
+    /** 스냅샷 날짜와 그 평가 시점의 차이 (일) */
+    private static final double VALUATION_LAG_DAYS = 1d;
+
+    private final long[] days;
+    private final double[] values;
+    /** flows[k]: k 로 끝나는 구간의 순유입 (flows[0] = 0) */
+    private final double[] flows;
+    /** flowDays[k]: 그 구간 흐름을 금액가중한 평균 시점 (epoch day, 소수) */
+    private final double[] flowDays;
+    /** 구간 성장률의 누적곱 (전액 손실 구간은 건너뛰고 wipeouts 로 센다) */
+    private final double[] growth;
+    private final int[] wipeouts;
+    private final double[] cumulativeFlows;
+
+    private ReturnIndex(int size) {
+        this.days = new long[size];
+        this.values = new double[size];
+        this.flows = new double[size];
+        this.flowDays = new double[size];
+        this.growth = new double[size];
+        this.wipeouts = new int[size];
+        this.cumulativeFlows = new double[size];
+    }
+
+    /**
+     * @param snapshots    날짜순 스냅샷
+     * @param transactions 순서 무관 (첫 스냅샷 평가 시점 이전, 마지막 스냅샷 평가 시점 이후 거래는 무시)
+     */
+    public static ReturnIndex build(List<PortfolioSnapshot> snapshots, List<Transaction> transactions) {
+        ReturnIndex index = new ReturnIndex(snapshots.size());
+        for (int k = 0; k < snapshots.size(); k++) {
+            PortfolioSnapshot snapshot = snapshots.get(k);
+            index.days[k] = snapshot.getSnapshotDate().toEpochDay();
+            if (k > 0 && index.days[k] <= index.days[k - 1]) {
+                throw new IllegalArgumentException("snapshots must be ordered by date");
+            }
+            index.values[k] = toDouble(snapshot.getTotalCurrentValue());
+        }
+
+        // 흐름마다 구간 끝까지 남은 비율을 곱해 더한 값 (Modified Dietz 분모용)
+        double[] weightedFlows = new double[snapshots.size()];
+        for (Transaction transaction : transactions) {
+            if (transaction.getTransactedAt() == null) {
+                continue;
+            }
+            double flow = externalFlow(transaction);
+            double at = toEpochDays(transaction.getTransactedAt()) - VALUATION_LAG_DAYS;
+            int k = periodOf(index.days, at);
+            if (flow == 0 || k < 0) {
+                continue;
+            }
+            double remaining = (index.days[k] - at) / (index.days[k] - index.days[k - 1]);
+            index.flows[k] += flow;
+            weightedFlows[k] += flow * remaining;
+        }
+
+        int size = snapshots.size();
+        if (size > 0) {
+            index.growth[0] = 1;
+        }
+        for (int k = 1; k < size; k++) {
+            long length = index.days[k] - index.days[k - 1];
+            double flow = index.flows[k];
+            index.flowDays[k] = flow != 0
+                ? Math.max(index.days[k - 1], Math.min(index.days[k], index.days[k] - length * weightedFlows[k] / flow))
+                : index.days[k];
+
+            // 1 + r = (V1 - V0 - F + V0 + ΣwF) / (V0 + ΣwF)
+            // 비어 있던 포트폴리오에 들어온 첫 자금은 구간 시작부터 굴린 것으로 본다 (분모가 0 에 가까워지는 것 방지)
+            double previous = index.values[k - 1];
+            double weighted = previous > 0 ? weightedFlows[k] : flow;
+            double invested = previous + weighted;
+            double factor = invested > 0 ? (index.values[k] - flow + weighted) / invested : 1;
+            if (invested > 0 && factor <= 0) {
+                index.growth[k] = index.growth[k - 1];
+                index.wipeouts[k] = index.wipeouts[k - 1] + 1;
+            } else {
+                index.growth[k] = index.growth[k - 1] * factor;
+                index.wipeouts[k] = index.wipeouts[k - 1];
+            }
+            index.cumulativeFlows[k] = index.cumulativeFlows[k - 1] + flow;
+        }
+        return index;
+    }
+
+    /**
+     * 포트폴리오로 들어오는 방향이 양수인 외부 흐름 (스냅샷 평가액은 보유 자산만이므로 매수/매도도 외부 흐름)
+     * 수수료와 세금은 투자자 부담이므로 매수에는 더하고 매도에서는 뺀다.
+     */
+    static double externalFlow(Transaction transaction) {
+        if (transaction.getTransactionType() == null || transaction.getTotalAmount() == null) {
+            return 0;
+        }
+        double amount = transaction.getTotalAmount().doubleValue();
+        double costs = toDouble(transaction.getFee()) + toDouble(transaction.getTax());
+        return switch (transaction.getTransactionType()) {
+            case BUY -> amount + costs;
+            case SELL -> -(amount - costs);
+            case DEPOSIT -> amount;
+            case WITHDRAW -> -amount;
+        };
+    }
+
+    public boolean isEmpty() {
+        return days.length == 0;
+    }
+
+    public int size() {
+        return days.length;
+    }
+
+    /**
+     * from 이후 첫 스냅샷 위치 (없으면 -1)
+     */
+    public int indexOnOrAfter(LocalDate from) {
+        int position = Arrays.binarySearch(days, from.toEpochDay());
+        int index = position >= 0 ? position : -position - 1;
+        return index < days.length ? index : -1;
+    }
+
+    /**
+     * to 이전 마지막 스냅샷 위치 (없으면 -1)
+     */
+    public int indexOnOrBefore(LocalDate to) {
+        int position = Arrays.binarySearch(days, to.toEpochDay());
+        return position >= 0 ? position : -position - 2;
+    }
+
+    public LocalDate dateAt(int index) {
+        return LocalDate.ofEpochDay(days[index]);
+    }
+
+    public double valueAt(int index) {
+        return values[index];
+    }
+
+    /**
+     * (start, end] 구간의 순유입
+     */
+    public double netFlow(int start, int end) {
+        return cumulativeFlows[end] - cumulativeFlows[start];
+    }
+
+    /**
+     * start 스냅샷부터 end 스냅샷까지의 시간가중수익률 (전액 손실 구간이 끼면 -1)
+     */
+    public double timeWeighted(int start, int end) {
+        checkRange(start, end);
+        if (wipeouts[end] - wipeouts[start] > 0) {
+            return -1;
+        }
+        return growth[end] / growth[start] - 1;
+    }
+
+    /**
+     * start 스냅샷부터 end 스냅샷까지의 금액가중수익률 (연환산 IRR, 구할 수 없으면 NaN)
+     * 시작 평가액을 투자하고 구간 흐름을 더 넣거나 빼서 끝 평가액을 회수한 것으로 본다.
+     */
+    public double moneyWeighted(int start, int end) {
+        checkRange(start, end);
+        if (start == end) {
+            return Double.NaN;
+        }
+        int count = 0;
+        double[] amounts = new double[end - start + 2];
+        double[] years = new double[amounts.length];
+        amounts[count] = -values[start];
+        years[count++] = 0;
+        for (int k = start + 1; k <= end; k++) {
+            if (flows[k] != 0) {
+                amounts[count] = -flows[k];
+                years[count++] = (flowDays[k] - days[start]) / DAYS_PER_YEAR;
+            }
+        }
+        amounts[count] = values[end];
+        years[count++] = (days[end] - days[start]) / DAYS_PER_YEAR;
+        return IrrSolver.solve(Arrays.copyOf(amounts, count), Arrays.copyOf(years, count));
+    }
+
+    private void checkRange(int start, int end) {
+        if (start < 0 || end >= days.length || start > end) {
+            throw new IllegalArgumentException("invalid index range");
+        }
+    }
+
+    /**
+     * 흐름 시점(평가 시차만큼 당긴 값) 이 속한 구간의 끝 위치 ([days[k-1], days[k]) 에 있으면 k, 어느 구간에도 없으면 -1)
+     */
+    private static int periodOf(long[] days, double at) {
+        int low = 0;
+        int high = days.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] <= at) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low > 0 && low < days.length ? low : -1;
+    }
+
+    private static double toEpochDays(LocalDateTime at) {
+        return at.toEpochSecond(ZoneOffset.UTC) / SECONDS_PER_DAY;
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value == null ? 0 : value.doubleValue();
+    }
+}
@@ -0,0 +1,131 @@
+package com.assetmanager.service.portfolio;
+
+import java.math.BigDecimal;
+import java.nio.LongBuffer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.assetmanager.domain.CandleResolution;
+import com.assetmanager.mapper.PriceCandleMapper;
+import com.assetmanager.service.price.CandleColumnStore;
+import com.assetmanager.service.price.CandleColumns;
+import com.assetmanager.service.price.PriceKey;
+
+/**
+ * 종목별 일간 수익률 시계열 캐시
+ * 같은 종목을 보유한 사용자들이 시계열 하나(double[])를 함께 쓴다. 기준일마다 따로 두므로 야간 작업과
+ * 다른 기준일의 조회가 섞이지 않으며, 오래 쓰지 않은 항목부터 portfolio.risk.series-cache-max-entries 개까지만 남긴다.
+ * 종가는 1일봉 열 지향 캐시에서 읽고, 거래가 없던 날은 직전 종가를 이어 써 그날 수익률을 0 으로 둔다.
+ */
+@Service
+public class ReturnSeriesCache {
+
+    private final CandleColumnStore columnStore;
+    private final PriceCandleMapper candleMapper;
+    private final PortfolioRiskProperties properties;
+    private final Map<SeriesKey, ReturnSeries> series;
+
+    public ReturnSeriesCache(CandleColumnStore columnStore, PriceCandleMapper candleMapper,
+                             PortfolioRiskProperties properties) {
+        this.columnStore = columnStore;
+        this.candleMapper = candleMapper;
+        this.properties = properties;
+        int maxEntries = Math.max(1, properties.getSeriesCacheMaxEntries());
+        this.series = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SeriesKey, ReturnSeries> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * 기준일 전날까지 lookbackDays 개의 일간 수익률
+     * 동시에 처음 요청되면 중복으로 읽을 수 있지만 결과는 같으므로 먼저 들어간 값을 쓴다.
+     */
+    public ReturnSeries get(String symbol, String exchange, LocalDate reportDate) {
+        SeriesKey key = new SeriesKey(PriceKey.of(symbol, exchange), reportDate);
+        ReturnSeries cached = series.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        ReturnSeries loaded = load(symbol, exchange, reportDate);
+        ReturnSeries previous = series.putIfAbsent(key, loaded);
+        return previous != null ? previous : loaded;
+    }
+
+    /**
+     * 기준일의 시계열을 가진 종목 수
+     */
+    public int size(LocalDate reportDate) {
+        synchronized (series) {
+            return (int) series.keySet().stream().filter(key -> key.reportDate().equals(reportDate)).count();
+        }
+    }
+
+    private ReturnSeries load(String symbol, String exchange, LocalDate reportDate) {
+        int days = Math.max(1, properties.getLookbackDays());
+        LocalDateTime end = reportDate.atStartOfDay();
+        LocalDateTime start = end.minusDays(days + 1L);
+
+        double[] closes = new double[days + 1];
+        Latest latest = new Latest();
+        CandleColumns columns = columnStore.read(symbol, exchange, CandleResolution.DAY_1, start, end);
+        place(columns, start, closes, latest);
+        if (columns.getTo().isBefore(end)) {
+            // 아직 롤업이 다시 계산할 수 있는 최근 봉은 DB 에서 직접 읽는다
+            place(CandleColumns.of(candleMapper.findCandles(symbol, exchange, CandleResolution.DAY_1,
+                    columns.getTo(), end), columns.getTo(), end), start, closes, latest);
+        }
+
+        double[] returns = new double[days];
+        double previous = 0;
+        for (int day = 0; day <= days; day++) {
+            double close = closes[day] != 0 ? closes[day] : previous;
+            if (day > 0 && previous != 0) {
+                returns[day - 1] = close / previous - 1;
+            }
+            previous = close;
+        }
+        return new ReturnSeries(returns, latest.close);
+    }
+
+    /**
+     * 봉 종가를 일자 칸에 넣는다 (고정소수점 값 그대로, 비율만 쓰므로 배율은 상관없다)
+     */
+    private static void place(CandleColumns columns, LocalDateTime start, double[] closes, Latest latest) {
+        LongBuffer values = columns.closes();
+        for (int i = 0; i < columns.size(); i++) {
+            LocalDateTime timestamp = columns.timestampAt(i);
+            int day = (int) Duration.between(start, timestamp).toDays();
+            if (day < 0 || day >= closes.length) {
+                continue;
+            }
+            closes[day] = values.get(i);
+            if (latest.at == null || timestamp.isAfter(latest.at)) {
+                latest.at = timestamp;
+                latest.close = columns.closeAt(i);
+            }
+        }
+    }
+
+    private record SeriesKey(PriceKey price, LocalDate reportDate) {
+    }
+
+    private static final class Latest {
+        private LocalDateTime at;
+        private BigDecimal close;
+    }
+
+    /**
+     * 일간 수익률 (오래된 날부터)과 마지막 종가 (봉이 하나도 없으면 null)
+     */
+    public record ReturnSeries(double[] returns, BigDecimal lastClose) {
+    }
+}
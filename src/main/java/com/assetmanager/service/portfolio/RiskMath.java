@@ -0,0 +1,132 @@
+package com.assetmanager.service.portfolio;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * 일간 수익률 기반 위험 지표 계산 (원시 배열만 사용)
+ * returns[i] 는 자산 i 의 수익률 시계열이며, 모든 시계열의 길이는 같다.
+ */
+final class RiskMath {
+
+    /** 이보다 자산이 많으면 공분산 행을 병렬로 계산한다 */
+    private static final int PARALLEL_COVARIANCE_ASSETS = 16;
+
+    private RiskMath() {
+    }
+
+    /**
+     * 비중을 곱해 더한 포트폴리오 일간 수익률
+     */
+    static double[] portfolioReturns(double[] weights, double[][] returns) {
+        int days = returns.length == 0 ? 0 : returns[0].length;
+        double[] portfolio = new double[days];
+        for (int i = 0; i < returns.length; i++) {
+            double weight = weights[i];
+            double[] series = returns[i];
+            for (int day = 0; day < days; day++) {
+                portfolio[day] += weight * series[day];
+            }
+        }
+        return portfolio;
+    }
+
+    /**
+     * 표본 공분산 행렬 (대칭이므로 위 삼각만 계산해 복사)
+     */
+    static double[][] covariance(double[][] returns) {
+        int assets = returns.length;
+        int days = assets == 0 ? 0 : returns[0].length;
+        double[][] centered = new double[assets][];
+        for (int i = 0; i < assets; i++) {
+            double mean = mean(returns[i]);
+            centered[i] = new double[days];
+            for (int day = 0; day < days; day++) {
+                centered[i][day] = returns[i][day] - mean;
+            }
+        }
+
+        double[][] matrix = new double[assets][assets];
+        double divisor = Math.max(1, days - 1);
+        IntStream rows = IntStream.range(0, assets);
+        if (assets >= PARALLEL_COVARIANCE_ASSETS) {
+            rows = rows.parallel();
+        }
+        rows.forEach(i -> {
+            for (int j = i; j < assets; j++) {
+                double sum = 0;
+                double[] a = centered[i];
+                double[] b = centered[j];
+                for (int day = 0; day < days; day++) {
+                    sum += a[day] * b[day];
+                }
+                matrix[i][j] = sum / divisor;
+            }
+        });
+        for (int i = 0; i < assets; i++) {
+            for (int j = 0; j < i; j++) {
+                matrix[i][j] = matrix[j][i];
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * 표본 표준편차
+     */
+    static double standardDeviation(double[] series) {
+        if (series.length < 2) {
+            return 0;
+        }
+        double mean = mean(series);
+        double sum = 0;
+        for (double value : series) {
+            double diff = value - mean;
+            sum += diff * diff;
+        }
+        return Math.sqrt(sum / (series.length - 1));
+    }
+
+    /**
+     * 역사적 VaR: 하위 (1 - confidence) 분위의 일간 손실률 (손실을 양수로, 이익뿐이면 0)
+     */
+    static double historicalLoss(double[] series, double confidence) {
+        if (series.length == 0) {
+            return 0;
+        }
+        double[] sorted = series.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.floor((1 - confidence) * sorted.length);
+        index = Math.min(sorted.length - 1, Math.max(0, index));
+        return Math.max(0, -sorted[index]);
+    }
+
+    /**
+     * 수익률을 이어 곱한 가치 경로에서 고점 대비 가장 크게 떨어진 비율
+     */
+    static double maxDrawdown(double[] series) {
+        double value = 1;
+        double peak = 1;
+        double maxDrawdown = 0;
+        for (double dailyReturn : series) {
+            value *= 1 + dailyReturn;
+            if (value > peak) {
+                peak = value;
+            } else if (peak > 0) {
+                maxDrawdown = Math.max(maxDrawdown, (peak - value) / peak);
+            }
+        }
+        return maxDrawdown;
+    }
+
+    private static double mean(double[] series) {
+        if (series.length == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (double value : series) {
+            sum += value;
+        }
+        return sum / series.length;
+    }
+}
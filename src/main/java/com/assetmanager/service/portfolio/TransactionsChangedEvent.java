@@ -0,0 +1,7 @@
+package com.assetmanager.service.portfolio;
+
+/**
+ * 사용자 거래 내역 변경 이벤트 (등록/수정/삭제 시 발행)
+ */
+public record TransactionsChangedEvent(Long userId) {
+}
@@ -0,0 +1,17 @@
+package com.assetmanager.service.price;
+
+import java.math.BigDecimal;
+
+/**
+ * 캐시에 보관되는 가격과 조회 시각
+ */
+public record CachedPrice(BigDecimal price, long fetchedAtMillis) {
+
+    public long ageMillis(long nowMillis) {
+        return Math.max(0, nowMillis - fetchedAtMillis);
+    }
+
+    public static CachedPrice newer(CachedPrice a, CachedPrice b) {
+        return a.fetchedAtMillis >= b.fetchedAtMillis ? a : b;
+    }
+}
@@ -0,0 +1,81 @@
+package com.assetmanager.service.price;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.assetmanager.domain.PriceHistory;
+
+/**
+ * 한 봉 구간의 OHLCV 누적기
+ * 원본 틱은 price 만, 하위 캔들은 OHLC 를 가지고 있으므로 있는 값을 우선 사용한다.
+ */
+class CandleAccumulator {
+
+    private final String symbol;
+    private final String exchange;
+    private final LocalDateTime bucketStart;
+
+    private BigDecimal open;
+    private BigDecimal high;
+    private BigDecimal low;
+    private BigDecimal close;
+    private BigDecimal volume = BigDecimal.ZERO;
+
+    CandleAccumulator(String symbol, String exchange, LocalDateTime bucketStart) {
+        this.symbol = symbol;
+        this.exchange = exchange;
+        this.bucketStart = bucketStart;
+    }
+
+    boolean accepts(PriceHistory row, LocalDateTime rowBucket) {
+        return symbol.equals(row.getSymbol()) && exchange.equals(row.getExchange())
+            && bucketStart.equals(rowBucket);
+    }
+
+    /**
+     * 시간순으로 들어오는 행 하나를 반영
+     */
+    void add(PriceHistory row) {
+        BigDecimal rowOpen = firstNonNull(row.getOpenPrice(), row.getPrice());
+        BigDecimal rowHigh = firstNonNull(row.getHighPrice(), row.getPrice());
+        BigDecimal rowLow = firstNonNull(row.getLowPrice(), row.getPrice());
+        BigDecimal rowClose = firstNonNull(row.getClosePrice(), row.getPrice());
+        if (rowOpen == null || rowHigh == null || rowLow == null || rowClose == null) {
+            return;
+        }
+        if (open == null) {
+            open = rowOpen;
+            high = rowHigh;
+            low = rowLow;
+        } else {
+            high = high.max(rowHigh);
+            low = low.min(rowLow);
+        }
+        close = rowClose;
+        if (row.getVolume() != null) {
+            volume = volume.add(row.getVolume());
+        }
+    }
+
+    boolean isEmpty() {
+        return open == null;
+    }
+
+    PriceHistory toCandle() {
+        return PriceHistory.builder()
+            .symbol(symbol)
+            .exchange(exchange)
+            .timestamp(bucketStart)
+            .openPrice(open)
+            .highPrice(high)
+            .lowPrice(low)
+            .closePrice(close)
+            .price(close)
+            .volume(volume)
+            .build();
+    }
+
+    private static BigDecimal firstNonNull(BigDecimal first, BigDecimal second) {
+        return first != null ? first : second;
+    }
+}
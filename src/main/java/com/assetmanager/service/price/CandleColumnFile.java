@@ -0,0 +1,244 @@
+package com.assetmanager.service.price;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.assetmanager.domain.PriceHistory;
+
+/**
+ * 종목·봉 단위 하나의 열 지향 캔들 파일 (디렉터리 하나에 열마다 파일 하나)
+ * 열 파일은 메모리 매핑해 8바이트 값을 뒤에 이어 붙이기만 하고, meta 파일에 커밋된 행 수와 캐시 구간을 둔다.
+ * 열을 디스크에 내린 뒤에 meta 를 갱신하므로 중간에 멈춰도 재시작하면 마지막으로 커밋된 행까지만 보인다.
+ * 매핑은 파일을 닫아도 유지되어 파일 핸들을 잡고 있지 않는다. 호출자가 이 객체로 동기화한다.
+ */
+final class CandleColumnFile {
+
+    private static final int MAGIC = 0x434E444C;
+    private static final int VERSION = 1;
+    private static final int META_SIZE = 32;
+    private static final String META_FILE = "meta";
+    private static final String[] COLUMN_FILES = {"timestamp.col", "open.col", "high.col", "low.col", "close.col", "volume.col"};
+    private static final int TIMESTAMP = 0;
+    private static final int OPEN = 1;
+    private static final int HIGH = 2;
+    private static final int LOW = 3;
+    private static final int CLOSE = 4;
+    private static final int VOLUME = 5;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE / Long.BYTES;
+
+    private final Path directory;
+    private final int initialCapacity;
+
+    private MappedByteBuffer meta;
+    private final MappedByteBuffer[] columns = new MappedByteBuffer[COLUMN_FILES.length];
+    private int capacity;
+    private int size;
+    private long coveredFrom;
+    private long coveredTo;
+
+    CandleColumnFile(Path directory, int initialCapacity) {
+        this.directory = directory;
+        this.initialCapacity = Math.max(1, initialCapacity);
+    }
+
+    boolean isMapped() {
+        return meta != null;
+    }
+
+    /**
+     * 파일을 매핑하고 커밋된 상태를 읽는다 (처음이거나 형식이 다르면 빈 파일로 시작)
+     */
+    void map() {
+        if (meta != null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            meta = mapFile(META_FILE, META_SIZE);
+            if (meta.getInt(0) != MAGIC || meta.getInt(4) != VERSION) {
+                writeMeta(0, 0, 0);
+            }
+            size = (int) meta.getLong(8);
+            coveredFrom = meta.getLong(16);
+            coveredTo = meta.getLong(24);
+            Path timestamps = directory.resolve(COLUMN_FILES[TIMESTAMP]);
+            long existing = Files.exists(timestamps) ? Files.size(timestamps) / Long.BYTES : 0;
+            mapColumns((int) Math.max(Math.max(existing, size), initialCapacity));
+        } catch (IOException e) {
+            release();
+            throw new UncheckedIOException("cannot map candle file: " + directory, e);
+        }
+    }
+
+    /**
+     * 매핑 참조를 놓는다 (이미 내준 뷰는 GC 될 때까지 유효하다)
+     */
+    void release() {
+        meta = null;
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = null;
+        }
+    }
+
+    /**
+     * 파일을 지우고 빈 상태로 다시 매핑 (이미 내준 뷰는 지워진 파일을 계속 가리킨다)
+     */
+    void reset() {
+        release();
+        try {
+            for (String name : COLUMN_FILES) {
+                Files.deleteIfExists(directory.resolve(name));
+            }
+            Files.deleteIfExists(directory.resolve(META_FILE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot reset candle file: " + directory, e);
+        }
+        map();
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 캐시된 구간 시작 (비어 있으면 null)
+     */
+    LocalDateTime coveredFrom() {
+        return hasCoverage() ? CandleColumns.fromMillis(coveredFrom) : null;
+    }
+
+    LocalDateTime coveredTo() {
+        return hasCoverage() ? CandleColumns.fromMillis(coveredTo) : null;
+    }
+
+    /**
+     * 캔들을 뒤에 붙이고 캐시 구간을 [from, to) 로 커밋한다
+     * 마지막 행 이후이면서 구간 안의 봉만 붙인다 (봉이 없는 구간도 커버된 것으로 기록된다).
+     */
+    void append(List<PriceHistory> candles, LocalDateTime from, LocalDateTime to) {
+        long fromMillis = CandleColumns.toMillis(from);
+        long toMillis = CandleColumns.toMillis(to);
+        long last = size == 0 ? Long.MIN_VALUE : columns[TIMESTAMP].getLong((size - 1) * Long.BYTES);
+        ensureCapacity(size + candles.size());
+
+        int index = size;
+        for (PriceHistory candle : candles) {
+            long timestamp = CandleColumns.toMillis(candle.getTimestamp());
+            if (timestamp <= last || timestamp < fromMillis || timestamp >= toMillis) {
+                continue;
+            }
+            int offset = index * Long.BYTES;
+            columns[TIMESTAMP].putLong(offset, timestamp);
+            columns[OPEN].putLong(offset, CandleColumns.scaled(candle.getOpenPrice()));
+            columns[HIGH].putLong(offset, CandleColumns.scaled(candle.getHighPrice()));
+            columns[LOW].putLong(offset, CandleColumns.scaled(candle.getLowPrice()));
+            columns[CLOSE].putLong(offset, CandleColumns.scaled(candle.getClosePrice()));
+            columns[VOLUME].putDouble(offset, candle.getVolume() == null ? 0 : candle.getVolume().doubleValue());
+            last = timestamp;
+            index++;
+        }
+        if (index > size) {
+            for (MappedByteBuffer column : columns) {
+                column.force();
+            }
+        }
+        writeMeta(index, fromMillis, toMillis);
+        size = index;
+        coveredFrom = fromMillis;
+        coveredTo = toMillis;
+    }
+
+    /**
+     * [from, to) 행을 복사 없이 가리키는 읽기 전용 뷰
+     */
+    CandleColumns slice(LocalDateTime from, LocalDateTime to) {
+        int lower = lowerBound(CandleColumns.toMillis(from));
+        int upper = lowerBound(CandleColumns.toMillis(to));
+        int count = Math.max(0, upper - lower);
+        return new CandleColumns(from, to,
+                view(TIMESTAMP, lower, count).asLongBuffer().asReadOnlyBuffer(),
+                view(OPEN, lower, count).asLongBuffer().asReadOnlyBuffer(),
+                view(HIGH, lower, count).asLongBuffer().asReadOnlyBuffer(),
+                view(LOW, lower, count).asLongBuffer().asReadOnlyBuffer(),
+                view(CLOSE, lower, count).asLongBuffer().asReadOnlyBuffer(),
+                view(VOLUME, lower, count).asDoubleBuffer().asReadOnlyBuffer());
+    }
+
+    private boolean hasCoverage() {
+        return coveredTo > coveredFrom;
+    }
+
+    /**
+     * timestamp 이상인 첫 행 (시각 열은 오름차순)
+     */
+    private int lowerBound(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (columns[TIMESTAMP].getLong(mid * Long.BYTES) < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private ByteBuffer view(int column, int offset, int count) {
+        return columns[column].slice(offset * Long.BYTES, count * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= capacity) {
+            return;
+        }
+        if (required > MAX_CAPACITY) {
+            throw new IllegalStateException("candle file is full: " + directory);
+        }
+        try {
+            mapColumns((int) Math.min(MAX_CAPACITY, Math.max(required, (long) capacity * 2)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot grow candle file: " + directory, e);
+        }
+    }
+
+    /**
+     * 더 큰 크기로 다시 매핑하면 파일이 늘어난다 (기존 매핑과 내준 뷰는 그대로 유효)
+     */
+    private void mapColumns(int newCapacity) throws IOException {
+        for (int i = 0; i < COLUMN_FILES.length; i++) {
+            columns[i] = mapFile(COLUMN_FILES[i], (long) newCapacity * Long.BYTES);
+        }
+        capacity = newCapacity;
+    }
+
+    private void writeMeta(int rows, long from, long to) {
+        meta.putInt(0, MAGIC);
+        meta.putInt(4, VERSION);
+        meta.putLong(8, rows);
+        meta.putLong(16, from);
+        meta.putLong(24, to);
+        meta.force();
+    }
+
+    private MappedByteBuffer mapFile(String name, long bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.resolve(name), CREATE, READ, WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.assetmanager.service.price;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 열 지향 캔들 파일 캐시 설정 (price.columnar.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "price.columnar")
+public class CandleColumnProperties {
+
+    /** 꺼져 있으면 매번 price_candles 에서 읽어 힙 배열로만 돌려준다 */
+    private boolean enabled = false;
+
+    /** 파일 저장 위치 (재시작 후에도 그대로 쓴다) */
+    private String directory = "data/candles";
+
+    /** 롤업이 다시 계산할 수 있는 최근 봉은 캐시하지 않는다 (직전 봉 + 이 시간) */
+    private Duration sealDelay = Duration.ofMinutes(10);
+
+    /** 새 파일의 열당 초기 행 수 (모자라면 두 배씩 늘린다) */
+    private int initialCapacity = 8192;
+
+    /** 채울 때 한 번에 DB 에서 읽는 봉 수 */
+    private int loadBatchBuckets = 10_000;
+
+    /** 동시에 매핑해 둘 종목·봉 단위 수 (넘으면 오래 안 쓴 것부터 매핑을 푼다) */
+    private int maxMappedFiles = 512;
+}
@@ -0,0 +1,176 @@
+package com.assetmanager.service.price;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.assetmanager.domain.CandleResolution;
+import com.assetmanager.domain.PriceHistory;
+import com.assetmanager.mapper.PriceCandleMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * price_candles 앞단의 열 지향 파일 캐시 (읽기 통과형)
+ * 종목·거래소·봉 단위마다 파일 하나에 확정된 봉만 시간순으로 이어 붙이고, 요청 구간이 캐시 밖이면
+ * 모자란 만큼만 DB 에서 읽어 채운다. 파일은 재시작 후에도 그대로 쓰므로 다시 채울 필요가 없다.
+ * 롤업이 아직 다시 계산할 수 있는 최근 봉은 캐시하지 않으며, 돌려준 뷰의 끝(getTo)이 요청보다 앞이면
+ * 나머지는 호출자가 DB 에서 읽는다.
+ */
+@Slf4j
+@Service
+public class CandleColumnStore {
+
+    private final PriceCandleMapper candleMapper;
+    private final CandleColumnProperties properties;
+    private final Clock clock;
+    private final Path root;
+
+    private final ConcurrentHashMap<String, CandleColumnFile> files = new ConcurrentHashMap<>();
+    private final LinkedHashMap<CandleColumnFile, Boolean> mapped = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Counter hits;
+    private final Counter loads;
+    private final Counter bypassed;
+    private final Counter rowsLoaded;
+
+    @Autowired
+    public CandleColumnStore(PriceCandleMapper candleMapper, CandleColumnProperties properties,
+                             MeterRegistry meterRegistry) {
+        this(candleMapper, properties, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    CandleColumnStore(PriceCandleMapper candleMapper, CandleColumnProperties properties,
+                      MeterRegistry meterRegistry, Clock clock) {
+        this.candleMapper = candleMapper;
+        this.properties = properties;
+        this.clock = clock;
+        this.root = Paths.get(properties.getDirectory());
+        this.hits = readCounter(meterRegistry, "hit");
+        this.loads = readCounter(meterRegistry, "load");
+        this.bypassed = readCounter(meterRegistry, "bypass");
+        this.rowsLoaded = Counter.builder("price.columnar.rows.loaded")
+            .description("Candles copied from price_candles into columnar files")
+            .register(meterRegistry);
+    }
+
+    /**
+     * [from, to) 캔들을 열 지향 뷰로 조회
+     * 확정된 구간은 파일에서 복사 없이 돌려주고, 결과의 getTo() 는 확정 구간 끝에서 잘린다.
+     */
+    public CandleColumns read(String symbol, String exchange, CandleResolution resolution,
+                              LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("invalid time range");
+        }
+        LocalDateTime sealed = sealedBefore(resolution);
+        if (!properties.isEnabled() || !from.isBefore(sealed)) {
+            bypassed.increment();
+            return CandleColumns.of(candleMapper.findCandles(symbol, exchange, resolution, from, to), from, to);
+        }
+        LocalDateTime readTo = to.isBefore(sealed) ? to : sealed;
+
+        CandleColumnFile file = files.computeIfAbsent(fileKey(symbol, exchange, resolution),
+                key -> new CandleColumnFile(directoryOf(symbol, exchange, resolution), properties.getInitialCapacity()));
+        touch(file);
+        synchronized (file) {
+            file.map();
+            LocalDateTime coveredFrom = file.coveredFrom();
+            LocalDateTime coveredTo = file.coveredTo();
+            if (coveredFrom != null && !from.isBefore(coveredFrom) && !readTo.isAfter(coveredTo)) {
+                hits.increment();
+                return file.slice(from, readTo);
+            }
+
+            loads.increment();
+            if (coveredFrom != null && from.isBefore(coveredFrom)) {
+                // 앞쪽은 이어 붙일 수 없으므로 이전 구간까지 포함해 새로 채운다
+                LocalDateTime fillTo = readTo.isAfter(coveredTo) ? readTo : coveredTo;
+                file.reset();
+                fill(file, symbol, exchange, resolution, from, from, fillTo);
+            } else if (coveredFrom == null) {
+                fill(file, symbol, exchange, resolution, from, from, readTo);
+            } else {
+                fill(file, symbol, exchange, resolution, coveredFrom, coveredTo, readTo);
+            }
+            return file.slice(from, readTo);
+        }
+    }
+
+    /**
+     * [loadFrom, to) 를 나눠 읽어 붙이며, 조각마다 캐시 구간을 [coveredFrom, 조각 끝) 으로 커밋한다
+     */
+    private void fill(CandleColumnFile file, String symbol, String exchange, CandleResolution resolution,
+                      LocalDateTime coveredFrom, LocalDateTime loadFrom, LocalDateTime to) {
+        Duration window = resolution.getDuration().multipliedBy(Math.max(1, properties.getLoadBatchBuckets()));
+        for (LocalDateTime start = loadFrom; start.isBefore(to); ) {
+            LocalDateTime end = start.plus(window).isBefore(to) ? start.plus(window) : to;
+            List<PriceHistory> candles = candleMapper.findCandles(symbol, exchange, resolution, start, end);
+            file.append(candles, coveredFrom, end);
+            rowsLoaded.increment(candles.size());
+            start = end;
+        }
+        log.debug("columnar candles filled: symbol={}, exchange={}, resolution={}, from={}, to={}, rows={}",
+                symbol, exchange, resolution, loadFrom, to, file.size());
+    }
+
+    /**
+     * 이 시점 이전의 봉은 롤업이 다시 쓰지 않는다 (진행 중인 봉과 직전 봉은 매분 다시 계산된다)
+     */
+    LocalDateTime sealedBefore(CandleResolution resolution) {
+        LocalDateTime now = LocalDateTime.now(clock).minus(properties.getSealDelay());
+        return resolution.truncate(now).minus(resolution.getDuration());
+    }
+
+    /**
+     * 최근에 쓴 파일 순서를 갱신하고, 한도를 넘으면 가장 오래 안 쓴 파일의 매핑을 푼다
+     */
+    private void touch(CandleColumnFile file) {
+        CandleColumnFile evicted = null;
+        synchronized (mapped) {
+            mapped.put(file, Boolean.TRUE);
+            if (mapped.size() > Math.max(1, properties.getMaxMappedFiles())) {
+                Iterator<CandleColumnFile> eldest = mapped.keySet().iterator();
+                evicted = eldest.next();
+                eldest.remove();
+            }
+        }
+        if (evicted != null) {
+            synchronized (evicted) {
+                evicted.release();
+            }
+        }
+    }
+
+    private Path directoryOf(String symbol, String exchange, CandleResolution resolution) {
+        return root.resolve(encode(exchange)).resolve(encode(symbol)).resolve(resolution.name());
+    }
+
+    private static String fileKey(String symbol, String exchange, CandleResolution resolution) {
+        return exchange + '\u0000' + symbol + '\u0000' + resolution.name();
+    }
+
+    private static String encode(String name) {
+        return URLEncoder.encode(name, StandardCharsets.UTF_8);
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("price.columnar.reads")
+            .description("Columnar candle reads by cache result")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,164 @@
+package com.assetmanager.service.price;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import com.assetmanager.domain.PriceHistory;
+import com.assetmanager.domain.ScaledDecimal;
+
+/**
+ * 캔들 구간의 열 지향 뷰 [from, to)
+ * 파일에서 읽은 뷰는 매핑된 메모리를 복사 없이 가리킨다. 시각은 UTC 기준 epoch ms, 가격은 ScaledDecimal
+ * 고정소수점(long), 거래량은 double 이며, 행마다 객체를 만들지 않고 원시값 열을 그대로 훑는다.
+ */
+public final class CandleColumns {
+
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final LongBuffer timestamps;
+    private final LongBuffer opens;
+    private final LongBuffer highs;
+    private final LongBuffer lows;
+    private final LongBuffer closes;
+    private final DoubleBuffer volumes;
+
+    CandleColumns(LocalDateTime from, LocalDateTime to, LongBuffer timestamps, LongBuffer opens,
+                  LongBuffer highs, LongBuffer lows, LongBuffer closes, DoubleBuffer volumes) {
+        this.from = from;
+        this.to = to;
+        this.timestamps = timestamps;
+        this.opens = opens;
+        this.highs = highs;
+        this.lows = lows;
+        this.closes = closes;
+        this.volumes = volumes;
+    }
+
+    /**
+     * 조회 결과를 힙 배열 열로 옮긴다 (파일 캐시를 거치지 않는 경로)
+     */
+    public static CandleColumns of(List<PriceHistory> candles, LocalDateTime from, LocalDateTime to) {
+        int size = candles.size();
+        long[] timestamps = new long[size];
+        long[] opens = new long[size];
+        long[] highs = new long[size];
+        long[] lows = new long[size];
+        long[] closes = new long[size];
+        double[] volumes = new double[size];
+        for (int i = 0; i < size; i++) {
+            PriceHistory candle = candles.get(i);
+            timestamps[i] = toMillis(candle.getTimestamp());
+            opens[i] = scaled(candle.getOpenPrice());
+            highs[i] = scaled(candle.getHighPrice());
+            lows[i] = scaled(candle.getLowPrice());
+            closes[i] = scaled(candle.getClosePrice());
+            volumes[i] = candle.getVolume() == null ? 0 : candle.getVolume().doubleValue();
+        }
+        return new CandleColumns(from, to, LongBuffer.wrap(timestamps), LongBuffer.wrap(opens),
+                LongBuffer.wrap(highs), LongBuffer.wrap(lows), LongBuffer.wrap(closes), DoubleBuffer.wrap(volumes));
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    /**
+     * 이 뷰가 담은 구간의 끝 (요청보다 앞이면 그 뒤는 아직 확정되지 않은 봉이라 캐시하지 않은 것)
+     */
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public int size() {
+        return timestamps.limit();
+    }
+
+    public LocalDateTime timestampAt(int index) {
+        return fromMillis(timestamps.get(index));
+    }
+
+    public BigDecimal closeAt(int index) {
+        return ScaledDecimal.toBigDecimal(closes.get(index));
+    }
+
+    /**
+     * 한 행을 PriceHistory 로 만든다 (API 경계에서만 사용)
+     */
+    public PriceHistory candleAt(int index) {
+        BigDecimal close = closeAt(index);
+        return PriceHistory.builder()
+            .timestamp(timestampAt(index))
+            .openPrice(ScaledDecimal.toBigDecimal(opens.get(index)))
+            .highPrice(ScaledDecimal.toBigDecimal(highs.get(index)))
+            .lowPrice(ScaledDecimal.toBigDecimal(lows.get(index)))
+            .closePrice(close)
+            .price(close)
+            .volume(BigDecimal.valueOf(volumes.get(index)))
+            .build();
+    }
+
+    public LongBuffer timestamps() {
+        return timestamps.duplicate();
+    }
+
+    public LongBuffer opens() {
+        return opens.duplicate();
+    }
+
+    public LongBuffer highs() {
+        return highs.duplicate();
+    }
+
+    public LongBuffer lows() {
+        return lows.duplicate();
+    }
+
+    public LongBuffer closes() {
+        return closes.duplicate();
+    }
+
+    public DoubleBuffer volumes() {
+        return volumes.duplicate();
+    }
+
+    /**
+     * 봉마다 (고가 - 저가) / 시가, (종가 - 시가) / 시가 를 % 로 누적한다
+     * 시가가 0 인 봉은 도메인 메서드처럼 0 으로 센다. 고정소수점끼리의 비율이라 배율은 약분된다.
+     */
+    public VolatilityScan scan() {
+        int size = size();
+        double volatilitySum = 0;
+        double maxVolatility = 0;
+        double intraDayChangeSum = 0;
+        for (int i = 0; i < size; i++) {
+            long open = opens.get(i);
+            if (open == 0) {
+                continue;
+            }
+            double inverse = 100.0 / open;
+            double volatility = (highs.get(i) - lows.get(i)) * inverse;
+            volatilitySum += volatility;
+            maxVolatility = Math.max(maxVolatility, volatility);
+            intraDayChangeSum += (closes.get(i) - open) * inverse;
+        }
+        return new VolatilityScan(size, volatilitySum, maxVolatility, intraDayChangeSum);
+    }
+
+    static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    static long scaled(BigDecimal value) {
+        return value == null ? 0 : ScaledDecimal.of(value.setScale(ScaledDecimal.SCALE, RoundingMode.HALF_UP));
+    }
+}
@@ -0,0 +1,43 @@
+package com.assetmanager.service.price;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.assetmanager.domain.CandleResolution;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 캔들 롤업/보관 설정 (price.candle.*)
+ * 보관 기간이 null 이면 삭제하지 않는다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "price.candle")
+public class CandleProperties {
+
+    /** 원본 틱(price_history) 보관 기간 */
+    private Duration rawRetention = Duration.ofDays(7);
+
+    /** 1분봉 보관 기간 */
+    private Duration minuteRetention = Duration.ofDays(30);
+
+    /** 1시간봉 보관 기간 */
+    private Duration hourRetention = Duration.ofDays(730);
+
+    /** 1일봉 보관 기간 */
+    private Duration dayRetention;
+
+    /** 중단 후 재개 시 한 번에 따라잡을 최대 기간 */
+    private Duration maxCatchUp = Duration.ofDays(2);
+
+    public Duration retentionOf(CandleResolution resolution) {
+        return switch (resolution) {
+            case MINUTE_1 -> minuteRetention;
+            case HOUR_1 -> hourRetention;
+            case DAY_1 -> dayRetention;
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.assetmanager.service.price;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Service;
+
+import com.assetmanager.domain.CandleResolution;
+import com.assetmanager.domain.ScaledDecimal;
+import com.assetmanager.dto.CandleSeries;
+import com.assetmanager.dto.CandleStats;
+import com.assetmanager.mapper.PriceCandleMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 차트 범위 조회 서비스
+ * 요청 포인트 수를 채우는 가장 굵은 봉 단위를 골라, 몇 달 범위도 원본 틱 대신 적은 수의 봉만 읽는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class CandleQueryService {
+
+    private final PriceCandleMapper candleMapper;
+    private final CandleProperties properties;
+    private final CandleColumnStore columnStore;
+
+    public CandleSeries getCandles(String symbol, String exchange,
+                                   LocalDateTime from, LocalDateTime to, int points) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("invalid time range");
+        }
+        CandleResolution resolution = selectResolution(from, to, points, LocalDateTime.now());
+        return new CandleSeries(symbol, exchange, resolution,
+                candleMapper.findCandles(symbol, exchange, resolution, from, to));
+    }
+
+    /**
+     * 기간 내 봉들의 평균/최대 변동성과 평균 일중 변동률
+     * 확정된 구간은 열 지향 파일을 훑고, 아직 바뀔 수 있는 최근 봉만 DB 에서 읽어 합친다.
+     */
+    public CandleStats getCandleStats(String symbol, String exchange, CandleResolution resolution,
+                                      LocalDateTime from, LocalDateTime to) {
+        CandleColumns columns = columnStore.read(symbol, exchange, resolution, from, to);
+        VolatilityScan scan = columns.scan();
+        if (columns.getTo().isBefore(to)) {
+            scan = scan.merge(CandleColumns.of(
+                    candleMapper.findCandles(symbol, exchange, resolution, columns.getTo(), to), columns.getTo(), to).scan());
+        }
+        return new CandleStats(symbol, exchange, resolution, from, to, scan.count(),
+                percent(scan.averageVolatility()), percent(scan.maxVolatility()), percent(scan.averageIntraDayChange()));
+    }
+
+    /**
+     * 구간 안에 points 개 이상의 봉이 나오는 가장 굵은 단위를 고른다.
+     * 보관 기간이 지나 시작 지점 데이터가 없는 단위는 건너뛰고, 어느 단위도 만족하지 못하면
+     * 남아 있는 가장 촘촘한 단위를 쓴다.
+     */
+    CandleResolution selectResolution(LocalDateTime from, LocalDateTime to, int points, LocalDateTime now) {
+        CandleResolution finestAvailable = null;
+        CandleResolution[] resolutions = CandleResolution.values();
+        for (int i = resolutions.length - 1; i >= 0; i--) {
+            CandleResolution resolution = resolutions[i];
+            if (!covers(resolution, from, now)) {
+                continue;
+            }
+            if (resolution.bucketsBetween(from, to) >= points) {
+                return resolution;
+            }
+            finestAvailable = resolution;
+        }
+        return finestAvailable != null ? finestAvailable : CandleResolution.DAY_1;
+    }
+
+    private boolean covers(CandleResolution resolution, LocalDateTime from, LocalDateTime now) {
+        Duration retention = properties.retentionOf(resolution);
+        return retention == null || !from.isBefore(now.minus(retention));
+    }
+
+    private static BigDecimal percent(double value) {
+        return BigDecimal.valueOf(value).setScale(ScaledDecimal.SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,92 @@
+package com.assetmanager.service.price;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.assetmanager.domain.CandleResolution;
+import com.assetmanager.mapper.PriceCandleMapper;
+import com.assetmanager.mapper.PriceHistoryMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 캔들 롤업/보관 정리 작업
+ * 매분 진행 중인 봉과 직전 봉을 다시 계산하고, 중단됐던 경우 마지막 봉부터 따라잡는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CandleRollupJob {
+
+    private static final int DELETE_BATCH_SIZE = 10_000;
+
+    private final CandleRollupService rollupService;
+    private final PriceCandleMapper candleMapper;
+    private final PriceHistoryMapper priceHistoryMapper;
+    private final CandleProperties properties;
+
+    @Scheduled(cron = "${price.candle.rollup-cron:5 * * * * *}")
+    public void rollupRecent() {
+        LocalDateTime now = LocalDateTime.now();
+        for (CandleResolution resolution : CandleResolution.values()) {
+            LocalDateTime from = resolveStart(resolution, now);
+            Duration window = resolution.getDuration().multipliedBy(60);
+            try {
+                for (LocalDateTime start = from; start.isBefore(now); start = start.plus(window)) {
+                    LocalDateTime end = start.plus(window).isBefore(now) ? start.plus(window) : now;
+                    rollupService.rollup(resolution, start, end);
+                }
+            } catch (RuntimeException e) {
+                log.error("candle rollup failed: resolution={}, from={}", resolution, from, e);
+                return;
+            }
+        }
+    }
+
+    @Scheduled(cron = "${price.candle.retention-cron:0 0 4 * * *}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        if (properties.getRawRetention() != null) {
+            LocalDateTime cutoff = now.minus(properties.getRawRetention());
+            int deleted = deleteAll(() -> priceHistoryMapper.deleteOlderThan(cutoff, DELETE_BATCH_SIZE));
+            log.info("price tick retention: cutoff={}, deleted={}", cutoff, deleted);
+        }
+        for (CandleResolution resolution : CandleResolution.values()) {
+            Duration retention = properties.retentionOf(resolution);
+            if (retention == null) {
+                continue;
+            }
+            LocalDateTime cutoff = now.minus(retention);
+            int deleted = deleteAll(() -> candleMapper.deleteOlderThan(resolution, cutoff, DELETE_BATCH_SIZE));
+            log.info("candle retention: resolution={}, cutoff={}, deleted={}", resolution, cutoff, deleted);
+        }
+    }
+
+    /**
+     * 직전 봉부터 다시 계산하되, 마지막 저장 봉이 더 오래됐으면 최대 따라잡기 기간 안에서 그 지점부터 시작한다.
+     */
+    private LocalDateTime resolveStart(CandleResolution resolution, LocalDateTime now) {
+        LocalDateTime recent = resolution.truncate(now).minus(resolution.getDuration());
+        LocalDateTime latest = candleMapper.findLatestBucket(resolution);
+        if (latest == null || !latest.isBefore(recent)) {
+            return recent;
+        }
+        LocalDateTime earliest = resolution.truncate(now.minus(properties.getMaxCatchUp()));
+        return latest.isAfter(earliest) ? latest : earliest;
+    }
+
+    private static int deleteAll(IntSupplier deleteBatch) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = deleteBatch.getAsInt();
+            total += deleted;
+        } while (deleted >= DELETE_BATCH_SIZE);
+        return total;
+    }
+}
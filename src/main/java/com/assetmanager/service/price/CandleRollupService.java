@@ -0,0 +1,86 @@
+package com.assetmanager.service.price;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assetmanager.domain.CandleResolution;
+import com.assetmanager.domain.PriceHistory;
+import com.assetmanager.mapper.PriceCandleMapper;
+import com.assetmanager.mapper.PriceHistoryMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 캔들 롤업 서비스
+ * 1분봉은 원본 틱에서, 1시간봉은 1분봉에서, 1일봉은 1시간봉에서 만든다.
+ * 같은 구간을 다시 돌려도 결과가 같도록 봉 단위로 덮어쓴다.
+ */
+@Service
+@RequiredArgsConstructor
+public class CandleRollupService {
+
+    private static final int UPSERT_BATCH_SIZE = 500;
+
+    private final PriceHistoryMapper priceHistoryMapper;
+    private final PriceCandleMapper candleMapper;
+
+    /**
+     * [from, to) 구간에 걸친 봉들을 다시 계산해 저장
+     *
+     * @return 저장한 봉 수
+     */
+    @Transactional
+    public int rollup(CandleResolution resolution, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime bucketFrom = resolution.truncate(from);
+        CandleResolution source = resolution.finer();
+
+        try (Cursor<PriceHistory> rows = source == null
+                ? priceHistoryMapper.streamTicksBetween(bucketFrom, to)
+                : candleMapper.streamCandlesBetween(source, bucketFrom, to)) {
+            return fold(resolution, rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int fold(CandleResolution resolution, Iterable<PriceHistory> rows) {
+        List<PriceHistory> pending = new ArrayList<>(UPSERT_BATCH_SIZE);
+        int written = 0;
+        CandleAccumulator current = null;
+
+        for (PriceHistory row : rows) {
+            if (row.getTimestamp() == null) {
+                continue;
+            }
+            LocalDateTime bucket = resolution.truncate(row.getTimestamp());
+            if (current == null || !current.accepts(row, bucket)) {
+                written += flush(resolution, current, pending, false);
+                current = new CandleAccumulator(row.getSymbol(), row.getExchange(), bucket);
+            }
+            current.add(row);
+        }
+        written += flush(resolution, current, pending, true);
+        return written;
+    }
+
+    private int flush(CandleResolution resolution, CandleAccumulator finished,
+                      List<PriceHistory> pending, boolean force) {
+        if (finished != null && !finished.isEmpty()) {
+            pending.add(finished.toCandle());
+        }
+        if (pending.isEmpty() || (!force && pending.size() < UPSERT_BATCH_SIZE)) {
+            return 0;
+        }
+        int size = pending.size();
+        candleMapper.upsertBatch(resolution, new ArrayList<>(pending));
+        pending.clear();
+        return size;
+    }
+}
@@ -0,0 +1,248 @@
+package com.assetmanager.service.price;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 현재가 캐시
+ * 1차: 노드 내 힙 맵 (짧은 TTL), 2차: 노드 간 공유 저장소(Redis), 원천: 거래소 일괄 현재가 조회.
+ * 조회된 종목은 추적 대상으로 등록되어 주기적으로 한꺼번에 갱신된다.
+ * pin 으로 등록한 종목 집합(재평가 엔진의 보유 종목 색인 등)은 조회가 없어도 계속 갱신한다.
+ * 1차 캐시의 가격이 바뀌면 PriceUpdatedEvent 를 발행한다.
+ */
+@Service
+public class PriceCache {
+
+    private final ConcurrentHashMap<PriceKey, CachedPrice> local = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<PriceKey, Long> lastRequestedAt = new ConcurrentHashMap<>();
+    /** 조회와 관계없이 갱신할 종목 집합들 (복사하지 않은 뷰라 등록한 쪽의 변경이 바로 반영된다) */
+    private final List<Set<PriceKey>> pinned = new CopyOnWriteArrayList<>();
+
+    private final PriceRemoteStore remoteStore;
+    private final PriceRefresher refresher;
+    private final PriceCacheProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    private final Counter localHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+    private final Counter staleServed;
+    private final DistributionSummary staleness;
+
+    @Autowired
+    public PriceCache(PriceRemoteStore remoteStore, PriceRefresher refresher,
+                      PriceCacheProperties properties, ApplicationEventPublisher eventPublisher,
+                      MeterRegistry meterRegistry) {
+        this(remoteStore, refresher, properties, eventPublisher, meterRegistry, Clock.systemUTC());
+    }
+
+    PriceCache(PriceRemoteStore remoteStore, PriceRefresher refresher, PriceCacheProperties properties,
+               ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry, Clock clock) {
+        this.remoteStore = remoteStore;
+        this.refresher = refresher;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+
+        this.localHits = requestCounter(meterRegistry, "local_hit");
+        this.remoteHits = requestCounter(meterRegistry, "remote_hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.staleServed = requestCounter(meterRegistry, "stale");
+        this.staleness = DistributionSummary.builder("price.cache.staleness")
+            .description("Age of the price served from the cache")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        Gauge.builder("price.cache.size", local, Map::size)
+            .description("Prices held in the local tier")
+            .register(meterRegistry);
+        Gauge.builder("price.cache.tracked", lastRequestedAt, Map::size)
+            .description("Symbols refreshed in the background")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 현재가 조회
+     */
+    public Optional<BigDecimal> getPrice(String symbol, String exchange) {
+        PriceKey key = PriceKey.of(symbol, exchange);
+        return Optional.ofNullable(getPrices(List.of(key)).get(key));
+    }
+
+    /**
+     * 여러 종목의 현재가를 한 번에 조회
+     * 1차/2차 캐시에서 찾지 못한 종목만 모아 원천에 한 번의 일괄 조회로 요청한다.
+     */
+    public Map<PriceKey, BigDecimal> getPrices(Collection<PriceKey> keys) {
+        long now = clock.millis();
+        Map<PriceKey, BigDecimal> result = new HashMap<>();
+
+        List<PriceKey> localMisses = new ArrayList<>();
+        for (PriceKey key : keys) {
+            lastRequestedAt.put(key, now);
+            CachedPrice cached = local.get(key);
+            if (isFresh(cached, now, properties.getLocalTtl().toMillis())) {
+                localHits.increment();
+                serve(result, key, cached, now);
+            } else {
+                localMisses.add(key);
+            }
+        }
+        if (localMisses.isEmpty()) {
+            return result;
+        }
+
+        List<PriceKey> remoteMisses = new ArrayList<>();
+        Map<PriceKey, CachedPrice> remote = remoteStore.getAll(localMisses);
+        for (PriceKey key : localMisses) {
+            CachedPrice cached = remote.get(key);
+            if (isFresh(cached, now, properties.getRemoteTtl().toMillis())) {
+                remoteHits.increment();
+                mergeLocal(key, cached);
+                serve(result, key, cached, now);
+            } else {
+                remoteMisses.add(key);
+            }
+        }
+        if (remoteMisses.isEmpty()) {
+            return result;
+        }
+
+        misses.increment(remoteMisses.size());
+        Map<PriceKey, CachedPrice> loaded = load(remoteMisses);
+        for (PriceKey key : remoteMisses) {
+            CachedPrice cached = loaded.get(key);
+            if (cached == null) {
+                cached = newest(local.get(key), remote.get(key));
+                if (!isFresh(cached, now, properties.getMaxStale().toMillis())) {
+                    continue;
+                }
+                staleServed.increment();
+            }
+            serve(result, key, cached, now);
+        }
+        return result;
+    }
+
+    /**
+     * 외부에서 받은 현재가 반영 (실시간 시세 수신 등)
+     */
+    public void put(String symbol, String exchange, BigDecimal price) {
+        store(Map.of(PriceKey.of(symbol, exchange), new CachedPrice(price, clock.millis())));
+    }
+
+    /**
+     * 조회가 없어도 갱신할 종목 집합 등록
+     * 집합은 복사하지 않고 갱신 주기마다 그 시점의 내용을 읽으므로 동시 수정에 안전한 집합을 넘긴다.
+     */
+    public void pin(Set<PriceKey> keys) {
+        pinned.add(keys);
+    }
+
+    /**
+     * 최근 조회된 종목과 고정 등록된 종목 일괄 갱신
+     * 다른 노드가 이미 갱신해 2차 저장소에 최신 값이 있으면 원천 호출 없이 가져온다.
+     */
+    @Scheduled(fixedDelayString = "${price.cache.refresh-interval-ms:3000}")
+    public void refreshTracked() {
+        long now = clock.millis();
+        long idleExpiry = properties.getIdleExpiry().toMillis();
+        Set<PriceKey> pinnedKeys = new LinkedHashSet<>();
+        pinned.forEach(pinnedKeys::addAll);
+        lastRequestedAt.entrySet().removeIf(entry -> now - entry.getValue() > idleExpiry);
+        local.keySet().removeIf(key -> !lastRequestedAt.containsKey(key) && !pinnedKeys.contains(key));
+
+        Set<PriceKey> trackedKeys = new LinkedHashSet<>(lastRequestedAt.keySet());
+        trackedKeys.addAll(pinnedKeys);
+        if (trackedKeys.isEmpty()) {
+            return;
+        }
+
+        List<PriceKey> tracked = new ArrayList<>(trackedKeys);
+        List<PriceKey> stale = new ArrayList<>();
+        Map<PriceKey, CachedPrice> remote = remoteStore.getAll(tracked);
+        for (PriceKey key : tracked) {
+            CachedPrice cached = remote.get(key);
+            if (isFresh(cached, now, properties.getRefreshIntervalMs())) {
+                mergeLocal(key, cached);
+            } else {
+                stale.add(key);
+            }
+        }
+        load(stale);
+    }
+
+    private Map<PriceKey, CachedPrice> load(List<PriceKey> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        Map<PriceKey, BigDecimal> fetched = refresher.fetch(keys);
+        long fetchedAt = clock.millis();
+        Map<PriceKey, CachedPrice> entries = new HashMap<>();
+        fetched.forEach((key, price) -> entries.put(key, new CachedPrice(price, fetchedAt)));
+        store(entries);
+        return entries;
+    }
+
+    private void store(Map<PriceKey, CachedPrice> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        entries.forEach(this::mergeLocal);
+        remoteStore.putAll(entries);
+    }
+
+    /**
+     * 1차 캐시에 더 최신 값만 반영하고, 가격이 바뀐 경우 이벤트 발행
+     */
+    private void mergeLocal(PriceKey key, CachedPrice cached) {
+        CachedPrice previous = local.get(key);
+        CachedPrice merged = local.merge(key, cached, CachedPrice::newer);
+        if (merged == cached && (previous == null || previous.price().compareTo(cached.price()) != 0)) {
+            eventPublisher.publishEvent(new PriceUpdatedEvent(key, cached.price(), cached.fetchedAtMillis()));
+        }
+    }
+
+    private void serve(Map<PriceKey, BigDecimal> result, PriceKey key, CachedPrice cached, long now) {
+        staleness.record(cached.ageMillis(now));
+        result.put(key, cached.price());
+    }
+
+    private static boolean isFresh(CachedPrice cached, long now, long ttlMillis) {
+        return cached != null && cached.ageMillis(now) <= ttlMillis;
+    }
+
+    private static CachedPrice newest(CachedPrice a, CachedPrice b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null ? a : CachedPrice.newer(a, b);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("price.cache.requests")
+            .description("Price cache lookups by result")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
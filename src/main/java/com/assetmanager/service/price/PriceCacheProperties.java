@@ -0,0 +1,32 @@
+package com.assetmanager.service.price;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 가격 캐시 설정 (price.cache.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "price.cache")
+public class PriceCacheProperties {
+
+    /** 1차(힙) 캐시 값을 그대로 쓰는 시간 */
+    private Duration localTtl = Duration.ofSeconds(5);
+
+    /** 2차(Redis) 캐시 값을 최신으로 보는 시간 */
+    private Duration remoteTtl = Duration.ofSeconds(15);
+
+    /** 원천 조회 실패 시 오래된 값을 대신 내줄 수 있는 최대 경과 시간 (Redis 보관 기간) */
+    private Duration maxStale = Duration.ofMinutes(5);
+
+    /** 이 시간 동안 조회되지 않은 종목은 주기 갱신 대상에서 뺀다 */
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    /** 주기 갱신 간격 (ms) */
+    private long refreshIntervalMs = 3000;
+}
@@ -0,0 +1,24 @@
+package com.assetmanager.service.price;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * 가격 캐시 키 (종목 코드 + 거래소)
+ */
+public record PriceKey(String symbol, String exchange) {
+
+    public PriceKey {
+        Objects.requireNonNull(symbol, "symbol");
+        Objects.requireNonNull(exchange, "exchange");
+    }
+
+    public static PriceKey of(String symbol, String exchange) {
+        return new PriceKey(symbol.toUpperCase(Locale.ROOT), exchange.toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public String toString() {
+        return exchange + ":" + symbol;
+    }
+}
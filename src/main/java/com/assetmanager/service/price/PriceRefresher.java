@@ -0,0 +1,89 @@
+package com.assetmanager.service.price;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청된 종목들을 거래소별 TickerClient 로 보내 현재가를 모은다.
+ * 배치 크기 분할, 동시 요청 합치기, 호출 빈도 제한, 재시도는 TickerClient 가 맡는다.
+ */
+@Slf4j
+@Component
+public class PriceRefresher {
+
+    private final Map<String, TickerClient> clients;
+    private final TickerClientProperties properties;
+
+    public PriceRefresher(List<TickerSource> sources, TickerClientProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.clients = sources.stream()
+            .collect(Collectors.toMap(source -> source.exchange().toUpperCase(Locale.ROOT),
+                    source -> new TickerClient(source, properties, meterRegistry)));
+        this.properties = properties;
+    }
+
+    /**
+     * 조회 가능한 종목의 현재가를 돌려준다. 실패했거나 대기 시간 안에 오지 않은 종목은 결과에서 빠진다.
+     */
+    public Map<PriceKey, BigDecimal> fetch(Collection<PriceKey> keys) {
+        Map<String, Set<String>> symbolsByExchange = new LinkedHashMap<>();
+        for (PriceKey key : keys) {
+            symbolsByExchange.computeIfAbsent(key.exchange(), exchange -> new LinkedHashSet<>()).add(key.symbol());
+        }
+
+        Map<PriceKey, CompletableFuture<BigDecimal>> requested = new LinkedHashMap<>();
+        symbolsByExchange.forEach((exchange, symbols) -> {
+            TickerClient client = clients.get(exchange);
+            if (client == null) {
+                log.debug("no ticker source for exchange: {}", exchange);
+                return;
+            }
+            client.request(symbols).forEach((symbol, future) -> requested.put(PriceKey.of(symbol, exchange), future));
+        });
+        return await(requested);
+    }
+
+    @PreDestroy
+    public void close() {
+        clients.values().forEach(TickerClient::close);
+    }
+
+    private Map<PriceKey, BigDecimal> await(Map<PriceKey, CompletableFuture<BigDecimal>> requested) {
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        Map<PriceKey, BigDecimal> result = new HashMap<>();
+        for (Map.Entry<PriceKey, CompletableFuture<BigDecimal>> entry : requested.entrySet()) {
+            try {
+                BigDecimal price = entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (price != null) {
+                    result.put(entry.getKey(), price);
+                }
+            } catch (ExecutionException e) {
+                // 실패한 호출은 TickerClient 가 기록한다
+            } catch (TimeoutException e) {
+                log.debug("ticker wait timed out: key={}", entry.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,15 @@
+package com.assetmanager.service.price;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 노드 간에 공유되는 2차 가격 저장소
+ * 장애 시에는 예외 대신 빈 결과를 돌려 1차 캐시와 원천 조회로 계속 동작하게 한다.
+ */
+public interface PriceRemoteStore {
+
+    Map<PriceKey, CachedPrice> getAll(List<PriceKey> keys);
+
+    void putAll(Map<PriceKey, CachedPrice> entries);
+}
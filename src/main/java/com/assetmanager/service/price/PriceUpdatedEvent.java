@@ -0,0 +1,9 @@
+package com.assetmanager.service.price;
+
+import java.math.BigDecimal;
+
+/**
+ * 현재가 변경 이벤트 (가격 캐시에 새 가격이 반영될 때 발행)
+ */
+public record PriceUpdatedEvent(PriceKey key, BigDecimal price, long fetchedAtMillis) {
+}
@@ -0,0 +1,102 @@
+package com.assetmanager.service.price;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis 기반 2차 가격 저장소
+ * 값은 "가격|조회시각(ms)" 문자열로 저장하고, 보관 기간은 price.cache.max-stale 을 따른다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisPriceStore implements PriceRemoteStore {
+
+    private static final String KEY_PREFIX = "price:";
+    private static final String SEPARATOR = "|";
+
+    private final StringRedisTemplate redisTemplate;
+    private final PriceCacheProperties properties;
+
+    @Override
+    public Map<PriceKey, CachedPrice> getAll(List<PriceKey> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            List<String> values = redisTemplate.opsForValue()
+                .multiGet(keys.stream().map(RedisPriceStore::redisKey).toList());
+            if (values == null) {
+                return Map.of();
+            }
+            Map<PriceKey, CachedPrice> result = new HashMap<>();
+            for (int i = 0; i < keys.size(); i++) {
+                CachedPrice cached = decode(values.get(i));
+                if (cached != null) {
+                    result.put(keys.get(i), cached);
+                }
+            }
+            return result;
+        } catch (DataAccessException e) {
+            log.debug("redis price lookup failed: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    @Override
+    public void putAll(Map<PriceKey, CachedPrice> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Duration retention = properties.getMaxStale();
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    entries.forEach((key, value) -> ops.opsForValue().set(redisKey(key), encode(value), retention));
+                    return null;
+                }
+            });
+        } catch (DataAccessException e) {
+            log.debug("redis price store failed: {}", e.getMessage());
+        }
+    }
+
+    private static String redisKey(PriceKey key) {
+        return KEY_PREFIX + key;
+    }
+
+    private static String encode(CachedPrice cached) {
+        return cached.price().toPlainString() + SEPARATOR + cached.fetchedAtMillis();
+    }
+
+    private static CachedPrice decode(String value) {
+        if (value == null) {
+            return null;
+        }
+        int index = value.indexOf(SEPARATOR);
+        if (index < 0) {
+            return null;
+        }
+        try {
+            return new CachedPrice(new BigDecimal(value.substring(0, index)),
+                    Long.parseLong(value.substring(index + 1)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.assetmanager.service.price;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.assetmanager.service.exchange.TokenBucketRateLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 거래소 하나에 대한 현재가 호출 클라이언트
+ * - 같은 종목의 동시 요청은 진행 중인 호출 하나의 결과를 함께 기다린다.
+ * - batch-window 동안 들어온 요청을 모아 최대 배치 크기의 다종목 호출로 보낸다.
+ * - 호출과 재시도는 거래소 토큰 버킷의 토큰을 받은 시점에만 나가고, 배치는 그 시점에 만든다.
+ *   토큰을 기다리는 동안 들어온 종목은 다음 호출에 합쳐지므로 몰리는 부하에서도 한도를 넘지 않는다.
+ * - 일시적인 실패는 지터를 준 지수 백오프로 재시도한다.
+ */
+@Slf4j
+public class TickerClient implements AutoCloseable {
+
+    private final TickerSource source;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final TickerClientProperties properties;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentHashMap<String, CompletableFuture<BigDecimal>> inFlight = new ConcurrentHashMap<>();
+
+    /** 호출을 기다리는 종목 (this 로 보호) */
+    private final Set<String> pending = new LinkedHashSet<>();
+    /** 배치 만들기가 예약되어 있는지 (this 로 보호) */
+    private boolean draining;
+
+    private final Counter successCalls;
+    private final Counter failedCalls;
+    private final Counter retriedCalls;
+    private final Counter coalesced;
+    private final DistributionSummary batchSizes;
+
+    public TickerClient(TickerSource source, TickerClientProperties properties, MeterRegistry meterRegistry) {
+        this.source = source;
+        this.rateLimiter = source.rateLimiter();
+        this.properties = properties;
+
+        String exchange = source.exchange();
+        AtomicInteger sequence = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(Math.max(1, properties.getWorkers()), runnable -> {
+            Thread thread = new Thread(runnable,
+                    "ticker-" + exchange.toLowerCase(Locale.ROOT) + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.successCalls = callCounter(meterRegistry, exchange, "success");
+        this.failedCalls = callCounter(meterRegistry, exchange, "failure");
+        this.retriedCalls = callCounter(meterRegistry, exchange, "retry");
+        this.coalesced = Counter.builder("price.ticker.coalesced")
+            .description("Symbol requests that joined a call already pending or in flight")
+            .tag("exchange", exchange)
+            .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("price.ticker.batch.size")
+            .description("Symbols per ticker call")
+            .tag("exchange", exchange)
+            .register(meterRegistry);
+        Gauge.builder("price.ticker.in.flight", inFlight, Map::size)
+            .description("Symbols waiting for a ticker call")
+            .tag("exchange", exchange)
+            .register(meterRegistry);
+    }
+
+    public String exchange() {
+        return source.exchange();
+    }
+
+    /**
+     * 종목별 현재가 요청
+     * 거래소가 돌려주지 않은 종목은 null 로, 재시도까지 실패하면 예외로 완료된다.
+     */
+    public Map<String, CompletableFuture<BigDecimal>> request(Collection<String> symbols) {
+        Map<String, CompletableFuture<BigDecimal>> futures = new LinkedHashMap<>();
+        List<String> added = new ArrayList<>();
+        for (String symbol : symbols) {
+            if (futures.containsKey(symbol)) {
+                continue;
+            }
+            CompletableFuture<BigDecimal> created = new CompletableFuture<>();
+            CompletableFuture<BigDecimal> existing = inFlight.putIfAbsent(symbol, created);
+            if (existing == null) {
+                added.add(symbol);
+                futures.put(symbol, created);
+            } else {
+                coalesced.increment();
+                futures.put(symbol, existing);
+            }
+        }
+        if (!added.isEmpty()) {
+            enqueue(added);
+        }
+        return futures;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private synchronized void enqueue(List<String> symbols) {
+        pending.addAll(symbols);
+        if (!draining) {
+            draining = true;
+            scheduler.schedule(this::reserveNext, properties.getBatchWindow().toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 다음 토큰을 예약하고, 토큰을 쓸 수 있는 시점에 배치를 만든다
+     */
+    private void reserveNext() {
+        scheduler.schedule(this::dispatch, rateLimiter.reserve(), TimeUnit.NANOSECONDS);
+    }
+
+    private void dispatch() {
+        List<String> batch = new ArrayList<>();
+        boolean more;
+        synchronized (this) {
+            int batchSize = Math.max(1, source.maxBatchSize());
+            Iterator<String> iterator = pending.iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+            more = !pending.isEmpty();
+            draining = more;
+        }
+        if (more) {
+            reserveNext();
+        }
+        if (!batch.isEmpty()) {
+            call(batch, 1);
+        }
+    }
+
+    private void call(List<String> batch, int attempt) {
+        Map<String, BigDecimal> prices;
+        try {
+            prices = source.fetchPrices(batch);
+        } catch (RuntimeException e) {
+            if (attempt < properties.getMaxAttempts() && source.isRetryable(e)) {
+                retriedCalls.increment();
+                log.debug("ticker fetch retry: exchange={}, symbols={}, attempt={}, error={}",
+                        source.exchange(), batch.size(), attempt, e.getMessage());
+                scheduler.schedule(() -> retry(batch, attempt + 1), backoffNanos(attempt), TimeUnit.NANOSECONDS);
+                return;
+            }
+            failedCalls.increment();
+            log.warn("ticker fetch failed: exchange={}, symbols={}, attempts={}, error={}",
+                    source.exchange(), batch.size(), attempt, e.getMessage());
+            for (String symbol : batch) {
+                CompletableFuture<BigDecimal> future = inFlight.remove(symbol);
+                if (future != null) {
+                    future.completeExceptionally(e);
+                }
+            }
+            return;
+        }
+        successCalls.increment();
+        batchSizes.record(batch.size());
+        for (String symbol : batch) {
+            CompletableFuture<BigDecimal> future = inFlight.remove(symbol);
+            if (future != null) {
+                future.complete(prices.get(symbol));
+            }
+        }
+    }
+
+    /**
+     * 재시도도 토큰을 받은 시점에 보낸다 (백오프가 끝난 뒤 예약해야 호출이 몰리지 않는다)
+     */
+    private void retry(List<String> batch, int attempt) {
+        scheduler.schedule(() -> call(batch, attempt), rateLimiter.reserve(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 지수 백오프의 절반은 고정, 절반은 무작위 (동시에 실패한 호출들이 같은 시점에 다시 몰리지 않게)
+     */
+    private long backoffNanos(int attempt) {
+        long initial = properties.getInitialBackoff().toNanos();
+        long max = properties.getMaxBackoff().toNanos();
+        long ceiling = Math.min(max, initial << Math.min(attempt - 1, 20));
+        long half = ceiling / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String exchange, String outcome) {
+        return Counter.builder("price.ticker.calls")
+            .description("Bulk ticker calls to exchanges")
+            .tag("exchange", exchange)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,35 @@
+package com.assetmanager.service.price;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 거래소 현재가 호출 클라이언트 설정 (api.client.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "api.client")
+public class TickerClientProperties {
+
+    /** 단건 요청을 모아 다종목 호출로 보내기 전 기다리는 시간 */
+    private Duration batchWindow = Duration.ofMillis(20);
+
+    /** 호출 1회당 최대 시도 횟수 (첫 시도 포함) */
+    private int maxAttempts = 3;
+
+    /** 첫 재시도 대기 시간 (시도마다 두 배, 절반은 무작위) */
+    private Duration initialBackoff = Duration.ofMillis(200);
+
+    /** 재시도 대기 시간 상한 */
+    private Duration maxBackoff = Duration.ofSeconds(2);
+
+    /** 호출자가 결과를 기다리는 최대 시간 (지나면 해당 종목은 결과에서 빠진다) */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /** 거래소별 호출 스레드 수 */
+    private int workers = 4;
+}
@@ -0,0 +1,41 @@
+package com.assetmanager.service.price;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import com.assetmanager.service.exchange.TokenBucketRateLimiter;
+
+/**
+ * 거래소 현재가 조회 소스
+ * 한 번의 호출로 여러 종목을 조회한다. 호출 빈도 한도는 구현체가 정하고 TickerClient 가 지킨다.
+ */
+public interface TickerSource {
+
+    /**
+     * 담당 거래소 코드 (예: UPBIT)
+     */
+    String exchange();
+
+    /**
+     * 한 번의 호출에 담을 수 있는 최대 종목 수
+     */
+    int maxBatchSize();
+
+    /**
+     * 종목 코드별 현재가 조회 (조회되지 않은 종목은 결과에서 빠진다)
+     */
+    Map<String, BigDecimal> fetchPrices(List<String> symbols);
+
+    /**
+     * 거래소가 허용하는 호출 빈도 (재시도 포함 모든 호출이 토큰을 받은 뒤 나간다)
+     */
+    TokenBucketRateLimiter rateLimiter();
+
+    /**
+     * 다시 시도하면 성공할 수 있는 실패인지 (한도 초과, 서버 오류, 네트워크 오류 등)
+     */
+    default boolean isRetryable(RuntimeException e) {
+        return true;
+    }
+}
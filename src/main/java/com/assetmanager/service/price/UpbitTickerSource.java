@@ -0,0 +1,100 @@
+package com.assetmanager.service.price;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.assetmanager.service.exchange.TokenBucketRateLimiter;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 업비트 현재가 조회 소스
+ * /v1/ticker 는 markets 파라미터에 여러 마켓을 콤마로 받아 한 번에 응답한다. (KRW 마켓 기준)
+ */
+@Component
+public class UpbitTickerSource implements TickerSource {
+
+    private static final String EXCHANGE = "UPBIT";
+    private static final String MARKET_PREFIX = "KRW-";
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final WebClient webClient;
+    private final TokenBucketRateLimiter rateLimiter;
+
+    public UpbitTickerSource(WebClient.Builder webClientBuilder,
+                             @Value("${api.upbit.base-url}") String baseUrl,
+                             @Value("${api.upbit.rate-limit}") int rateLimit) {
+        this.webClient = webClientBuilder.baseUrl(baseUrl).build();
+        this.rateLimiter = new TokenBucketRateLimiter(rateLimit, Duration.ofSeconds(1));
+    }
+
+    @Override
+    public String exchange() {
+        return EXCHANGE;
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return MAX_BATCH_SIZE;
+    }
+
+    @Override
+    public Map<String, BigDecimal> fetchPrices(List<String> symbols) {
+        if (symbols.isEmpty()) {
+            return Map.of();
+        }
+        String markets = symbols.stream()
+            .map(symbol -> MARKET_PREFIX + symbol)
+            .collect(Collectors.joining(","));
+
+        List<UpbitTicker> tickers = webClient.get()
+            .uri(uriBuilder -> uriBuilder.path("/v1/ticker").queryParam("markets", markets).build())
+            .retrieve()
+            .bodyToFlux(UpbitTicker.class)
+            .collectList()
+            .block(TIMEOUT);
+
+        Map<String, BigDecimal> prices = new HashMap<>();
+        if (tickers != null) {
+            for (UpbitTicker ticker : tickers) {
+                if (ticker.market() != null && ticker.market().startsWith(MARKET_PREFIX) && ticker.tradePrice() != null) {
+                    prices.put(ticker.market().substring(MARKET_PREFIX.length()), ticker.tradePrice());
+                }
+            }
+        }
+        return prices;
+    }
+
+    @Override
+    public TokenBucketRateLimiter rateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * 429(한도 초과), 5xx, 연결 오류, 응답 시간 초과만 재시도한다
+     */
+    @Override
+    public boolean isRetryable(RuntimeException e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().value() == 429 || response.getStatusCode().is5xxServerError();
+        }
+        return e instanceof WebClientRequestException || e.getCause() instanceof TimeoutException;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record UpbitTicker(@JsonProperty("market") String market,
+                       @JsonProperty("trade_price") BigDecimal tradePrice) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.assetmanager.service.price;
+
+/**
+ * 캔들 구간의 변동성/일중 변동률 누적값 (구간을 나눠 훑은 뒤 merge 로 합친다)
+ * 값은 PriceHistory#getVolatilityIndicator, #getIntraDayChangeRate 와 같은 % 단위다.
+ */
+public record VolatilityScan(int count, double volatilitySum, double maxVolatility, double intraDayChangeSum) {
+
+    public static final VolatilityScan EMPTY = new VolatilityScan(0, 0, 0, 0);
+
+    public VolatilityScan merge(VolatilityScan other) {
+        return new VolatilityScan(count + other.count, volatilitySum + other.volatilitySum,
+                Math.max(maxVolatility, other.maxVolatility), intraDayChangeSum + other.intraDayChangeSum);
+    }
+
+    public double averageVolatility() {
+        return count == 0 ? 0 : volatilitySum / count;
+    }
+
+    public double averageIntraDayChange() {
+        return count == 0 ? 0 : intraDayChangeSum / count;
+    }
+}
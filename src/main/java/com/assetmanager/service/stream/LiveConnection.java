@@ -0,0 +1,73 @@
+package com.assetmanager.service.stream;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.codec.ServerSentEvent;
+
+import reactor.core.publisher.FluxSink;
+
+/**
+ * 구독 연결 하나의 전송 대기열
+ * 키(종목, 포트폴리오, 하트비트)마다 최신 이벤트 하나만 보관하고, 클라이언트가 요청한 만큼만 내보낸다.
+ * 느린 클라이언트는 중간 값을 건너뛰고 마지막 값만 받으므로 대기열이 키 수를 넘지 않는다.
+ */
+final class LiveConnection {
+
+    private final ConcurrentHashMap<String, ServerSentEvent<Object>> latest = new ConcurrentHashMap<>();
+    /** 대기 중인 키의 도착 순서 (먼저 바뀐 키부터 내보내 특정 키가 계속 밀리지 않게 한다) */
+    private final Queue<String> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile FluxSink<ServerSentEvent<Object>> sink;
+
+    void attach(FluxSink<ServerSentEvent<Object>> sink) {
+        this.sink = sink;
+        drain();
+    }
+
+    /**
+     * 이벤트 등록 (호출 스레드를 막지 않는다)
+     *
+     * @return 아직 전송되지 않은 같은 키의 이전 값을 대체했으면 true
+     */
+    boolean offer(String key, ServerSentEvent<Object> event) {
+        boolean replaced = latest.put(key, event) != null;
+        if (!replaced) {
+            order.offer(key);
+        }
+        drain();
+        return replaced;
+    }
+
+    int pendingCount() {
+        return latest.size();
+    }
+
+    /**
+     * 요청량 안에서 대기 이벤트 전송 (여러 스레드가 불러도 한 스레드만 내보낸다)
+     */
+    void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            FluxSink<ServerSentEvent<Object>> current = sink;
+            if (current != null && !current.isCancelled()) {
+                while (current.requestedFromDownstream() > 0) {
+                    String key = order.poll();
+                    if (key == null) {
+                        break;
+                    }
+                    ServerSentEvent<Object> event = latest.remove(key);
+                    if (event != null) {
+                        current.next(event);
+                    }
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
@@ -0,0 +1,240 @@
+package com.assetmanager.service.stream;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.assetmanager.dto.PortfolioValuation;
+import com.assetmanager.dto.PriceTick;
+import com.assetmanager.service.portfolio.PortfolioRevaluationEngine;
+import com.assetmanager.service.portfolio.PortfolioRevaluedEvent;
+import com.assetmanager.service.price.PriceCache;
+import com.assetmanager.service.price.PriceKey;
+import com.assetmanager.service.price.PriceUpdatedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+/**
+ * 실시간 현재가 / 포트폴리오 평가 푸시
+ * 종목 → 연결, 사용자 → 연결 색인으로 해당 키를 구독한 연결에만 전달한다.
+ * 이벤트는 틱마다 한 번만 만들어 공유하고, 각 연결의 대기열에 넣기만 하므로 발행 스레드가 막히지 않는다.
+ */
+@Slf4j
+@Service
+public class LiveStreamHub {
+
+    private static final String HEARTBEAT_KEY = "heartbeat";
+    private static final ServerSentEvent<Object> HEARTBEAT = ServerSentEvent.builder().comment("ping").build();
+
+    private final ConcurrentHashMap<PriceKey, Set<LiveConnection>> priceSubscribers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<LiveConnection>> portfolioSubscribers = new ConcurrentHashMap<>();
+    private final Set<LiveConnection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    private final PriceCache priceCache;
+    private final PortfolioRevaluationEngine revaluationEngine;
+    private final LiveStreamProperties properties;
+
+    private final Counter eventsQueued;
+    private final Counter eventsConflated;
+    private final Counter connectionsRejected;
+
+    public LiveStreamHub(PriceCache priceCache, PortfolioRevaluationEngine revaluationEngine,
+                         LiveStreamProperties properties, MeterRegistry meterRegistry) {
+        this.priceCache = priceCache;
+        this.revaluationEngine = revaluationEngine;
+        this.properties = properties;
+
+        this.eventsQueued = eventCounter(meterRegistry, "queued");
+        this.eventsConflated = eventCounter(meterRegistry, "conflated");
+        this.connectionsRejected = Counter.builder("stream.live.rejected")
+            .description("Connections refused because the node is at capacity")
+            .register(meterRegistry);
+        Gauge.builder("stream.live.connections", connections, Set::size)
+            .description("Open live push connections")
+            .register(meterRegistry);
+        Gauge.builder("stream.live.pending", this, LiveStreamHub::pendingEvents)
+            .description("Events waiting for slow clients")
+            .register(meterRegistry);
+    }
+
+    // =================
+    // 구독
+    // =================
+
+    /**
+     * 종목 현재가 구독 (연결 직후 캐시된 현재가를 먼저 보낸다)
+     *
+     * @return 노드 연결 수가 한도에 도달했으면 빈 값
+     */
+    public Optional<Flux<ServerSentEvent<Object>>> subscribePrices(Collection<PriceKey> keys) {
+        if (keys.isEmpty() || keys.size() > properties.getMaxSymbolsPerConnection()) {
+            throw new IllegalArgumentException("symbol count must be 1.." + properties.getMaxSymbolsPerConnection());
+        }
+        Set<PriceKey> subscribed = Set.copyOf(keys);
+        return open(connection -> {
+            subscribed.forEach(key -> register(priceSubscribers, key, connection));
+            priceCache.getPrices(subscribed).forEach((key, price) ->
+                    connection.offer(key.toString(), priceEvent(key, price, System.currentTimeMillis())));
+        }, connection -> subscribed.forEach(key -> unregister(priceSubscribers, key, connection)));
+    }
+
+    /**
+     * 사용자 포트폴리오 평가 구독 (연결 직후 현재 평가 값을 먼저 보낸다)
+     *
+     * @return 노드 연결 수가 한도에 도달했으면 빈 값
+     */
+    public Optional<Flux<ServerSentEvent<Object>>> subscribePortfolio(Long userId) {
+        return open(connection -> {
+            register(portfolioSubscribers, userId, connection);
+            revaluationEngine.getValuation(userId)
+                .ifPresent(valuation -> connection.offer(portfolioKey(userId), portfolioEvent(valuation)));
+        }, connection -> unregister(portfolioSubscribers, userId, connection));
+    }
+
+    private Optional<Flux<ServerSentEvent<Object>>> open(Consumer<LiveConnection> onOpen,
+                                                        Consumer<LiveConnection> onClose) {
+        if (reserved.incrementAndGet() > properties.getMaxConnections()) {
+            reserved.decrementAndGet();
+            connectionsRejected.increment();
+            return Optional.empty();
+        }
+        LiveConnection connection = new LiveConnection();
+        Flux<ServerSentEvent<Object>> flux = Flux.create(sink -> {
+            sink.onRequest(requested -> connection.drain());
+            sink.onDispose(() -> {
+                connections.remove(connection);
+                onClose.accept(connection);
+                reserved.decrementAndGet();
+            });
+            connections.add(connection);
+            onOpen.accept(connection);
+            connection.attach(sink);
+        }, FluxSink.OverflowStrategy.BUFFER);
+        return Optional.of(flux);
+    }
+
+    // =================
+    // 이벤트 수신
+    // =================
+
+    @EventListener
+    public void onPriceUpdated(PriceUpdatedEvent event) {
+        Set<LiveConnection> subscribers = priceSubscribers.get(event.key());
+        if (subscribers == null) {
+            return;
+        }
+        String key = event.key().toString();
+        ServerSentEvent<Object> sse = priceEvent(event.key(), event.price(), event.fetchedAtMillis());
+        subscribers.forEach(connection -> offer(connection, key, sse));
+    }
+
+    @EventListener
+    public void onPortfolioRevalued(PortfolioRevaluedEvent event) {
+        for (Long userId : event.userIds()) {
+            Set<LiveConnection> subscribers = portfolioSubscribers.get(userId);
+            if (subscribers == null) {
+                continue;
+            }
+            Optional<PortfolioValuation> valuation = revaluationEngine.getValuation(userId);
+            if (valuation.isEmpty()) {
+                continue;
+            }
+            String key = portfolioKey(userId);
+            ServerSentEvent<Object> sse = portfolioEvent(valuation.get());
+            subscribers.forEach(connection -> offer(connection, key, sse));
+        }
+    }
+
+    /**
+     * 하트비트 전송과 구독 종목 캐시 갱신 유지
+     * 조회가 없는 종목은 가격 캐시의 갱신 대상에서 빠지므로, 구독 중인 종목을 주기적으로 조회해 둔다.
+     */
+    @Scheduled(fixedDelayString = "${stream.live.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        connections.forEach(connection -> connection.offer(HEARTBEAT_KEY, HEARTBEAT));
+        if (!priceSubscribers.isEmpty()) {
+            try {
+                priceCache.getPrices(List.copyOf(priceSubscribers.keySet()));
+            } catch (RuntimeException e) {
+                log.warn("live stream price keep-alive failed: symbols={}", priceSubscribers.size(), e);
+            }
+        }
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    private void offer(LiveConnection connection, String key, ServerSentEvent<Object> event) {
+        if (connection.offer(key, event)) {
+            eventsConflated.increment();
+        } else {
+            eventsQueued.increment();
+        }
+    }
+
+    private double pendingEvents() {
+        long pending = 0;
+        for (LiveConnection connection : connections) {
+            pending += connection.pendingCount();
+        }
+        return pending;
+    }
+
+    private static <K> void register(Map<K, Set<LiveConnection>> index, K key, LiveConnection connection) {
+        index.compute(key, (k, subscribers) -> {
+            Set<LiveConnection> result = subscribers == null ? ConcurrentHashMap.newKeySet() : subscribers;
+            result.add(connection);
+            return result;
+        });
+    }
+
+    private static <K> void unregister(Map<K, Set<LiveConnection>> index, K key, LiveConnection connection) {
+        index.computeIfPresent(key, (k, subscribers) -> {
+            subscribers.remove(connection);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private static ServerSentEvent<Object> priceEvent(PriceKey key, BigDecimal price, long fetchedAt) {
+        return ServerSentEvent.builder()
+            .event("price")
+            .data(new PriceTick(key.symbol(), key.exchange(), price, fetchedAt))
+            .build();
+    }
+
+    private static ServerSentEvent<Object> portfolioEvent(PortfolioValuation valuation) {
+        return ServerSentEvent.builder()
+            .event("portfolio")
+            .data(valuation)
+            .build();
+    }
+
+    private static String portfolioKey(Long userId) {
+        return "portfolio:" + userId;
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("stream.live.events")
+            .description("Events handed to live connections, conflated when an unsent value was replaced")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.assetmanager.service.stream;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 실시간 푸시 설정 (stream.live.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stream.live")
+public class LiveStreamProperties {
+
+    /** 노드당 동시 연결 수 (초과 시 503) */
+    private int maxConnections = 10_000;
+
+    /** 연결 하나가 구독할 수 있는 종목 수 */
+    private int maxSymbolsPerConnection = 50;
+
+    /** 하트비트 주기 (프록시 유휴 종료 방지, 구독 종목 캐시 갱신 유지) */
+    private long heartbeatIntervalMs = 15_000;
+}
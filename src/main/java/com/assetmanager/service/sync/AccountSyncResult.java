@@ -0,0 +1,7 @@
+package com.assetmanager.service.sync;
+
+/**
+ * 계정 하나의 동기화 결과 (cursor 는 다음 실행의 시작점, deadLettered 는 격리하고 넘긴 체결 수)
+ */
+public record AccountSyncResult(SyncCursor cursor, int fetched, int inserted, int deadLettered) {
+}
@@ -0,0 +1,31 @@
+package com.assetmanager.service.sync;
+
+import com.assetmanager.domain.AssetType;
+import com.assetmanager.domain.Exchange;
+import com.assetmanager.service.exchange.ApiCredentials;
+import com.assetmanager.service.exchange.TokenBucketRateLimiter;
+
+/**
+ * 거래소 계정 체결 조회 클라이언트 (거래소마다 하나의 빈)
+ * rateLimiter 는 빈 하나를 모든 동기화 작업이 함께 쓰므로 노드 전체의 호출 한도가 된다.
+ */
+public interface ExchangeAccountClient {
+
+    /**
+     * 담당 거래소 코드 (api_keys.exchange_type 값, assets.exchange 에는 이름 그대로 저장)
+     */
+    Exchange exchange();
+
+    /**
+     * 새 종목을 자산으로 등록할 때 쓸 자산 유형
+     */
+    AssetType assetType();
+
+    TokenBucketRateLimiter rateLimiter();
+
+    /**
+     * cursor 이후 체결을 시간 오름차순으로 최대 limit 건 조회 (cursor 가 비어 있으면 처음부터)
+     * 같은 시각의 체결을 놓치지 않도록 cursor 시각을 포함해 돌려줘도 된다 (이미 가져온 체결은 걸러진다).
+     */
+    FillPage fetchFills(ApiCredentials credentials, SyncCursor cursor, int limit);
+}
@@ -0,0 +1,18 @@
+package com.assetmanager.service.sync;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.assetmanager.domain.TransactionType;
+
+/**
+ * 거래소 계정에서 받은 체결 한 건 (거래소 종목 코드 기준)
+ */
+public record ExchangeFill(String externalId,
+                           String symbol,
+                           TransactionType transactionType,
+                           BigDecimal quantity,
+                           BigDecimal price,
+                           BigDecimal fee,
+                           LocalDateTime transactedAt) {
+}
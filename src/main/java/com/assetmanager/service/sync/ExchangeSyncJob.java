@@ -0,0 +1,296 @@
+package com.assetmanager.service.sync;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.assetmanager.config.shard.ShardRouter;
+import com.assetmanager.domain.ApiKey;
+import com.assetmanager.domain.Exchange;
+import com.assetmanager.domain.ExchangeSyncState;
+import com.assetmanager.dto.SyncJobResult;
+import com.assetmanager.mapper.ApiKeyMapper;
+import com.assetmanager.mapper.ExchangeSyncStateMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 거래소 계정 동기화 배치
+ * 활성 API 키를 청크로 읽어 거래소별 작업 풀에 나눠 넣으므로 한 사용자의 여러 거래소가 동시에 진행되고,
+ * 느리거나 한도에 걸린 거래소는 자기 풀만 막는다. 동기화 상태는 청크마다 한 문장으로 저장한다.
+ * 계정과 클라이언트는 거래소 코드(exchange_type)로 맞춘다. 연속 실패가 sync.max-attempts 에 닿은 계정은
+ * 체결을 한 건씩 가져와 실패한 체결만 격리하므로 커서가 한 체결에 묶여 멈추지 않는다.
+ */
+@Slf4j
+@Component
+public class ExchangeSyncJob {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final Map<Exchange, ExchangeAccountClient> clients = new LinkedHashMap<>();
+    private final Map<Exchange, ExchangeMeters> meters = new EnumMap<>(Exchange.class);
+    private final ExchangeSyncService syncService;
+    private final ApiKeyMapper apiKeyMapper;
+    private final ExchangeSyncStateMapper stateMapper;
+    private final SyncProperties properties;
+    private final ShardRouter shardRouter;
+    private final Clock clock;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public ExchangeSyncJob(List<ExchangeAccountClient> clients, ExchangeSyncService syncService,
+                           ApiKeyMapper apiKeyMapper, ExchangeSyncStateMapper stateMapper,
+                           SyncProperties properties, ShardRouter shardRouter, MeterRegistry meterRegistry) {
+        this(clients, syncService, apiKeyMapper, stateMapper, properties, shardRouter, meterRegistry,
+                Clock.systemDefaultZone());
+    }
+
+    ExchangeSyncJob(List<ExchangeAccountClient> clients, ExchangeSyncService syncService,
+                    ApiKeyMapper apiKeyMapper, ExchangeSyncStateMapper stateMapper,
+                    SyncProperties properties, ShardRouter shardRouter, MeterRegistry meterRegistry, Clock clock) {
+        this.syncService = syncService;
+        this.apiKeyMapper = apiKeyMapper;
+        this.stateMapper = stateMapper;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.clock = clock;
+        for (ExchangeAccountClient client : clients) {
+            Exchange exchange = client.exchange();
+            this.clients.put(exchange, client);
+            this.meters.put(exchange, new ExchangeMeters(exchange, meterRegistry));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sync.interval-ms:60000}")
+    public void runScheduled() {
+        if (clients.isEmpty() || running.get()) {
+            return;
+        }
+        run();
+    }
+
+    public SyncJobResult run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("exchange sync job is already running");
+        }
+        Map<Exchange, ThreadPoolExecutor> pools = new EnumMap<>(Exchange.class);
+        clients.keySet().forEach(exchange -> pools.put(exchange, newWorkerPool(exchange)));
+        try {
+            return execute(pools);
+        } finally {
+            pools.values().forEach(ThreadPoolExecutor::shutdownNow);
+            running.set(false);
+        }
+    }
+
+    private SyncJobResult execute(Map<Exchange, ThreadPoolExecutor> pools) {
+        long startedAt = clock.millis();
+        Tally tally = new Tally();
+        // 키셋 조회는 사용자가 정해지지 않으므로 샤드마다 따로 돌린다 (이후 SQL 은 userId 로 라우팅된다)
+        shardRouter.forEachShard(shard -> syncShard(pools, tally));
+
+        tally.maxLag.forEach((exchange, lag) -> meters.get(exchange).lagSeconds.set(lag.toSeconds()));
+        SyncJobResult result = new SyncJobResult(tally.accounts, tally.failed, tally.fetched, tally.inserted,
+                tally.deadLettered, clock.millis() - startedAt);
+        log.info("exchange sync finished: accounts={}, failed={}, fetched={}, inserted={}, deadLettered={}, " +
+                "elapsedMs={}", tally.accounts, tally.failed, tally.fetched, tally.inserted, tally.deadLettered,
+                result.getElapsedMillis());
+        return result;
+    }
+
+    private void syncShard(Map<Exchange, ThreadPoolExecutor> pools, Tally tally) {
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        int maxAttempts = Math.max(1, properties.getMaxAttempts());
+        long afterId = 0;
+        while (true) {
+            List<ApiKey> keys = apiKeyMapper.findActiveKeysAfter(afterId, chunkSize);
+            if (keys.isEmpty()) {
+                break;
+            }
+            afterId = keys.get(keys.size() - 1).getId();
+
+            Map<StateKey, ExchangeSyncState> states = loadStates(keys);
+            Set<StateKey> seen = new HashSet<>();
+            List<Account> submitted = new ArrayList<>();
+            for (ApiKey key : keys) {
+                Exchange exchange = key.getExchange();
+                ExchangeAccountClient client = exchange == null ? null : clients.get(exchange);
+                StateKey stateKey = new StateKey(key.getUserId(), exchange);
+                if (client == null || key.isExpired() || !seen.add(stateKey)) {
+                    continue;
+                }
+                ExchangeSyncState state = states.computeIfAbsent(stateKey,
+                        k -> ExchangeSyncState.initial(k.userId(), k.exchange()));
+                SyncCursor cursor = new SyncCursor(state.getLastExternalId(), state.getLastTransactedAt());
+                boolean isolateRows = state.getFailureCount() >= maxAttempts;
+                Timer accountTimer = meters.get(exchange).accountTimer;
+                submitted.add(new Account(state, pools.get(exchange).submit(() -> accountTimer.recordCallable(
+                        () -> syncService.sync(key.getUserId(), client, cursor, isolateRows)))));
+            }
+
+            List<ExchangeSyncState> updated = new ArrayList<>();
+            for (Account account : submitted) {
+                ExchangeSyncState state = account.state();
+                ExchangeMeters exchangeMeters = meters.get(state.getExchange());
+                try {
+                    AccountSyncResult result = account.result().get();
+                    state.setLastExternalId(result.cursor().lastExternalId());
+                    state.setLastTransactedAt(result.cursor().lastTransactedAt());
+                    state.setLastSyncedAt(LocalDateTime.now(clock));
+                    state.setLastError(null);
+                    state.setFailureCount(0);
+                    exchangeMeters.succeeded.increment();
+                    exchangeMeters.fillsFetched.increment(result.fetched());
+                    exchangeMeters.fillsInserted.increment(result.inserted());
+                    exchangeMeters.fillsDeadLettered.increment(result.deadLettered());
+                    tally.fetched += result.fetched();
+                    tally.inserted += result.inserted();
+                    tally.deadLettered += result.deadLettered();
+                } catch (ExecutionException e) {
+                    tally.failed++;
+                    state.setLastError(truncate(String.valueOf(e.getCause())));
+                    state.setFailureCount(state.getFailureCount() + 1);
+                    exchangeMeters.failed.increment();
+                    log.warn("exchange sync failed: userId={}, exchange={}, attempts={}, error={}",
+                            state.getUserId(), state.getExchange(), state.getFailureCount(), e.getCause().toString());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("exchange sync job interrupted", e);
+                }
+                tally.accounts++;
+                updated.add(state);
+                tally.maxLag.merge(state.getExchange(), lagOf(state), (a, b) -> a.compareTo(b) >= 0 ? a : b);
+            }
+            if (!updated.isEmpty()) {
+                stateMapper.upsertBatch(updated);
+            }
+        }
+    }
+
+    private Map<StateKey, ExchangeSyncState> loadStates(List<ApiKey> keys) {
+        List<Long> userIds = keys.stream().map(ApiKey::getUserId).distinct().toList();
+        Map<StateKey, ExchangeSyncState> states = new HashMap<>();
+        for (ExchangeSyncState state : stateMapper.findByUserIds(userIds)) {
+            states.put(new StateKey(state.getUserId(), state.getExchange()), state);
+        }
+        return states;
+    }
+
+    /**
+     * 마지막 성공 이후 지난 시간 (한 번도 성공하지 못한 계정은 실패 건수로만 드러난다)
+     */
+    private Duration lagOf(ExchangeSyncState state) {
+        if (state.getLastSyncedAt() == null) {
+            return Duration.ZERO;
+        }
+        return Duration.between(state.getLastSyncedAt(), LocalDateTime.now(clock));
+    }
+
+    /**
+     * 작업 큐는 청크 크기만큼 잡아 둔다 (청크가 끝날 때까지 기다린 뒤 다음 청크를 넣으므로 넘치지 않는다)
+     */
+    private ThreadPoolExecutor newWorkerPool(Exchange exchange) {
+        int size = Math.max(1, properties.getWorkersPerExchange());
+        String prefix = "sync-" + exchange.name().toLowerCase(Locale.ROOT) + "-";
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getChunkSize())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record StateKey(Long userId, Exchange exchange) {
+    }
+
+    private record Account(ExchangeSyncState state, Future<AccountSyncResult> result) {
+    }
+
+    /**
+     * 샤드를 돌며 모으는 실행 합계
+     */
+    private static final class Tally {
+        private final Map<Exchange, Duration> maxLag = new EnumMap<>(Exchange.class);
+        private int accounts;
+        private int failed;
+        private int fetched;
+        private int inserted;
+        private int deadLettered;
+    }
+
+    private static final class ExchangeMeters {
+        private final Counter succeeded;
+        private final Counter failed;
+        private final Counter fillsFetched;
+        private final Counter fillsInserted;
+        private final Counter fillsDeadLettered;
+        private final Timer accountTimer;
+        private final AtomicLong lagSeconds = new AtomicLong();
+
+        ExchangeMeters(Exchange code, MeterRegistry meterRegistry) {
+            String exchange = code.name();
+            this.succeeded = accountCounter(meterRegistry, exchange, "success");
+            this.failed = accountCounter(meterRegistry, exchange, "failure");
+            this.fillsFetched = fillCounter(meterRegistry, exchange, "fetched");
+            this.fillsInserted = fillCounter(meterRegistry, exchange, "inserted");
+            this.fillsDeadLettered = fillCounter(meterRegistry, exchange, "dead_lettered");
+            this.accountTimer = Timer.builder("sync.exchange.account.duration")
+                .description("Time to sync one exchange account")
+                .tag("exchange", exchange)
+                .register(meterRegistry);
+            Gauge.builder("sync.exchange.lag", lagSeconds, AtomicLong::get)
+                .description("Longest time since an account of the exchange was last synced successfully")
+                .tag("exchange", exchange)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        }
+
+        private static Counter accountCounter(MeterRegistry meterRegistry, String exchange, String outcome) {
+            return Counter.builder("sync.exchange.accounts")
+                .description("Exchange accounts processed by the sync job")
+                .tag("exchange", exchange)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+        }
+
+        private static Counter fillCounter(MeterRegistry meterRegistry, String exchange, String stage) {
+            return Counter.builder("sync.exchange.fills")
+                .description("Fills fetched from, inserted for and dead-lettered for the exchange")
+                .tag("exchange", exchange)
+                .tag("stage", stage)
+                .register(meterRegistry);
+        }
+    }
+}
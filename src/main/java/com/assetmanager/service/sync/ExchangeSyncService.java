@@ -0,0 +1,187 @@
+package com.assetmanager.service.sync;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.ExchangeSyncDeadLetter;
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.dto.ImportResult;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.mapper.ExchangeSyncStateMapper;
+import com.assetmanager.service.asset.AssetService;
+import com.assetmanager.service.exchange.ApiCredentials;
+import com.assetmanager.service.exchange.ApiKeyService;
+import com.assetmanager.service.transaction.TransactionImportService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 거래소 계정 하나의 증분 동기화
+ * 커서 이후 체결만 페이지 단위로 받아(페이지마다 거래소 호출 한도를 거친다) 한 번의 일괄 가져오기로 저장한다.
+ * 가져오기가 거절한 체결은 exchange_sync_dead_letters 에 격리하고 커서를 넘긴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExchangeSyncService {
+
+    private static final int MAX_REASON_LENGTH = 255;
+
+    private final ApiKeyService apiKeyService;
+    private final AssetMapper assetMapper;
+    private final AssetService assetService;
+    private final TransactionImportService importService;
+    private final ExchangeSyncStateMapper stateMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final SyncProperties properties;
+
+    /**
+     * @param isolateRows true 면 체결을 한 건씩 각자의 트랜잭션으로 가져오고, 예외가 난 체결만 격리한다
+     *                    (같은 묶음이 연속으로 실패해 커서가 멈춘 계정에 쓴다)
+     */
+    public AccountSyncResult sync(Long userId, ExchangeAccountClient client, SyncCursor cursor, boolean isolateRows) {
+        List<ExchangeFill> fetched = new ArrayList<>();
+        SyncCursor next = apiKeyService.withCredentials(userId, client.exchange(),
+                credentials -> fetchSince(client, credentials, cursor, fetched));
+        if (fetched.isEmpty()) {
+            return new AccountSyncResult(next, 0, 0, 0);
+        }
+
+        List<ExchangeSyncDeadLetter> deadLetters = new ArrayList<>();
+        int inserted = 0;
+        if (isolateRows) {
+            for (ExchangeFill fill : fetched) {
+                try {
+                    inserted += importFills(userId, client, List.of(fill), deadLetters);
+                } catch (RuntimeException e) {
+                    deadLetters.add(deadLetter(userId, client, fill, String.valueOf(e)));
+                }
+            }
+        } else {
+            inserted = importFills(userId, client, fetched, deadLetters);
+        }
+        if (!deadLetters.isEmpty()) {
+            stateMapper.insertDeadLetters(deadLetters);
+            log.warn("exchange fills dead-lettered: userId={}, exchange={}, count={}",
+                    userId, client.exchange(), deadLetters.size());
+        }
+        return new AccountSyncResult(next, fetched.size(), inserted, deadLetters.size());
+    }
+
+    /**
+     * 새 종목 자산 등록과 체결 저장을 한 트랜잭션으로 묶는다 (저장이 실패하면 등록도 되돌린다)
+     * 가져오기가 행 단위로 거절한 체결은 deadLetters 에 담는다.
+     */
+    private int importFills(Long userId, ExchangeAccountClient client, List<ExchangeFill> fills,
+                            List<ExchangeSyncDeadLetter> deadLetters) {
+        ImportResult imported = transactionTemplate.execute(status -> {
+            Map<String, Long> assetIds = resolveAssetIds(userId, client, fills);
+            List<Transaction> transactions = fills.stream()
+                .map(fill -> toTransaction(userId, assetIds.get(fill.symbol()), fill))
+                .toList();
+            return importService.importTransactions(userId, transactions);
+        });
+        Set<String> rejected = new HashSet<>(imported.getRejectedExternalIds());
+        for (ExchangeFill fill : fills) {
+            if (rejected.contains(fill.externalId())) {
+                deadLetters.add(deadLetter(userId, client, fill, "rejected by import (oversold or unknown asset)"));
+            }
+        }
+        return imported.getInserted();
+    }
+
+    /**
+     * 커서 뒤 체결을 모아 fetched 에 담고 새 커서를 돌려준다
+     * 페이지가 커서를 앞으로 옮기지 못하면 (같은 시각 체결만 반복되는 경우 등) 거기서 멈춘다.
+     */
+    private SyncCursor fetchSince(ExchangeAccountClient client, ApiCredentials credentials, SyncCursor cursor,
+                                  List<ExchangeFill> fetched) {
+        SyncCursor position = cursor;
+        int maxPages = Math.max(1, properties.getMaxPagesPerRun());
+        for (int page = 0; page < maxPages; page++) {
+            client.rateLimiter().acquire();
+            FillPage result = client.fetchFills(credentials, position, properties.getPageSize());
+
+            SyncCursor from = position;
+            List<ExchangeFill> fresh = result.fills().stream()
+                .filter(fill -> !from.covers(fill))
+                .toList();
+            if (fresh.isEmpty()) {
+                break;
+            }
+            fetched.addAll(fresh);
+            SyncCursor last = SyncCursor.of(fresh.stream().max(SyncCursor.FILL_ORDER).orElseThrow());
+            if (!last.isAfter(position)) {
+                break;
+            }
+            position = last;
+            if (!result.hasMore()) {
+                break;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * 종목 코드 → 자산 ID (처음 보는 종목은 수량 0 자산으로 등록하고, 보유량은 가져오기에서 다시 계산된다)
+     */
+    private Map<String, Long> resolveAssetIds(Long userId, ExchangeAccountClient client, List<ExchangeFill> fills) {
+        Map<String, Long> assetIds = new HashMap<>();
+        for (Asset asset : assetMapper.findByUserIdAndExchange(userId, client.exchange().name())) {
+            assetIds.putIfAbsent(asset.getSymbol(), asset.getId());
+        }
+        for (ExchangeFill fill : fills) {
+            if (!assetIds.containsKey(fill.symbol())) {
+                Asset registered = assetService.register(Asset.builder()
+                    .userId(userId)
+                    .symbol(fill.symbol())
+                    .name(fill.symbol())
+                    .assetType(client.assetType())
+                    .exchange(client.exchange().name())
+                    .quantity(BigDecimal.ZERO)
+                    .averagePrice(BigDecimal.ZERO)
+                    .isActive(true)
+                    .build());
+                assetIds.put(fill.symbol(), registered.getId());
+            }
+        }
+        return assetIds;
+    }
+
+    private static ExchangeSyncDeadLetter deadLetter(Long userId, ExchangeAccountClient client, ExchangeFill fill,
+                                                     String reason) {
+        return ExchangeSyncDeadLetter.builder()
+            .userId(userId)
+            .exchange(client.exchange())
+            .externalId(fill.externalId())
+            .symbol(fill.symbol())
+            .transactedAt(fill.transactedAt())
+            .reason(reason.length() <= MAX_REASON_LENGTH ? reason : reason.substring(0, MAX_REASON_LENGTH))
+            .build();
+    }
+
+    private static Transaction toTransaction(Long userId, Long assetId, ExchangeFill fill) {
+        return Transaction.builder()
+            .userId(userId)
+            .assetId(assetId)
+            .transactionType(fill.transactionType())
+            .quantity(fill.quantity())
+            .price(fill.price())
+            .totalAmount(fill.quantity().multiply(fill.price()))
+            .fee(fill.fee() != null ? fill.fee() : BigDecimal.ZERO)
+            .tax(BigDecimal.ZERO)
+            .transactedAt(fill.transactedAt())
+            .externalId(fill.externalId())
+            .build();
+    }
+}
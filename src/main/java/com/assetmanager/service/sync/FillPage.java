@@ -0,0 +1,9 @@
+package com.assetmanager.service.sync;
+
+import java.util.List;
+
+/**
+ * 체결 조회 한 페이지 (hasMore 면 마지막 체결 뒤로 더 있다)
+ */
+public record FillPage(List<ExchangeFill> fills, boolean hasMore) {
+}
@@ -0,0 +1,49 @@
+package com.assetmanager.service.sync;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * 거래소 체결 증분 동기화 시작점 (마지막으로 가져온 체결)
+ */
+public record SyncCursor(String lastExternalId, LocalDateTime lastTransactedAt) {
+
+    static final Comparator<ExchangeFill> FILL_ORDER = Comparator
+        .comparing(ExchangeFill::transactedAt)
+        .thenComparing(ExchangeFill::externalId);
+
+    public static SyncCursor empty() {
+        return new SyncCursor(null, null);
+    }
+
+    public boolean isEmpty() {
+        return lastTransactedAt == null;
+    }
+
+    /**
+     * 이미 가져온 체결인지
+     * 같은 시각의 체결은 거래소마다 정렬이 달라 ID 로 앞뒤를 가릴 수 없으므로 마지막 체결만 거르고 나머지는 넘긴다
+     * (다시 넘어온 체결은 external_id 중복 검사에서 걸러진다).
+     */
+    public boolean covers(ExchangeFill fill) {
+        if (isEmpty()) {
+            return false;
+        }
+        return fill.transactedAt().isBefore(lastTransactedAt) || fill.externalId().equals(lastExternalId);
+    }
+
+    /**
+     * 이 커서가 other 보다 뒤인지 (시간, 같은 시간이면 체결 ID 순)
+     */
+    public boolean isAfter(SyncCursor other) {
+        if (isEmpty() || other.isEmpty()) {
+            return !isEmpty();
+        }
+        int byTime = lastTransactedAt.compareTo(other.lastTransactedAt);
+        return byTime > 0 || (byTime == 0 && lastExternalId.compareTo(other.lastExternalId) > 0);
+    }
+
+    static SyncCursor of(ExchangeFill fill) {
+        return new SyncCursor(fill.externalId(), fill.transactedAt());
+    }
+}
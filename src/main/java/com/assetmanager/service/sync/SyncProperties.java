@@ -0,0 +1,33 @@
+package com.assetmanager.service.sync;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 거래소 계정 동기화 설정 (sync.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sync")
+public class SyncProperties {
+
+    /** 동기화 주기 (ms, 이전 실행이 끝난 뒤부터) */
+    private long intervalMs = 60_000;
+
+    /** 거래소별 동시 작업 수 (거래소마다 별도 풀이라 느린 거래소가 다른 거래소를 막지 않는다) */
+    private int workersPerExchange = 4;
+
+    /** 한 번에 읽어 작업에 넘기는 API 키 수 (청크마다 상태를 한 번에 저장) */
+    private int chunkSize = 200;
+
+    /** 체결 조회 한 페이지 크기 */
+    private int pageSize = 200;
+
+    /** 계정 하나에서 한 번 실행에 가져올 최대 페이지 수 (나머지는 다음 주기에 이어서) */
+    private int maxPagesPerRun = 20;
+
+    /** 연속 실패가 이 횟수에 닿으면 다음 실행은 체결을 한 건씩 가져오고 실패한 체결만 격리해 커서를 넘긴다 */
+    private int maxAttempts = 3;
+}
@@ -0,0 +1,195 @@
+package com.assetmanager.service.transaction;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.assetmanager.domain.MonthlyTransactionStats;
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.mapper.MonthlyTransactionStatsMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 월별 거래 통계 서비스
+ * 통계는 거래 쓰기 시 롤업 테이블에 변화량으로 반영한다.
+ * 마감된 달은 거의 바뀌지 않으므로 사용자별로 메모리에 보관하고, 이번 달만 매번 롤업 행에서 읽는다.
+ * 마감된 달이 바뀌면(과거 일자 거래, 재계산) Redis 의 사용자별 세대를 올리고, 보관본은 읽을 때 세대를 비교하므로
+ * 다른 노드에서 일어난 변경도 다음 조회에서 반영된다.
+ */
+@Slf4j
+@Service
+public class MonthlyStatsService {
+
+    private static final int MAX_CACHED_USERS = 10_000;
+    private static final String GENERATION_PREFIX = "stats:monthly:gen:";
+    /** 세대 키 보관 시간 (변경이 없는 사용자의 키는 정리된다) */
+    private static final Duration GENERATION_TTL = Duration.ofDays(1);
+    /** 보관본 최대 수명 (세대 키가 만료되어 0 으로 돌아가도 이전 세대 보관본이 살아남지 않도록 TTL 보다 짧게) */
+    private static final Duration MAX_CACHE_AGE = Duration.ofHours(1);
+
+    private final MonthlyTransactionStatsMapper statsMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final Clock clock;
+    private final Map<Long, ClosedMonths> closedMonthsCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, ClosedMonths> eldest) {
+                    return size() > MAX_CACHED_USERS;
+                }
+            });
+
+    @Autowired
+    public MonthlyStatsService(MonthlyTransactionStatsMapper statsMapper, StringRedisTemplate redisTemplate) {
+        this(statsMapper, redisTemplate, Clock.systemDefaultZone());
+    }
+
+    MonthlyStatsService(MonthlyTransactionStatsMapper statsMapper, StringRedisTemplate redisTemplate, Clock clock) {
+        this.statsMapper = statsMapper;
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+    }
+
+    /**
+     * 사용자의 월별 거래 통계 (최근 월부터)
+     */
+    public List<MonthlyTransactionStats> getMonthlyStats(Long userId) {
+        YearMonth currentMonth = YearMonth.now(clock);
+        List<MonthlyTransactionStats> result = new ArrayList<>();
+        statsMapper.findByUserIdAndMonth(userId, currentMonth).ifPresent(result::add);
+        result.addAll(closedMonths(userId, currentMonth));
+        return result;
+    }
+
+    /**
+     * 세대를 읽지 못하면(Redis 장애) 보관본을 믿을 수 없으므로 매번 DB 에서 읽는다
+     */
+    private List<MonthlyTransactionStats> closedMonths(Long userId, YearMonth currentMonth) {
+        long generation;
+        try {
+            String value = redisTemplate.opsForValue().get(generationKey(userId));
+            generation = value == null ? 0L : Long.parseLong(value);
+        } catch (DataAccessException | NumberFormatException e) {
+            log.debug("monthly stats generation lookup failed: userId={}, {}", userId, e.getMessage());
+            return statsMapper.findByUserIdBefore(userId, currentMonth);
+        }
+
+        Instant now = clock.instant();
+        ClosedMonths cached = closedMonthsCache.get(userId);
+        if (cached != null && cached.currentMonth().equals(currentMonth) && cached.generation() == generation
+                && cached.loadedAt().plus(MAX_CACHE_AGE).isAfter(now)) {
+            return cached.stats();
+        }
+        List<MonthlyTransactionStats> loaded = List.copyOf(statsMapper.findByUserIdBefore(userId, currentMonth));
+        closedMonthsCache.put(userId, new ClosedMonths(currentMonth, generation, now, loaded));
+        return loaded;
+    }
+
+    // =================
+    // 쓰기 경로 반영 (호출자의 트랜잭션 필수)
+    // =================
+
+    /**
+     * 추가/삭제된 거래를 월별 변화량으로 묶어 반영
+     * 마감된 달이 바뀌면(과거 일자 거래 등) 커밋 후 해당 사용자의 세대를 올린다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyChanges(Long userId, Collection<Transaction> added, Collection<Transaction> removed) {
+        Map<YearMonth, MonthlyTransactionStats> deltas = new TreeMap<>();
+        added.forEach(transaction -> deltaOf(deltas, userId, transaction).add(transaction, 1));
+        removed.forEach(transaction -> deltaOf(deltas, userId, transaction).add(transaction, -1));
+        deltas.values().removeIf(MonthlyTransactionStats::isZero);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        statsMapper.applyDeltas(new ArrayList<>(deltas.values()));
+
+        YearMonth currentMonth = YearMonth.now(clock);
+        if (deltas.keySet().stream().anyMatch(month -> month.isBefore(currentMonth))) {
+            evictAfterCommit(userId);
+        }
+    }
+
+    /**
+     * 원본 거래에서 다시 계산해 롤업과 비교하고, 어긋나 있으면 덮어쓴다.
+     *
+     * @return 롤업이 원본과 달랐으면 true
+     */
+    @Transactional
+    public boolean verifyAndRebuild(Long userId) {
+        List<MonthlyTransactionStats> expected = statsMapper.calculateFromTransactions(userId);
+        Map<YearMonth, MonthlyTransactionStats> stored = statsMapper.findByUserId(userId).stream()
+            .filter(stats -> !stats.isZero())
+            .collect(Collectors.toMap(MonthlyTransactionStats::getMonth, Function.identity()));
+
+        boolean drifted = expected.size() != stored.size()
+            || expected.stream().anyMatch(stats -> !stats.matches(stored.get(stats.getMonth())));
+        if (drifted) {
+            statsMapper.deleteByUserId(userId);
+            if (!expected.isEmpty()) {
+                statsMapper.insertBatch(expected);
+            }
+            evictAfterCommit(userId);
+        }
+        return drifted;
+    }
+
+    private static MonthlyTransactionStats deltaOf(Map<YearMonth, MonthlyTransactionStats> deltas, Long userId,
+                                                   Transaction transaction) {
+        YearMonth month = YearMonth.from(transaction.getTransactedAt());
+        return deltas.computeIfAbsent(month, key -> MonthlyTransactionStats.empty(userId, key));
+    }
+
+    private void evictAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(userId);
+            }
+        });
+    }
+
+    /**
+     * 세대를 올려 모든 노드의 보관본을 무효화한다 (이 노드의 보관본은 바로 지운다)
+     */
+    private void evict(Long userId) {
+        closedMonthsCache.remove(userId);
+        try {
+            redisTemplate.opsForValue().increment(generationKey(userId));
+            redisTemplate.expire(generationKey(userId), GENERATION_TTL);
+        } catch (DataAccessException e) {
+            log.warn("monthly stats invalidation failed: userId={}", userId, e);
+        }
+    }
+
+    private static String generationKey(Long userId) {
+        return GENERATION_PREFIX + userId;
+    }
+
+    private record ClosedMonths(YearMonth currentMonth, long generation, Instant loadedAt,
+                                List<MonthlyTransactionStats> stats) {
+    }
+}
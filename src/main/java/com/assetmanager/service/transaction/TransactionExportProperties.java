@@ -0,0 +1,21 @@
+package com.assetmanager.service.transaction;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 거래 내역 내보내기 설정 (transaction.export.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "transaction.export")
+public class TransactionExportProperties {
+
+    /** 동시에 열어 둘 수 있는 내보내기 스트림 수 (각각 DB 커넥션 하나를 점유) */
+    private int maxConcurrent = 4;
+
+    /** 이 건수마다 응답 버퍼를 비운다 */
+    private int flushEveryRows = 1000;
+}
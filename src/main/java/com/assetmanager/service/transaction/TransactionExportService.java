@@ -0,0 +1,88 @@
+package com.assetmanager.service.transaction;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 거래 내역 내보내기 서비스
+ * MyBatis 커서(서버 측 fetch size)로 읽은 행을 바로 응답 스트림에 쓰므로 거래 건수와 무관하게 메모리 사용량이 일정하다.
+ * 응답 쓰기가 막히면(느린 클라이언트) 커서도 더 읽지 않으므로 DB 에서 가져오는 속도가 클라이언트 속도에 맞춰진다.
+ */
+@Slf4j
+@Service
+public class TransactionExportService {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final TransactionHistoryService historyService;
+    private final ObjectMapper objectMapper;
+    private final TransactionExportProperties properties;
+    private final Semaphore slots;
+
+    public TransactionExportService(TransactionHistoryService historyService, ObjectMapper objectMapper,
+                                    TransactionExportProperties properties) {
+        this.historyService = historyService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.slots = new Semaphore(properties.getMaxConcurrent());
+    }
+
+    /**
+     * 내보내기 슬롯 확보 (스트림마다 DB 커넥션을 오래 점유하므로 동시 실행 수를 제한)
+     */
+    public boolean tryAcquireSlot() {
+        return slots.tryAcquire();
+    }
+
+    public void releaseSlot() {
+        slots.release();
+    }
+
+    /**
+     * 사용자의 전체 거래 내역을 최신순으로 기록
+     *
+     * @return 기록한 행 수
+     */
+    public long export(Long userId, ExportFormat format, OutputStream outputStream) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        TransactionRowWriter rows = TransactionRowWriter.create(format, writer, objectMapper.getFactory());
+        int flushEvery = Math.max(1, properties.getFlushEveryRows());
+        long[] count = {0};
+
+        rows.begin();
+        try {
+            historyService.streamHistory(userId, transaction -> {
+                try {
+                    rows.write(transaction);
+                    if (++count[0] % flushEvery == 0) {
+                        rows.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.info("transaction export aborted: userId={}, rows={}, reason={}",
+                    userId, count[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        rows.flush();
+
+        log.info("transaction export finished: userId={}, format={}, rows={}, elapsedMs={}",
+                userId, format, count[0], System.currentTimeMillis() - startedAt);
+        return count[0];
+    }
+}
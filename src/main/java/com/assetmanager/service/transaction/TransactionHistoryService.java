@@ -0,0 +1,62 @@
+package com.assetmanager.service.transaction;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.dto.CursorPage;
+import com.assetmanager.dto.TransactionCursor;
+import com.assetmanager.mapper.TransactionMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 거래 내역 조회 서비스
+ * OFFSET 페이징 대신 (transacted_at, id) 키셋 커서로 깊은 페이지도 첫 페이지와 같은 비용으로 조회한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final TransactionMapper transactionMapper;
+
+    /**
+     * 커서 이후 한 페이지 조회
+     * 다음 페이지 존재 여부를 알기 위해 size + 1 건을 읽는다.
+     */
+    public CursorPage<Transaction> getHistory(Long userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        TransactionCursor position = TransactionCursor.decode(cursor);
+
+        List<Transaction> rows = transactionMapper.findByUserIdAfterCursor(userId,
+                position != null ? position.getTransactedAt() : null,
+                position != null ? position.getId() : null,
+                pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Transaction> items = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? TransactionCursor.of(items.get(items.size() - 1)).encode() : null;
+        return new CursorPage<>(items, nextCursor, hasNext);
+    }
+
+    /**
+     * 전체 거래 내역을 한 건씩 흘려보낸다 (내보내기용)
+     * 커서가 열려 있는 동안 세션이 유지되도록 트랜잭션 안에서 실행한다.
+     */
+    @Transactional(readOnly = true)
+    public void streamHistory(Long userId, Consumer<Transaction> consumer) {
+        try (Cursor<Transaction> cursor = transactionMapper.streamByUserId(userId)) {
+            cursor.forEach(consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.assetmanager.service.transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.dto.ImportResult;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.mapper.TransactionMapper;
+import com.assetmanager.service.asset.PositionLedger;
+import com.assetmanager.service.asset.PositionReplayEngine;
+import com.assetmanager.service.asset.RebuildResult;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 거래소 거래 내역 일괄 가져오기 서비스
+ * 청크 단위 다중 행 INSERT 로 왕복 횟수를 줄이고, external_id 로 중복을 걸러내며,
+ * 자산 보유량/평균 매수가는 행마다가 아니라 자산별로 마지막에 한 번만 다시 계산한다.
+ * 자산에 반영할 수 없는 행(보유 수량 초과 매도, 없는 자산)은 전체를 롤백하지 않고 행 단위로 거절한다.
+ * 과거 일자 체결이 섞이면 보유 수량 초과는 미리 알 수 없으므로 없는 자산만 거절한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionImportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private static final Comparator<Transaction> BY_TRANSACTED_AT = Comparator.comparing(Transaction::getTransactedAt);
+
+    private final TransactionMapper transactionMapper;
+    private final AssetMapper assetMapper;
+    private final TransactionOutbox outbox;
+    private final PositionLedger positionLedger;
+    private final PositionReplayEngine positionReplayEngine;
+
+    @Transactional
+    public ImportResult importTransactions(Long userId, List<Transaction> fills) {
+        long startedAt = System.currentTimeMillis();
+
+        Map<String, Transaction> unique = new LinkedHashMap<>();
+        int invalid = 0;
+        for (Transaction fill : fills) {
+            if (!isImportable(fill)) {
+                invalid++;
+                continue;
+            }
+            fill.setUserId(userId);
+            unique.putIfAbsent(fill.getExternalId(), fill);
+        }
+        int duplicates = fills.size() - invalid - unique.size();
+
+        LocalDateTime latestStored = transactionMapper.findRecentTransactionsByUserId(userId, 1).stream()
+            .map(Transaction::getTransactedAt)
+            .findFirst()
+            .orElse(null);
+
+        List<Transaction> candidates = new ArrayList<>(unique.values());
+        candidates.sort(BY_TRANSACTED_AT);
+
+        List<Transaction> fresh = new ArrayList<>(candidates.size());
+        for (int from = 0; from < candidates.size(); from += CHUNK_SIZE) {
+            List<Transaction> chunk = candidates.subList(from, Math.min(from + CHUNK_SIZE, candidates.size()));
+            fresh.addAll(excludeExisting(userId, chunk));
+        }
+        duplicates += candidates.size() - fresh.size();
+
+        boolean backdated = latestStored != null && fresh.stream()
+            .anyMatch(transaction -> transaction.getTransactedAt().isBefore(latestStored));
+        // 검증이 반영과 같은 보유 수량을 보도록 자산 잠금을 먼저 잡는다 (이후 반영 단계의 잠금은 재진입)
+        positionLedger.lockAll(fresh.stream()
+            .filter(transaction -> transaction.isBuyTransaction() || transaction.isSellTransaction())
+            .map(Transaction::getAssetId)
+            .collect(Collectors.toCollection(TreeSet::new)));
+        List<Transaction> rejected = rejectUnappliable(userId, fresh, backdated);
+        Set<Transaction> rejectedSet = new HashSet<>(rejected);
+        List<Transaction> inserted = fresh.stream()
+            .filter(transaction -> !rejectedSet.contains(transaction))
+            .toList();
+
+        for (int from = 0; from < inserted.size(); from += CHUNK_SIZE) {
+            List<Transaction> chunk = inserted.subList(from, Math.min(from + CHUNK_SIZE, inserted.size()));
+            transactionMapper.insertBatch(chunk);
+            outbox.append(userId, chunk, List.of());
+        }
+
+        List<Long> unexplained = new ArrayList<>();
+        int assetsRecalculated = applyToAssets(userId, inserted, backdated, unexplained);
+
+        List<String> rejectedExternalIds = rejected.stream().map(Transaction::getExternalId).toList();
+        ImportResult result = new ImportResult(fills.size(), inserted.size(), duplicates, invalid, rejected.size(),
+                assetsRecalculated, System.currentTimeMillis() - startedAt, rejectedExternalIds, unexplained);
+        if (!rejected.isEmpty()) {
+            log.warn("transaction import rejected rows: userId={}, externalIds={}", userId, rejectedExternalIds);
+        }
+        if (!unexplained.isEmpty()) {
+            log.warn("transaction import applied fills on top of unexplained holdings: userId={}, assetIds={}",
+                    userId, unexplained);
+        }
+        log.info("transaction import finished: userId={}, requested={}, inserted={}, duplicates={}, invalid={}, " +
+                "rejected={}, assets={}, elapsedMs={}, rowsPerSec={}", userId, result.getRequested(),
+                result.getInserted(), result.getDuplicates(), result.getInvalid(), result.getRejected(),
+                result.getAssetsRecalculated(), result.getElapsedMillis(),
+                String.format("%.1f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    /**
+     * 현재 보유 수량에서 시작해 체결을 시간순으로 따라가며 반영할 수 없는 행을 골라낸다.
+     * 없는 자산/다른 사용자의 자산에 대한 체결과 그 시점 보유 수량을 넘는 매도가 대상이다.
+     * 자산 행은 잠금 조회로 읽으므로 커밋까지 다른 트랜잭션이 보유 수량을 바꾸지 못한다.
+     *
+     * @param backdated 과거 일자 체결이 섞였으면 현재 보유 수량이 시작점이 아니므로 없는 자산만 거절한다
+     */
+    private List<Transaction> rejectUnappliable(Long userId, List<Transaction> fresh, boolean backdated) {
+        Map<Long, BigDecimal> running = new HashMap<>();
+        Set<Long> unknownAssets = new HashSet<>();
+        List<Transaction> rejected = new ArrayList<>();
+        for (Transaction fill : fresh) {
+            if (!fill.isBuyTransaction() && !fill.isSellTransaction()) {
+                continue;
+            }
+            Long assetId = fill.getAssetId();
+            if (!running.containsKey(assetId) && !unknownAssets.contains(assetId)) {
+                Asset asset = assetMapper.findByIdForUpdate(assetId)
+                    .filter(found -> userId.equals(found.getUserId()))
+                    .orElse(null);
+                if (asset == null) {
+                    unknownAssets.add(assetId);
+                } else {
+                    running.put(assetId, asset.getQuantity() == null ? BigDecimal.ZERO : asset.getQuantity());
+                }
+            }
+            if (unknownAssets.contains(assetId)) {
+                rejected.add(fill);
+                continue;
+            }
+            if (backdated) {
+                continue;
+            }
+            BigDecimal held = running.get(assetId);
+            if (fill.isBuyTransaction()) {
+                running.put(assetId, held.add(fill.getQuantity()));
+            } else if (held.compareTo(fill.getQuantity()) < 0) {
+                rejected.add(fill);
+            } else {
+                running.put(assetId, held.subtract(fill.getQuantity()));
+            }
+        }
+        return rejected;
+    }
+
+    private List<Transaction> excludeExisting(Long userId, List<Transaction> chunk) {
+        List<String> externalIds = chunk.stream().map(Transaction::getExternalId).toList();
+        Set<String> existing = new HashSet<>(transactionMapper.findExistingExternalIds(userId, externalIds));
+        if (existing.isEmpty()) {
+            return chunk;
+        }
+        return chunk.stream()
+            .filter(transaction -> !existing.contains(transaction.getExternalId()))
+            .toList();
+    }
+
+    /**
+     * 새로 들어온 체결을 시간순으로 자산에 반영하고 자산별로 한 번만 저장한다.
+     * 이미 저장된 거래보다 앞선 체결이 섞여 있으면 이어 붙일 수 없으므로 해당 자산을 거래 내역 전체에서 다시 계산한다.
+     * 거래 내역으로 설명되지 않는 보유량이라 이번 체결만 이어 반영한 자산은 unexplained 에 담는다.
+     */
+    private int applyToAssets(Long userId, List<Transaction> inserted, boolean backdated, List<Long> unexplained) {
+        Map<Long, List<Transaction>> byAsset = inserted.stream()
+            .filter(transaction -> transaction.isBuyTransaction() || transaction.isSellTransaction())
+            .collect(Collectors.groupingBy(Transaction::getAssetId, TreeMap::new, Collectors.toList()));
+
+        if (backdated && !byAsset.isEmpty()) {
+            RebuildResult rebuilt = positionReplayEngine.rebuild(userId, byAsset);
+            log.info("backdated import replayed: userId={}, assets={}, rebuilt={}, unexplained={}",
+                    userId, byAsset.size(), rebuilt.rebuilt(), rebuilt.unexplained());
+            unexplained.addAll(rebuilt.unexplained());
+            return byAsset.size();
+        }
+
+        // 자산 ID 순서로 잠그면 스트라이프 순서가 엇갈릴 수 있으므로 스트라이프를 먼저 번호 순으로 잡는다.
+        positionLedger.lockAll(byAsset.keySet());
+        for (Map.Entry<Long, List<Transaction>> entry : byAsset.entrySet()) {
+            positionLedger.applyFills(userId, entry.getKey(), entry.getValue());
+        }
+        return byAsset.size();
+    }
+
+    private static boolean isImportable(Transaction fill) {
+        if (fill.getExternalId() == null || fill.getExternalId().isBlank()
+                || fill.getAssetId() == null || fill.getTransactionType() == null
+                || fill.getTransactedAt() == null) {
+            return false;
+        }
+        try {
+            fill.validate();
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
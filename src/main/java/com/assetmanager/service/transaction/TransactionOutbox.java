@@ -0,0 +1,61 @@
+package com.assetmanager.service.transaction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.domain.TransactionEvent;
+import com.assetmanager.mapper.TransactionEventMapper;
+import com.assetmanager.service.portfolio.TransactionsChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 거래 이벤트 아웃박스
+ * 거래 쓰기와 같은 DB 트랜잭션에서 이벤트 행만 추가하고, 집계/통계 같은 파생 뷰는 프로젝션 작업자가 비동기로 갱신한다.
+ * 요청 경로의 비용은 프로젝션 수와 관계없이 다중 행 INSERT 한 번이다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionOutbox {
+
+    private final TransactionEventMapper eventMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recorded(Transaction transaction) {
+        append(transaction.getUserId(), List.of(transaction), List.of());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void updated(Transaction before, Transaction after) {
+        append(before.getUserId(), List.of(after), List.of(before));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleted(Transaction before) {
+        append(before.getUserId(), List.of(), List.of(before));
+    }
+
+    /**
+     * 취소 이벤트를 먼저, 반영 이벤트를 뒤에 추가한다 (수정은 취소 + 반영)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Long userId, Collection<Transaction> added, Collection<Transaction> removed) {
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        List<TransactionEvent> events = new ArrayList<>(added.size() + removed.size());
+        removed.forEach(transaction -> events.add(TransactionEvent.of(transaction, -1)));
+        added.forEach(transaction -> events.add(TransactionEvent.of(transaction, 1)));
+        eventMapper.insertBatch(events);
+        // 거래 목록을 읽는 캐시(대시보드, 기간 수익률)는 프로젝션을 기다리지 않고 커밋 직후 무효화한다
+        eventPublisher.publishEvent(new TransactionsChangedEvent(userId));
+    }
+}
@@ -0,0 +1,39 @@
+package com.assetmanager.service.transaction;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 거래 이벤트 아웃박스 / 프로젝션 작업자 설정 (transaction.outbox.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "transaction.outbox")
+public class TransactionOutboxProperties {
+
+    /** 새 이벤트 확인 주기 (ms) */
+    private long pollIntervalMs = 200;
+
+    /** 한 트랜잭션에서 읽어 반영하는 이벤트 수 */
+    private int batchSize = 500;
+
+    /** 한 번 깨어났을 때 프로젝션마다 처리할 최대 배치 수 (밀린 이벤트를 따라잡는 속도) */
+    private int maxBatchesPerPoll = 20;
+
+    /**
+     * 이벤트 ID 사이의 빈 번호를 기다리는 시간
+     * 먼저 번호를 받고 늦게 커밋되는 트랜잭션이 있을 수 있으므로, 이 시간이 지나기 전에는 빈 번호를 넘어가지 않는다.
+     * 이 시간이 지나 넘어간 번호도 기록해 두었다가 커밋되면 반영하므로, 이 값은 지연과 재확인 빈도만 정한다.
+     */
+    private Duration settleDelay = Duration.ofSeconds(5);
+
+    /**
+     * 넘어간 빈 번호를 롤백된 것으로 보고 지우기까지의 시간 (가장 긴 거래 쓰기 트랜잭션보다 길게)
+     * 이보다 늦게 커밋된 이벤트는 프로젝션에 반영되지 않고, 야간 집계 검증이 원본에서 다시 맞춘다.
+     */
+    private Duration gapExpiry = Duration.ofMinutes(10);
+}
@@ -0,0 +1,23 @@
+package com.assetmanager.service.transaction;
+
+import java.util.List;
+
+import com.assetmanager.domain.TransactionEvent;
+
+/**
+ * 거래 이벤트로 갱신하는 파생 뷰
+ * 프로젝션마다 읽기 위치와 사용자별 반영 위치를 따로 가지므로, 프로젝션을 늘려도 거래 기록 요청은 느려지지 않는다.
+ */
+public interface TransactionProjection {
+
+    /**
+     * 읽기 위치를 저장하는 이름 (바꾸면 처음부터 다시 반영된다)
+     */
+    String name();
+
+    /**
+     * 한 사용자의 새 이벤트 반영 (ID 순, 이미 반영된 이벤트는 빠져 있다)
+     * 작업자의 트랜잭션 안에서 호출되며, 반영 위치도 같은 트랜잭션에서 저장된다.
+     */
+    void apply(Long userId, List<TransactionEvent> events);
+}
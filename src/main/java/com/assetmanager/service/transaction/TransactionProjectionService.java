@@ -0,0 +1,153 @@
+package com.assetmanager.service.transaction;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assetmanager.domain.ProjectionWatermark;
+import com.assetmanager.domain.TransactionEvent;
+import com.assetmanager.mapper.TransactionEventMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 프로젝션 배치 반영
+ * 읽기 위치를 잠근 트랜잭션 안에서 이벤트를 읽어 사용자별로 묶어 반영하고, 반영 위치와 읽기 위치를 함께 저장한다.
+ * 사용자별 반영 위치보다 앞선 이벤트는 건너뛰므로, 읽기 위치를 어디로 되돌려도 같은 이벤트가 두 번 반영되지 않는다.
+ * 넘어간 빈 번호는 projection_gaps 에 남겨 두고, 늦게 커밋되면 반영 위치와 관계없이 반영한다.
+ * 원본에서 다시 계산할 때 읽기 위치 뒤에 남긴 빈 번호(커밋 전 이벤트) 도 차례대로 읽을 때 같은 방식으로 반영한다.
+ * 빈 번호를 넘어갈지는 transaction.outbox.settle-delay 로 정하며, 기준 시각은 created_at 과 같은 DB 시계로 계산한다.
+ * 빈 번호를 처음 본 뒤 transaction.outbox.gap-expiry 가 지나도 없으면 롤백된 번호로 보고 지운다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionProjectionService {
+
+    private final TransactionEventMapper eventMapper;
+    private final TransactionOutboxProperties properties;
+
+    /**
+     * 다음 배치 반영
+     *
+     * @return 읽기 위치를 넘긴 이벤트 수 (batchSize 보다 작으면 따라잡은 것)
+     */
+    @Transactional
+    public int applyBatch(TransactionProjection projection, int batchSize) {
+        String name = projection.name();
+        eventMapper.insertOffsetIfAbsent(name);
+        long offset = eventMapper.lockOffset(name).orElse(0L);
+        eventMapper.deleteRolledBackGaps(name, properties.getGapExpiry().toSeconds());
+        LocalDateTime settledBefore = eventMapper.findSettleCutoff(properties.getSettleDelay().toSeconds());
+        List<TransactionEvent> late = new ArrayList<>(eventMapper.findGapEvents(name, offset, batchSize));
+        List<TransactionEvent> events = settled(eventMapper.findAfter(offset, batchSize), offset, settledBefore);
+        if (events.isEmpty() && late.isEmpty()) {
+            return 0;
+        }
+        int consumed = late.size() + events.size();
+
+        // 재계산이 읽기 위치 뒤에 남긴 빈 번호는 차례가 되어 읽히면 반영 위치와 관계없이 반영한다
+        List<TransactionEvent> inOrder = events;
+        if (!events.isEmpty()) {
+            Set<Long> open = new HashSet<>(
+                    eventMapper.findGapIdsBetween(name, offset, events.get(events.size() - 1).getId()));
+            if (!open.isEmpty()) {
+                inOrder = new ArrayList<>(events.size());
+                for (TransactionEvent event : events) {
+                    (open.contains(event.getId()) ? late : inOrder).add(event);
+                }
+            }
+        }
+
+        // 사용자 ID 순으로 반영해 쓰기 경로/재계산과 잠금 순서를 맞춘다
+        Map<Long, List<TransactionEvent>> byUser = new TreeMap<>();
+        late.forEach(event -> byUser.computeIfAbsent(event.getUserId(), key -> new ArrayList<>()).add(event));
+        inOrder.forEach(event -> byUser.computeIfAbsent(event.getUserId(), key -> new ArrayList<>()).add(event));
+        Map<Long, Long> applied = eventMapper.lockWatermarks(name, new ArrayList<>(byUser.keySet())).stream()
+            .collect(Collectors.toMap(ProjectionWatermark::getUserId, ProjectionWatermark::getLastEventId));
+        Set<TransactionEvent> lateEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+        lateEvents.addAll(late);
+
+        List<ProjectionWatermark> advanced = new ArrayList<>(byUser.size());
+        for (Map.Entry<Long, List<TransactionEvent>> entry : byUser.entrySet()) {
+            long watermark = applied.getOrDefault(entry.getKey(), 0L);
+            // 늦게 커밋된 빈 번호 이벤트는 반영 위치보다 작아도 아직 반영되지 않은 것이다
+            List<TransactionEvent> pending = entry.getValue().stream()
+                .filter(event -> lateEvents.contains(event) || event.getId() > watermark)
+                .toList();
+            if (pending.isEmpty()) {
+                continue;
+            }
+            projection.apply(entry.getKey(), pending);
+            long last = pending.stream().mapToLong(TransactionEvent::getId).max().getAsLong();
+            advanced.add(new ProjectionWatermark(name, entry.getKey(), last));
+        }
+        if (!advanced.isEmpty()) {
+            eventMapper.upsertWatermarks(advanced);
+        }
+        if (!late.isEmpty()) {
+            eventMapper.deleteGaps(name, late.stream().map(TransactionEvent::getId).toList());
+        }
+        if (!events.isEmpty()) {
+            List<Long> skipped = missingIds(events, offset);
+            if (!skipped.isEmpty()) {
+                eventMapper.insertGaps(name, skipped);
+            }
+            eventMapper.updateOffset(name, events.get(events.size() - 1).getId());
+        }
+        return consumed;
+    }
+
+    /**
+     * 읽기 위치 되돌리기 (이미 반영된 사용자 이벤트는 반영 위치로 걸러지므로 안전하다)
+     */
+    @Transactional
+    public void rewind(String projection, long afterEventId) {
+        if (afterEventId < 0) {
+            throw new IllegalArgumentException("afterEventId must not be negative");
+        }
+        eventMapper.insertOffsetIfAbsent(projection);
+        eventMapper.lockOffset(projection);
+        eventMapper.updateOffset(projection, afterEventId);
+    }
+
+    /**
+     * 빈 번호 앞까지만 남긴다 (빈 번호 뒤 이벤트가 settledBefore 이전 것이면 넘어가고, 그 번호는 missingIds 로 기록한다)
+     */
+    static List<TransactionEvent> settled(List<TransactionEvent> events, long offset, LocalDateTime settledBefore) {
+        long expected = offset + 1;
+        for (int i = 0; i < events.size(); i++) {
+            TransactionEvent event = events.get(i);
+            if (event.getId() != expected && event.getCreatedAt() != null
+                    && event.getCreatedAt().isAfter(settledBefore)) {
+                return events.subList(0, i);
+            }
+            expected = event.getId() + 1;
+        }
+        return events;
+    }
+
+    /**
+     * offset 다음부터 마지막 이벤트까지 중 비어 있는 이벤트 ID
+     */
+    static List<Long> missingIds(List<TransactionEvent> events, long offset) {
+        List<Long> missing = new ArrayList<>();
+        long expected = offset + 1;
+        for (TransactionEvent event : events) {
+            for (long id = expected; id < event.getId(); id++) {
+                missing.add(id);
+            }
+            expected = event.getId() + 1;
+        }
+        return missing;
+    }
+}
@@ -0,0 +1,117 @@
+package com.assetmanager.service.transaction;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.assetmanager.config.shard.ShardRouter;
+import com.assetmanager.mapper.TransactionEventMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 거래 이벤트 프로젝션 작업자
+ * 프로젝션마다 밀린 이벤트를 배치로 따라잡는다. 한 프로젝션이 실패해도 다른 프로젝션은 계속 진행되며,
+ * 실패한 배치는 롤백되어 다음 주기에 같은 위치부터 다시 시도한다.
+ * 샤딩을 켜면 샤드마다 아웃박스와 읽기 위치가 따로 있으므로 샤드를 차례로 돌며 따라잡는다.
+ */
+@Slf4j
+@Component
+public class TransactionProjectionWorker {
+
+    private final TransactionProjectionService projectionService;
+    private final TransactionEventMapper eventMapper;
+    private final List<TransactionProjection> projections;
+    private final TransactionOutboxProperties properties;
+    private final ShardRouter shardRouter;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Map<String, Counter> applied = new ConcurrentHashMap<>();
+    private final Map<String, Counter> failures = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> lag = new ConcurrentHashMap<>();
+
+    public TransactionProjectionWorker(TransactionProjectionService projectionService,
+                                       TransactionEventMapper eventMapper, List<TransactionProjection> projections,
+                                       TransactionOutboxProperties properties, ShardRouter shardRouter,
+                                       MeterRegistry meterRegistry) {
+        this.projectionService = projectionService;
+        this.eventMapper = eventMapper;
+        this.projections = projections;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+
+        for (TransactionProjection projection : projections) {
+            String name = projection.name();
+            applied.put(name, Counter.builder("transaction.projection.events")
+                .description("Events consumed by the projection")
+                .tag("projection", name)
+                .register(meterRegistry));
+            failures.put(name, Counter.builder("transaction.projection.failures")
+                .description("Projection batches rolled back")
+                .tag("projection", name)
+                .register(meterRegistry));
+            AtomicLong behind = new AtomicLong();
+            lag.put(name, behind);
+            Gauge.builder("transaction.projection.lag", behind, AtomicLong::get)
+                .description("Events written but not yet consumed by the projection")
+                .tag("projection", name)
+                .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.outbox.poll-interval-ms:200}")
+    public void poll() {
+        if (projections.isEmpty() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Map<String, Long> behind = new HashMap<>();
+            shardRouter.forEachShard(shard -> {
+                for (TransactionProjection projection : projections) {
+                    drain(projection);
+                }
+                long lastEventId = eventMapper.findLastEventId();
+                for (TransactionProjection projection : projections) {
+                    long offset = eventMapper.findOffset(projection.name()).orElse(0L);
+                    behind.merge(projection.name(), Math.max(0, lastEventId - offset), Long::sum);
+                }
+            });
+            behind.forEach((name, events) -> lag.get(name).set(events));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * @return 이번 주기에 읽기 위치를 넘긴 이벤트 수
+     */
+    int drain(TransactionProjection projection) {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int total = 0;
+        for (int batch = 0; batch < Math.max(1, properties.getMaxBatchesPerPoll()); batch++) {
+            int count;
+            try {
+                count = projectionService.applyBatch(projection, batchSize);
+            } catch (RuntimeException e) {
+                failures.get(projection.name()).increment();
+                log.warn("transaction projection batch failed: projection={}", projection.name(), e);
+                break;
+            }
+            applied.get(projection.name()).increment(count);
+            total += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
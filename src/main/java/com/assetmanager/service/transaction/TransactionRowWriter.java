@@ -0,0 +1,174 @@
+package com.assetmanager.service.transaction;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.assetmanager.domain.Transaction;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * 거래 한 건을 내보내기 형식으로 기록
+ * 행 단위로 바로 쓰기 때문에 전체 결과를 메모리에 모으지 않는다.
+ */
+abstract class TransactionRowWriter {
+
+    static final String[] COLUMNS = {
+        "id", "assetId", "transactionType", "quantity", "price", "totalAmount", "fee", "tax",
+        "transactedAt", "externalId"
+    };
+
+    protected final Writer out;
+
+    protected TransactionRowWriter(Writer out) {
+        this.out = out;
+    }
+
+    static TransactionRowWriter create(ExportFormat format, Writer out, JsonFactory jsonFactory) throws IOException {
+        return format == ExportFormat.CSV ? new Csv(out) : new Ndjson(out, jsonFactory);
+    }
+
+    void begin() throws IOException {
+    }
+
+    abstract void write(Transaction transaction) throws IOException;
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    // =================
+    // CSV
+    // =================
+
+    static final class Csv extends TransactionRowWriter {
+
+        Csv(Writer out) {
+            super(out);
+        }
+
+        @Override
+        void begin() throws IOException {
+            out.write(String.join(",", COLUMNS));
+            out.write("\r\n");
+        }
+
+        @Override
+        void write(Transaction t) throws IOException {
+            out.write(text(t.getId()));
+            out.write(',');
+            out.write(text(t.getAssetId()));
+            out.write(',');
+            out.write(t.getTransactionType() == null ? "" : t.getTransactionType().name());
+            out.write(',');
+            out.write(number(t.getQuantity()));
+            out.write(',');
+            out.write(number(t.getPrice()));
+            out.write(',');
+            out.write(number(t.getTotalAmount()));
+            out.write(',');
+            out.write(number(t.getFee()));
+            out.write(',');
+            out.write(number(t.getTax()));
+            out.write(',');
+            out.write(text(t.getTransactedAt()));
+            out.write(',');
+            out.write(quote(t.getExternalId()));
+            out.write("\r\n");
+        }
+
+        private static String text(Object value) {
+            return value == null ? "" : value.toString();
+        }
+
+        private static String number(BigDecimal value) {
+            return value == null ? "" : value.toPlainString();
+        }
+
+        /**
+         * RFC 4180 따옴표 처리 (구분자/따옴표/줄바꿈이 있을 때만)
+         * 스프레드시트가 수식으로 해석하는 문자(= + - @ 탭 CR)로 시작하면 앞에 ' 를 붙인다.
+         */
+        static String quote(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    // =================
+    // NDJSON (한 줄에 JSON 객체 하나)
+    // =================
+
+    static final class Ndjson extends TransactionRowWriter {
+
+        private final JsonGenerator generator;
+
+        Ndjson(Writer out, JsonFactory jsonFactory) throws IOException {
+            super(out);
+            this.generator = jsonFactory.createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void write(Transaction t) throws IOException {
+            generator.writeStartObject();
+            writeNumber("id", t.getId());
+            writeNumber("assetId", t.getAssetId());
+            writeString("transactionType", t.getTransactionType() == null ? null : t.getTransactionType().name());
+            writeDecimal("quantity", t.getQuantity());
+            writeDecimal("price", t.getPrice());
+            writeDecimal("totalAmount", t.getTotalAmount());
+            writeDecimal("fee", t.getFee());
+            writeDecimal("tax", t.getTax());
+            writeString("transactedAt", toText(t.getTransactedAt()));
+            writeString("externalId", t.getExternalId());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            generator.flush();
+        }
+
+        private void writeNumber(String field, Long value) throws IOException {
+            if (value == null) {
+                generator.writeNullField(field);
+            } else {
+                generator.writeNumberField(field, value);
+            }
+        }
+
+        private void writeDecimal(String field, BigDecimal value) throws IOException {
+            if (value == null) {
+                generator.writeNullField(field);
+            } else {
+                generator.writeNumberField(field, value);
+            }
+        }
+
+        private void writeString(String field, String value) throws IOException {
+            if (value == null) {
+                generator.writeNullField(field);
+            } else {
+                generator.writeStringField(field, value);
+            }
+        }
+
+        private static String toText(LocalDateTime value) {
+            return value == null ? null : value.toString();
+        }
+    }
+}
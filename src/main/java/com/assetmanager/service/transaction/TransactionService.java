@@ -0,0 +1,57 @@
+package com.assetmanager.service.transaction;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.mapper.TransactionMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 거래 내역 쓰기 서비스
+ * 거래 행과 거래 이벤트를 같은 DB 트랜잭션 안에서 기록한다. 집계/통계는 프로젝션 작업자가 비동기로 반영한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionService {
+
+    private final TransactionMapper transactionMapper;
+    private final TransactionOutbox outbox;
+
+    @Transactional
+    public Transaction record(Transaction transaction) {
+        transaction.validate();
+        transactionMapper.insert(transaction);
+        outbox.recorded(transaction);
+        return transaction;
+    }
+
+    /**
+     * 가격/수량/수수료 수정 (거래 유형, 소유자, 거래 일시는 변경하지 않는다)
+     */
+    @Transactional
+    public Transaction update(Transaction transaction) {
+        Transaction before = getTransaction(transaction.getId());
+        transaction.validate();
+        transaction.setUserId(before.getUserId());
+        transaction.setAssetId(before.getAssetId());
+        transaction.setTransactionType(before.getTransactionType());
+        transaction.setTransactedAt(before.getTransactedAt());
+        transactionMapper.update(transaction);
+        outbox.updated(before, transaction);
+        return transaction;
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        Transaction before = getTransaction(id);
+        transactionMapper.delete(id);
+        outbox.deleted(before);
+    }
+
+    private Transaction getTransaction(Long id) {
+        return transactionMapper.findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("transaction not found: " + id));
+    }
+}
@@ -0,0 +1,194 @@
+package com.assetmanager.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assetmanager.mapper.ReplicaRead;
+import com.assetmanager.service.portfolio.TransactionsChangedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 원본/복제본 라우팅 테스트
+ * H2 메모리 DB 두 개를 원본과 복제본으로 두고, 각 DB 가 자기 이름을 돌려주는 조회로 경로를 확인한다.
+ */
+class ReplicaRoutingTest {
+
+    private static final DataSource PRIMARY = node("primary");
+    private static final DataSource REPLICA = node("replica");
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOps;
+    private ReplicaRoutingProperties properties;
+    private ReadYourWritesGuard guard;
+    private NodeMapper mapper;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        clock = new MutableClock();
+        meterRegistry = new SimpleMeterRegistry();
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOps = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        properties = new ReplicaRoutingProperties();
+        properties.setReadYourWritesWindow(Duration.ofSeconds(5));
+        guard = new ReadYourWritesGuard(properties, redisTemplate, clock);
+
+        DataSource dataSource = ReplicaRoutingConfig.routingDataSource(PRIMARY, REPLICA);
+        Configuration configuration = new Configuration(
+                new Environment("test", new SpringManagedTransactionFactory(), dataSource));
+        configuration.addInterceptor(new ReplicaRoutingInterceptor(guard, meterRegistry));
+        configuration.addMapper(NodeMapper.class);
+        mapper = new SqlSessionTemplate(new SqlSessionFactoryBuilder().build(configuration))
+            .getMapper(NodeMapper.class);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void replicaReadsGoToReplicaAndOthersToPrimary() {
+        assertThat(mapper.analyticsNode(1L)).isEqualTo("replica");
+        assertThat(mapper.plainNode(1L)).isEqualTo("primary");
+        assertThat(routeCount("replica", "replica")).isEqualTo(1.0);
+    }
+
+    /**
+     * 본인 쓰기 직후에는 그 사용자만 원본에서 읽고, 기간이 지나면 다시 복제본으로
+     */
+    @Test
+    void readsOwnWritesFromPrimaryUntilWindowPasses() {
+        guard.onTransactionsChanged(new TransactionsChangedEvent(7L));
+
+        assertThat(mapper.analyticsNode(7L)).isEqualTo("primary");
+        assertThat(mapper.analyticsNode(8L)).isEqualTo("replica");
+        assertThat(routeCount("primary", "read-your-writes")).isEqualTo(1.0);
+
+        clock.advance(Duration.ofSeconds(6));
+        assertThat(mapper.analyticsNode(7L)).isEqualTo("replica");
+    }
+
+    /**
+     * 다른 노드가 받은 쓰기도 Redis 의 고정 키로 보이고, Redis 를 읽지 못하면 원본에서 읽는다
+     */
+    @Test
+    void pinIsSharedThroughRedis() {
+        ReadYourWritesGuard otherNode = new ReadYourWritesGuard(properties, redisTemplate, clock);
+        otherNode.pin(7L);
+        verify(valueOps).set("db:pin:7", "1", Duration.ofSeconds(5));
+        when(redisTemplate.hasKey("db:pin:7")).thenReturn(true);
+
+        assertThat(mapper.analyticsNode(7L)).isEqualTo("primary");
+        assertThat(mapper.analyticsNode(8L)).isEqualTo("replica");
+
+        when(redisTemplate.hasKey("db:pin:8")).thenThrow(new QueryTimeoutException("redis down"));
+        assertThat(mapper.analyticsNode(8L)).isEqualTo("primary");
+    }
+
+    @Test
+    void readsInsideTransactionStayOnPrimary() {
+        String node = transactionTemplate.execute(status -> mapper.analyticsNode(1L));
+
+        assertThat(node).isEqualTo("primary");
+        assertThat(routeCount("primary", "transaction")).isEqualTo(1.0);
+        assertThat(ReadRoutingDataSource.currentRoute()).isEqualTo(DataSourceRoute.PRIMARY);
+    }
+
+    @Test
+    void resolvesAnnotationFromStatementId() {
+        String mapperName = NodeMapper.class.getName();
+
+        assertThat(ReplicaRoutingInterceptor.isReplicaRead(mapperName + ".analyticsNode")).isTrue();
+        assertThat(ReplicaRoutingInterceptor.isReplicaRead(mapperName + ".analyticsNode_COUNT")).isTrue();
+        assertThat(ReplicaRoutingInterceptor.isReplicaRead(mapperName + ".plainNode")).isFalse();
+        assertThat(ReplicaRoutingInterceptor.isReplicaRead("com.assetmanager.missing.Mapper.find")).isFalse();
+    }
+
+    @Test
+    void refusesToStartTogetherWithSharding() {
+        new ApplicationContextRunner()
+            .withUserConfiguration(ReplicaRoutingConfig.class)
+            .withPropertyValues("datasource.routing.enabled=true", "datasource.sharding.enabled=true")
+            .run(context -> assertThat(context.getStartupFailure())
+                .rootCause()
+                .hasMessageContaining("cannot both be enabled"));
+    }
+
+    private double routeCount(String target, String reason) {
+        return meterRegistry.get("datasource.route.reads").tags("target", target, "reason", reason)
+            .counter().count();
+    }
+
+    private static DataSource node(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    public interface NodeMapper {
+
+        @ReplicaRead
+        @Select("SELECT name FROM node")
+        String analyticsNode(@Param("userId") Long userId);
+
+        @Select("SELECT name FROM node")
+        String plainNode(@Param("userId") Long userId);
+    }
+
+    static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-07-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.assetmanager.config.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * MapperMetricsInterceptor 단위 테스트
+ * 매퍼 메서드별 타이머/행 수가 기록되고, 느린 쿼리 표본에는 바인딩 값이 남지 않는지 확인한다.
+ */
+class MapperMetricsInterceptorTest {
+
+    private static final Method QUERY = queryMethod();
+
+    private Configuration configuration;
+    private Executor executor;
+    private SimpleMeterRegistry meterRegistry;
+    private MapperMetricsProperties properties;
+    private SlowQueryLog slowQueryLog;
+    private MapperMetricsInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        configuration = new Configuration();
+        executor = mock(Executor.class);
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new MapperMetricsProperties();
+        slowQueryLog = new SlowQueryLog(properties);
+        interceptor = new MapperMetricsInterceptor(meterRegistry, properties, slowQueryLog);
+    }
+
+    @Test
+    void recordsLatencyAndRowsPerMapperMethod() throws Throwable {
+        MappedStatement statement = statement("com.assetmanager.mapper.AssetMapper.findByUserId");
+        when(executor.query(any(), any(), any(), any())).thenReturn(List.of("a", "b", "c"));
+
+        interceptor.intercept(invocation(statement, Map.of("userId", 7L)));
+
+        assertThat(meterRegistry.get("mybatis.statement")
+            .tags("mapper", "AssetMapper", "method", "findByUserId", "outcome", "success")
+            .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("mybatis.statement.rows").tags("method", "findByUserId")
+            .summary().totalAmount()).isEqualTo(3);
+        assertThat(slowQueryLog.samples()).isEmpty();
+    }
+
+    @Test
+    void samplesSlowQueriesWithoutBoundValues() throws Throwable {
+        properties.setSlowThreshold(Duration.ZERO);
+        MappedStatement statement = statement("com.assetmanager.mapper.AssetMapper.findByUserId");
+        when(executor.query(any(), any(), any(), any())).thenReturn(List.of());
+
+        interceptor.intercept(invocation(statement, Map.of("userId", 123456789L)));
+
+        SlowQuerySample sample = slowQueryLog.samples().get(0);
+        assertThat(sample.statement()).isEqualTo("com.assetmanager.mapper.AssetMapper.findByUserId");
+        assertThat(sample.sql()).isEqualTo("SELECT * FROM assets WHERE user_id = ?");
+        assertThat(sample.parameters()).containsExactly("userId:Long");
+        assertThat(sample.toString()).doesNotContain("123456789");
+    }
+
+    @Test
+    void countsFailuresSeparately() throws Throwable {
+        MappedStatement statement = statement("com.assetmanager.mapper.AssetMapper.findByUserId");
+        when(executor.query(any(), any(), any(), any())).thenThrow(new SQLException("boom"));
+
+        assertThatThrownBy(() -> interceptor.intercept(invocation(statement, Map.of("userId", 7L))))
+            .hasCauseInstanceOf(SQLException.class);
+        assertThat(meterRegistry.get("mybatis.statement").tag("outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    private MappedStatement statement(String id) {
+        StaticSqlSource sqlSource = new StaticSqlSource(configuration, "SELECT *\n  FROM assets WHERE user_id = ?",
+                List.of(new ParameterMapping.Builder(configuration, "userId", Object.class).build()));
+        return new MappedStatement.Builder(configuration, id, sqlSource, SqlCommandType.SELECT).build();
+    }
+
+    private Invocation invocation(MappedStatement statement, Object parameter) {
+        return new Invocation(executor, QUERY,
+                new Object[] {statement, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER});
+    }
+
+    private static Method queryMethod() {
+        try {
+            return Executor.class.getMethod("query", MappedStatement.class, Object.class, RowBounds.class,
+                    ResultHandler.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
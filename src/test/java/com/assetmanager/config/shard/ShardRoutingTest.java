@@ -0,0 +1,384 @@
+package com.assetmanager.config.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assetmanager.mapper.AssignId;
+import com.assetmanager.mapper.UserSharded;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 사용자 샤드 라우팅 테스트
+ * H2 메모리 DB 세 개를 샤드로 두고 (기본 배치: 버킷 % 3), 행이 어느 DB 에 들어갔는지 직접 읽어 확인한다.
+ */
+class ShardRoutingTest {
+
+    private static final List<DataSource> SHARDS = List.of(node(0), node(1), node(2));
+
+    private ShardMap shardMap;
+    private ShardRoutingDataSource routing;
+    private ShardFence fence;
+    private HoldingMapper mapper;
+    private GlobalMapper globalMapper;
+    private TransactionTemplate transactionTemplate;
+    private ShardRebalancer rebalancer;
+    private List<Object> events;
+
+    @BeforeEach
+    void setUp() {
+        for (DataSource shard : SHARDS) {
+            new JdbcTemplate(shard).update("DELETE FROM holdings");
+            new JdbcTemplate(shard).update("DELETE FROM api_keys");
+            new JdbcTemplate(shard).update("DELETE FROM shard_bucket_fences");
+        }
+        new JdbcTemplate(SHARDS.get(0)).update("DELETE FROM shard_buckets");
+
+        routing = ShardingConfig.shardRouting(SHARDS);
+        shardMap = new ShardMap(SHARDS.get(0), SHARDS.size());
+        fence = new ShardFence(routing, shardMap);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        Configuration configuration = new Configuration(
+                new Environment("test", new SpringManagedTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addInterceptor(new IdAssigningInterceptor(new SnowflakeIdGenerator(1, Clock.systemUTC())));
+        configuration.addInterceptor(new ShardRoutingInterceptor(shardMap, new SimpleMeterRegistry()));
+        configuration.addMapper(HoldingMapper.class);
+        configuration.addMapper(GlobalMapper.class);
+        SqlSessionTemplate sqlSession = new SqlSessionTemplate(new SqlSessionFactoryBuilder().build(configuration));
+        mapper = sqlSession.getMapper(HoldingMapper.class);
+        globalMapper = sqlSession.getMapper(GlobalMapper.class);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        events = new ArrayList<>();
+        rebalancer = new ShardRebalancer(routing, shardMap, fence, List.of("holdings"), List.of(),
+                List.of("holdings"), List.of(), events::add);
+    }
+
+    @Test
+    void routesUserRowsAndIdLookupsToBucketShard() {
+        Holding first = holding(1L, "BTC");
+        Holding second = holding(2L, "ETH");
+        Holding third = holding(3L, "AAPL");
+        mapper.insert(first);
+        mapper.insert(second);
+        mapper.insert(third);
+
+        assertThat(ids(0)).containsExactly(third.getId());
+        assertThat(ids(1)).containsExactly(first.getId());
+        assertThat(ids(2)).containsExactly(second.getId());
+        assertThat(SnowflakeIdGenerator.bucketOfId(first.getId())).isEqualTo(1);
+        assertThat(mapper.findById(second.getId()).getSymbol()).isEqualTo("ETH");
+        assertThat(mapper.countByUserId(3L)).isEqualTo(1);
+        assertThat(mapper.shardName()).isEqualTo("shard-0");
+    }
+
+    @Test
+    void batchInsertAssignsIdsAndMustStayOnOneShard() {
+        List<Holding> batch = List.of(holding(1L, "BTC"), holding(1025L, "ETH"));
+
+        mapper.insertBatch(batch);
+
+        assertThat(ids(1)).containsExactlyInAnyOrder(batch.get(0).getId(), batch.get(1).getId());
+        assertThat(batch.get(0).getId()).isNotEqualTo(batch.get(1).getId());
+        assertThatThrownBy(() -> mapper.insertBatch(List.of(holding(1L, "BTC"), holding(2L, "ETH"))))
+            .hasRootCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 트랜잭션은 첫 SQL 의 샤드에 고정되고, 다른 샤드의 사용자를 건드리면 전체가 롤백된다
+     */
+    @Test
+    void transactionIsPinnedToFirstShard() {
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            mapper.insert(holding(1L, "BTC"));
+            assertThat(mapper.shardName()).isEqualTo("shard-1");
+            mapper.insert(holding(2L, "ETH"));
+        }))
+            .hasRootCauseInstanceOf(IllegalStateException.class)
+            .hasStackTraceContaining("cross-shard transaction");
+
+        assertThat(ids(1)).isEmpty();
+        assertThat(ids(2)).isEmpty();
+        assertThat(mapper.shardName()).isEqualTo("shard-0");
+    }
+
+    @Test
+    void scopeRoutesKeylessStatementsButNotGlobalOnes() {
+        ShardRouter router = new ShardRouter(SHARDS.size());
+        List<String> visited = new ArrayList<>();
+
+        router.forEachShard(shard -> visited.add(mapper.shardName()));
+
+        assertThat(visited).containsExactly("shard-0", "shard-1", "shard-2");
+        assertThat(router.onShard(2, globalMapper::shardName)).isEqualTo("shard-0");
+        assertThat(router.onShard(2, () -> mapper.countByUserId(1L))).isZero();
+    }
+
+    /**
+     * 버킷을 옮기면 같은 버킷의 사용자가 함께 옮겨지고, 이전에 받은 id 로도 새 샤드에서 찾는다
+     */
+    @Test
+    void movesBucketAndKeepsIdLookups() {
+        Holding moved = holding(1L, "BTC");
+        Holding neighbour = holding(1025L, "ETH");
+        Holding other = holding(4L, "AAPL");
+        mapper.insert(moved);
+        mapper.insert(neighbour);
+        mapper.insert(other);
+
+        long copied = rebalancer.moveBucketOf(1L, 2);
+
+        assertThat(copied).isEqualTo(2);
+        assertThat(ids(1)).containsExactly(other.getId());
+        assertThat(ids(2)).containsExactlyInAnyOrder(moved.getId(), neighbour.getId());
+        assertThat(mapper.findById(moved.getId()).getSymbol()).isEqualTo("BTC");
+        assertThat(mapper.countByUserId(1L)).isEqualTo(1);
+        assertThat(new ShardMap(SHARDS.get(0), SHARDS.size()).shardOfUser(1L)).isEqualTo(2);
+        assertThat(events).containsExactly(new ShardBucketMovedEvent(1, 1, 2, Set.of(1L, 1025L)));
+        assertThat(rebalancer.moveBucketOf(1L, 2)).isZero();
+    }
+
+    @Test
+    void rejectsWritesWhileBucketIsMoving() {
+        shardMap.markMoving(1);
+
+        assertThatThrownBy(() -> mapper.insert(holding(1L, "BTC")))
+            .hasRootCauseInstanceOf(IllegalStateException.class);
+        assertThat(mapper.countByUserId(1L)).isZero();
+        mapper.insert(holding(2L, "ETH"));
+
+        shardMap.assign(1, 1);
+        mapper.insert(holding(1L, "BTC"));
+        assertThat(ids(1)).hasSize(1);
+    }
+
+    /**
+     * 샤드별 AUTO_INCREMENT id 테이블은 대상 샤드의 같은 id 와 부딪히지 않도록 새 id 로 복사된다
+     */
+    @Test
+    void renumbersAutoIncrementRowsWhenMovingBucket() {
+        JdbcTemplate target = new JdbcTemplate(SHARDS.get(2));
+        target.update("INSERT INTO api_keys (user_id, exchange_type) VALUES (?, ?)", 2L, "UPBIT");
+        Long taken = target.queryForObject("SELECT id FROM api_keys WHERE user_id = 2", Long.class);
+        new JdbcTemplate(SHARDS.get(1)).update("INSERT INTO api_keys (id, user_id, exchange_type) VALUES (?, ?, ?)",
+                taken, 1L, "BITHUMB");
+
+        new ShardRebalancer(routing, shardMap, fence, List.of("holdings", "api_keys"), List.of(),
+                List.of("holdings"), List.of("api_keys"), events::add)
+            .moveBucketOf(1L, 2);
+
+        assertThat(target.queryForList("SELECT exchange_type FROM api_keys WHERE user_id = 1", String.class))
+            .containsExactly("BITHUMB");
+        assertThat(target.queryForObject("SELECT id FROM api_keys WHERE user_id = 1", Long.class)).isNotEqualTo(taken);
+        assertThat(new JdbcTemplate(SHARDS.get(1)).queryForObject("SELECT COUNT(*) FROM api_keys", Integer.class))
+            .isZero();
+    }
+
+    /**
+     * 생성기 도입 전 id 는 버킷이 없어 0번 샤드에서 찾으므로, 그런 행이 남은 버킷은 옮기지 않는다
+     */
+    @Test
+    void keepsLegacyIdLookupsWorkingAcrossMoves() {
+        new JdbcTemplate(SHARDS.get(0)).update("INSERT INTO holdings (id, user_id, symbol) VALUES (?, ?, ?)",
+                42L, 3L, "LEGACY");
+        Holding moved = holding(1L, "BTC");
+        mapper.insert(moved);
+
+        assertThatThrownBy(() -> rebalancer.moveBucketOf(3L, 2))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("do not carry a bucket");
+        rebalancer.moveBucketOf(1L, 2);
+
+        assertThat(shardMap.shardOfUser(3L)).isZero();
+        assertThat(mapper.findById(42L).getSymbol()).isEqualTo("LEGACY");
+        assertThat(mapper.findById(moved.getId()).getSymbol()).isEqualTo("BTC");
+        mapper.insert(holding(3L, "ETH"));
+        assertThat(mapper.countByUserId(3L)).isEqualTo(2);
+    }
+
+    /**
+     * 배치표를 아직 다시 읽지 않은 노드의 쓰기는 원래 샤드의 차단 행(MOVED) 에 막힌다
+     */
+    @Test
+    void rejectsStaleNodeWritesAfterBucketMoved() {
+        ShardMap otherNode = new ShardMap(SHARDS.get(0), SHARDS.size());
+        new ShardRebalancer(routing, otherNode, fence, List.of("holdings"), List.of(), List.of("holdings"),
+                List.of(), events::add)
+            .moveBucketOf(1L, 2);
+
+        assertThat(shardMap.shardOfUser(1L)).isEqualTo(1);
+        assertThatThrownBy(() -> mapper.insert(holding(1L, "BTC")))
+            .hasRootCauseInstanceOf(IllegalStateException.class)
+            .hasStackTraceContaining("no longer on shard 1");
+        assertThat(ids(1)).isEmpty();
+
+        shardMap.refresh();
+        mapper.insert(holding(1L, "BTC"));
+        assertThat(ids(2)).hasSize(1);
+    }
+
+    /**
+     * 버킷을 정할 수 없는 쓰기(범위 지정, 고정 샤드) 도 그 샤드에서 버킷을 옮기는 동안에는 거부된다
+     */
+    @Test
+    void fencesScopedAndPinnedWritesWhileMoving() {
+        ShardRouter router = new ShardRouter(SHARDS.size());
+        mapper.insert(holding(4L, "BTC"));
+        fence.close(1, 1);
+
+        assertThatThrownBy(() -> router.onShard(1, () -> mapper.deleteBySymbol("BTC")))
+            .hasRootCauseInstanceOf(IllegalStateException.class)
+            .hasStackTraceContaining("being moved");
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            mapper.countByUserId(4L);
+            mapper.deleteBySymbol("BTC");
+        }))
+            .hasRootCauseInstanceOf(IllegalStateException.class);
+        assertThat(router.onShard(2, () -> mapper.deleteBySymbol("BTC"))).isZero();
+        assertThat(ids(1)).hasSize(1);
+
+        fence.reopen(1, 1);
+        assertThat(router.onShard(1, () -> mapper.deleteBySymbol("BTC"))).isEqualTo(1);
+    }
+
+    @Test
+    void generatesMonotonicIdsCarryingBucket() {
+        Clock clock = Clock.fixed(Instant.parse("2025-07-01T00:00:00Z"), ZoneOffset.UTC);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, clock);
+        Set<Long> seen = new HashSet<>();
+        long previous = 0;
+
+        for (int i = 0; i < 600; i++) {
+            long id = generator.nextId(5);
+            assertThat(id).isGreaterThan(previous);
+            assertThat(SnowflakeIdGenerator.bucketOfId(id)).isEqualTo(5);
+            seen.add(id);
+            previous = id;
+        }
+
+        assertThat(seen).hasSize(600);
+        assertThat(SnowflakeIdGenerator.bucketOfId(generator.nextId(1025L))).isEqualTo(1);
+        assertThat(new SnowflakeIdGenerator(4, clock).nextId(5))
+            .isNotEqualTo(new SnowflakeIdGenerator(3, clock).nextId(5));
+        assertThat(SnowflakeIdGenerator.bucketOfId(12_345L)).isEqualTo(-1);
+    }
+
+    private List<Long> ids(int shard) {
+        return new JdbcTemplate(SHARDS.get(shard)).queryForList("SELECT id FROM holdings", Long.class);
+    }
+
+    private static Holding holding(Long userId, String symbol) {
+        Holding holding = new Holding();
+        holding.setUserId(userId);
+        holding.setSymbol(symbol);
+        return holding;
+    }
+
+    private static DataSource node(int shard) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:shard-" + shard + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbc.execute("CREATE TABLE IF NOT EXISTS holdings (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, "
+                + "symbol VARCHAR(20))");
+        jdbc.execute("CREATE TABLE IF NOT EXISTS api_keys (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "user_id BIGINT NOT NULL, exchange_type VARCHAR(20))");
+        jdbc.execute("CREATE TABLE IF NOT EXISTS shard_buckets (bucket INT PRIMARY KEY, shard_id INT NOT NULL, "
+                + "status VARCHAR(10) NOT NULL)");
+        jdbc.execute("CREATE TABLE IF NOT EXISTS shard_bucket_fences (bucket INT PRIMARY KEY, "
+                + "status VARCHAR(10) NOT NULL)");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", "shard-" + shard);
+        return dataSource;
+    }
+
+    @UserSharded
+    public interface HoldingMapper {
+
+        @AssignId
+        @Insert("INSERT INTO holdings (id, user_id, symbol) VALUES (#{id}, #{userId}, #{symbol})")
+        void insert(Holding holding);
+
+        @AssignId
+        @Insert("<script>INSERT INTO holdings (id, user_id, symbol) VALUES "
+                + "<foreach collection='holdings' item='h' separator=','>(#{h.id}, #{h.userId}, #{h.symbol})</foreach>"
+                + "</script>")
+        int insertBatch(@Param("holdings") List<Holding> holdings);
+
+        @Select("SELECT * FROM holdings WHERE id = #{id}")
+        Holding findById(Long id);
+
+        @Delete("DELETE FROM holdings WHERE symbol = #{symbol}")
+        int deleteBySymbol(String symbol);
+
+        @Select("SELECT COUNT(*) FROM holdings WHERE user_id = #{userId}")
+        int countByUserId(Long userId);
+
+        @Select("SELECT name FROM node")
+        String shardName();
+    }
+
+    public interface GlobalMapper {
+
+        @Select("SELECT name FROM node")
+        String shardName();
+    }
+
+    public static class Holding {
+        private Long id;
+        private Long userId;
+        private String symbol;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public void setSymbol(String symbol) {
+            this.symbol = symbol;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.assetmanager.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ScaledDecimal 속성 테스트
+ * 무작위 입력에 대해 고정소수점 결과가 기존 BigDecimal 계산과 값/스케일까지 같은지 확인한다.
+ */
+class ScaledDecimalTest {
+
+    private static final int CASES = 20_000;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final Random random = new Random(20250701L);
+
+    @Test
+    void multiplyMatchesBigDecimalRoundedToEightPlaces() {
+        for (int i = 0; i < CASES; i++) {
+            BigDecimal a = randomDecimal(1_000_000L);
+            BigDecimal b = randomDecimal(10_000L);
+            BigDecimal expected = a.multiply(b).setScale(ScaledDecimal.SCALE, RoundingMode.HALF_UP);
+
+            long actual = ScaledDecimal.multiply(ScaledDecimal.of(a), ScaledDecimal.of(b));
+
+            assertThat(ScaledDecimal.toBigDecimal(actual)).as("%s * %s", a, b).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void divideMatchesBigDecimalHalfUp() {
+        for (int i = 0; i < CASES; i++) {
+            BigDecimal a = randomDecimal(10_000_000_000L);
+            BigDecimal b = atLeastOne(randomDecimal(1_000_000L));
+            BigDecimal expected = a.divide(b, ScaledDecimal.SCALE, RoundingMode.HALF_UP);
+
+            long actual = ScaledDecimal.divide(ScaledDecimal.of(a), ScaledDecimal.of(b));
+
+            assertThat(ScaledDecimal.toBigDecimal(actual)).as("%s / %s", a, b).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void percentHelpersMatchOriginalExpressions() {
+        for (int i = 0; i < CASES; i++) {
+            BigDecimal numerator = randomDecimal(10_000_000_000L);
+            BigDecimal denominator = nonZero(randomDecimal(10_000_000_000L));
+            BigDecimal value = randomDecimal(10_000_000_000L);
+            BigDecimal low = randomDecimal(10_000_000_000L);
+
+            assertThat(ScaledDecimal.percent(numerator, denominator))
+                .isEqualTo(numerator.divide(denominator, 8, RoundingMode.HALF_UP).multiply(HUNDRED));
+            assertThat(ScaledDecimal.percentChange(denominator, value))
+                .isEqualTo(value.subtract(denominator).divide(denominator, 8, RoundingMode.HALF_UP).multiply(HUNDRED));
+            assertThat(ScaledDecimal.percentRange(value, low, denominator))
+                .isEqualTo(value.subtract(low).divide(denominator, 8, RoundingMode.HALF_UP).multiply(HUNDRED));
+        }
+    }
+
+    @Test
+    void assetProfitRateMatchesOriginalFormula() {
+        for (int i = 0; i < CASES; i++) {
+            BigDecimal quantity = nonZero(randomDecimal(1_000L).abs());
+            BigDecimal averagePrice = nonZero(randomDecimal(100_000_000L).abs());
+            BigDecimal currentPrice = randomDecimal(100_000_000L).abs();
+            Asset asset = Asset.builder().quantity(quantity).averagePrice(averagePrice).build();
+
+            BigDecimal investment = quantity.multiply(averagePrice);
+            BigDecimal expected = currentPrice.multiply(quantity).subtract(investment)
+                .divide(investment, 8, RoundingMode.HALF_UP)
+                .multiply(HUNDRED);
+
+            assertThat(asset.getProfitRate(currentPrice)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void roundsHalfAwayFromZero() {
+        assertThat(ScaledDecimal.divide(ScaledDecimal.of(new BigDecimal("1")), ScaledDecimal.of(new BigDecimal("200000000"))))
+            .isEqualTo(1L);
+        assertThat(ScaledDecimal.divide(ScaledDecimal.of(new BigDecimal("-1")), ScaledDecimal.of(new BigDecimal("200000000"))))
+            .isEqualTo(-1L);
+        assertThat(ScaledDecimal.multiply(ScaledDecimal.of(new BigDecimal("0.00000001")), ScaledDecimal.of(new BigDecimal("0.5"))))
+            .isEqualTo(1L);
+    }
+
+    @Test
+    void fallsBackToBigDecimalOutsideLongRange() {
+        BigDecimal huge = new BigDecimal("123456789012345678901.5");
+        BigDecimal precise = new BigDecimal("1.123456789");
+
+        assertThatThrownBy(() -> ScaledDecimal.of(huge)).isInstanceOf(ArithmeticException.class);
+        assertThat(ScaledDecimal.percent(huge, precise))
+            .isEqualTo(huge.divide(precise, 8, RoundingMode.HALF_UP).multiply(HUNDRED));
+    }
+
+    /**
+     * 정수부 크기 bound 이하, 소수점 0~8자리, 부호 무작위 값
+     */
+    private BigDecimal randomDecimal(long bound) {
+        int scale = random.nextInt(ScaledDecimal.SCALE + 1);
+        long integral = (long) (random.nextDouble() * bound);
+        long fraction = scale == 0 ? 0 : (long) (random.nextDouble() * Math.pow(10, scale));
+        BigDecimal value = BigDecimal.valueOf(integral).add(BigDecimal.valueOf(fraction, scale));
+        return random.nextBoolean() ? value : value.negate();
+    }
+
+    private static BigDecimal atLeastOne(BigDecimal value) {
+        if (value.abs().compareTo(BigDecimal.ONE) >= 0) {
+            return value;
+        }
+        return value.signum() < 0 ? value.subtract(BigDecimal.ONE) : value.add(BigDecimal.ONE);
+    }
+
+    private static BigDecimal nonZero(BigDecimal value) {
+        return value.signum() == 0 ? BigDecimal.ONE : value;
+    }
+}
@@ -0,0 +1,265 @@
+package com.assetmanager.service.asset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.domain.TransactionType;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.service.portfolio.PortfolioAggregateService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * PositionLedger 동시성 테스트
+ * 여러 노드(원장 인스턴스)가 같은 자산에 동시에 체결을 반영해도, 최종 상태가 실제 반영 순서대로
+ * 하나씩 다시 계산한 결과와 같은지 확인한다.
+ */
+class PositionLedgerTest {
+
+    private static final long ASSET_ID = 10L;
+    private static final long USER_ID = 1L;
+
+    private AssetRow row;
+    private AssetMapper assetMapper;
+
+    @BeforeEach
+    void setUp() {
+        row = new AssetRow(Asset.builder()
+            .id(ASSET_ID)
+            .userId(USER_ID)
+            .symbol("BTC")
+            .exchange("UPBIT")
+            .quantity(new BigDecimal("100"))
+            .averagePrice(new BigDecimal("50000"))
+            .isActive(true)
+            .version(0L)
+            .build());
+
+        assetMapper = mock(AssetMapper.class);
+        when(assetMapper.findById(ASSET_ID)).thenAnswer(invocation -> Optional.of(row.read()));
+        when(assetMapper.findByIdForUpdate(ASSET_ID)).thenAnswer(invocation -> Optional.of(row.readForUpdate()));
+        when(assetMapper.updatePosition(any(), anyLong())).thenAnswer(invocation ->
+                row.compareAndSet(invocation.getArgument(0), invocation.getArgument(1)));
+    }
+
+    @Test
+    void concurrentFillsMatchSequentialReplay() throws Exception {
+        List<PositionLedger> nodes = List.of(newLedger(), newLedger());
+        int fills = 4_000;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<PositionChange>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < fills; i++) {
+                PositionLedger node = nodes.get(i % nodes.size());
+                Transaction fill = i % 4 == 3
+                    ? fill(TransactionType.SELL, "0.01", "0")
+                    : fill(TransactionType.BUY, "0.02", String.valueOf(40_000 + i % 500));
+                results.add(executor.submit(() -> {
+                    start.await();
+                    AssetRow.IN_FLIGHT.set(fill);
+                    return node.applyFills(USER_ID, ASSET_ID, List.of(fill));
+                }));
+            }
+            start.countDown();
+            for (Future<PositionChange> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Asset replayed = row.initial().toBuilder().build();
+        for (Transaction fill : row.applied()) {
+            if (fill.isBuyTransaction()) {
+                replayed.addPurchase(fill.getQuantity(), fill.getPrice());
+            } else {
+                replayed.sell(fill.getQuantity());
+            }
+        }
+
+        Asset actual = row.read();
+        assertThat(row.applied()).hasSize(fills);
+        assertThat(actual.getVersion()).isEqualTo(fills);
+        assertThat(actual.getQuantity()).isEqualByComparingTo(replayed.getQuantity());
+        assertThat(actual.getQuantity()).isEqualByComparingTo("150");
+        assertThat(actual.getAveragePrice()).isEqualByComparingTo(replayed.getAveragePrice());
+    }
+
+    /**
+     * 자산 ID 순서와 스트라이프 순서가 엇갈리는 두 트랜잭션이 서로 반대 순서로 잠가도 멈추지 않는다
+     */
+    @Test
+    void lockAllDoesNotDeadlockOnOppositeOrder() throws Exception {
+        PositionLedger ledger = newLedger();
+        List<Long> assetIds = new ArrayList<>();
+        for (long id = 1; assetIds.size() < 8; id++) {
+            assetIds.add(id);
+        }
+        List<Long> reversed = new ArrayList<>(assetIds);
+        Collections.reverse(reversed);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (List<Long> order : List.of(assetIds, reversed)) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        TransactionSynchronizationManager.initSynchronization();
+                        try {
+                            ledger.lockAll(order);
+                        } finally {
+                            complete();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsOverwriteBasedOnStaleVersion() {
+        PositionLedger ledger = newLedger();
+        AssetRow.IN_FLIGHT.set(fill(TransactionType.BUY, "1", "60000"));
+        ledger.applyFills(USER_ID, ASSET_ID, List.of(AssetRow.IN_FLIGHT.get()));
+
+        Asset stale = row.initial().toBuilder().quantity(new BigDecimal("5")).build();
+
+        assertThatThrownBy(() -> ledger.overwrite(stale)).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(row.read().getQuantity()).isEqualByComparingTo("101");
+    }
+
+    /**
+     * 나누어떨어지지 않는 평균 매수가도 컬럼 자릿수(소수 둘째 자리)로 반올림한 값을 저장하고 집계 변화량에 넘긴다
+     * (야간 재계산의 ROUND(quantity * average_price, 2) 와 같은 값이어야 드리프트로 잡히지 않는다)
+     */
+    @Test
+    void storesAndReportsAveragePriceAtColumnScale() {
+        PortfolioAggregateService aggregateService = mock(PortfolioAggregateService.class);
+        PositionLedger ledger = new PositionLedger(assetMapper, aggregateService, new SimpleMeterRegistry());
+        AssetRow.IN_FLIGHT.set(fill(TransactionType.BUY, "2", "1"));
+
+        PositionChange change = ledger.applyFills(USER_ID, ASSET_ID, List.of(AssetRow.IN_FLIGHT.get()));
+
+        // (100 × 50000 + 2 × 1) / 102 = 49019.6274...
+        assertThat(change.after().getAveragePrice()).isEqualTo(new BigDecimal("49019.63"));
+        assertThat(row.read().getAveragePrice()).isEqualTo(new BigDecimal("49019.63"));
+        verify(aggregateService).onAssetUpdated(any(), eq(change.after()));
+
+        Asset edited = row.read().toBuilder().averagePrice(new BigDecimal("100.125")).build();
+        assertThat(ledger.overwrite(edited).after().getAveragePrice()).isEqualTo(new BigDecimal("100.13"));
+    }
+
+    /**
+     * 트랜잭션 종료를 흉내 내 afterCompletion 콜백을 실행한다
+     */
+    private static void complete() {
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private PositionLedger newLedger() {
+        return new PositionLedger(assetMapper, mock(PortfolioAggregateService.class), new SimpleMeterRegistry());
+    }
+
+    private static Transaction fill(TransactionType type, String quantity, String price) {
+        return Transaction.builder()
+            .userId(USER_ID)
+            .assetId(ASSET_ID)
+            .transactionType(type)
+            .quantity(new BigDecimal(quantity))
+            .price(new BigDecimal(price))
+            .build();
+    }
+
+    /**
+     * version 조건부 UPDATE 를 흉내 내는 자산 행
+     * 잠금 조회(FOR UPDATE)는 행 잠금을 잡고, 트랜잭션이 없으므로 같은 스레드의 다음 UPDATE 에서 커밋된 것으로 보고 푼다.
+     * 다른 스레드의 UPDATE 는 그동안 기다리므로 잠금 조회 뒤의 재시도는 다시 충돌하지 않는다.
+     * 반영된 체결을 반영 순서대로 기록한다.
+     */
+    private static class AssetRow {
+
+        /** 현재 스레드가 반영 중인 체결 */
+        static final ThreadLocal<Transaction> IN_FLIGHT = new ThreadLocal<>();
+
+        private final Asset initial;
+        private final List<Transaction> applied = Collections.synchronizedList(new ArrayList<>());
+        private final ReentrantLock rowLock = new ReentrantLock();
+        private Asset current;
+
+        AssetRow(Asset initial) {
+            this.initial = initial;
+            this.current = initial;
+        }
+
+        synchronized Asset read() {
+            return current.toBuilder().build();
+        }
+
+        Asset readForUpdate() {
+            rowLock.lock();
+            return read();
+        }
+
+        int compareAndSet(Asset next, long expectedVersion) {
+            rowLock.lock();
+            try {
+                synchronized (this) {
+                    if (current.getVersion() != expectedVersion) {
+                        return 0;
+                    }
+                    applied.add(IN_FLIGHT.get());
+                    current = next.toBuilder().version(expectedVersion + 1).build();
+                    return 1;
+                }
+            } finally {
+                while (rowLock.isHeldByCurrentThread()) {
+                    rowLock.unlock();
+                }
+            }
+        }
+
+        Asset initial() {
+            return initial;
+        }
+
+        List<Transaction> applied() {
+            return applied;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.assetmanager.service.asset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.domain.TransactionType;
+import com.assetmanager.dto.ReplayedPosition;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.mapper.TransactionMapper;
+
+/**
+ * PositionReplayEngine 단위 테스트
+ * 한 번의 순회로 자산별 수량, 평균 매수가, 실현 손익이 Asset 의 매수/매도 로직과 같게 나오는지 확인한다.
+ */
+class PositionReplayEngineTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private TransactionMapper transactionMapper;
+    private AssetMapper assetMapper;
+    private PositionLedger ledger;
+    private PositionReplayEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        transactionMapper = mock(TransactionMapper.class);
+        assetMapper = mock(AssetMapper.class);
+        ledger = mock(PositionLedger.class);
+        engine = new PositionReplayEngine(transactionMapper, assetMapper, ledger);
+    }
+
+    @Test
+    void foldsEachAssetThroughPurchaseAndSellLogic() {
+        Map<Long, ReplayedPosition> positions = PositionReplayEngine.fold(List.of(
+                fill(1L, TransactionType.BUY, "2", "100", 0),
+                fill(1L, TransactionType.BUY, "2", "200", 1),
+                fill(1L, TransactionType.SELL, "1", "300", 2),
+                fill(2L, TransactionType.BUY, "10", "5", 0),
+                fill(2L, TransactionType.SELL, "10", "4", 1)).iterator());
+
+        ReplayedPosition first = positions.get(1L);
+        assertThat(first.getQuantity()).isEqualByComparingTo("3");
+        assertThat(first.getAveragePrice()).isEqualByComparingTo("150");
+        assertThat(first.getRealizedProfitLoss()).isEqualByComparingTo("150");
+        assertThat(first.getBuyCount()).isEqualTo(2);
+        assertThat(first.getSellCount()).isEqualTo(1);
+        assertThat(first.getLastTransactedAt()).isEqualTo(START.plusHours(2));
+
+        ReplayedPosition second = positions.get(2L);
+        assertThat(second.getQuantity()).isEqualByComparingTo("0");
+        assertThat(second.getRealizedProfitLoss()).isEqualByComparingTo("-10");
+        assertThat(second.getAnomalies()).isZero();
+    }
+
+    @Test
+    void clampsSellsBeyondHoldingAndCountsAnomaly() {
+        ReplayedPosition position = PositionReplayEngine.fold(List.of(
+                fill(1L, TransactionType.BUY, "1", "100", 0),
+                fill(1L, TransactionType.SELL, "3", "150", 1),
+                fill(1L, TransactionType.BUY, "1", "120", 2)).iterator()).get(1L);
+
+        assertThat(position.getQuantity()).isEqualByComparingTo("1");
+        assertThat(position.getAveragePrice()).isEqualByComparingTo("120");
+        assertThat(position.getRealizedProfitLoss()).isEqualByComparingTo("50");
+        assertThat(position.getAnomalies()).isEqualTo(1);
+    }
+
+    /**
+     * 저장 경로처럼 매수마다 평균 매수가를 소수 둘째 자리로 반올림해 이어 간다
+     * (1@10.00, 1@10.01 → 10.005 → 10.01, 2@10.00 → 40.02 / 4 = 10.005 → 10.01)
+     */
+    @Test
+    void roundsAveragePriceAfterEachFillLikeStoredRow() {
+        ReplayedPosition position = PositionReplayEngine.fold(List.of(
+                fill(1L, TransactionType.BUY, "1", "10.00", 0),
+                fill(1L, TransactionType.BUY, "1", "10.01", 1),
+                fill(1L, TransactionType.BUY, "2", "10.00", 2)).iterator()).get(1L);
+
+        assertThat(position.getAveragePrice()).isEqualByComparingTo("10.01");
+        assertThat(position.matches(asset(1L, "4", "10.01"))).isTrue();
+    }
+
+    /**
+     * 매수마다 반올림해 저장된 보유량은 거래 내역으로 설명되므로 과거 일자 체결이 들어오면 다시 계산한다
+     */
+    @Test
+    void rebuildTreatsPerFillRoundedHoldingAsExplained() {
+        Transaction backdated = fill(1L, TransactionType.BUY, "1", "10.00", 0, "new");
+        stubFills(List.of(backdated,
+                fill(1L, TransactionType.BUY, "1", "10.01", 1),
+                fill(1L, TransactionType.BUY, "2", "10.00", 2)));
+        when(assetMapper.findByIdForUpdate(1L)).thenReturn(Optional.of(asset(1L, "3", "10.00")));
+
+        RebuildResult result = engine.rebuild(7L, Map.of(1L, List.of(backdated)));
+
+        assertThat(result.unexplained()).isEmpty();
+        assertThat(result.rebuilt()).isEqualTo(1);
+        ArgumentCaptor<Asset> captor = ArgumentCaptor.forClass(Asset.class);
+        verify(ledger).overwrite(captor.capture());
+        assertThat(captor.getValue().getAveragePrice()).isEqualByComparingTo("10.01");
+    }
+
+    @Test
+    void rebuildRewritesOnlyDriftedAssets() {
+        Transaction backdated = fill(2L, TransactionType.BUY, "1", "10", 0, "new");
+        stubFills(List.of(
+                fill(1L, TransactionType.BUY, "2", "100", 0),
+                backdated,
+                fill(2L, TransactionType.BUY, "4", "10", 1)));
+
+        when(assetMapper.findByIdForUpdate(1L)).thenReturn(Optional.of(asset(1L, "2", "100")));
+        when(assetMapper.findByIdForUpdate(2L)).thenReturn(Optional.of(asset(2L, "4", "10")));
+
+        RebuildResult result = engine.rebuild(7L, Map.of(1L, List.of(), 2L, List.of(backdated)));
+
+        assertThat(result.rebuilt()).isEqualTo(1);
+        assertThat(result.unexplained()).isEmpty();
+        ArgumentCaptor<Asset> captor = ArgumentCaptor.forClass(Asset.class);
+        verify(ledger).overwrite(captor.capture());
+        assertThat(captor.getValue().getId()).isEqualTo(2L);
+        assertThat(captor.getValue().getQuantity()).isEqualByComparingTo("5");
+    }
+
+    /**
+     * 스트라이프와 행을 먼저 잠근 뒤에 거래 내역을 다시 읽는다 (읽은 뒤 다른 갱신이 끼어들면 그 갱신을 덮어쓴다)
+     */
+    @Test
+    void rebuildLocksAssetsBeforeReplaying() {
+        Transaction backdated = fill(2L, TransactionType.BUY, "1", "10", 0, "new");
+        stubFills(List.of(backdated, fill(2L, TransactionType.BUY, "4", "10", 1)));
+        when(assetMapper.findByIdForUpdate(2L)).thenReturn(Optional.of(asset(2L, "4", "10")));
+
+        engine.rebuild(7L, Map.of(2L, List.of(backdated)));
+
+        InOrder order = inOrder(ledger, assetMapper, transactionMapper);
+        order.verify(ledger).lockAll(List.of(2L));
+        order.verify(assetMapper).findByIdForUpdate(2L);
+        order.verify(transactionMapper, times(2)).streamPositionFillsByUserId(7L);
+        order.verify(ledger).overwrite(any());
+    }
+
+    /**
+     * 거래 내역 없이 직접 입력한 보유량은 과거 일자 체결이 들어와도 덮어쓰지 않고 이번 체결만 이어 반영한다
+     */
+    @Test
+    void rebuildKeepsHoldingNotExplainedByTransactions() {
+        Transaction backdated = fill(3L, TransactionType.BUY, "1", "50", 0, "new");
+        stubFills(List.of(backdated));
+        when(assetMapper.findByIdForUpdate(3L)).thenReturn(Optional.of(asset(3L, "11", "45")));
+
+        RebuildResult result = engine.rebuild(7L, Map.of(3L, List.of(backdated)));
+
+        assertThat(result.rebuilt()).isZero();
+        assertThat(result.unexplained()).containsExactly(3L);
+        verify(ledger, never()).overwrite(any());
+        verify(ledger).applyFills(7L, 3L, List.of(backdated));
+    }
+
+    /**
+     * 거래 내역을 조회할 때마다 새 커서를 돌려준다 (rebuild 는 전체/이번 체결 제외로 두 번 읽는다)
+     */
+    @SuppressWarnings("unchecked")
+    private void stubFills(List<Transaction> fills) {
+        when(transactionMapper.streamPositionFillsByUserId(7L)).thenAnswer(invocation -> {
+            Cursor<Transaction> cursor = mock(Cursor.class);
+            when(cursor.iterator()).thenReturn(fills.iterator());
+            return cursor;
+        });
+    }
+
+    private static Transaction fill(Long assetId, TransactionType type, String quantity, String price, int hour) {
+        return fill(assetId, type, quantity, price, hour, "e" + assetId + "-" + hour);
+    }
+
+    private static Transaction fill(Long assetId, TransactionType type, String quantity, String price, int hour,
+                                    String externalId) {
+        return Transaction.builder()
+            .externalId(externalId)
+            .assetId(assetId)
+            .transactionType(type)
+            .quantity(new BigDecimal(quantity))
+            .price(new BigDecimal(price))
+            .transactedAt(START.plusHours(hour))
+            .build();
+    }
+
+    private static Asset asset(Long id, String quantity, String averagePrice) {
+        return Asset.builder()
+            .id(id)
+            .userId(7L)
+            .quantity(new BigDecimal(quantity))
+            .averagePrice(new BigDecimal(averagePrice))
+            .isActive(true)
+            .version(3L)
+            .build();
+    }
+}
@@ -0,0 +1,215 @@
+package com.assetmanager.service.exchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.assetmanager.config.shard.SnowflakeIdGenerator;
+import com.assetmanager.domain.ApiKey;
+import com.assetmanager.domain.Exchange;
+import com.assetmanager.dto.ApiKeyUsage;
+import com.assetmanager.mapper.ApiKeyMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * ApiKeyService 단위 테스트
+ * 복호화 결과를 TTL 동안 재사용하고, 빠진 평문은 지우며, 사용 시간은 모아서 한 번에 쓰는지 확인한다.
+ */
+class ApiKeyServiceTest {
+
+    private static final String ENCRYPTION_KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private ApiKeyMapper apiKeyMapper;
+    private ApiKeyCipher cipher;
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private ApiKeyService service;
+
+    @BeforeEach
+    void setUp() {
+        apiKeyMapper = mock(ApiKeyMapper.class);
+        cipher = new ApiKeyCipher(ENCRYPTION_KEY);
+        clock = new MutableClock();
+        meterRegistry = new SimpleMeterRegistry();
+
+        ApiKeyProperties properties = new ApiKeyProperties();
+        properties.setCacheTtl(Duration.ofMinutes(1));
+        properties.setCacheMaxEntries(2);
+        service = new ApiKeyService(apiKeyMapper, cipher, properties, meterRegistry, clock);
+
+        stubKey(1L, 10L, "access-1", "secret-1");
+        stubKey(2L, 20L, "access-2", "secret-2");
+        stubKey(3L, 30L, "access-3", "secret-3");
+    }
+
+    @Test
+    void cipherRoundTripsAndRejectsTampering() {
+        String encrypted = cipher.encrypt("secret".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(new String(cipher.decrypt(encrypted), StandardCharsets.UTF_8)).isEqualTo("secret");
+        assertThat(cipher.encrypt("secret".getBytes(StandardCharsets.UTF_8))).isNotEqualTo(encrypted);
+
+        byte[] tampered = Base64.getDecoder().decode(encrypted);
+        tampered[tampered.length - 1] ^= 1;
+        assertThatThrownBy(() -> cipher.decrypt(Base64.getEncoder().encodeToString(tampered)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * TTL 동안은 DB 조회·복호화 없이 재사용하고, 지나면 이전 평문을 지우고 다시 읽는다
+     */
+    @Test
+    void reusesDecryptedKeyUntilTtlThenWipesIt() {
+        ApiCredentials first = service.withCredentials(1L, Exchange.UPBIT, credentials -> {
+            assertThat(credentials.accessKey()).isEqualTo("access-1");
+            assertThat(new String(credentials.secretKey(), StandardCharsets.UTF_8)).isEqualTo("secret-1");
+            return credentials;
+        });
+        service.withCredentials(1L, Exchange.UPBIT, ApiCredentials::accessKey);
+
+        verify(apiKeyMapper, times(1)).findActiveByUserIdAndExchange(1L, Exchange.UPBIT);
+        assertThat(cacheCount("hit")).isEqualTo(1.0);
+
+        clock.advance(Duration.ofMinutes(2));
+        service.evictExpired();
+
+        assertThat(first.isDestroyed()).isTrue();
+        assertThatThrownBy(first::secretKey).isInstanceOf(IllegalStateException.class);
+        assertThat(service.withCredentials(1L, Exchange.UPBIT, ApiCredentials::accessKey)).isEqualTo("access-1");
+        verify(apiKeyMapper, times(2)).findActiveByUserIdAndExchange(1L, Exchange.UPBIT);
+    }
+
+    /**
+     * 사용 중에 캐시에서 빠진 키는 호출이 끝난 뒤에 지운다
+     */
+    @Test
+    void keepsLeasedKeyAliveUntilCallReturns() {
+        ApiCredentials leased = service.withCredentials(1L, Exchange.UPBIT, credentials -> {
+            service.invalidate(1L, Exchange.UPBIT);
+            assertThat(credentials.isDestroyed()).isFalse();
+            assertThat(credentials.accessKey()).isEqualTo("access-1");
+            return credentials;
+        });
+
+        assertThat(leased.isDestroyed()).isTrue();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxEntries() {
+        ApiCredentials first = service.withCredentials(1L, Exchange.UPBIT, credentials -> credentials);
+        service.withCredentials(2L, Exchange.UPBIT, ApiCredentials::accessKey);
+        service.withCredentials(3L, Exchange.UPBIT, ApiCredentials::accessKey);
+
+        assertThat(first.isDestroyed()).isTrue();
+        assertThat(meterRegistry.get("api.keys.cache.size").gauge().value()).isEqualTo(2.0);
+    }
+
+    /**
+     * 여러 번 쓰인 키도 주기마다 한 번만, 같은 버킷의 키는 한 문장으로 기록한다
+     * 버킷이 다른 사용자의 키는 샤드가 다를 수 있으므로 문장을 나눈다.
+     */
+    @Test
+    void batchesLastUsedWritesPerKeyWithinOwnerBucket() {
+        long sameBucket = 1L + SnowflakeIdGenerator.BUCKETS;
+        stubKey(sameBucket, 30L, "access-3", "secret-3");
+        for (int i = 0; i < 5; i++) {
+            service.withCredentials(1L, Exchange.UPBIT, ApiCredentials::accessKey);
+            clock.advance(Duration.ofSeconds(1));
+        }
+        service.withCredentials(sameBucket, Exchange.UPBIT, ApiCredentials::accessKey);
+        service.withCredentials(2L, Exchange.UPBIT, ApiCredentials::accessKey);
+
+        assertThat(service.flushLastUsed()).isEqualTo(3);
+        assertThat(service.flushLastUsed()).isZero();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ApiKeyUsage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(apiKeyMapper, times(2)).updateLastUsedAt(captor.capture());
+        List<ApiKeyUsage> bucketOne = captor.getAllValues().get(0);
+        assertThat(bucketOne).extracting(ApiKeyUsage::getId).containsExactly(10L, 30L);
+        assertThat(bucketOne).extracting(ApiKeyUsage::getUserId).containsExactly(1L, sameBucket);
+        assertThat(bucketOne.get(0).getUsedAt()).isEqualTo(LocalDateTime.of(2025, 7, 1, 0, 0, 4));
+        assertThat(captor.getAllValues().get(1)).extracting(ApiKeyUsage::getId).containsExactly(20L);
+    }
+
+    @Test
+    void keepsLastUsedForNextFlushWhenWriteFails() {
+        service.withCredentials(1L, Exchange.UPBIT, ApiCredentials::accessKey);
+        doThrow(new IllegalStateException("db down")).when(apiKeyMapper).updateLastUsedAt(anyList());
+
+        assertThat(service.flushLastUsed()).isZero();
+        assertThat(service.flushLastUsed()).isZero();
+        verify(apiKeyMapper, times(2)).updateLastUsedAt(anyList());
+    }
+
+    @Test
+    void rejectsMissingKeyWithoutRecordingUse() {
+        when(apiKeyMapper.findActiveByUserIdAndExchange(99L, Exchange.UPBIT)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.withCredentials(99L, Exchange.UPBIT, ApiCredentials::accessKey))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.flushLastUsed()).isZero();
+        verify(apiKeyMapper, never()).updateLastUsedAt(anyList());
+    }
+
+    private void stubKey(Long userId, Long apiKeyId, String accessKey, String secretKey) {
+        ApiKey apiKey = ApiKey.builder()
+            .id(apiKeyId)
+            .userId(userId)
+            .exchangeName("내 업비트")
+            .accessKey(cipher.encrypt(accessKey.getBytes(StandardCharsets.UTF_8)))
+            .secretKey(cipher.encrypt(secretKey.getBytes(StandardCharsets.UTF_8)))
+            .isActive(true)
+            .build();
+        when(apiKeyMapper.findActiveByUserIdAndExchange(userId, Exchange.UPBIT)).thenReturn(Optional.of(apiKey));
+    }
+
+    private double cacheCount(String result) {
+        return meterRegistry.get("api.keys.cache").tag("result", result).counter().count();
+    }
+
+    static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-07-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.assetmanager.service.portfolio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.dto.DashboardView;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.mapper.TransactionMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * DashboardService 단위 테스트
+ * 같은 세대의 문서는 DB 없이 내주고, 세대가 바뀐 문서는 다시 만드는지 확인한다.
+ */
+class DashboardServiceTest {
+
+    private AssetMapper assetMapper;
+    private TransactionMapper transactionMapper;
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOps;
+    private SimpleMeterRegistry meterRegistry;
+    private ObjectMapper objectMapper;
+    private DashboardService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        assetMapper = mock(AssetMapper.class);
+        transactionMapper = mock(TransactionMapper.class);
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOps = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        meterRegistry = new SimpleMeterRegistry();
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+        when(assetMapper.findActiveAssetsByUserId(1L)).thenReturn(List.of(
+                asset(10L, "1", "100"), asset(11L, "2", "300"), asset(12L, "1", "50")));
+        when(transactionMapper.findRecentTransactionsByUserId(1L, 10)).thenReturn(List.of());
+
+        service = new DashboardService(assetMapper, transactionMapper, redisTemplate, objectMapper,
+                new DashboardProperties(), meterRegistry,
+                Clock.fixed(Instant.parse("2025-07-01T00:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    void buildsOnMissAndServesStoredDocumentWithoutQueries() throws Exception {
+        when(valueOps.multiGet(anyList())).thenReturn(Arrays.asList(null, "3"));
+
+        DashboardView built = service.getDashboard(1L);
+
+        assertThat(built.getTotalInvestment()).isEqualByComparingTo("750");
+        assertThat(built.getActiveAssetCount()).isEqualTo(3);
+        assertThat(built.getTopAssets()).extracting(Asset::getId).containsExactly(11L, 10L, 12L);
+        ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+        verify(valueOps).set(eq("dashboard:view:1"), stored.capture(), any());
+
+        when(valueOps.multiGet(anyList())).thenReturn(Arrays.asList(stored.getValue(), "3"));
+        DashboardView cached = service.getDashboard(1L);
+
+        assertThat(cached.getGeneration()).isEqualTo(3);
+        assertThat(cached.getTotalInvestment()).isEqualByComparingTo("750");
+        verify(assetMapper, times(1)).findActiveAssetsByUserId(1L);
+        assertThat(cacheCount("hit")).isEqualTo(1);
+        assertThat(cacheCount("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void rebuildsDocumentFromOlderGeneration() throws Exception {
+        String stale = objectMapper.writeValueAsString(service.build(1L, 2));
+        when(valueOps.multiGet(anyList())).thenReturn(Arrays.asList(stale, "3"));
+
+        assertThat(service.getDashboard(1L).getGeneration()).isEqualTo(3);
+        assertThat(cacheCount("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void fallsBackToQueriesWhenRedisIsDown() {
+        when(valueOps.multiGet(anyList())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(service.getDashboard(1L).getActiveAssetCount()).isEqualTo(3);
+        verify(valueOps, never()).set(anyString(), anyString(), any());
+        verify(transactionMapper).findRecentTransactionsByUserId(1L, 10);
+        assertThat(cacheCount("error")).isEqualTo(1);
+    }
+
+    @Test
+    void invalidationKeepsGenerationKeyLongerThanDocument() {
+        service.invalidate(1L);
+
+        verify(valueOps).increment("dashboard:gen:1");
+        verify(redisTemplate).expire("dashboard:gen:1", Duration.ofHours(1));
+        verify(redisTemplate).delete("dashboard:view:1");
+    }
+
+    @Test
+    void rejectsGenerationTtlNotLongerThanDocumentTtl() {
+        DashboardProperties properties = new DashboardProperties();
+        properties.setGenerationTtl(properties.getTtl());
+
+        assertThatThrownBy(() -> new DashboardService(assetMapper, transactionMapper, redisTemplate, objectMapper,
+                properties, meterRegistry, Clock.systemUTC()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private double cacheCount(String result) {
+        return meterRegistry.get("portfolio.dashboard.cache").tag("result", result).counter().count();
+    }
+
+    private static Asset asset(Long id, String quantity, String averagePrice) {
+        return Asset.builder()
+            .id(id)
+            .userId(1L)
+            .symbol("S" + id)
+            .quantity(new BigDecimal(quantity))
+            .averagePrice(new BigDecimal(averagePrice))
+            .isActive(true)
+            .build();
+    }
+}
@@ -0,0 +1,233 @@
+package com.assetmanager.service.portfolio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import com.assetmanager.domain.PortfolioSnapshot;
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.domain.TransactionType;
+import com.assetmanager.dto.PerformanceReport;
+import com.assetmanager.mapper.PortfolioSnapshotMapper;
+import com.assetmanager.mapper.TransactionMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * PerformanceService / ReturnIndex 단위 테스트
+ * 외부 흐름이 수익률에서 빠지는지, 누적 지수로 구한 구간 수익률이 구간별 수익률을 이어 곱한 값과 같은지 확인한다.
+ */
+class PerformanceServiceTest {
+
+    private static final LocalDate DAY_0 = LocalDate.of(2025, 6, 1);
+
+    private PortfolioSnapshotMapper snapshotMapper;
+    private TransactionMapper transactionMapper;
+    private MutableClock clock;
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOps;
+    private PerformanceService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        snapshotMapper = mock(PortfolioSnapshotMapper.class);
+        transactionMapper = mock(TransactionMapper.class);
+        clock = new MutableClock();
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOps = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        service = new PerformanceService(snapshotMapper, transactionMapper, new PerformanceProperties(),
+                redisTemplate, new SimpleMeterRegistry(), clock);
+    }
+
+    @Test
+    void chainsDailyReturnsThroughPrefixProducts() {
+        ReturnIndex index = ReturnIndex.build(snapshots("100", "110", "99"), List.of());
+
+        assertThat(index.timeWeighted(0, 1)).isCloseTo(0.10, within(1e-12));
+        assertThat(index.timeWeighted(1, 2)).isCloseTo(-0.10, within(1e-12));
+        assertThat(index.timeWeighted(0, 2))
+            .isCloseTo((1 + index.timeWeighted(0, 1)) * (1 + index.timeWeighted(1, 2)) - 1, within(1e-12));
+        assertThat(index.timeWeighted(2, 2)).isZero();
+    }
+
+    /**
+     * 입금/매수로 늘어난 평가액은 수익이 아니며, 매수 수수료는 손실로 잡힌다
+     */
+    @Test
+    void excludesExternalFlowsFromReturn() {
+        ReturnIndex deposit = ReturnIndex.build(snapshots("100", "300"),
+                List.of(transaction(TransactionType.DEPOSIT, "200", null, DAY_0.plusDays(1).atStartOfDay())));
+        ReturnIndex buy = ReturnIndex.build(snapshots("100", "200"),
+                List.of(transaction(TransactionType.BUY, "100", "1", DAY_0.plusDays(1).atTime(12, 0))));
+
+        assertThat(deposit.timeWeighted(0, 1)).isCloseTo(0, within(1e-12));
+        assertThat(deposit.netFlow(0, 1)).isEqualTo(200);
+        assertThat(buy.timeWeighted(0, 1)).isNegative().isGreaterThan(-0.01);
+    }
+
+    /**
+     * 전액 손실 구간을 지나는 구간은 -100%, 그 뒤에 새로 넣은 자금의 수익률은 따로 계산된다
+     */
+    @Test
+    void handlesWipeoutAndRestart() {
+        ReturnIndex index = ReturnIndex.build(snapshots("100", "0", "55"),
+                List.of(transaction(TransactionType.DEPOSIT, "50", null, DAY_0.plusDays(2).atStartOfDay())));
+
+        assertThat(index.timeWeighted(0, 2)).isEqualTo(-1);
+        assertThat(index.timeWeighted(1, 2)).isCloseTo(0.10, within(1e-12));
+    }
+
+    /**
+     * 스냅샷 D 는 D 의 종가(D+1 0시) 기준이므로 D 한낮의 매수는 D 로 끝나는 구간의 흐름이다 (가격 변동 없으면 0%)
+     */
+    @Test
+    void assignsSnapshotDayTradesToPeriodEndingThatDay() {
+        when(snapshotMapper.findByUserIdAndDateRange(eq(1L), any(), any()))
+            .thenReturn(snapshots("1000", "2000", "2000"));
+        when(transactionMapper.findByUserIdAndDateRange(eq(1L), any(), any()))
+            .thenReturn(List.of(transaction(TransactionType.BUY, "1000", null, DAY_0.plusDays(1).atTime(12, 0))));
+
+        PerformanceReport report = service.getPerformance(1L, DAY_0, DAY_0.plusDays(2)).orElseThrow();
+
+        assertThat(report.getTimeWeightedReturn()).isEqualByComparingTo("0");
+        assertThat(report.getNetFlow()).isEqualByComparingTo("1000");
+        verify(transactionMapper).findByUserIdAndDateRange(1L, DAY_0.plusDays(1).atStartOfDay(),
+                DAY_0.plusDays(3).atStartOfDay());
+    }
+
+    @Test
+    void solvesMoneyWeightedReturn() {
+        List<PortfolioSnapshot> yearApart = List.of(
+            snapshot(LocalDate.of(2024, 7, 1), "100"),
+            snapshot(LocalDate.of(2025, 7, 1), "110"));
+
+        assertThat(ReturnIndex.build(yearApart, List.of()).moneyWeighted(0, 1)).isCloseTo(0.10, within(1e-9));
+        assertThat(IrrSolver.solve(new double[] {-1, 100}, new double[] {0, 1})).isCloseTo(99, within(1e-6));
+        assertThat(IrrSolver.solve(new double[] {-100, 60, 60}, new double[] {0, 1, 2}))
+            .isCloseTo(0.130662, within(1e-6));
+        assertThat(IrrSolver.solve(new double[] {10, 20}, new double[] {0, 1})).isNaN();
+    }
+
+    @Test
+    void reusesIndexUntilInvalidatedOrNextDay() {
+        when(snapshotMapper.findByUserIdAndDateRange(eq(1L), any(), any())).thenReturn(snapshots("100", "110", "121"));
+
+        PerformanceReport report = service.getPerformance(1L, DAY_0.minusDays(10), DAY_0.plusDays(1)).orElseThrow();
+        service.getPerformance(1L, DAY_0, DAY_0.plusDays(2));
+
+        assertThat(report.getFrom()).isEqualTo(DAY_0);
+        assertThat(report.getTo()).isEqualTo(DAY_0.plusDays(1));
+        assertThat(report.getTimeWeightedReturn()).isEqualByComparingTo("10.0000");
+        assertThat(service.getPerformance(1L, DAY_0.plusDays(5), DAY_0.plusDays(6))).isEmpty();
+        verify(snapshotMapper, times(1)).findByUserIdAndDateRange(eq(1L), any(), any());
+
+        service.onTransactionsChanged(new TransactionsChangedEvent(1L));
+        service.getPerformance(1L, DAY_0, DAY_0.plusDays(2));
+        clock.advance(Duration.ofDays(1));
+        service.getPerformance(1L, DAY_0, DAY_0.plusDays(2));
+        verify(snapshotMapper, times(3)).findByUserIdAndDateRange(eq(1L), any(), any());
+    }
+
+    /**
+     * 다른 노드가 세대를 올리면 이 노드의 지수도 다시 만들고, 세대를 읽지 못하면 지수를 보관하지 않는다
+     */
+    @Test
+    void rebuildsIndexWhenAnotherNodeInvalidates() {
+        when(snapshotMapper.findByUserIdAndDateRange(eq(1L), any(), any())).thenReturn(snapshots("100", "110"));
+
+        service.getPerformance(1L, DAY_0, DAY_0.plusDays(1));
+        service.getPerformance(1L, DAY_0, DAY_0.plusDays(1));
+        verify(snapshotMapper, times(1)).findByUserIdAndDateRange(eq(1L), any(), any());
+
+        when(valueOps.get("portfolio:performance:gen:1")).thenReturn("1");
+        service.getPerformance(1L, DAY_0, DAY_0.plusDays(1));
+        service.getPerformance(1L, DAY_0, DAY_0.plusDays(1));
+        verify(snapshotMapper, times(2)).findByUserIdAndDateRange(eq(1L), any(), any());
+
+        when(valueOps.get("portfolio:performance:gen:1")).thenThrow(new QueryTimeoutException("redis down"));
+        service.getPerformance(1L, DAY_0, DAY_0.plusDays(1));
+        service.getPerformance(1L, DAY_0, DAY_0.plusDays(1));
+        verify(snapshotMapper, times(4)).findByUserIdAndDateRange(eq(1L), any(), any());
+    }
+
+    @Test
+    void invalidationBumpsSharedGeneration() {
+        service.invalidate(1L);
+
+        verify(valueOps).increment("portfolio:performance:gen:1");
+        verify(redisTemplate).expire("portfolio:performance:gen:1", Duration.ofDays(2));
+    }
+
+    private static List<PortfolioSnapshot> snapshots(String... values) {
+        List<PortfolioSnapshot> snapshots = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            snapshots.add(snapshot(DAY_0.plusDays(i), values[i]));
+        }
+        return snapshots;
+    }
+
+    private static PortfolioSnapshot snapshot(LocalDate date, String value) {
+        return PortfolioSnapshot.builder()
+            .userId(1L)
+            .snapshotDate(date)
+            .totalCurrentValue(new BigDecimal(value))
+            .build();
+    }
+
+    private static Transaction transaction(TransactionType type, String amount, String fee, LocalDateTime at) {
+        return Transaction.builder()
+            .userId(1L)
+            .transactionType(type)
+            .totalAmount(new BigDecimal(amount))
+            .fee(fee == null ? null : new BigDecimal(fee))
+            .transactedAt(at)
+            .build();
+    }
+
+    static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-07-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.assetmanager.service.portfolio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.AssetType;
+import com.assetmanager.mapper.PortfolioAggregateMapper;
+import com.assetmanager.mapper.TransactionEventMapper;
+import com.assetmanager.service.transaction.MonthlyStatsService;
+
+/**
+ * PortfolioAggregateService 단위 테스트
+ * 자산 변화량이 집계 컬럼과 같은 자릿수로 반올림된 값 기준으로 계산되는지 확인한다.
+ */
+class PortfolioAggregateServiceTest {
+
+    private PortfolioAggregateMapper aggregateMapper;
+    private PortfolioAggregateService service;
+
+    @BeforeEach
+    void setUp() {
+        aggregateMapper = mock(PortfolioAggregateMapper.class);
+        service = new PortfolioAggregateService(aggregateMapper, mock(TransactionEventMapper.class),
+                mock(MonthlyStatsService.class), mock(ApplicationEventPublisher.class));
+    }
+
+    /**
+     * 변화량은 반올림 전 금액 차이가 아니라 반올림된 투자금액 사이의 차이다
+     */
+    @Test
+    void updateDeltaUsesRoundedInvestment() {
+        Asset before = asset("0.33333333", "100.00000000");
+        Asset after = asset("0.66666667", "100.00000000");
+
+        service.onAssetUpdated(before, after);
+
+        ArgumentCaptor<BigDecimal> delta = ArgumentCaptor.forClass(BigDecimal.class);
+        verify(aggregateMapper).applyAssetDelta(eq(7L), eq(AssetType.CRYPTO), delta.capture(), eq(0));
+        assertThat(delta.getValue()).isEqualByComparingTo("33.34");
+        assertThat(delta.getValue().scale()).isEqualTo(2);
+    }
+
+    /**
+     * 소수 셋째 자리 아래만 바뀐 경우 집계에 반영할 변화량이 없다
+     */
+    @Test
+    void subCentChangeProducesNoDelta() {
+        service.onAssetUpdated(asset("1.00000000", "10.00100000"), asset("1.00000000", "10.00200000"));
+
+        verify(aggregateMapper, never()).applyAssetDelta(anyLong(), any(), any(), anyInt());
+    }
+
+    private static Asset asset(String quantity, String averagePrice) {
+        return Asset.builder()
+            .id(1L)
+            .userId(7L)
+            .assetType(AssetType.CRYPTO)
+            .quantity(new BigDecimal(quantity))
+            .averagePrice(new BigDecimal(averagePrice))
+            .isActive(true)
+            .build();
+    }
+}
@@ -0,0 +1,185 @@
+package com.assetmanager.service.portfolio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.dto.PortfolioValuation;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.mapper.UserMapper;
+import com.assetmanager.service.price.PriceCache;
+import com.assetmanager.service.price.PriceKey;
+import com.assetmanager.service.price.PriceUpdatedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * PortfolioRevaluationEngine 단위 테스트
+ * 틱이 해당 종목 보유자에게만 전달되고, 같은 종목의 연속 틱은 한 번만 반영되는지 확인한다.
+ */
+class PortfolioRevaluationEngineTest {
+
+    private AssetMapper assetMapper;
+    private UserMapper userMapper;
+    private PriceCache priceCache;
+    private SimpleMeterRegistry meterRegistry;
+    private List<Object> events;
+    private PortfolioRevaluationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        assetMapper = mock(AssetMapper.class);
+        userMapper = mock(UserMapper.class);
+        priceCache = mock(PriceCache.class);
+        meterRegistry = new SimpleMeterRegistry();
+        events = new ArrayList<>();
+
+        when(userMapper.findActiveUserIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(assetMapper.findHoldingAssetsByUserId(1L)).thenReturn(List.of(
+                asset(1L, "BTC", "0.5", "90000000"),
+                asset(1L, "ETH", "2", "4000000")));
+        when(assetMapper.findHoldingAssetsByUserId(2L)).thenReturn(List.of(
+                asset(2L, "ETH", "10", "4200000")));
+        when(assetMapper.findHoldingAssetsByUserId(3L)).thenReturn(List.of());
+
+        engine = new PortfolioRevaluationEngine(assetMapper, userMapper, priceCache, events::add, meterRegistry);
+        engine.rebuildIndex();
+    }
+
+    /**
+     * 색인된 종목 집합이 PriceCache 에 고정 등록되어, 조회가 없어도 주기 갱신 대상이 된다
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void pinsIndexedSymbolsInPriceCache() {
+        ArgumentCaptor<Set<PriceKey>> pinned = ArgumentCaptor.forClass(Set.class);
+        verify(priceCache).pin(pinned.capture());
+        assertThat(pinned.getValue())
+            .containsExactlyInAnyOrder(PriceKey.of("BTC", "UPBIT"), PriceKey.of("ETH", "UPBIT"));
+
+        when(userMapper.findActiveUserIds()).thenReturn(List.of(2L));
+        engine.rebuildIndex();
+
+        assertThat(pinned.getValue()).containsExactly(PriceKey.of("ETH", "UPBIT"));
+    }
+
+    /**
+     * 현재가를 받기 전에는 매수 원가로 평가한다
+     */
+    @Test
+    void valuesUnpricedHoldingsAtCost() {
+        PortfolioValuation valuation = engine.getValuation(1L).orElseThrow();
+
+        assertThat(valuation.getCurrentValue()).isEqualByComparingTo("53000000");
+        assertThat(valuation.getProfitLoss()).isEqualByComparingTo("0");
+        assertThat(valuation.getUnpricedCount()).isEqualTo(2);
+        assertThat(engine.getValuation(3L)).isEmpty();
+    }
+
+    /**
+     * BTC 틱은 BTC 보유자만 재평가한다
+     */
+    @Test
+    void revaluesOnlyHoldersOfTickedSymbol() {
+        engine.onPriceUpdated(tick("BTC", "100000000"));
+
+        assertThat(engine.flush()).isEqualTo(1);
+
+        PortfolioValuation valuation = engine.getValuation(1L).orElseThrow();
+        assertThat(valuation.getCurrentValue()).isEqualByComparingTo("58000000");
+        assertThat(valuation.getProfitLoss()).isEqualByComparingTo("5000000");
+        assertThat(valuation.getUnpricedCount()).isEqualTo(1);
+        assertThat(engine.getValuation(2L).orElseThrow().getUnpricedCount()).isEqualTo(1);
+        assertThat(events).containsExactly(new PortfolioRevaluedEvent(Set.of(1L)));
+    }
+
+    /**
+     * 반영 주기 사이의 연속 틱은 종목별 마지막 값만 반영된다
+     */
+    @Test
+    void coalescesBurstOfTicksPerSymbol() {
+        for (int i = 1; i <= 100; i++) {
+            engine.onPriceUpdated(tick("ETH", String.valueOf(4_000_000 + i)));
+        }
+
+        assertThat(engine.flush()).isEqualTo(2);
+        assertThat(engine.flush()).isZero();
+
+        PortfolioValuation valuation = engine.getValuation(2L).orElseThrow();
+        assertThat(valuation.getCurrentValue()).isEqualByComparingTo("40001000");
+        assertThat(valuation.getProfitRate()).isEqualByComparingTo("-4.75952400");
+        assertThat(ticks("received")).isEqualTo(100);
+        assertThat(ticks("applied")).isEqualTo(1);
+        assertThat(meterRegistry.get("portfolio.revaluation.users").counter().count()).isEqualTo(2);
+    }
+
+    /**
+     * 보유 자산 변경 이벤트 후 다시 색인하고 마지막 현재가로 평가한다
+     */
+    @Test
+    void reindexesChangedUserWithLastKnownPrices() {
+        engine.onPriceUpdated(tick("BTC", "100000000"));
+        engine.flush();
+        when(assetMapper.findHoldingAssetsByUserId(3L)).thenReturn(List.of(
+                asset(3L, "BTC", "1", "95000000")));
+
+        engine.onHoldingsChanged(new HoldingsChangedEvent(3L));
+        engine.flush();
+
+        verify(assetMapper, times(2)).findHoldingAssetsByUserId(3L);
+        PortfolioValuation valuation = engine.getValuation(3L).orElseThrow();
+        assertThat(valuation.getCurrentValue()).isEqualByComparingTo("100000000");
+        assertThat(valuation.getUnpricedCount()).isZero();
+
+        engine.onPriceUpdated(tick("BTC", "90000000"));
+        assertThat(engine.flush()).isEqualTo(2);
+    }
+
+    /**
+     * 고정소수점 범위를 넘는 포트폴리오는 BigDecimal 로 평가한다
+     */
+    @Test
+    void fallsBackToBigDecimalForHugePortfolios() {
+        when(assetMapper.findHoldingAssetsByUserId(3L)).thenReturn(List.of(
+                asset(3L, "BTC", "2000", "90000000")));
+        engine.reindexUser(3L);
+
+        engine.onPriceUpdated(tick("BTC", "100000000"));
+        engine.flush();
+
+        PortfolioValuation valuation = engine.getValuation(3L).orElseThrow();
+        assertThat(valuation.getCurrentValue()).isEqualByComparingTo("200000000000");
+        assertThat(valuation.getProfitLoss()).isEqualByComparingTo("20000000000");
+    }
+
+    private double ticks(String stage) {
+        return meterRegistry.get("portfolio.revaluation.ticks").tag("stage", stage).counter().count();
+    }
+
+    private static PriceUpdatedEvent tick(String symbol, String price) {
+        return new PriceUpdatedEvent(PriceKey.of(symbol, "UPBIT"), new BigDecimal(price), System.currentTimeMillis());
+    }
+
+    private static Asset asset(Long userId, String symbol, String quantity, String averagePrice) {
+        return Asset.builder()
+            .userId(userId)
+            .symbol(symbol)
+            .exchange("UPBIT")
+            .quantity(new BigDecimal(quantity))
+            .averagePrice(new BigDecimal(averagePrice))
+            .isActive(true)
+            .build();
+    }
+}
@@ -0,0 +1,222 @@
+package com.assetmanager.service.portfolio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntToDoubleFunction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.assetmanager.config.shard.ShardRouter;
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.CandleResolution;
+import com.assetmanager.domain.PortfolioRisk;
+import com.assetmanager.domain.PriceHistory;
+import com.assetmanager.dto.RiskJobResult;
+import com.assetmanager.dto.RiskReport;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.mapper.PortfolioRiskMapper;
+import com.assetmanager.mapper.PriceCandleMapper;
+import com.assetmanager.service.price.CandleColumnProperties;
+import com.assetmanager.service.price.CandleColumnStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * PortfolioRiskService / PortfolioRiskJob 단위 테스트
+ * 지표 계산이 정의대로인지, 종목 수익률을 사용자끼리 한 번만 읽어 공유하는지 확인한다.
+ */
+class PortfolioRiskServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 7, 1);
+
+    private PriceCandleMapper candleMapper;
+    private AssetMapper assetMapper;
+    private PortfolioRiskProperties properties;
+    private ReturnSeriesCache returnSeries;
+    private PortfolioRiskService service;
+    private final Map<String, IntToDoubleFunction> closes = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        candleMapper = mock(PriceCandleMapper.class);
+        assetMapper = mock(AssetMapper.class);
+        properties = new PortfolioRiskProperties();
+        properties.setLookbackDays(30);
+        properties.setParallelism(3);
+        properties.setChunkSize(2);
+
+        CandleColumnStore columnStore = new CandleColumnStore(candleMapper, new CandleColumnProperties(),
+                new SimpleMeterRegistry());
+        returnSeries = new ReturnSeriesCache(columnStore, candleMapper, properties);
+        service = new PortfolioRiskService(assetMapper, returnSeries, properties);
+
+        // BTC 는 하루씩 번갈아 +2% / -1%, ETH 는 매일 +1%
+        stubDailyCloses("BTC", day -> 100.0 * Math.pow(1.02, (day + 1) / 2) * Math.pow(0.99, day / 2));
+        stubDailyCloses("ETH", day -> 10.0 * Math.pow(1.01, day));
+    }
+
+    @Test
+    void portfolioVarianceMatchesCovarianceMatrix() {
+        double[][] returns = {
+            {0.01, -0.02, 0.03, 0.00, -0.01},
+            {0.02, 0.01, -0.01, 0.02, 0.00},
+            {-0.01, 0.00, 0.02, -0.03, 0.01}
+        };
+        double[] weights = {0.5, 0.3, 0.2};
+
+        double[][] covariance = RiskMath.covariance(returns);
+        double quadratic = 0;
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                quadratic += weights[i] * covariance[i][j] * weights[j];
+            }
+        }
+        double deviation = RiskMath.standardDeviation(RiskMath.portfolioReturns(weights, returns));
+
+        assertThat(covariance[0][1]).isEqualTo(covariance[1][0]);
+        assertThat(covariance[0][0]).isCloseTo(Math.pow(RiskMath.standardDeviation(returns[0]), 2), within(1e-15));
+        assertThat(quadratic).isCloseTo(deviation * deviation, within(1e-15));
+    }
+
+    @Test
+    void computesHistoricalLossAndDrawdown() {
+        double[] series = new double[100];
+        for (int i = 0; i < series.length; i++) {
+            series[i] = (i - 50) / 1000.0;
+        }
+
+        assertThat(RiskMath.historicalLoss(series, 0.95)).isCloseTo(0.045, within(1e-12));
+        assertThat(RiskMath.historicalLoss(new double[] {0.01, 0.02}, 0.99)).isZero();
+        assertThat(RiskMath.maxDrawdown(new double[] {0.1, -0.5, 0.2})).isCloseTo(0.5, within(1e-12));
+    }
+
+    /**
+     * 같은 종목을 가진 사용자가 여럿이어도 종목 시세는 한 번만 읽는다
+     */
+    @Test
+    void sharesReturnSeriesAcrossUsers() {
+        PortfolioRisk first = service.evaluate(1L, DATE, List.of(asset(1L, "BTC", "1")));
+        PortfolioRisk second = service.evaluate(2L, DATE, List.of(asset(2L, "BTC", "2"), asset(2L, "ETH", "100")));
+
+        verify(candleMapper, times(1)).findCandles(eq("BTC"), eq("UPBIT"), eq(CandleResolution.DAY_1), any(), any());
+        assertThat(first.getObservationDays()).isEqualTo(30);
+        assertThat(first.getTotalValue()).isEqualByComparingTo(closeOn("BTC", 30));
+        assertThat(first.getValueAtRisk95()).isPositive();
+        assertThat(first.getAnnualVolatility()).isGreaterThan(second.getAnnualVolatility());
+        assertThat(second.getAssetCount()).isEqualTo(2);
+    }
+
+    /**
+     * 다른 기준일의 조회가 들어와도 야간 작업이 읽어 둔 기준일의 시계열은 그대로 남는다
+     */
+    @Test
+    void keepsReturnSeriesPerReportDate() {
+        ReturnSeriesCache.ReturnSeries batch = returnSeries.get("BTC", "UPBIT", DATE);
+        ReturnSeriesCache.ReturnSeries adHoc = returnSeries.get("BTC", "UPBIT", DATE.minusDays(1));
+
+        assertThat(returnSeries.get("BTC", "UPBIT", DATE)).isSameAs(batch);
+        assertThat(returnSeries.get("BTC", "UPBIT", DATE.minusDays(1))).isSameAs(adHoc).isNotSameAs(batch);
+        assertThat(returnSeries.size(DATE)).isEqualTo(1);
+        assertThat(returnSeries.size(DATE.minusDays(1))).isEqualTo(1);
+    }
+
+    @Test
+    void reportIncludesWeightsAndCovariance() {
+        when(assetMapper.findHoldingAssetsByUserId(1L))
+            .thenReturn(List.of(asset(1L, "BTC", "1"), asset(1L, "ETH", "10")));
+
+        RiskReport report = service.report(1L, DATE);
+
+        assertThat(report.getSymbols()).containsExactly("BTC", "ETH");
+        assertThat(report.getWeights()[0] + report.getWeights()[1]).isCloseTo(1.0, within(1e-12));
+        assertThat(report.getCovariance()[1][1]).isCloseTo(0, within(1e-12));
+        assertThat(report.getCovariance()[0][0]).isPositive();
+    }
+
+    @Test
+    void jobWritesEveryHolderInChunks() {
+        List<Long> holders = List.of(1L, 2L, 3L);
+        when(assetMapper.findHoldingUserIdsAfter(anyLong(), anyInt())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            return holders.stream().filter(id -> id > afterId).limit(limit).toList();
+        });
+        when(assetMapper.findHoldingAssetsByUserIds(anyList())).thenAnswer(invocation -> {
+            List<Long> userIds = invocation.getArgument(0);
+            return userIds.stream().map(id -> asset(id, id == 3L ? "ETH" : "BTC", "1")).toList();
+        });
+        PortfolioRiskMapper riskMapper = mock(PortfolioRiskMapper.class);
+        PortfolioRiskJob job = new PortfolioRiskJob(service, returnSeries, assetMapper, riskMapper, properties,
+                new ShardRouter(1), new SimpleMeterRegistry());
+
+        RiskJobResult result = job.run(DATE);
+
+        assertThat(result.getUsers()).isEqualTo(3);
+        assertThat(result.getFailedUsers()).isZero();
+        assertThat(result.getSymbols()).isEqualTo(2);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PortfolioRisk>> captor = ArgumentCaptor.forClass(List.class);
+        verify(riskMapper, times(2)).upsertBatch(captor.capture());
+        assertThat(captor.getAllValues().stream().flatMap(List::stream).map(PortfolioRisk::getUserId))
+            .containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    /**
+     * 기준일 31일 전부터 전날까지의 1일봉 (day 0 = 가장 오래된 날)
+     */
+    private void stubDailyCloses(String symbol, IntToDoubleFunction close) {
+        closes.put(symbol, close);
+        LocalDateTime start = DATE.atStartOfDay().minusDays(31);
+        List<PriceHistory> candles = new ArrayList<>();
+        for (int day = 0; day <= 30; day++) {
+            BigDecimal price = BigDecimal.valueOf(close.applyAsDouble(day)).setScale(8, RoundingMode.HALF_UP);
+            candles.add(PriceHistory.builder()
+                .symbol(symbol)
+                .exchange("UPBIT")
+                .timestamp(start.plusDays(day))
+                .openPrice(price)
+                .highPrice(price)
+                .lowPrice(price)
+                .closePrice(price)
+                .volume(BigDecimal.ONE)
+                .build());
+        }
+        when(candleMapper.findCandles(eq(symbol), eq("UPBIT"), eq(CandleResolution.DAY_1), any(), any()))
+            .thenReturn(candles);
+    }
+
+    private BigDecimal closeOn(String symbol, int day) {
+        return BigDecimal.valueOf(closes.get(symbol).applyAsDouble(day)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static Asset asset(Long userId, String symbol, String quantity) {
+        return Asset.builder()
+            .userId(userId)
+            .symbol(symbol)
+            .exchange("UPBIT")
+            .quantity(new BigDecimal(quantity))
+            .averagePrice(BigDecimal.ONE)
+            .isActive(true)
+            .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.assetmanager.service.portfolio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.assetmanager.config.shard.ShardRouter;
+import com.assetmanager.dto.SnapshotJobResult;
+import com.assetmanager.mapper.PortfolioSnapshotMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * PortfolioSnapshotJob 단위 테스트
+ * 스냅샷이 없는 사용자만 키셋으로 읽어 청크 단위로 병렬 처리하는지 확인한다.
+ */
+class PortfolioSnapshotJobTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 7, 1);
+
+    private PortfolioSnapshotService snapshotService;
+    private PortfolioSnapshotMapper snapshotMapper;
+    private PortfolioSnapshotProperties properties;
+    private PortfolioSnapshotJob job;
+    private final Set<Long> written = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = mock(PortfolioSnapshotService.class);
+        snapshotMapper = mock(PortfolioSnapshotMapper.class);
+
+        properties = new PortfolioSnapshotProperties();
+        properties.setWorkers(3);
+        properties.setChunkSize(2);
+        job = new PortfolioSnapshotJob(snapshotService, snapshotMapper, properties, new ShardRouter(1),
+                new SimpleMeterRegistry());
+
+        when(snapshotService.loadClosingPrices(DATE)).thenReturn(Map.of());
+        when(snapshotService.writeChunk(eq(DATE), anyList(), any())).thenAnswer(invocation -> {
+            List<Long> userIds = invocation.getArgument(1);
+            written.addAll(userIds);
+            return userIds.size();
+        });
+    }
+
+    @Test
+    void processesAllRemainingUsersInChunks() {
+        List<Long> remaining = List.of(1L, 2L, 3L, 5L, 8L);
+        when(snapshotMapper.findUserIdsWithoutSnapshot(eq(DATE), anyLong(), anyInt()))
+            .thenAnswer(invocation -> page(remaining, invocation.getArgument(1), invocation.getArgument(2)));
+
+        SnapshotJobResult result = job.run(DATE);
+
+        assertThat(result.getUsers()).isEqualTo(5);
+        assertThat(result.getChunks()).isEqualTo(3);
+        assertThat(result.getFailedUsers()).isZero();
+        assertThat(written).containsExactlyInAnyOrderElementsOf(remaining);
+    }
+
+    @Test
+    void countsFailedChunksAndKeepsGoing() {
+        when(snapshotMapper.findUserIdsWithoutSnapshot(eq(DATE), anyLong(), anyInt()))
+            .thenAnswer(invocation -> page(List.of(1L, 2L, 3L, 4L), invocation.getArgument(1),
+                    invocation.getArgument(2)));
+        doThrow(new IllegalStateException("deadlock"))
+            .when(snapshotService).writeChunk(DATE, List.of(1L, 2L), Map.of());
+
+        SnapshotJobResult result = job.run(DATE);
+
+        assertThat(result.getUsers()).isEqualTo(2);
+        assertThat(result.getFailedUsers()).isEqualTo(2);
+        assertThat(written).containsExactlyInAnyOrder(3L, 4L);
+    }
+
+    /**
+     * 키셋 조회는 샤드마다 처음부터 다시 시작하고, 청크는 한 샤드의 사용자로만 채워진다
+     */
+    @Test
+    void scansEveryShardFromTheStart() {
+        job = new PortfolioSnapshotJob(snapshotService, snapshotMapper, properties, new ShardRouter(2),
+                new SimpleMeterRegistry());
+        when(snapshotMapper.findUserIdsWithoutSnapshot(eq(DATE), anyLong(), anyInt()))
+            .thenReturn(List.of(1L, 2L), List.of(), List.of(4L), List.of());
+
+        SnapshotJobResult result = job.run(DATE);
+
+        assertThat(result.getUsers()).isEqualTo(3);
+        assertThat(result.getChunks()).isEqualTo(2);
+        verify(snapshotMapper, times(2)).findUserIdsWithoutSnapshot(DATE, 0L, 2);
+        assertThat(written).containsExactlyInAnyOrder(1L, 2L, 4L);
+    }
+
+    private static List<Long> page(List<Long> userIds, long afterId, int limit) {
+        return userIds.stream().filter(id -> id > afterId).limit(limit).toList();
+    }
+}
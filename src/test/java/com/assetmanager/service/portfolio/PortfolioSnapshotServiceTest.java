@@ -0,0 +1,64 @@
+package com.assetmanager.service.portfolio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.AssetType;
+import com.assetmanager.domain.PortfolioSnapshot;
+import com.assetmanager.service.price.PriceKey;
+
+/**
+ * 스냅샷 계산 단위 테스트
+ */
+class PortfolioSnapshotServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 7, 1);
+
+    @Test
+    void valuesHoldingsAtClosingPrice() {
+        List<Asset> assets = List.of(
+                asset("BTC", AssetType.CRYPTO, "0.5", "90000000"),
+                asset("005930", AssetType.STOCK, "10", "70000"),
+                asset("GOLD", AssetType.COMMODITY, "1", "100000"));
+        Map<PriceKey, BigDecimal> closes = Map.of(
+                PriceKey.of("BTC", "UPBIT"), new BigDecimal("100000000"),
+                PriceKey.of("005930", "UPBIT"), new BigDecimal("65000"));
+
+        PortfolioSnapshot snapshot = PortfolioSnapshotService.buildSnapshot(7L, DATE, assets, closes);
+
+        assertThat(snapshot.getTotalInvestment()).isEqualByComparingTo("45800000");
+        assertThat(snapshot.getTotalCurrentValue()).isEqualByComparingTo("50750000");
+        assertThat(snapshot.getTotalProfitLoss()).isEqualByComparingTo("4950000");
+        assertThat(snapshot.getProfitRate()).isEqualByComparingTo("10.8079");
+        assertThat(snapshot.getCryptoValue()).isEqualByComparingTo("50000000");
+        assertThat(snapshot.getStockValue()).isEqualByComparingTo("650000");
+        assertThat(snapshot.getAssetCount()).isEqualTo(3);
+    }
+
+    @Test
+    void recordsEmptyPortfolioAsZero() {
+        PortfolioSnapshot snapshot = PortfolioSnapshotService.buildSnapshot(7L, DATE, List.of(), Map.of());
+
+        assertThat(snapshot.getTotalCurrentValue()).isEqualByComparingTo("0");
+        assertThat(snapshot.getProfitRate()).isEqualByComparingTo("0");
+        assertThat(snapshot.getAssetCount()).isZero();
+    }
+
+    private static Asset asset(String symbol, AssetType type, String quantity, String averagePrice) {
+        return Asset.builder()
+            .userId(7L)
+            .symbol(symbol)
+            .assetType(type)
+            .exchange("UPBIT")
+            .quantity(new BigDecimal(quantity))
+            .averagePrice(new BigDecimal(averagePrice))
+            .build();
+    }
+}
@@ -0,0 +1,209 @@
+package com.assetmanager.service.price;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.assetmanager.domain.CandleResolution;
+import com.assetmanager.domain.PriceHistory;
+import com.assetmanager.mapper.PriceCandleMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * CandleColumnStore 단위 테스트
+ * 확정된 봉만 파일에 채우고, 캐시 안의 구간은 DB 없이 읽으며, 재시작 후에도 파일을 그대로 쓰는지 확인한다.
+ */
+class CandleColumnStoreTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 1, 0, 0);
+    private static final CandleResolution HOUR = CandleResolution.HOUR_1;
+
+    @TempDir
+    Path directory;
+
+    private PriceCandleMapper candleMapper;
+    private CandleColumnProperties properties;
+    private FixedClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private final List<PriceHistory> candles = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        candleMapper = mock(PriceCandleMapper.class);
+        properties = new CandleColumnProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setInitialCapacity(4);
+        properties.setLoadBatchBuckets(24);
+        clock = new FixedClock(Instant.parse("2025-07-01T00:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+
+        // 30일치 1시간봉
+        for (int i = 0; i < 30 * 24; i++) {
+            BigDecimal open = BigDecimal.valueOf(1000 + i);
+            candles.add(PriceHistory.builder()
+                .symbol("BTC")
+                .exchange("UPBIT")
+                .timestamp(START.plusHours(i))
+                .openPrice(open)
+                .highPrice(open.add(BigDecimal.valueOf(i % 7 + 1)))
+                .lowPrice(open.subtract(BigDecimal.valueOf(i % 5)))
+                .closePrice(open.add(new BigDecimal("0.12345678")))
+                .volume(BigDecimal.valueOf(i))
+                .build());
+        }
+        when(candleMapper.findCandles(eq("BTC"), eq("UPBIT"), eq(HOUR), any(), any())).thenAnswer(invocation -> {
+            LocalDateTime from = invocation.getArgument(3);
+            LocalDateTime to = invocation.getArgument(4);
+            return candles.stream()
+                .filter(c -> !c.getTimestamp().isBefore(from) && c.getTimestamp().isBefore(to))
+                .toList();
+        });
+    }
+
+    @Test
+    void servesCachedRangeWithoutDatabase() {
+        CandleColumnStore store = newStore();
+        LocalDateTime from = START.plusDays(1);
+        LocalDateTime to = START.plusDays(3);
+
+        CandleColumns first = store.read("BTC", "UPBIT", HOUR, from, to);
+        CandleColumns second = store.read("BTC", "UPBIT", HOUR, from.plusHours(5), to.minusHours(5));
+
+        assertThat(first.size()).isEqualTo(48);
+        assertThat(first.timestampAt(0)).isEqualTo(from);
+        assertThat(first.candleAt(47).getClosePrice()).isEqualByComparingTo(candles.get(24 + 47).getClosePrice());
+        assertThat(second.size()).isEqualTo(38);
+        verify(candleMapper, times(2)).findCandles(eq("BTC"), eq("UPBIT"), eq(HOUR), any(), any());
+        assertThat(meterRegistry.get("price.columnar.reads").tag("result", "hit").counter().count()).isEqualTo(1.0);
+    }
+
+    /**
+     * 뒤로 늘어난 구간은 모자란 부분만 읽어 붙이고, 앞으로 늘어나면 새로 채운다
+     */
+    @Test
+    void extendsForwardAndRefillsBackward() {
+        CandleColumnStore store = newStore();
+        store.read("BTC", "UPBIT", HOUR, START.plusDays(10), START.plusDays(11));
+        store.read("BTC", "UPBIT", HOUR, START.plusDays(10), START.plusDays(12));
+        verify(candleMapper).findCandles("BTC", "UPBIT", HOUR, START.plusDays(11), START.plusDays(12));
+
+        CandleColumns widened = store.read("BTC", "UPBIT", HOUR, START.plusDays(9), START.plusDays(12));
+
+        assertThat(widened.size()).isEqualTo(72);
+        for (int i = 1; i < widened.size(); i++) {
+            assertThat(widened.timestampAt(i)).isAfter(widened.timestampAt(i - 1));
+        }
+    }
+
+    /**
+     * 새 인스턴스(재시작)도 기존 파일을 그대로 읽는다
+     */
+    @Test
+    void survivesRestartWithoutRewarm() {
+        newStore().read("BTC", "UPBIT", HOUR, START, START.plusDays(20));
+        verify(candleMapper, times(20)).findCandles(eq("BTC"), eq("UPBIT"), eq(HOUR), any(), any());
+
+        CandleColumns reopened = newStore().read("BTC", "UPBIT", HOUR, START.plusDays(2), START.plusDays(20));
+
+        assertThat(reopened.size()).isEqualTo(18 * 24);
+        assertThat(reopened.candleAt(0).getOpenPrice()).isEqualByComparingTo(candles.get(48).getOpenPrice());
+        verify(candleMapper, times(20)).findCandles(eq("BTC"), eq("UPBIT"), eq(HOUR), any(), any());
+    }
+
+    /**
+     * 롤업이 아직 다시 쓸 수 있는 최근 봉은 캐시하지 않고, 결과 구간을 그 앞에서 자른다
+     */
+    @Test
+    void stopsAtSealedBoundary() {
+        clock.set(START.plusDays(5).plusMinutes(30));
+        CandleColumnStore store = newStore();
+
+        CandleColumns columns = store.read("BTC", "UPBIT", HOUR, START.plusDays(4), START.plusDays(6));
+
+        // 10분 전(00:20)의 직전 봉 = 전날 23:00
+        assertThat(columns.getTo()).isEqualTo(START.plusDays(5).minusHours(1));
+        assertThat(columns.size()).isEqualTo(23);
+
+        CandleColumns unsealed = store.read("BTC", "UPBIT", HOUR, START.plusDays(5), START.plusDays(6));
+        assertThat(unsealed.size()).isEqualTo(24);
+        assertThat(meterRegistry.get("price.columnar.reads").tag("result", "bypass").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void scanMatchesDomainCalculations() {
+        List<PriceHistory> expected = candles.subList(0, 29 * 24);
+        CandleColumns columns = newStore().read("BTC", "UPBIT", HOUR, START, START.plusDays(29));
+
+        VolatilityScan scan = columns.scan();
+
+        double volatility = expected.stream().mapToDouble(c -> c.getVolatilityIndicator().doubleValue()).average().orElseThrow();
+        double change = expected.stream().mapToDouble(c -> c.getIntraDayChangeRate().doubleValue()).average().orElseThrow();
+        assertThat(scan.count()).isEqualTo(expected.size());
+        assertThat(scan.averageVolatility()).isCloseTo(volatility, within(1e-6));
+        assertThat(scan.averageIntraDayChange()).isCloseTo(change, within(1e-6));
+        assertThat(CandleColumns.of(expected, START, START.plusDays(29)).scan().maxVolatility())
+            .isCloseTo(scan.maxVolatility(), within(1e-12));
+    }
+
+    @Test
+    void bypassesFilesWhenDisabled() {
+        properties.setEnabled(false);
+
+        CandleColumns columns = newStore().read("BTC", "UPBIT", HOUR, START, START.plusDays(1));
+
+        assertThat(columns.size()).isEqualTo(24);
+        assertThat(directory.toFile().list()).isEmpty();
+    }
+
+    private CandleColumnStore newStore() {
+        return new CandleColumnStore(candleMapper, properties, meterRegistry, clock);
+    }
+
+    static class FixedClock extends Clock {
+        private Instant now;
+
+        FixedClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(LocalDateTime time) {
+            now = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
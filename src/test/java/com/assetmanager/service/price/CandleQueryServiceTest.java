@@ -0,0 +1,51 @@
+package com.assetmanager.service.price;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.assetmanager.domain.CandleResolution;
+import com.assetmanager.mapper.PriceCandleMapper;
+
+/**
+ * CandleQueryService 봉 단위 선택 테스트
+ * 요청 포인트 수를 채우는 가장 굵은 단위를 고르되, 보관 기간이 지난 단위는 건너뛰는지 확인한다.
+ */
+class CandleQueryServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 7, 1, 12, 0);
+
+    private final CandleQueryService service = new CandleQueryService(mock(PriceCandleMapper.class),
+            new CandleProperties(), mock(CandleColumnStore.class));
+
+    @Test
+    void picksCoarsestResolutionThatFillsPoints() {
+        assertThat(service.selectResolution(NOW.minusHours(6), NOW, 100, NOW)).isEqualTo(CandleResolution.MINUTE_1);
+        assertThat(service.selectResolution(NOW.minusDays(10), NOW, 100, NOW)).isEqualTo(CandleResolution.HOUR_1);
+        assertThat(service.selectResolution(NOW.minusDays(400), NOW, 100, NOW)).isEqualTo(CandleResolution.DAY_1);
+    }
+
+    /**
+     * 경계: 포인트 수와 봉 수가 같으면 그 단위를 쓴다
+     */
+    @Test
+    void acceptsResolutionWithExactlyRequestedPoints() {
+        assertThat(service.selectResolution(NOW.minusDays(100), NOW, 100, NOW)).isEqualTo(CandleResolution.DAY_1);
+        assertThat(service.selectResolution(NOW.minusDays(100).plusHours(1), NOW, 100, NOW))
+            .isEqualTo(CandleResolution.HOUR_1);
+    }
+
+    /**
+     * 1분봉 보관 기간(30일) 이전 구간은 포인트가 모자라도 남아 있는 가장 촘촘한 단위(1시간봉)로 내려간다
+     */
+    @Test
+    void skipsResolutionsPastRetention() {
+        assertThat(service.selectResolution(NOW.minusDays(40), NOW.minusDays(39), 100, NOW))
+            .isEqualTo(CandleResolution.HOUR_1);
+        assertThat(service.selectResolution(NOW.minusDays(800), NOW.minusDays(799), 10, NOW))
+            .isEqualTo(CandleResolution.DAY_1);
+    }
+}
@@ -0,0 +1,165 @@
+package com.assetmanager.service.price;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.assetmanager.domain.CandleResolution;
+import com.assetmanager.domain.PriceHistory;
+import com.assetmanager.mapper.PriceCandleMapper;
+import com.assetmanager.mapper.PriceHistoryMapper;
+
+/**
+ * CandleRollupService / CandleAccumulator 단위 테스트
+ * 봉 경계에서 구간이 나뉘고, 고가/저가/거래량이 하위 봉에서 올바르게 합쳐지는지 확인한다.
+ */
+class CandleRollupServiceTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2025, 7, 1, 9, 0);
+
+    private PriceHistoryMapper priceHistoryMapper;
+    private PriceCandleMapper candleMapper;
+    private CandleRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        priceHistoryMapper = mock(PriceHistoryMapper.class);
+        candleMapper = mock(PriceCandleMapper.class);
+        service = new CandleRollupService(priceHistoryMapper, candleMapper);
+    }
+
+    /**
+     * 원본 틱은 price 만 있으므로 첫 틱이 시가, 마지막 틱이 종가가 되고 거래량이 없는 틱은 0 으로 본다
+     */
+    @Test
+    void rollsTicksIntoMinuteCandles() {
+        List<PriceHistory> ticks = List.of(
+                tick("BTC", NINE.plusSeconds(5), "100", "1"),
+                tick("BTC", NINE.plusSeconds(40), "98", null),
+                tick("BTC", NINE.plusSeconds(59), "101", "2"),
+                tick("BTC", NINE.plusMinutes(1), "99", "4"));
+        when(priceHistoryMapper.streamTicksBetween(NINE, NINE.plusMinutes(2))).thenReturn(cursor(ticks));
+
+        assertThat(service.rollup(CandleResolution.MINUTE_1, NINE.plusSeconds(30), NINE.plusMinutes(2))).isEqualTo(2);
+
+        List<PriceHistory> candles = upserted(CandleResolution.MINUTE_1);
+        assertCandle(candles.get(0), NINE, "100", "101", "98", "101", "3");
+        assertCandle(candles.get(1), NINE.plusMinutes(1), "99", "99", "99", "99", "4");
+    }
+
+    /**
+     * 1시간봉은 1분봉에서 만든다 (09:59 는 09시 봉, 10:00 은 10시 봉, 종목이 바뀌면 새 봉)
+     */
+    @Test
+    void rollsMinuteCandlesIntoHourBuckets() {
+        List<PriceHistory> minutes = List.of(
+                candle("BTC", NINE, "100", "110", "95", "105", "1"),
+                candle("BTC", NINE.plusMinutes(59), "105", "120", "90", "115", "2"),
+                candle("BTC", NINE.plusHours(1), "115", "116", "114", "115", "0.5"),
+                candle("ETH", NINE.plusMinutes(30), "10", "11", "9", "10", "3"));
+        when(candleMapper.streamCandlesBetween(CandleResolution.MINUTE_1, NINE, NINE.plusHours(2)))
+            .thenReturn(cursor(minutes));
+
+        int written = service.rollup(CandleResolution.HOUR_1, NINE.plusMinutes(10), NINE.plusHours(2));
+
+        assertThat(written).isEqualTo(3);
+        List<PriceHistory> candles = upserted(CandleResolution.HOUR_1);
+        assertCandle(candles.get(0), NINE, "100", "120", "90", "115", "3");
+        assertCandle(candles.get(1), NINE.plusHours(1), "115", "116", "114", "115", "0.5");
+        assertThat(candles.get(2).getSymbol()).isEqualTo("ETH");
+        assertCandle(candles.get(2), NINE, "10", "11", "9", "10", "3");
+    }
+
+    /**
+     * 1일봉은 1시간봉에서 만들며 자정에서 나뉜다
+     */
+    @Test
+    void rollsHourCandlesIntoDayBucketsAtMidnight() {
+        LocalDateTime midnight = LocalDateTime.of(2025, 7, 2, 0, 0);
+        List<PriceHistory> hours = List.of(
+                candle("BTC", midnight.minusHours(2), "100", "104", "99", "103", "5"),
+                candle("BTC", midnight.minusHours(1), "103", "108", "101", "102", "6"),
+                candle("BTC", midnight, "102", "103", "97", "98", "7"));
+        when(candleMapper.streamCandlesBetween(CandleResolution.HOUR_1, midnight.minusDays(1), midnight.plusDays(1)))
+            .thenReturn(cursor(hours));
+
+        service.rollup(CandleResolution.DAY_1, midnight.minusHours(3), midnight.plusDays(1));
+
+        List<PriceHistory> candles = upserted(CandleResolution.DAY_1);
+        assertThat(candles).hasSize(2);
+        assertCandle(candles.get(0), midnight.minusDays(1), "100", "108", "99", "102", "11");
+        assertCandle(candles.get(1), midnight, "102", "103", "97", "98", "7");
+    }
+
+    @Test
+    void accumulatorIgnoresRowsWithoutPriceAndOtherBuckets() {
+        CandleAccumulator accumulator = new CandleAccumulator("BTC", "UPBIT", NINE);
+        accumulator.add(PriceHistory.builder().symbol("BTC").exchange("UPBIT").timestamp(NINE).build());
+
+        assertThat(accumulator.isEmpty()).isTrue();
+        assertThat(accumulator.accepts(tick("BTC", NINE, "1", null), NINE)).isTrue();
+        assertThat(accumulator.accepts(tick("BTC", NINE, "1", null), NINE.plusHours(1))).isFalse();
+        assertThat(accumulator.accepts(tick("ETH", NINE, "1", null), NINE)).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PriceHistory> upserted(CandleResolution resolution) {
+        ArgumentCaptor<List<PriceHistory>> captor = ArgumentCaptor.forClass(List.class);
+        verify(candleMapper).upsertBatch(eq(resolution), captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<PriceHistory> cursor(List<PriceHistory> rows) {
+        Cursor<PriceHistory> cursor = mock(Cursor.class);
+        when(cursor.iterator()).thenReturn(rows.iterator());
+        return cursor;
+    }
+
+    private static void assertCandle(PriceHistory candle, LocalDateTime bucket, String open, String high,
+                                     String low, String close, String volume) {
+        assertThat(candle.getTimestamp()).isEqualTo(bucket);
+        assertThat(candle.getOpenPrice()).isEqualByComparingTo(open);
+        assertThat(candle.getHighPrice()).isEqualByComparingTo(high);
+        assertThat(candle.getLowPrice()).isEqualByComparingTo(low);
+        assertThat(candle.getClosePrice()).isEqualByComparingTo(close);
+        assertThat(candle.getPrice()).isEqualByComparingTo(close);
+        assertThat(candle.getVolume()).isEqualByComparingTo(volume);
+    }
+
+    private static PriceHistory tick(String symbol, LocalDateTime timestamp, String price, String volume) {
+        return PriceHistory.builder()
+            .symbol(symbol)
+            .exchange("UPBIT")
+            .timestamp(timestamp)
+            .price(new BigDecimal(price))
+            .volume(volume == null ? null : new BigDecimal(volume))
+            .build();
+    }
+
+    private static PriceHistory candle(String symbol, LocalDateTime timestamp, String open, String high,
+                                       String low, String close, String volume) {
+        return PriceHistory.builder()
+            .symbol(symbol)
+            .exchange("UPBIT")
+            .timestamp(timestamp)
+            .openPrice(new BigDecimal(open))
+            .highPrice(new BigDecimal(high))
+            .lowPrice(new BigDecimal(low))
+            .closePrice(new BigDecimal(close))
+            .price(new BigDecimal(close))
+            .volume(new BigDecimal(volume))
+            .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.assetmanager.service.price;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.assetmanager.service.exchange.TokenBucketRateLimiter;
+
+/**
+ * 테스트용 현재가 소스
+ * 외부 호출 없이 미리 넣어 둔 가격을 돌려주고, 받은 배치 요청을 기록한다.
+ */
+public class FakeTickerSource implements TickerSource {
+
+    private final String exchange;
+    private final int maxBatchSize;
+    private final Map<String, BigDecimal> prices = new ConcurrentHashMap<>();
+    private final List<List<String>> requestedBatches = new CopyOnWriteArrayList<>();
+    private final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(1000, Duration.ofSeconds(1));
+    private volatile boolean failing;
+
+    public FakeTickerSource(String exchange, int maxBatchSize) {
+        this.exchange = exchange;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public FakeTickerSource price(String symbol, String price) {
+        prices.put(symbol, new BigDecimal(price));
+        return this;
+    }
+
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    public int callCount() {
+        return requestedBatches.size();
+    }
+
+    public List<List<String>> requestedBatches() {
+        return requestedBatches;
+    }
+
+    @Override
+    public String exchange() {
+        return exchange;
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @Override
+    public Map<String, BigDecimal> fetchPrices(List<String> symbols) {
+        requestedBatches.add(List.copyOf(symbols));
+        if (failing) {
+            throw new IllegalStateException("ticker source unavailable");
+        }
+        Map<String, BigDecimal> result = new HashMap<>();
+        for (String symbol : symbols) {
+            BigDecimal price = prices.get(symbol);
+            if (price != null) {
+                result.put(symbol, price);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public TokenBucketRateLimiter rateLimiter() {
+        return rateLimiter;
+    }
+}
@@ -0,0 +1,230 @@
+package com.assetmanager.service.price;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * PriceCache 단위 테스트
+ * 외부 거래소/Redis 없이 FakeTickerSource 와 메모리 2차 저장소로 동작을 확인한다.
+ */
+class PriceCacheTest {
+
+    private FakeTickerSource source;
+    private InMemoryRemoteStore remoteStore;
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private List<Object> events;
+    private PriceCache priceCache;
+
+    @BeforeEach
+    void setUp() {
+        source = new FakeTickerSource("UPBIT", 2)
+            .price("BTC", "96000000")
+            .price("ETH", "4500000")
+            .price("XRP", "800")
+            .price("SOL", "210000")
+            .price("ADA", "650");
+        remoteStore = new InMemoryRemoteStore();
+        clock = new MutableClock();
+        meterRegistry = new SimpleMeterRegistry();
+        events = new ArrayList<>();
+
+        PriceCacheProperties properties = new PriceCacheProperties();
+        properties.setLocalTtl(Duration.ofSeconds(5));
+        properties.setRemoteTtl(Duration.ofSeconds(15));
+        properties.setMaxStale(Duration.ofMinutes(5));
+
+        TickerClientProperties clientProperties = new TickerClientProperties();
+        clientProperties.setBatchWindow(Duration.ZERO);
+        clientProperties.setMaxAttempts(1);
+
+        PriceRefresher refresher = new PriceRefresher(List.of(source), clientProperties, meterRegistry);
+        priceCache = new PriceCache(remoteStore, refresher, properties, events::add, meterRegistry, clock);
+    }
+
+    /**
+     * 첫 조회는 원천에서 가져오고 이후에는 1차 캐시에서 응답
+     */
+    @Test
+    void loadsOnMissThenServesFromLocalTier() {
+        assertThat(priceCache.getPrice("BTC", "UPBIT")).contains(new BigDecimal("96000000"));
+        assertThat(priceCache.getPrice("btc", "upbit")).contains(new BigDecimal("96000000"));
+
+        assertThat(source.callCount()).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(1);
+        assertThat(requests("local_hit")).isEqualTo(1);
+        assertThat(remoteStore.entries).containsKey(PriceKey.of("BTC", "UPBIT"));
+    }
+
+    /**
+     * 캐시에 없는 종목들은 최대 배치 크기 단위의 일괄 호출로 합쳐진다
+     */
+    @Test
+    void mergesMissesIntoBatchedTickerCalls() {
+        List<PriceKey> keys = List.of(PriceKey.of("BTC", "UPBIT"), PriceKey.of("ETH", "UPBIT"),
+                PriceKey.of("XRP", "UPBIT"), PriceKey.of("SOL", "UPBIT"), PriceKey.of("ADA", "UPBIT"));
+
+        Map<PriceKey, BigDecimal> prices = priceCache.getPrices(keys);
+
+        assertThat(prices).hasSize(5);
+        assertThat(source.callCount()).isEqualTo(3);
+        assertThat(source.requestedBatches()).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(2));
+    }
+
+    /**
+     * 1차 TTL 이 지나면 2차 저장소의 값을 쓰고, 2차도 지나면 원천에서 다시 가져온다
+     */
+    @Test
+    void fallsThroughTiersAsEntriesExpire() {
+        priceCache.getPrice("BTC", "UPBIT");
+
+        clock.advance(Duration.ofSeconds(10));
+        priceCache.getPrice("BTC", "UPBIT");
+        assertThat(requests("remote_hit")).isEqualTo(1);
+        assertThat(source.callCount()).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(10));
+        source.price("BTC", "97000000");
+        assertThat(priceCache.getPrice("BTC", "UPBIT")).contains(new BigDecimal("97000000"));
+        assertThat(source.callCount()).isEqualTo(2);
+    }
+
+    /**
+     * 원천 장애 시 허용 범위 안의 오래된 값을 대신 돌려준다
+     */
+    @Test
+    void servesStaleValueWhenSourceFails() {
+        priceCache.getPrice("ETH", "UPBIT");
+        clock.advance(Duration.ofMinutes(1));
+        source.setFailing(true);
+
+        assertThat(priceCache.getPrice("ETH", "UPBIT")).contains(new BigDecimal("4500000"));
+        assertThat(requests("stale")).isEqualTo(1);
+
+        clock.advance(Duration.ofMinutes(10));
+        assertThat(priceCache.getPrice("ETH", "UPBIT")).isEmpty();
+    }
+
+    /**
+     * 주기 갱신은 추적 중인 종목을 한 번에 다시 가져온다
+     */
+    @Test
+    void refreshTrackedReloadsRequestedSymbols() {
+        priceCache.getPrices(List.of(PriceKey.of("BTC", "UPBIT"), PriceKey.of("ETH", "UPBIT")));
+        clock.advance(Duration.ofSeconds(30));
+        source.price("BTC", "98000000");
+
+        priceCache.refreshTracked();
+
+        assertThat(source.callCount()).isEqualTo(2);
+        assertThat(priceCache.getPrice("BTC", "UPBIT")).contains(new BigDecimal("98000000"));
+        assertThat(source.callCount()).isEqualTo(2);
+    }
+
+    /**
+     * 고정 등록된 종목은 조회가 없어도, 조회 만료 시간이 지나도 계속 갱신된다
+     */
+    @Test
+    void refreshTrackedReloadsPinnedSymbolsWithoutRequests() {
+        Set<PriceKey> holdings = ConcurrentHashMap.newKeySet();
+        priceCache.pin(holdings);
+        holdings.add(PriceKey.of("SOL", "UPBIT"));
+
+        priceCache.refreshTracked();
+        clock.advance(Duration.ofHours(1));
+        source.price("SOL", "220000");
+        priceCache.refreshTracked();
+
+        assertThat(source.callCount()).isEqualTo(2);
+        assertThat(events).last().isEqualTo(new PriceUpdatedEvent(PriceKey.of("SOL", "UPBIT"),
+                new BigDecimal("220000"), clock.millis()));
+
+        holdings.clear();
+        clock.advance(Duration.ofMinutes(1));
+        priceCache.refreshTracked();
+        assertThat(source.callCount()).isEqualTo(2);
+    }
+
+    /**
+     * 가격이 실제로 바뀐 경우에만 변경 이벤트를 발행한다
+     */
+    @Test
+    void publishesUpdateOnlyWhenPriceChanges() {
+        priceCache.getPrice("BTC", "UPBIT");
+        clock.advance(Duration.ofSeconds(30));
+        priceCache.refreshTracked();
+        assertThat(events).hasSize(1);
+
+        clock.advance(Duration.ofSeconds(30));
+        source.price("BTC", "98000000");
+        priceCache.refreshTracked();
+
+        assertThat(events).hasSize(2);
+        assertThat(events.get(1)).isEqualTo(new PriceUpdatedEvent(PriceKey.of("BTC", "UPBIT"),
+                new BigDecimal("98000000"), clock.millis()));
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("price.cache.requests").tag("result", result).counter().count();
+    }
+
+    static class InMemoryRemoteStore implements PriceRemoteStore {
+        final Map<PriceKey, CachedPrice> entries = new ConcurrentHashMap<>();
+
+        @Override
+        public Map<PriceKey, CachedPrice> getAll(List<PriceKey> keys) {
+            Map<PriceKey, CachedPrice> result = new ConcurrentHashMap<>();
+            keys.forEach(key -> {
+                CachedPrice cached = entries.get(key);
+                if (cached != null) {
+                    result.put(key, cached);
+                }
+            });
+            return result;
+        }
+
+        @Override
+        public void putAll(Map<PriceKey, CachedPrice> entries) {
+            this.entries.putAll(entries);
+        }
+    }
+
+    static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-07-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.assetmanager.service.price;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * TickerClient + UpbitTickerSource 테스트
+ * JDK 내장 HTTP 서버로 업비트 /v1/ticker 를 흉내 내고, 실제로 나간 호출을 기록한다.
+ */
+class TickerClientTest {
+
+    private static final Map<String, String> PRICES = Map.of(
+            "BTC", "96000000", "ETH", "4500000", "XRP", "800", "SOL", "210000");
+
+    private HttpServer server;
+    private final List<Call> calls = new CopyOnWriteArrayList<>();
+    private final Queue<Integer> forcedStatuses = new ConcurrentLinkedQueue<>();
+    private volatile long responseDelayMillis;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TickerClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/ticker", this::handle);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+        server.stop(0);
+    }
+
+    /**
+     * 같은 종목의 동시 요청은 호출 하나로 합쳐진다
+     */
+    @Test
+    void concurrentRequestsForSameSymbolShareOneCall() throws Exception {
+        client = client(100);
+        responseDelayMillis = 100;
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<BigDecimal>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 16; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    await(start);
+                    return join(client.request(List.of("BTC")).get("BTC"));
+                }, callers));
+            }
+            start.countDown();
+            for (CompletableFuture<BigDecimal> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualByComparingTo("96000000");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(calls).hasSize(1);
+        assertThat(meterRegistry.get("price.ticker.coalesced").counter().count()).isEqualTo(15.0);
+    }
+
+    /**
+     * 짧은 간격으로 들어온 단건 조회는 다종목 호출 하나로 합쳐진다
+     */
+    @Test
+    void mergesSingleLookupsIntoOneTickerCall() {
+        client = client(100);
+
+        CompletableFuture<BigDecimal> btc = client.request(List.of("BTC")).get("BTC");
+        CompletableFuture<BigDecimal> eth = client.request(List.of("ETH")).get("ETH");
+        CompletableFuture<BigDecimal> unknown = client.request(List.of("NOPE")).get("NOPE");
+
+        assertThat(join(btc)).isEqualByComparingTo("96000000");
+        assertThat(join(eth)).isEqualByComparingTo("4500000");
+        assertThat(join(unknown)).isNull();
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0).markets()).containsExactly("KRW-BTC", "KRW-ETH", "KRW-NOPE");
+    }
+
+    /**
+     * 토큰을 기다리는 동안 쌓인 요청은 다음 호출 하나로 나가고, 호출 간격은 한도를 지킨다
+     */
+    @Test
+    void burstWaitsForTokenAndMergesIntoNextCall() throws Exception {
+        client = client(1);
+        assertThat(join(client.request(List.of("BTC")).get("BTC"))).isNotNull();
+
+        List<CompletableFuture<BigDecimal>> burst = new ArrayList<>();
+        for (String symbol : List.of("ETH", "XRP", "SOL")) {
+            burst.add(client.request(List.of(symbol)).get(symbol));
+            Thread.sleep(50);
+        }
+        burst.forEach(future -> assertThat(join(future)).isNotNull());
+
+        assertThat(calls).hasSize(2);
+        assertThat(calls.get(1).markets()).containsExactly("KRW-ETH", "KRW-XRP", "KRW-SOL");
+        assertThat(calls.get(1).receivedAtNanos() - calls.get(0).receivedAtNanos())
+            .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(900));
+    }
+
+    @Test
+    void retriesThrottledCallsWithBackoff() {
+        client = client(100);
+        forcedStatuses.add(429);
+        forcedStatuses.add(503);
+
+        assertThat(join(client.request(List.of("XRP")).get("XRP"))).isEqualByComparingTo("800");
+        assertThat(calls).hasSize(3);
+        assertThat(meterRegistry.get("price.ticker.calls").tag("outcome", "retry").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        client = client(100);
+        forcedStatuses.add(400);
+
+        CompletableFuture<BigDecimal> future = client.request(List.of("BTC")).get("BTC");
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(WebClientResponseException.class);
+        assertThat(calls).hasSize(1);
+    }
+
+    private TickerClient client(int ratePerSecond) {
+        TickerClientProperties properties = new TickerClientProperties();
+        properties.setBatchWindow(Duration.ofMillis(20));
+        properties.setInitialBackoff(Duration.ofMillis(10));
+        UpbitTickerSource source = new UpbitTickerSource(WebClient.builder(),
+                "http://127.0.0.1:" + server.getAddress().getPort(), ratePerSecond);
+        return new TickerClient(source, properties, meterRegistry);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long receivedAt = System.nanoTime();
+        String query = exchange.getRequestURI().getQuery();
+        List<String> markets = List.of(query.substring(query.indexOf('=') + 1).split(","));
+        calls.add(new Call(markets, receivedAt));
+        sleep(responseDelayMillis);
+
+        Integer forced = forcedStatuses.poll();
+        int status = forced == null ? 200 : forced;
+        String body = forced != null ? "{\"error\":{\"name\":\"forced\"}}" : markets.stream()
+            .filter(market -> PRICES.containsKey(market.substring(4)))
+            .map(market -> "{\"market\":\"" + market + "\",\"trade_price\":" + PRICES.get(market.substring(4)) + "}")
+            .collect(Collectors.joining(",", "[", "]"));
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static BigDecimal join(CompletableFuture<BigDecimal> future) {
+        try {
+            return future.get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Call(List<String> markets, long receivedAtNanos) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.assetmanager.service.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+
+import com.assetmanager.dto.PriceTick;
+import com.assetmanager.service.portfolio.PortfolioRevaluationEngine;
+import com.assetmanager.service.price.PriceCache;
+import com.assetmanager.service.price.PriceKey;
+import com.assetmanager.service.price.PriceUpdatedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.BaseSubscriber;
+
+/**
+ * LiveStreamHub 단위 테스트
+ * 느린 구독자는 키별 마지막 값만 받고, 구독하지 않은 종목의 틱은 전달되지 않는지 확인한다.
+ */
+class LiveStreamHubTest {
+
+    private static final PriceKey BTC = PriceKey.of("KRW-BTC", "UPBIT");
+    private static final PriceKey ETH = PriceKey.of("KRW-ETH", "UPBIT");
+
+    private LiveStreamProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private LiveStreamHub hub;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LiveStreamProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new LiveStreamHub(mock(PriceCache.class), mock(PortfolioRevaluationEngine.class),
+                properties, meterRegistry);
+    }
+
+    @Test
+    void slowSubscriberReceivesOnlyLatestValuePerKey() {
+        Collector slow = new Collector(0);
+        hub.subscribePrices(List.of(BTC, ETH)).orElseThrow().subscribe(slow);
+
+        hub.onPriceUpdated(tick(BTC, "100"));
+        hub.onPriceUpdated(tick(ETH, "10"));
+        hub.onPriceUpdated(tick(BTC, "101"));
+        hub.onPriceUpdated(tick(BTC, "102"));
+        assertThat(slow.prices()).isEmpty();
+
+        slow.request(10);
+
+        assertThat(slow.prices()).extracting(PriceTick::getPrice).containsExactly(
+                new BigDecimal("102"), new BigDecimal("10"));
+        assertThat(events("conflated")).isEqualTo(2);
+        assertThat(events("queued")).isEqualTo(2);
+    }
+
+    @Test
+    void deliversTicksOnlyToSubscribersOfThatSymbol() {
+        Collector btcWatcher = new Collector(Long.MAX_VALUE);
+        Collector ethWatcher = new Collector(Long.MAX_VALUE);
+        hub.subscribePrices(List.of(BTC)).orElseThrow().subscribe(btcWatcher);
+        hub.subscribePrices(List.of(ETH)).orElseThrow().subscribe(ethWatcher);
+
+        hub.onPriceUpdated(tick(BTC, "100"));
+        hub.onPriceUpdated(tick(BTC, "101"));
+
+        assertThat(btcWatcher.prices()).extracting(PriceTick::getPrice).containsExactly(
+                new BigDecimal("100"), new BigDecimal("101"));
+        assertThat(ethWatcher.prices()).isEmpty();
+    }
+
+    @Test
+    void rejectsConnectionsBeyondCapacityUntilOneCloses() {
+        properties.setMaxConnections(1);
+        Collector first = new Collector(Long.MAX_VALUE);
+        hub.subscribePrices(List.of(BTC)).orElseThrow().subscribe(first);
+
+        assertThat(hub.subscribePrices(List.of(BTC))).isEmpty();
+
+        first.dispose();
+        assertThat(hub.getConnectionCount()).isZero();
+        assertThat(hub.subscribePrices(List.of(BTC))).isPresent();
+
+        hub.onPriceUpdated(tick(BTC, "100"));
+        assertThat(first.prices()).isEmpty();
+    }
+
+    private double events(String outcome) {
+        return meterRegistry.get("stream.live.events").tag("outcome", outcome).counter().count();
+    }
+
+    private static PriceUpdatedEvent tick(PriceKey key, String price) {
+        return new PriceUpdatedEvent(key, new BigDecimal(price), System.currentTimeMillis());
+    }
+
+    /**
+     * 처음 요청량을 지정할 수 있는 구독자
+     */
+    private static class Collector extends BaseSubscriber<ServerSentEvent<Object>> {
+
+        private final long initialRequest;
+        private final List<ServerSentEvent<Object>> received = new ArrayList<>();
+
+        Collector(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        protected void hookOnNext(ServerSentEvent<Object> value) {
+            received.add(value);
+        }
+
+        List<PriceTick> prices() {
+            return received.stream()
+                .filter(event -> "price".equals(event.event()))
+                .map(event -> (PriceTick) event.data())
+                .toList();
+        }
+    }
+}
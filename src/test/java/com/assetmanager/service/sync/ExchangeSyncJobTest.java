@@ -0,0 +1,361 @@
+package com.assetmanager.service.sync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assetmanager.config.shard.ShardRouter;
+import com.assetmanager.domain.ApiKey;
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.AssetType;
+import com.assetmanager.domain.Exchange;
+import com.assetmanager.domain.ExchangeSyncDeadLetter;
+import com.assetmanager.domain.ExchangeSyncState;
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.domain.TransactionType;
+import com.assetmanager.dto.ImportResult;
+import com.assetmanager.dto.SyncJobResult;
+import com.assetmanager.mapper.ApiKeyMapper;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.mapper.ExchangeSyncStateMapper;
+import com.assetmanager.service.asset.AssetService;
+import com.assetmanager.service.exchange.ApiCredentials;
+import com.assetmanager.service.exchange.ApiKeyService;
+import com.assetmanager.service.exchange.TokenBucketRateLimiter;
+import com.assetmanager.service.transaction.TransactionImportService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * ExchangeSyncJob 단위 테스트
+ * 커서 뒤 체결만 가져오고, 거래소끼리 서로 막지 않으며, 상태는 청크마다 한 번에 저장하는지 확인한다.
+ */
+class ExchangeSyncJobTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 7, 1, 9, 0);
+
+    private ApiKeyMapper apiKeyMapper;
+    private ExchangeSyncStateMapper stateMapper;
+    private AssetMapper assetMapper;
+    private AssetService assetService;
+    private TransactionImportService importService;
+    private SyncProperties properties;
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicLong assetIds = new AtomicLong(100);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        apiKeyMapper = mock(ApiKeyMapper.class);
+        stateMapper = mock(ExchangeSyncStateMapper.class);
+        assetMapper = mock(AssetMapper.class);
+        assetService = mock(AssetService.class);
+        importService = mock(TransactionImportService.class);
+        clock = new MutableClock();
+        meterRegistry = new SimpleMeterRegistry();
+
+        properties = new SyncProperties();
+        properties.setPageSize(2);
+        properties.setChunkSize(10);
+
+        when(stateMapper.findByUserIds(anyList())).thenReturn(List.of());
+        when(assetMapper.findByUserIdAndExchange(anyLong(), anyString())).thenReturn(List.of());
+        when(assetService.register(any(Asset.class))).thenAnswer(invocation -> {
+            Asset asset = invocation.getArgument(0);
+            asset.setId(assetIds.incrementAndGet());
+            return asset;
+        });
+        when(importService.importTransactions(anyLong(), anyList())).thenAnswer(invocation -> {
+            List<Transaction> fills = invocation.getArgument(1);
+            return new ImportResult(fills.size(), fills.size(), 0, 0, 0, 0, 0, List.of(), List.of());
+        });
+    }
+
+    /**
+     * 저장된 커서 이후 체결만 여러 페이지에 걸쳐 가져오고, 새 커서를 저장한다
+     */
+    @Test
+    void importsOnlyFillsAfterStoredCursor() {
+        FakeAccountClient upbit = new FakeAccountClient(Exchange.UPBIT,
+                fill("u-1", "KRW-BTC", 0), fill("u-2", "KRW-BTC", 1), fill("u-3", "KRW-ETH", 2),
+                fill("u-4", "KRW-BTC", 3), fill("u-5", "KRW-ETH", 4));
+        stubKeys(key(1L, 1L, Exchange.UPBIT));
+        when(stateMapper.findByUserIds(List.of(1L))).thenReturn(List.of(ExchangeSyncState.builder()
+            .userId(1L).exchange(Exchange.UPBIT).lastExternalId("u-2").lastTransactedAt(T0.plusMinutes(1))
+            .build()));
+        when(assetMapper.findByUserIdAndExchange(1L, "UPBIT"))
+            .thenReturn(List.of(Asset.builder().id(7L).symbol("KRW-BTC").build()));
+
+        SyncJobResult result = newJob(upbit).run();
+
+        assertThat(result.getAccounts()).isEqualTo(1);
+        assertThat(result.getFillsFetched()).isEqualTo(3);
+        assertThat(upbit.calls).isEqualTo(3);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> fills = ArgumentCaptor.forClass(List.class);
+        verify(importService, times(1)).importTransactions(eq(1L), fills.capture());
+        assertThat(fills.getValue()).extracting(Transaction::getExternalId).containsExactly("u-3", "u-4", "u-5");
+        assertThat(fills.getValue().get(1).getAssetId()).isEqualTo(7L);
+        assertThat(fills.getValue().get(1).getTotalAmount()).isEqualByComparingTo("40");
+        verify(assetService, times(1)).register(any(Asset.class));
+
+        ExchangeSyncState saved = savedStates().get(0);
+        assertThat(saved.getLastExternalId()).isEqualTo("u-5");
+        assertThat(saved.getLastTransactedAt()).isEqualTo(T0.plusMinutes(4));
+        assertThat(saved.getLastError()).isNull();
+        assertThat(meterRegistry.get("sync.exchange.fills").tag("exchange", "UPBIT").tag("stage", "inserted")
+            .counter().count()).isEqualTo(3.0);
+    }
+
+    /**
+     * 한 사용자의 두 거래소는 각자의 풀에서 동시에 진행된다
+     */
+    @Test
+    void syncsExchangesOfOneUserInParallel() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        FakeAccountClient upbit = new FakeAccountClient(Exchange.UPBIT, fill("u-1", "KRW-BTC", 0));
+        FakeAccountClient bithumb = new FakeAccountClient(Exchange.BITHUMB, fill("b-1", "BTC", 0));
+        upbit.barrier = bothStarted;
+        bithumb.barrier = bothStarted;
+        stubKeys(key(1L, 1L, Exchange.UPBIT), key(2L, 1L, Exchange.BITHUMB));
+
+        SyncJobResult result = newJob(upbit, bithumb).run();
+
+        assertThat(result.getFailedAccounts()).isZero();
+        assertThat(upbit.waitedForPeer && bithumb.waitedForPeer).isTrue();
+    }
+
+    /**
+     * 실패한 계정은 커서를 그대로 두고 오류만 남기며, 다른 계정은 계속 진행된다
+     */
+    @Test
+    void keepsCursorOfFailedAccountAndContinues() {
+        FakeAccountClient upbit = new FakeAccountClient(Exchange.UPBIT, fill("u-1", "KRW-BTC", 0));
+        upbit.failFor = 1L;
+        stubKeys(key(1L, 1L, Exchange.UPBIT), key(2L, 2L, Exchange.UPBIT), key(3L, 3L, Exchange.KIS));
+        when(stateMapper.findByUserIds(anyList())).thenReturn(List.of(ExchangeSyncState.builder()
+            .userId(1L).exchange(Exchange.UPBIT).lastExternalId("u-0").lastTransactedAt(T0.minusDays(1))
+            .lastSyncedAt(LocalDateTime.now(clock).minusMinutes(10))
+            .build()));
+
+        SyncJobResult result = newJob(upbit).run();
+
+        assertThat(result.getAccounts()).isEqualTo(2);
+        assertThat(result.getFailedAccounts()).isEqualTo(1);
+        List<ExchangeSyncState> saved = savedStates();
+        assertThat(saved).hasSize(2);
+        ExchangeSyncState failed = saved.stream().filter(s -> s.getUserId() == 1L).findFirst().orElseThrow();
+        assertThat(failed.getLastExternalId()).isEqualTo("u-0");
+        assertThat(failed.getLastError()).contains("exchange unavailable");
+        assertThat(failed.getFailureCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("sync.exchange.accounts").tag("exchange", "UPBIT").tag("outcome", "failure")
+            .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("sync.exchange.lag").tag("exchange", "UPBIT").gauge().value())
+            .isEqualTo(600.0);
+    }
+
+    /**
+     * 가져오기가 거절한 체결(보유 수량을 넘는 매도 등)은 격리하고 커서는 그 뒤로 넘긴다
+     */
+    @Test
+    void deadLettersRejectedFillsAndAdvancesCursor() {
+        FakeAccountClient upbit = new FakeAccountClient(Exchange.UPBIT, fill("u-1", "KRW-BTC", 0),
+                fill("u-2", "KRW-BTC", 1));
+        stubKeys(key(1L, 1L, Exchange.UPBIT));
+        when(importService.importTransactions(anyLong(), anyList()))
+            .thenReturn(new ImportResult(2, 1, 0, 0, 1, 1, 0, List.of("u-1"), List.of()));
+
+        SyncJobResult result = newJob(upbit).run();
+
+        assertThat(result.getFillsDeadLettered()).isEqualTo(1);
+        assertThat(deadLetters()).extracting(ExchangeSyncDeadLetter::getExternalId).containsExactly("u-1");
+        assertThat(deadLetters().get(0).getExchange()).isEqualTo(Exchange.UPBIT);
+        ExchangeSyncState saved = savedStates().get(0);
+        assertThat(saved.getLastExternalId()).isEqualTo("u-2");
+        assertThat(saved.getFailureCount()).isZero();
+    }
+
+    /**
+     * 연속 실패가 한도에 닿은 계정은 한 건씩 가져와, 예외가 난 체결만 격리하고 나머지는 저장한다
+     */
+    @Test
+    void isolatesFailingFillAfterMaxAttempts() {
+        properties.setMaxAttempts(3);
+        FakeAccountClient upbit = new FakeAccountClient(Exchange.UPBIT, fill("u-1", "KRW-BTC", 0),
+                fill("u-2", "KRW-BTC", 1), fill("u-3", "KRW-BTC", 2));
+        stubKeys(key(1L, 1L, Exchange.UPBIT));
+        when(stateMapper.findByUserIds(List.of(1L))).thenReturn(List.of(ExchangeSyncState.builder()
+            .userId(1L).exchange(Exchange.UPBIT).failureCount(3).lastError("boom")
+            .build()));
+        when(importService.importTransactions(anyLong(), anyList())).thenAnswer(invocation -> {
+            List<Transaction> fills = invocation.getArgument(1);
+            if (fills.stream().anyMatch(fill -> "u-2".equals(fill.getExternalId()))) {
+                throw new IllegalStateException("bad row");
+            }
+            return new ImportResult(fills.size(), fills.size(), 0, 0, 0, 0, 0, List.of(), List.of());
+        });
+
+        SyncJobResult result = newJob(upbit).run();
+
+        assertThat(result.getFailedAccounts()).isZero();
+        assertThat(result.getFillsInserted()).isEqualTo(2);
+        verify(importService, times(3)).importTransactions(eq(1L), anyList());
+        assertThat(deadLetters()).extracting(ExchangeSyncDeadLetter::getExternalId).containsExactly("u-2");
+        assertThat(deadLetters().get(0).getReason()).contains("bad row");
+        ExchangeSyncState saved = savedStates().get(0);
+        assertThat(saved.getLastExternalId()).isEqualTo("u-3");
+        assertThat(saved.getFailureCount()).isZero();
+        assertThat(saved.getLastError()).isNull();
+    }
+
+    private ExchangeSyncJob newJob(ExchangeAccountClient... clients) {
+        ApiKeyService apiKeyService = mock(ApiKeyService.class);
+        when(apiKeyService.withCredentials(anyLong(), any(), any())).thenAnswer(invocation -> {
+            Function<ApiCredentials, ?> action = invocation.getArgument(2);
+            return action.apply(null);
+        });
+        ExchangeSyncService syncService = new ExchangeSyncService(apiKeyService, assetMapper, assetService,
+                importService, stateMapper, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                properties) {
+            @Override
+            public AccountSyncResult sync(Long userId, ExchangeAccountClient client, SyncCursor cursor,
+                                          boolean isolateRows) {
+                if (client instanceof FakeAccountClient fake && userId.equals(fake.failFor)) {
+                    throw new IllegalStateException("exchange unavailable");
+                }
+                return super.sync(userId, client, cursor, isolateRows);
+            }
+        };
+        return new ExchangeSyncJob(List.of(clients), syncService, apiKeyMapper, stateMapper, properties,
+                new ShardRouter(1), meterRegistry, clock);
+    }
+
+    private void stubKeys(ApiKey... keys) {
+        when(apiKeyMapper.findActiveKeysAfter(eq(0L), eq(10))).thenReturn(List.of(keys));
+        when(apiKeyMapper.findActiveKeysAfter(eq(keys[keys.length - 1].getId()), eq(10))).thenReturn(List.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ExchangeSyncState> savedStates() {
+        ArgumentCaptor<List<ExchangeSyncState>> captor = ArgumentCaptor.forClass(List.class);
+        verify(stateMapper, times(1)).upsertBatch(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ExchangeSyncDeadLetter> deadLetters() {
+        ArgumentCaptor<List<ExchangeSyncDeadLetter>> captor = ArgumentCaptor.forClass(List.class);
+        verify(stateMapper, times(1)).insertDeadLetters(captor.capture());
+        return captor.getValue();
+    }
+
+    private static ApiKey key(Long id, Long userId, Exchange exchange) {
+        return ApiKey.builder().id(id).userId(userId).exchange(exchange).exchangeName("내 " + exchange.name())
+            .isActive(true).build();
+    }
+
+    private static ExchangeFill fill(String externalId, String symbol, int minute) {
+        return new ExchangeFill(externalId, symbol, TransactionType.BUY, BigDecimal.ONE,
+                BigDecimal.valueOf(10L * (minute + 1)), null, T0.plusMinutes(minute));
+    }
+
+    /**
+     * 커서 뒤 체결을 시간순으로 limit 건씩 돌려주는 거래소
+     */
+    static class FakeAccountClient implements ExchangeAccountClient {
+        private final Exchange exchange;
+        private final List<ExchangeFill> fills;
+        private final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(1000, Duration.ofSeconds(1));
+        volatile int calls;
+        volatile Long failFor;
+        volatile CountDownLatch barrier;
+        volatile boolean waitedForPeer;
+
+        FakeAccountClient(Exchange exchange, ExchangeFill... fills) {
+            this.exchange = exchange;
+            this.fills = new ArrayList<>(List.of(fills));
+            this.fills.sort(Comparator.comparing(ExchangeFill::transactedAt));
+        }
+
+        @Override
+        public Exchange exchange() {
+            return exchange;
+        }
+
+        @Override
+        public AssetType assetType() {
+            return AssetType.CRYPTO;
+        }
+
+        @Override
+        public TokenBucketRateLimiter rateLimiter() {
+            return rateLimiter;
+        }
+
+        @Override
+        public FillPage fetchFills(ApiCredentials credentials, SyncCursor cursor, int limit) {
+            calls++;
+            if (barrier != null) {
+                barrier.countDown();
+                try {
+                    waitedForPeer = barrier.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            List<ExchangeFill> after = fills.stream()
+                .filter(fill -> cursor.isEmpty() || !fill.transactedAt().isBefore(cursor.lastTransactedAt()))
+                .toList();
+            return new FillPage(after.subList(0, Math.min(limit, after.size())), after.size() > limit);
+        }
+    }
+
+    static class MutableClock extends Clock {
+        private final Instant now = Instant.parse("2025-07-01T12:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.assetmanager.service.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import com.assetmanager.domain.MonthlyTransactionStats;
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.domain.TransactionType;
+import com.assetmanager.mapper.MonthlyTransactionStatsMapper;
+
+/**
+ * MonthlyStatsService 단위 테스트
+ * 마감된 달은 한 번만 읽고, 이번 달만 매번 롤업 행에서 읽는지 확인한다.
+ * 보관본은 Redis 세대가 바뀌면(다른 노드의 변경 포함) 다시 읽는다.
+ */
+class MonthlyStatsServiceTest {
+
+    private static final YearMonth JULY = YearMonth.of(2025, 7);
+    private static final YearMonth JUNE = YearMonth.of(2025, 6);
+
+    private MonthlyTransactionStatsMapper statsMapper;
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOps;
+    private MonthlyStatsService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        statsMapper = mock(MonthlyTransactionStatsMapper.class);
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOps = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        Clock clock = Clock.fixed(Instant.parse("2025-07-15T00:00:00Z"), ZoneOffset.UTC);
+        service = new MonthlyStatsService(statsMapper, redisTemplate, clock);
+
+        when(statsMapper.findByUserIdAndMonth(1L, JULY)).thenReturn(Optional.of(stats(JULY, 3)));
+        when(statsMapper.findByUserIdBefore(1L, JULY)).thenReturn(List.of(stats(JUNE, 10)));
+    }
+
+    @Test
+    void readsClosedMonthsOnceAndCurrentMonthEveryTime() {
+        service.getMonthlyStats(1L);
+        List<MonthlyTransactionStats> result = service.getMonthlyStats(1L);
+
+        assertThat(result).extracting(MonthlyTransactionStats::getMonth).containsExactly(JULY, JUNE);
+        verify(statsMapper, times(2)).findByUserIdAndMonth(1L, JULY);
+        verify(statsMapper, times(1)).findByUserIdBefore(1L, JULY);
+    }
+
+    @Test
+    void groupsChangesIntoMonthlyDeltas() {
+        service.applyChanges(1L,
+                List.of(transaction(TransactionType.BUY, "1000", "10", 7),
+                        transaction(TransactionType.SELL, "400", "4", 7)),
+                List.of(transaction(TransactionType.BUY, "1000", "10", 7)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MonthlyTransactionStats>> captor = ArgumentCaptor.forClass(List.class);
+        verify(statsMapper).applyDeltas(captor.capture());
+        assertThat(captor.getValue()).singleElement().satisfies(delta -> {
+            assertThat(delta.getMonth()).isEqualTo(JULY);
+            assertThat(delta.getTransactionCount()).isEqualTo(1);
+            assertThat(delta.getBuyAmount()).isEqualByComparingTo("0");
+            assertThat(delta.getSellAmount()).isEqualByComparingTo("400");
+            assertThat(delta.getTotalFee()).isEqualByComparingTo("4");
+        });
+    }
+
+    @Test
+    void skipsNoOpUpdates() {
+        Transaction before = transaction(TransactionType.BUY, "1000", "10", 7);
+        Transaction after = transaction(TransactionType.BUY, "1000", "10", 7);
+
+        service.applyChanges(1L, List.of(after), List.of(before));
+
+        verify(statsMapper, never()).applyDeltas(anyList());
+    }
+
+    @Test
+    void evictsCachedMonthsWhenClosedMonthChanges() {
+        service.getMonthlyStats(1L);
+
+        service.applyChanges(1L, List.of(transaction(TransactionType.BUY, "500", "5", 7)), List.of());
+        service.getMonthlyStats(1L);
+        verify(statsMapper, times(1)).findByUserIdBefore(any(), any());
+
+        service.applyChanges(1L, List.of(transaction(TransactionType.BUY, "500", "5", 6)), List.of());
+        service.getMonthlyStats(1L);
+        verify(statsMapper, times(2)).findByUserIdBefore(any(), any());
+        verify(valueOps).increment("stats:monthly:gen:1");
+    }
+
+    /**
+     * 다른 노드가 세대를 올리면 이 노드의 보관본도 다음 조회에서 버려진다
+     */
+    @Test
+    void reloadsClosedMonthsWhenAnotherNodeBumpsGeneration() {
+        service.getMonthlyStats(1L);
+        when(valueOps.get("stats:monthly:gen:1")).thenReturn("1");
+
+        service.getMonthlyStats(1L);
+        service.getMonthlyStats(1L);
+
+        verify(statsMapper, times(2)).findByUserIdBefore(1L, JULY);
+    }
+
+    @Test
+    void readsClosedMonthsFromDatabaseWhileRedisIsDown() {
+        when(valueOps.get("stats:monthly:gen:1")).thenThrow(new RedisConnectionFailureException("down"));
+
+        service.getMonthlyStats(1L);
+        List<MonthlyTransactionStats> result = service.getMonthlyStats(1L);
+
+        assertThat(result).extracting(MonthlyTransactionStats::getMonth).containsExactly(JULY, JUNE);
+        verify(statsMapper, times(2)).findByUserIdBefore(1L, JULY);
+    }
+
+    private static MonthlyTransactionStats stats(YearMonth month, int count) {
+        MonthlyTransactionStats stats = MonthlyTransactionStats.empty(1L, month);
+        stats.setTransactionCount(count);
+        return stats;
+    }
+
+    private static Transaction transaction(TransactionType type, String amount, String fee, int month) {
+        return Transaction.builder()
+            .userId(1L)
+            .transactionType(type)
+            .totalAmount(new BigDecimal(amount))
+            .fee(new BigDecimal(fee))
+            .transactedAt(LocalDateTime.of(2025, month, 10, 12, 0))
+            .build();
+    }
+}
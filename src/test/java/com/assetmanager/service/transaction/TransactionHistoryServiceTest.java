@@ -0,0 +1,127 @@
+package com.assetmanager.service.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.dto.CursorPage;
+import com.assetmanager.mapper.TransactionMapper;
+
+/**
+ * TransactionHistoryService 키셋 페이징 테스트
+ * H2 메모리 DB 에서 실제 매퍼 SQL 로 페이지를 이어 읽어, 같은 시각의 행이 페이지 경계에 걸려도 빠지거나 겹치지 않는지 확인한다.
+ */
+class TransactionHistoryServiceTest {
+
+    private static final DataSource DATA_SOURCE = new DriverManagerDataSource(
+            "jdbc:h2:mem:transaction-history;DB_CLOSE_DELAY=-1", "sa", "");
+    private static final LocalDateTime AT = LocalDateTime.of(2025, 7, 1, 9, 0);
+
+    private JdbcTemplate jdbc;
+    private TransactionHistoryService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(DATA_SOURCE);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS transactions (id BIGINT PRIMARY KEY, user_id BIGINT, "
+                + "asset_id BIGINT, transaction_type VARCHAR(20), quantity DECIMAL(30, 8), price DECIMAL(30, 8), "
+                + "total_amount DECIMAL(30, 8), transacted_at TIMESTAMP, created_at TIMESTAMP)");
+        jdbc.update("DELETE FROM transactions");
+
+        Configuration configuration = new Configuration(
+                new Environment("test", new SpringManagedTransactionFactory(), DATA_SOURCE));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(TransactionMapper.class);
+        TransactionMapper mapper = new SqlSessionTemplate(new SqlSessionFactoryBuilder().build(configuration))
+            .getMapper(TransactionMapper.class);
+        service = new TransactionHistoryService(mapper);
+    }
+
+    /**
+     * 같은 transacted_at 행 다섯 개가 두 건씩 나뉘어도 id 로 이어 읽으므로 모두 한 번씩 나온다
+     */
+    @Test
+    void pagesThroughRowsSharingTimestampAcrossPageBoundary() {
+        for (long id = 1; id <= 5; id++) {
+            insert(id, 7L, AT);
+        }
+        insert(6L, 7L, AT.plusMinutes(1));
+        insert(7L, 7L, AT.minusMinutes(1));
+        insert(8L, 8L, AT);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Transaction> page = service.getHistory(7L, cursor, 2);
+            page.getItems().forEach(transaction -> seen.add(transaction.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly(6L, 5L, 4L, 3L, 2L, 1L, 7L);
+    }
+
+    /**
+     * 행 수가 페이지 크기의 배수이면 마지막 페이지는 가득 차 있어도 다음 페이지가 없다
+     */
+    @Test
+    void lastFullPageHasNoNextWhenRowsAreExactMultiple() {
+        for (long id = 1; id <= 4; id++) {
+            insert(id, 7L, AT.plusMinutes(id));
+        }
+
+        CursorPage<Transaction> first = service.getHistory(7L, null, 2);
+        CursorPage<Transaction> second = service.getHistory(7L, first.getNextCursor(), 2);
+
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getItems()).extracting(Transaction::getId).containsExactly(4L, 3L);
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getItems()).extracting(Transaction::getId).containsExactly(2L, 1L);
+    }
+
+    /**
+     * 커서가 없거나 비어 있으면 첫 페이지, 해석할 수 없으면 IllegalArgumentException
+     */
+    @Test
+    void treatsMissingCursorAsFirstPageAndRejectsGarbage() {
+        insert(1L, 7L, AT);
+
+        assertThat(service.getHistory(7L, null, 10).getItems()).hasSize(1);
+        assertThat(service.getHistory(7L, " ", 10).getItems()).hasSize(1);
+        assertThatThrownBy(() -> service.getHistory(7L, "not a cursor", 10))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("invalid cursor");
+        assertThatThrownBy(() -> service.getHistory(7L, token("2025-07-01T09:00|abc"), 10))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getHistory(7L, token("yesterday|1"), 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void insert(Long id, Long userId, LocalDateTime transactedAt) {
+        jdbc.update("INSERT INTO transactions (id, user_id, asset_id, transaction_type, quantity, price, "
+                + "total_amount, transacted_at, created_at) VALUES (?, ?, 1, 'BUY', 1, 100, 100, ?, ?)",
+                id, userId, transactedAt, transactedAt);
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
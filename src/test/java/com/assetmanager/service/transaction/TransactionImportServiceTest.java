@@ -0,0 +1,159 @@
+package com.assetmanager.service.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import com.assetmanager.domain.Asset;
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.domain.TransactionType;
+import com.assetmanager.dto.ImportResult;
+import com.assetmanager.mapper.AssetMapper;
+import com.assetmanager.mapper.TransactionMapper;
+import com.assetmanager.service.asset.PositionLedger;
+import com.assetmanager.service.asset.PositionReplayEngine;
+import com.assetmanager.service.asset.RebuildResult;
+
+/**
+ * TransactionImportService 단위 테스트
+ * 반영할 수 없는 행이 가져오기 전체를 실패시키지 않고 행 단위로 거절되는지 확인한다.
+ */
+class TransactionImportServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 7, 1, 9, 0);
+
+    private TransactionMapper transactionMapper;
+    private AssetMapper assetMapper;
+    private PositionLedger positionLedger;
+    private PositionReplayEngine replayEngine;
+    private TransactionImportService service;
+
+    @BeforeEach
+    void setUp() {
+        transactionMapper = mock(TransactionMapper.class);
+        assetMapper = mock(AssetMapper.class);
+        positionLedger = mock(PositionLedger.class);
+        replayEngine = mock(PositionReplayEngine.class);
+        service = new TransactionImportService(transactionMapper, assetMapper, mock(TransactionOutbox.class),
+                positionLedger, replayEngine);
+        when(transactionMapper.findRecentTransactionsByUserId(anyLong(), anyInt())).thenReturn(List.of());
+        when(transactionMapper.findExistingExternalIds(anyLong(), anyList())).thenReturn(List.of());
+        when(assetMapper.findByIdForUpdate(1L)).thenReturn(Optional.of(Asset.builder()
+            .id(1L)
+            .userId(7L)
+            .quantity(new BigDecimal("1"))
+            .build()));
+    }
+
+    /**
+     * 그 시점 보유 수량을 넘는 매도만 거절하고 나머지 행은 저장해 자산에 반영한다
+     */
+    @Test
+    void oversoldSellIsRejectedPerRow() {
+        Transaction buy = fill("b1", TransactionType.BUY, "2", 0);
+        Transaction oversold = fill("s1", TransactionType.SELL, "5", 1);
+        Transaction sell = fill("s2", TransactionType.SELL, "3", 2);
+
+        ImportResult result = service.importTransactions(7L, List.of(buy, oversold, sell));
+
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getRejectedExternalIds()).containsExactly("s1");
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(transactionMapper).insertBatch(inserted.capture());
+        assertThat(inserted.getValue()).containsExactly(buy, sell);
+        verify(positionLedger).applyFills(eq(7L), eq(1L), eq(List.of(buy, sell)));
+    }
+
+    /**
+     * 보유 수량 검증은 자산 잠금을 잡은 뒤 잠금 조회로 읽은 행으로 한다
+     */
+    @Test
+    void locksAssetsBeforeValidatingQuantities() {
+        Transaction sell = fill("s1", TransactionType.SELL, "1", 0);
+
+        service.importTransactions(7L, List.of(sell));
+
+        InOrder order = inOrder(positionLedger, assetMapper);
+        order.verify(positionLedger).lockAll(Set.of(1L));
+        order.verify(assetMapper).findByIdForUpdate(1L);
+        order.verify(positionLedger).applyFills(7L, 1L, List.of(sell));
+        verify(assetMapper, never()).findById(anyLong());
+    }
+
+    /**
+     * 체결 시각이 없는 행과 사용자 소유가 아닌 자산의 행은 INSERT 전에 걸러진다
+     */
+    @Test
+    void rowsWithoutTimeOrKnownAssetAreNotInserted() {
+        Transaction undated = fill("u1", TransactionType.BUY, "1", 0);
+        undated.setTransactedAt(null);
+        Transaction foreign = fill("f1", TransactionType.BUY, "1", 0);
+        foreign.setAssetId(2L);
+        when(assetMapper.findByIdForUpdate(2L)).thenReturn(Optional.empty());
+
+        ImportResult result = service.importTransactions(7L, List.of(undated, foreign));
+
+        assertThat(result.getInvalid()).isEqualTo(1);
+        assertThat(result.getRejectedExternalIds()).containsExactly("f1");
+        assertThat(result.getInserted()).isZero();
+        verify(transactionMapper, never()).insertBatch(anyList());
+    }
+
+    /**
+     * 과거 일자 가져오기도 없는 자산의 행은 거절하고, 다시 계산하지 못한 자산은 결과에 담는다
+     */
+    @Test
+    void backdatedImportRejectsUnknownAssetsAndReportsUnexplainedHoldings() {
+        when(transactionMapper.findRecentTransactionsByUserId(anyLong(), anyInt()))
+            .thenReturn(List.of(fill("old", TransactionType.BUY, "1", 5)));
+        Transaction backdated = fill("b1", TransactionType.SELL, "3", 0);
+        Transaction foreign = fill("f1", TransactionType.BUY, "1", 1);
+        foreign.setAssetId(2L);
+        when(assetMapper.findByIdForUpdate(2L)).thenReturn(Optional.empty());
+        when(replayEngine.rebuild(eq(7L), anyMap())).thenReturn(new RebuildResult(0, List.of(1L)));
+
+        ImportResult result = service.importTransactions(7L, List.of(backdated, foreign));
+
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getRejectedExternalIds()).containsExactly("f1");
+        assertThat(result.getUnexplainedAssetIds()).containsExactly(1L);
+        verify(replayEngine).rebuild(7L, Map.of(1L, List.of(backdated)));
+        verify(positionLedger, never()).applyFills(anyLong(), anyLong(), anyList());
+    }
+
+    private static Transaction fill(String externalId, TransactionType type, String quantity, int hour) {
+        return Transaction.builder()
+            .externalId(externalId)
+            .assetId(1L)
+            .transactionType(type)
+            .quantity(new BigDecimal(quantity))
+            .price(new BigDecimal("100"))
+            .totalAmount(new BigDecimal(quantity).multiply(new BigDecimal("100")))
+            .fee(BigDecimal.ZERO)
+            .tax(BigDecimal.ZERO)
+            .transactedAt(START.plusHours(hour))
+            .build();
+    }
+}
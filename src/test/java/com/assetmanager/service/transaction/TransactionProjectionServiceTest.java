@@ -0,0 +1,303 @@
+package com.assetmanager.service.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.assetmanager.config.shard.ShardRouter;
+import com.assetmanager.domain.ProjectionWatermark;
+import com.assetmanager.domain.TransactionAggregate;
+import com.assetmanager.domain.TransactionEvent;
+import com.assetmanager.domain.TransactionType;
+import com.assetmanager.mapper.PortfolioAggregateMapper;
+import com.assetmanager.mapper.TransactionEventMapper;
+import com.assetmanager.service.portfolio.PortfolioAggregateService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * TransactionProjectionService / TransactionProjectionWorker 단위 테스트
+ * 읽기 위치를 되돌려도 사용자별 반영 위치 덕분에 이벤트가 두 번 반영되지 않는지, 빈 번호를 기다리는지 확인한다.
+ */
+class TransactionProjectionServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 7, 1, 12, 0);
+
+    private TransactionEventMapper eventMapper;
+    private RecordingProjection projection;
+    private TransactionProjectionService service;
+
+    @BeforeEach
+    void setUp() {
+        eventMapper = mock(TransactionEventMapper.class);
+        projection = new RecordingProjection();
+        service = new TransactionProjectionService(eventMapper, new TransactionOutboxProperties());
+        when(eventMapper.findSettleCutoff(anyLong())).thenReturn(NOW.minusSeconds(5));
+    }
+
+    /**
+     * 되돌린 위치부터 다시 읽어도 사용자별로 이미 반영된 이벤트는 건너뛴다
+     */
+    @Test
+    void replaySkipsEventsAlreadyApplied() {
+        when(eventMapper.lockOffset("test")).thenReturn(Optional.of(0L));
+        when(eventMapper.findAfter(0L, 10)).thenReturn(List.of(
+            event(1, 1L, 1), event(2, 2L, 1), event(3, 1L, -1), event(4, 1L, 1)));
+        when(eventMapper.lockWatermarks(eq("test"), anyList()))
+            .thenReturn(List.of(new ProjectionWatermark("test", 1L, 3L)));
+
+        int consumed = service.applyBatch(projection, 10);
+
+        assertThat(consumed).isEqualTo(4);
+        assertThat(projection.applied).containsOnlyKeys(1L, 2L);
+        assertThat(projection.applied.get(1L)).extracting(TransactionEvent::getId).containsExactly(4L);
+        assertThat(projection.applied.get(2L)).extracting(TransactionEvent::getId).containsExactly(2L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ProjectionWatermark>> watermarks = ArgumentCaptor.forClass(List.class);
+        verify(eventMapper).upsertWatermarks(watermarks.capture());
+        assertThat(watermarks.getValue()).extracting(ProjectionWatermark::getLastEventId).containsExactly(4L, 2L);
+        verify(eventMapper).updateOffset("test", 4L);
+        verify(eventMapper).findSettleCutoff(5L);
+    }
+
+    @Test
+    void waitsForRecentGapButSkipsSettledOne() {
+        List<TransactionEvent> events = List.of(event(1, 1L, 1), event(3, 1L, 1), event(4, 1L, 1));
+        events.get(1).setCreatedAt(NOW.minusSeconds(1));
+
+        assertThat(TransactionProjectionService.settled(events, 0, NOW.minusSeconds(5)))
+            .extracting(TransactionEvent::getId).containsExactly(1L);
+        assertThat(TransactionProjectionService.settled(events, 0, NOW))
+            .extracting(TransactionEvent::getId).containsExactly(1L, 3L, 4L);
+        assertThat(TransactionProjectionService.settled(events.subList(1, 3), 2, NOW.minusSeconds(5)))
+            .extracting(TransactionEvent::getId).containsExactly(3L, 4L);
+    }
+
+    /**
+     * 정착 시간이 지나 넘어간 번호가 (긴 가져오기 트랜잭션처럼) 나중에 커밋되면, 반영 위치가 더 커도 반영된다
+     */
+    @Test
+    void appliesLowerIdCommittedAfterSettleDelay() {
+        TransactionEvent late = event(2, 1L, 1);
+        when(eventMapper.lockOffset("test")).thenReturn(Optional.of(0L), Optional.of(3L));
+        when(eventMapper.findAfter(0L, 10)).thenReturn(List.of(event(1, 1L, 1), event(3, 1L, 1)));
+        when(eventMapper.findAfter(3L, 10)).thenReturn(List.of());
+        when(eventMapper.findGapEvents(eq("test"), anyLong(), eq(10))).thenReturn(List.of(), List.of(late));
+        when(eventMapper.lockWatermarks(eq("test"), anyList()))
+            .thenReturn(List.of(), List.of(new ProjectionWatermark("test", 1L, 3L)));
+
+        assertThat(service.applyBatch(projection, 10)).isEqualTo(2);
+        verify(eventMapper).insertGaps("test", List.of(2L));
+        verify(eventMapper).updateOffset("test", 3L);
+
+        assertThat(service.applyBatch(projection, 10)).isEqualTo(1);
+        assertThat(projection.applied.get(1L)).extracting(TransactionEvent::getId).containsExactly(1L, 3L, 2L);
+        verify(eventMapper).deleteGaps("test", List.of(2L));
+        verify(eventMapper, times(2)).deleteRolledBackGaps("test", 600L);
+        assertThat(TransactionProjectionService.missingIds(List.of(event(2, 1L, 1), event(5, 1L, 1)), 0))
+            .containsExactly(1L, 3L, 4L);
+    }
+
+    /**
+     * 넘어간 번호가 커밋된 뒤 집계를 원본에서 다시 계산하면, 다음 배치는 그 이벤트를 늦은 이벤트로 다시 반영하지 않는다
+     */
+    @Test
+    void rebuildConsumesGapEventsCommittedBeforeIt() {
+        InMemoryOutbox outbox = new InMemoryOutbox(eventMapper);
+        outbox.commit(event(1, 1L, 1));
+        outbox.commit(event(3, 1L, 1));
+        assertThat(service.applyBatch(projection, 10)).isEqualTo(2);
+        assertThat(outbox.gaps).containsExactly(2L);
+
+        outbox.commit(event(2, 1L, 1));
+        PortfolioAggregateMapper aggregateMapper = mock(PortfolioAggregateMapper.class);
+        when(aggregateMapper.calculateTransactionAggregate(1L)).thenReturn(TransactionAggregate.empty(1L));
+        new PortfolioAggregateService(aggregateMapper, eventMapper, mock(MonthlyStatsService.class),
+                mock(ApplicationEventPublisher.class)).verifyAndRebuild(1L);
+
+        assertThat(service.applyBatch(projection, 10)).isZero();
+        assertThat(projection.applied.get(1L)).extracting(TransactionEvent::getId).containsExactly(1L, 3L);
+        assertThat(outbox.gaps).isEmpty();
+    }
+
+    /**
+     * 재계산 때 커밋 전이던 더 작은 번호는 반영 위치에 묻히지 않고, 커밋되어 읽히면 한 번만 반영된다
+     */
+    @Test
+    void rebuildKeepsOpenLowerIdsForLateCommit() {
+        InMemoryOutbox outbox = new InMemoryOutbox(eventMapper);
+        outbox.commit(event(1, 1L, 1));
+        assertThat(service.applyBatch(projection, 10)).isEqualTo(1);
+
+        outbox.commit(event(3, 1L, 1));
+        PortfolioAggregateMapper aggregateMapper = mock(PortfolioAggregateMapper.class);
+        when(aggregateMapper.calculateTransactionAggregate(1L)).thenReturn(TransactionAggregate.empty(1L));
+        new PortfolioAggregateService(aggregateMapper, eventMapper, mock(MonthlyStatsService.class),
+                mock(ApplicationEventPublisher.class)).verifyAndRebuild(1L);
+        assertThat(outbox.watermarks).containsEntry(1L, 3L);
+        assertThat(outbox.gaps).containsExactly(2L);
+
+        outbox.commit(event(2, 1L, 1));
+        assertThat(service.applyBatch(projection, 10)).isEqualTo(2);
+        assertThat(service.applyBatch(projection, 10)).isZero();
+        assertThat(projection.applied.get(1L)).extracting(TransactionEvent::getId).containsExactly(1L, 2L);
+        assertThat(outbox.gaps).isEmpty();
+        assertThat(outbox.offset).isEqualTo(3L);
+    }
+
+    @Test
+    void emptyBatchLeavesOffset() {
+        when(eventMapper.lockOffset("test")).thenReturn(Optional.of(7L));
+        when(eventMapper.findAfter(7L, 10)).thenReturn(List.of());
+
+        assertThat(service.applyBatch(projection, 10)).isZero();
+        verify(eventMapper, never()).updateOffset(any(), anyLong());
+        assertThat(projection.applied).isEmpty();
+    }
+
+    /**
+     * 꽉 찬 배치가 나오는 동안 이어서 읽고, 실패하면 그 주기는 멈춘다
+     */
+    @Test
+    void workerDrainsUntilCaughtUp() {
+        TransactionProjectionService batches = mock(TransactionProjectionService.class);
+        when(batches.applyBatch(eq(projection), anyInt()))
+            .thenReturn(2, 2, 1)
+            .thenThrow(new IllegalStateException("deadlock"));
+        TransactionOutboxProperties properties = new TransactionOutboxProperties();
+        properties.setBatchSize(2);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TransactionProjectionWorker worker = new TransactionProjectionWorker(batches, eventMapper, List.of(projection),
+                properties, new ShardRouter(1), meterRegistry);
+        when(eventMapper.findLastEventId()).thenReturn(9L);
+        when(eventMapper.findOffset("test")).thenReturn(Optional.of(5L));
+
+        assertThat(worker.drain(projection)).isEqualTo(5);
+        assertThat(worker.drain(projection)).isZero();
+        worker.poll();
+
+        verify(batches, atLeastOnce()).applyBatch(projection, 2);
+        assertThat(meterRegistry.get("transaction.projection.events").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("transaction.projection.failures").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("transaction.projection.lag").gauge().value()).isEqualTo(4);
+    }
+
+    private static TransactionEvent event(long id, Long userId, int sign) {
+        return TransactionEvent.builder()
+            .id(id)
+            .userId(userId)
+            .sign(sign)
+            .transactionType(TransactionType.BUY)
+            .totalAmount(new BigDecimal("100"))
+            .fee(BigDecimal.ONE)
+            .transactedAt(NOW.minusDays(1))
+            .createdAt(NOW.minusMinutes(1))
+            .build();
+    }
+
+    /**
+     * 이벤트/빈 번호/반영 위치를 메모리에 두고 매퍼 mock 의 응답으로 연결한다 (프로젝션 이름은 구분하지 않는다)
+     */
+    static class InMemoryOutbox {
+        private final TreeMap<Long, TransactionEvent> events = new TreeMap<>();
+        private final TreeSet<Long> gaps = new TreeSet<>();
+        private final Map<Long, Long> watermarks = new HashMap<>();
+        private long offset;
+
+        InMemoryOutbox(TransactionEventMapper eventMapper) {
+            when(eventMapper.lockOffset(any())).thenAnswer(invocation -> Optional.of(offset));
+            when(eventMapper.findAfter(anyLong(), anyInt())).thenAnswer(invocation -> events
+                .tailMap(invocation.<Long>getArgument(0), false).values().stream()
+                .limit(invocation.<Integer>getArgument(1))
+                .toList());
+            when(eventMapper.findGapEvents(any(), anyLong(), anyInt())).thenAnswer(invocation -> gaps
+                .headSet(invocation.<Long>getArgument(1), true).stream()
+                .filter(events::containsKey)
+                .map(events::get)
+                .limit(invocation.<Integer>getArgument(2))
+                .toList());
+            when(eventMapper.findGapIdsBetween(any(), anyLong(), anyLong())).thenAnswer(invocation -> List.copyOf(gaps
+                .subSet(invocation.<Long>getArgument(1), false, invocation.<Long>getArgument(2), true)));
+            when(eventMapper.findEventIdsBetween(anyLong(), anyLong())).thenAnswer(invocation -> List.copyOf(events
+                .subMap(invocation.<Long>getArgument(0), false, invocation.<Long>getArgument(1), true).keySet()));
+            when(eventMapper.findLastEventIdByUserId(any())).thenAnswer(invocation -> events.values().stream()
+                .filter(event -> event.getUserId().equals(invocation.getArgument(0)))
+                .mapToLong(TransactionEvent::getId)
+                .max()
+                .orElse(0L));
+            when(eventMapper.findOffset(any())).thenAnswer(invocation -> Optional.of(offset));
+            when(eventMapper.insertGaps(any(), anyList())).thenAnswer(invocation -> {
+                gaps.addAll(invocation.<List<Long>>getArgument(1));
+                return 0;
+            });
+            when(eventMapper.deleteGaps(any(), anyList())).thenAnswer(invocation -> {
+                gaps.removeAll(invocation.<List<Long>>getArgument(1));
+                return 0;
+            });
+            when(eventMapper.updateOffset(any(), anyLong())).thenAnswer(invocation -> {
+                offset = invocation.<Long>getArgument(1);
+                return 1;
+            });
+            when(eventMapper.lockWatermarks(any(), anyList())).thenAnswer(invocation -> invocation
+                .<List<Long>>getArgument(1).stream()
+                .filter(watermarks::containsKey)
+                .map(userId -> new ProjectionWatermark("test", userId, watermarks.get(userId)))
+                .toList());
+            when(eventMapper.upsertWatermarks(anyList())).thenAnswer(invocation -> {
+                invocation.<List<ProjectionWatermark>>getArgument(0)
+                    .forEach(w -> watermarks.merge(w.getUserId(), w.getLastEventId(), Math::max));
+                return 0;
+            });
+            when(eventMapper.deleteGapsUpToWatermark(any(), any())).thenAnswer(invocation -> {
+                Long userId = invocation.getArgument(1);
+                long watermark = watermarks.getOrDefault(userId, 0L);
+                gaps.removeIf(id -> events.containsKey(id) && events.get(id).getUserId().equals(userId)
+                        && id <= watermark);
+                return 0;
+            });
+        }
+
+        void commit(TransactionEvent event) {
+            events.put(event.getId(), event);
+        }
+    }
+
+    static class RecordingProjection implements TransactionProjection {
+        private final Map<Long, List<TransactionEvent>> applied = new LinkedHashMap<>();
+
+        @Override
+        public String name() {
+            return "test";
+        }
+
+        @Override
+        public void apply(Long userId, List<TransactionEvent> events) {
+            applied.computeIfAbsent(userId, key -> new ArrayList<>()).addAll(events);
+        }
+    }
+}
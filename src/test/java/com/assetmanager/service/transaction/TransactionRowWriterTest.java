@@ -0,0 +1,82 @@
+package com.assetmanager.service.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.assetmanager.domain.Transaction;
+import com.assetmanager.domain.TransactionType;
+import com.fasterxml.jackson.core.JsonFactory;
+
+/**
+ * TransactionRowWriter 단위 테스트
+ */
+class TransactionRowWriterTest {
+
+    @Test
+    void writesCsvWithHeaderAndQuotedText() throws Exception {
+        StringWriter out = new StringWriter();
+        TransactionRowWriter writer = TransactionRowWriter.create(ExportFormat.CSV, out, new JsonFactory());
+
+        writer.begin();
+        writer.write(transaction("fill,\"7\""));
+        writer.flush();
+
+        assertThat(out.toString()).isEqualTo(
+                "id,assetId,transactionType,quantity,price,totalAmount,fee,tax,transactedAt,externalId\r\n"
+                + "10,3,BUY,0.50000000,90000000,45000000,,0,2025-07-01T09:30,\"fill,\"\"7\"\"\"\r\n");
+    }
+
+    @Test
+    void escapesCellsSpreadsheetsReadAsFormulas() {
+        assertThat(TransactionRowWriter.Csv.quote("=HYPERLINK(\"x\")")).isEqualTo("\"'=HYPERLINK(\"\"x\"\")\"");
+        assertThat(TransactionRowWriter.Csv.quote("+1")).isEqualTo("'+1");
+        assertThat(TransactionRowWriter.Csv.quote("-2+3")).isEqualTo("'-2+3");
+        assertThat(TransactionRowWriter.Csv.quote("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(TransactionRowWriter.Csv.quote("fill-1")).isEqualTo("fill-1");
+    }
+
+    @Test
+    void writesOneJsonObjectPerLine() throws Exception {
+        StringWriter out = new StringWriter();
+        TransactionRowWriter writer = TransactionRowWriter.create(ExportFormat.NDJSON, out, new JsonFactory());
+
+        writer.begin();
+        writer.write(transaction("a"));
+        writer.write(transaction(null));
+        writer.flush();
+
+        String[] lines = out.toString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("{\"id\":10,\"assetId\":3,\"transactionType\":\"BUY\","
+                + "\"quantity\":0.50000000,\"price\":90000000,\"totalAmount\":45000000,\"fee\":null,\"tax\":0,"
+                + "\"transactedAt\":\"2025-07-01T09:30\",\"externalId\":\"a\"}");
+        assertThat(lines[1]).endsWith("\"externalId\":null}");
+    }
+
+    @Test
+    void rejectsUnknownFormat() {
+        assertThatThrownBy(() -> ExportFormat.from("xml"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(ExportFormat.from("ndjson")).isEqualTo(ExportFormat.NDJSON);
+    }
+
+    private static Transaction transaction(String externalId) {
+        return Transaction.builder()
+            .id(10L)
+            .assetId(3L)
+            .transactionType(TransactionType.BUY)
+            .quantity(new BigDecimal("0.50000000"))
+            .price(new BigDecimal("90000000"))
+            .totalAmount(new BigDecimal("45000000"))
+            .tax(BigDecimal.ZERO)
+            .transactedAt(LocalDateTime.of(2025, 7, 1, 9, 30))
+            .externalId(externalId)
+            .build();
+    }
+}